@@ -4,13 +4,24 @@ import com.henrique.virtualteacher.entities.VerificationToken;
 import com.henrique.virtualteacher.entities.Wallet;
 import com.henrique.virtualteacher.models.VerificationTokenModel;
 import com.henrique.virtualteacher.models.WalletModel;
+import com.henrique.virtualteacher.utils.CourseCatalogCache;
+import com.henrique.virtualteacher.utils.CourseFacetIndex;
+import com.henrique.virtualteacher.utils.CourseLeaderboards;
+import com.henrique.virtualteacher.utils.CourseSearchIndex;
+import com.henrique.virtualteacher.utils.ImageRenditionCache;
+import com.henrique.virtualteacher.utils.ImageStore;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 
+import java.math.BigDecimal;
+import java.nio.file.Paths;
+import java.time.Duration;
+
 
 @Configuration
 @PropertySource("classpath:application.properties")
@@ -38,5 +49,36 @@ public class BeansConfig {
         return LoggerFactory.getLogger("VirtualTeacher");
     }
 
+    @Bean
+    public CourseCatalogCache courseCatalogCache(@Value("${catalog.cache.max-size:500}") int maxSize,
+                                                 @Value("${catalog.cache.ttl-seconds:60}") long ttlSeconds) {
+        return new CourseCatalogCache(maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    @Bean
+    public CourseLeaderboards courseLeaderboards(@Value("${ranking.top-k:10}") int topK,
+                                                 @Value("${ranking.prior-weight:10}") double priorWeight,
+                                                 @Value("${ranking.mint-weight:0.5}") double mintWeight,
+                                                 @Value("${ranking.mint-half-life-hours:24}") long mintHalfLifeHours) {
+        return new CourseLeaderboards(topK, priorWeight, mintWeight, Duration.ofHours(mintHalfLifeHours));
+    }
+
+    @Bean
+    public CourseSearchIndex courseSearchIndex() {
+        return new CourseSearchIndex();
+    }
+
+    @Bean
+    public CourseFacetIndex courseFacetIndex(@Value("${facets.price-bounds:10,25,50,100}") BigDecimal[] priceBounds) {
+        return new CourseFacetIndex(priceBounds);
+    }
+
+    @Bean
+    public ImageRenditionCache imageRenditionCache(@Value("${images.renditions.directory:${user.home}/.virtual-teacher/image-renditions}") String directory,
+                                                   @Value("${images.renditions.max-mapped-files:1000}") int maxMappedFiles,
+                                                   ImageStore imageStore) {
+        return new ImageRenditionCache(Paths.get(directory), maxMappedFiles, imageStore);
+    }
+
 
 }
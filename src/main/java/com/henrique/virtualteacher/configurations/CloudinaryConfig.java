@@ -1,18 +1,17 @@
 package com.henrique.virtualteacher.configurations;
 
 import com.cloudinary.Cloudinary;
-import com.cloudinary.api.ApiResponse;
 import com.cloudinary.utils.ObjectUtils;
-import org.springframework.context.annotation.Configuration;
+import com.henrique.virtualteacher.utils.ImageStore;
 import org.springframework.stereotype.Component;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
 import java.util.HashMap;
 
 @Component
-public class CloudinaryConfig {
+public class CloudinaryConfig implements ImageStore {
 
    private final Cloudinary cloudinary = new Cloudinary(ObjectUtils.asMap(
             "cloud_name", "henrique-mk",
@@ -23,14 +22,23 @@ public class CloudinaryConfig {
     public CloudinaryConfig () {
     }
 
-    public String upload(MultipartFile file) throws IOException {
-        File convertedFile = new File(System.getProperty("java.io.tmpdir")+"/"+file.getName());
-        file.transferTo(convertedFile);
-        var uploader = cloudinary.uploader();
-        var result = uploader.upload(convertedFile, ObjectUtils.emptyMap());
+    /**
+     * The bytes are sent as the body of the upload request, nothing is written to disk.
+     */
+    @Override
+    public String upload(byte[] image) throws IOException {
+        var result = cloudinary.uploader().upload(image, ObjectUtils.emptyMap());
         return result.get("url").toString();
     }
 
+    @Override
+    public byte[] download(String url) throws IOException {
+        try (InputStream image = new URL(url).openStream()) {
+            return image.readAllBytes();
+        }
+    }
+
+    @Override
     public void destroy(String url) throws Exception {
         cloudinary.uploader().destroy(url, new HashMap<>());
     }
@@ -1,6 +1,9 @@
 package com.henrique.virtualteacher.configurations;
 
 
+import com.henrique.virtualteacher.utils.DataSourcePoolMetrics;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,25 +19,88 @@ import java.util.Properties;
 @PropertySource("classpath:application.properties")
 public class HibernateConfig {
 
-    private final String dbUrl, dbUsername, dbPassword;
+    private static final String POOL_NAME = "VirtualTeacherPool";
+
+    private final String dbUrl, dbUsername, dbPassword, dbDriverClassName;
+    private final boolean poolEnabled;
+    private final int poolMinIdle, poolMaxSize, statementCacheSize, statementCacheSqlLimit;
+    private final long connectionTimeout, leakDetectionThreshold, validationTimeout;
+    private final String validationQuery;
+    private final DataSourcePoolMetrics poolMetrics;
 
     @Autowired
     public HibernateConfig(Environment env) {
         this.dbUrl = env.getProperty("database.url");
         this.dbUsername = env.getProperty("database.username");
         this.dbPassword = env.getProperty("database.password");
+        this.dbDriverClassName = env.getProperty("database.driver-class-name", "com.mysql.cj.jdbc.Driver");
+
+        this.poolEnabled = env.getProperty("database.pool.enabled", Boolean.class, true);
+        this.poolMinIdle = env.getProperty("database.pool.min-idle", Integer.class, 5);
+        this.poolMaxSize = env.getProperty("database.pool.max-size", Integer.class, 20);
+        this.connectionTimeout = env.getProperty("database.pool.connection-timeout-ms", Long.class, 30000L);
+        this.leakDetectionThreshold = env.getProperty("database.pool.leak-detection-threshold-ms", Long.class, 0L);
+        this.validationTimeout = env.getProperty("database.pool.validation-timeout-ms", Long.class, 5000L);
+        this.validationQuery = env.getProperty("database.pool.validation-query");
+        this.statementCacheSize = env.getProperty("database.pool.statement-cache-size", Integer.class, 250);
+        this.statementCacheSqlLimit = env.getProperty("database.pool.statement-cache-sql-limit", Integer.class, 2048);
+        this.poolMetrics = new DataSourcePoolMetrics();
     }
 
     @Bean
     public DataSource dataSource() {
+        if (!poolEnabled) {
+            return driverManagerDataSource();
+        }
+        return pooledDataSource();
+    }
+
+    @Bean
+    public DataSourcePoolMetrics dataSourcePoolMetrics() {
+        return poolMetrics;
+    }
+
+    private DataSource driverManagerDataSource() {
         DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName("com.mysql.cj.jdbc.Driver");
+        dataSource.setDriverClassName(dbDriverClassName);
         dataSource.setUrl(dbUrl);
         dataSource.setUsername(dbUsername);
         dataSource.setPassword(dbPassword);
         return dataSource;
     }
 
+    /**
+     * Hikari validates a connection on borrow whenever it has been idle for longer than half a second,
+     * through {@link java.sql.Connection#isValid(int)} or the configured validation query.
+     */
+    private DataSource pooledDataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(POOL_NAME);
+        config.setDriverClassName(dbDriverClassName);
+        config.setJdbcUrl(dbUrl);
+        config.setUsername(dbUsername);
+        config.setPassword(dbPassword);
+
+        config.setMinimumIdle(poolMinIdle);
+        config.setMaximumPoolSize(poolMaxSize);
+        config.setConnectionTimeout(connectionTimeout);
+        config.setLeakDetectionThreshold(leakDetectionThreshold);
+        config.setValidationTimeout(validationTimeout);
+        if (validationQuery != null && !validationQuery.isBlank()) {
+            config.setConnectionTestQuery(validationQuery);
+        }
+
+        if (statementCacheSize > 0) {
+            config.addDataSourceProperty("cachePrepStmts", "true");
+            config.addDataSourceProperty("prepStmtCacheSize", String.valueOf(statementCacheSize));
+            config.addDataSourceProperty("prepStmtCacheSqlLimit", String.valueOf(statementCacheSqlLimit));
+            config.addDataSourceProperty("useServerPrepStmts", "true");
+        }
+
+        config.setMetricsTrackerFactory(poolMetrics);
+        return new HikariDataSource(config);
+    }
+
     @Bean(name = "entityManagerFactory")
     public LocalSessionFactoryBean sessionFactory() {
         LocalSessionFactoryBean sessionFactory = new LocalSessionFactoryBean();
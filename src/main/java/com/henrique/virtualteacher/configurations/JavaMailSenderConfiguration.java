@@ -1,5 +1,6 @@
 package com.henrique.virtualteacher.configurations;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
@@ -11,6 +12,9 @@ import java.util.Properties;
 @PropertySource("classpath:application.properties")
 public class JavaMailSenderConfiguration {
 
+    @Value("${mail.debug:false}")
+    private boolean mailDebug;
+
     @Bean
     public JavaMailSenderImpl setJavaMailSenderConfig() {
 
@@ -25,7 +29,7 @@ public class JavaMailSenderConfiguration {
         props.put("mail.transport.protocol", "smtp");
         props.put("mail.smtp.auth", "true");
         props.put("mail.smtp.starttls.enable", "true");
-        props.put("mail.debug", "true");
+        props.put("mail.debug", String.valueOf(mailDebug));
 
         mailSender.setJavaMailProperties(props);
 
@@ -1,8 +1,13 @@
 package com.henrique.virtualteacher.configurations;
 
 import com.henrique.virtualteacher.services.interfaces.UserService;
+import com.henrique.virtualteacher.utils.LoginAttemptThrottle;
+import com.henrique.virtualteacher.utils.OffloadedPasswordEncoder;
+import com.henrique.virtualteacher.utils.ThrottlingAuthenticationProvider;
+import com.henrique.virtualteacher.utils.UserDetailsCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -14,6 +19,8 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
@@ -22,16 +29,58 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     @Autowired
     private UserService userService;
 
+    @Value("${security.user-cache.max-size:1000}")
+    private int userCacheMaxSize;
+
+    @Value("${security.user-cache.ttl-seconds:300}")
+    private long userCacheTtlSeconds;
+
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${security.password.verification-threads:0}")
+    private int passwordVerificationThreads;
+
+    @Value("${security.password.verification-queue-capacity:100}")
+    private int passwordVerificationQueueCapacity;
+
+    @Value("${security.password.verification-timeout-ms:10000}")
+    private long passwordVerificationTimeout;
+
+    @Value("${security.login.max-failed-attempts:5}")
+    private int maxFailedLoginAttempts;
+
+    @Value("${security.login.failed-attempts-window-seconds:900}")
+    private long failedLoginAttemptsWindowSeconds;
+
+    /**
+     * Passwords hashed with a lower cost than {@code security.password.bcrypt-strength} are rehashed on the next
+     * successful login through {@code UserService.updatePassword(UserDetails, String)}.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public OffloadedPasswordEncoder passwordEncoder() {
+        int threads = passwordVerificationThreads > 0 ? passwordVerificationThreads : Runtime.getRuntime().availableProcessors();
+        return new OffloadedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), bcryptStrength, threads,
+                passwordVerificationQueueCapacity, Duration.ofMillis(passwordVerificationTimeout));
+    }
+
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public LoginAttemptThrottle loginAttemptThrottle() {
+        return new LoginAttemptThrottle(maxFailedLoginAttempts, Duration.ofSeconds(failedLoginAttemptsWindowSeconds));
+    }
+
+    @Bean
+    public UserDetailsCache userDetailsCache() {
+        return new UserDetailsCache(userCacheMaxSize, Duration.ofSeconds(userCacheTtlSeconds));
     }
 
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider auth = new DaoAuthenticationProvider();
+        DaoAuthenticationProvider auth = new ThrottlingAuthenticationProvider(loginAttemptThrottle());
         auth.setUserDetailsService(userService);
+        auth.setUserDetailsPasswordService(userService);
         auth.setPasswordEncoder(passwordEncoder());
+        auth.setUserCache(userDetailsCache());
         return auth;
     }
 
@@ -51,16 +100,22 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
 
 
+                .antMatchers(HttpMethod.POST, "/api/courses/{id}/drop/open", "/api/courses/{id}/drop/close")
+                .hasAnyAuthority("TEACHER", "ADMIN")
+                .antMatchers(HttpMethod.GET, "/api/courses/{id}/drop")
+                .authenticated()
                 .antMatchers(HttpMethod.POST, "/api/courses/image")
                 .permitAll()
                 .antMatchers(HttpMethod.GET, "/api/courses/topics")
                 .permitAll()
+                .antMatchers(HttpMethod.GET, "/api/images/renditions/**")
+                .permitAll()
                 .antMatchers(HttpMethod.POST, "/api/courses", "/api/courses/create", "/api/courses/{id}")
                 .hasAuthority("TEACHER")
                 .antMatchers(HttpMethod.POST, "/api/courses/{id}/rate", "/api/courses/{id}/complete", "/api/courses/{id}/purchase", "/api/courses/{id}/purchase",
                             "/api/courses/{id}/lecture/{entryId}", "/api/courses/{id}/lecture/{entryId}/submit")
                 .hasAuthority("STUDENT")
-                .antMatchers(HttpMethod.GET,  "/api/courses/enabled", "/api/courses/test")
+                .antMatchers(HttpMethod.GET,  "/api/courses/enabled", "/api/courses/search", "/api/courses/browse", "/api/courses/top", "/api/courses/test")
                 .permitAll()
                 .antMatchers(HttpMethod.GET, "/api/courses/{id}/lecture/{entryId}", "/api/courses/{id}")
                 .hasAuthority("STUDENT")
@@ -76,6 +131,8 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
                 .antMatchers(HttpMethod.GET, "/api/users/search", "/api/users/login")
                 .permitAll()
+                .antMatchers(HttpMethod.GET, "/api/suggest")
+                .permitAll()
                 .antMatchers(HttpMethod.GET,"/api/users/{id}", "/users/profile", "/users/profile/edit")
                 .authenticated()
                 .antMatchers(HttpMethod.GET, "/api/users")
@@ -104,6 +161,10 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .authenticated()
                 .antMatchers(HttpMethod.POST, "/wallets/my-wallet/deposit", "/api/wallets/transfer")
                 .authenticated()
+                .antMatchers(HttpMethod.GET, "/api/wallets/ledger/verify")
+                .hasAuthority("ADMIN")
+                .antMatchers(HttpMethod.POST, "/api/wallets/ledger/rebuild")
+                .hasAuthority("ADMIN")
 
                 .antMatchers(HttpMethod.GET, "/api/ratings/{id}")
                 .authenticated()
@@ -111,10 +172,15 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .authenticated()
                 .antMatchers(HttpMethod.DELETE, "/api/rating/{id}/delete")
                 .authenticated()
+                .antMatchers(HttpMethod.POST, "/api/ratings/summaries/rebuild")
+                .hasAuthority("ADMIN")
 
                 .antMatchers(HttpMethod.POST, "api/assignments/{id}/grade")
                 .hasAnyAuthority("TEACHER", "ADMIN")
 
+                .antMatchers(HttpMethod.GET, "/api/metrics/**")
+                .hasAuthority("ADMIN")
+
                 .antMatchers(HttpMethod.POST, "/auth/login")
                 .permitAll()
                 .antMatchers(HttpMethod.GET, "/auth/login")
@@ -50,7 +50,7 @@ public class CourseMvc {
             return "login";
         }
 
-        User loggedUser = userService.getByEmail(principal.getName());
+        User loggedUser = userService.getWithEnrolledCourses(principal.getName());
         List<CourseModel> userCourses = courseService.mapAllToModel(loggedUser.getPurchasedCourses(), loggedUser, true);
 
         model.addAttribute("userCourses", userCourses);
@@ -2,21 +2,24 @@ package com.henrique.virtualteacher.controllers.mvc;
 
 import com.henrique.virtualteacher.entities.User;
 import com.henrique.virtualteacher.models.CourseModel;
+import com.henrique.virtualteacher.models.EnumCourseSort;
 import com.henrique.virtualteacher.models.EnumTopic;
 import com.henrique.virtualteacher.services.interfaces.CourseService;
 import com.henrique.virtualteacher.services.interfaces.UserService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import javax.security.auth.Subject;
 import java.security.Principal;
-import java.util.List;
 import java.util.Optional;
 
 @Controller
@@ -28,8 +31,12 @@ public class HomeMvcController {
     private final UserService userService;
 
     @GetMapping()
-    public String showHomePage(Principal principal,
-            Model model) {
+    public String showHomePage(@RequestParam(defaultValue = "0") int page,
+                               @RequestParam(defaultValue = "20") int size,
+                               @RequestParam(defaultValue = "TITLE") EnumCourseSort sort,
+                               @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                               Principal principal,
+                               Model model) {
 
         Optional<User> loggedUser;
         boolean userIsAnonymous = true;
@@ -43,10 +50,13 @@ public class HomeMvcController {
             model.addAttribute("loggedUser",loggedUser.get());
         }
 
-        List<CourseModel> courses = courseService.getAllByEnabled(true, loggedUser);
+        Page<CourseModel> courses = courseService.getAllByEnabled(true, loggedUser, page, size, sort, direction);
         model.addAttribute("user_is_anonymous", userIsAnonymous);
         model.addAttribute("top_three_courses", courseService.getTopTheeCoursesByRating());
-        model.addAttribute("courses", courses);
+        model.addAttribute("courses", courses.getContent());
+        model.addAttribute("courses_page", courses);
+        model.addAttribute("courses_sort", sort);
+        model.addAttribute("courses_direction", direction);
         model.addAttribute("java_courses", courseService.getAllByTopic(EnumTopic.JAVA));
 
 
@@ -47,7 +47,6 @@ public class UserMvc {
                                       Model model) {
 
         User loggedUser = userService.getLoggedUser(principal);
-        UserModel userToGet = userService.getModelById(id);
         addUserInformationToModel(model, id);
         return "user-profile";
     }
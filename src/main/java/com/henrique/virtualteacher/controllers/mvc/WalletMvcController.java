@@ -1,9 +1,9 @@
 package com.henrique.virtualteacher.controllers.mvc;
 
-import com.henrique.virtualteacher.entities.Transaction;
 import com.henrique.virtualteacher.entities.User;
 import com.henrique.virtualteacher.entities.Wallet;
 import com.henrique.virtualteacher.exceptions.AuthenticationException;
+import com.henrique.virtualteacher.models.TransactionHistoryModel;
 import com.henrique.virtualteacher.models.WalletModel;
 import com.henrique.virtualteacher.services.interfaces.TransactionService;
 import com.henrique.virtualteacher.services.interfaces.UserService;
@@ -18,13 +18,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.security.Principal;
-import java.util.List;
+import java.util.Optional;
 
 @Controller
 @RequestMapping("/wallets")
 @AllArgsConstructor
 public class WalletMvcController {
 
+    private static final int TRANSACTION_PAGE_SIZE = 11;
+
     private final WalletService walletService;
     private final UserService userService;
     private final TransactionService transactionService;
@@ -55,15 +57,16 @@ public class WalletMvcController {
         WalletModel walletModel = new WalletModel();
         walletModel.setUserId(loggedUserWallet.getOwner().getId());
         walletModel.setId(loggedUserWallet.getId());
-        walletModel.setBalance(loggedUserWallet.getBalance());
+        walletModel.setBalance(walletService.getBalance(loggedUserWallet));
 
-        List<Transaction> walletTransactions = transactionService.getAllByWallet(loggedUserWallet, loggedUser);
+        TransactionHistoryModel walletTransactions = transactionService.getWalletHistory(loggedUserWallet, loggedUser, Optional.empty(), TRANSACTION_PAGE_SIZE);
 
         model.addAttribute("defaultProfilePic", "https://res.cloudinary.com/henrique-mk/image/upload/v1646573717/13-136710_anonymous-browsing-user_t9wm22.jpg");
         model.addAttribute("userPicture", loggedUser.getProfilePicture());
         model.addAttribute("userId", loggedUser.getId());
         model.addAttribute("loggedUserWallet", walletModel);
-        model.addAttribute("walletTransactions", walletTransactions);
+        model.addAttribute("walletTransactions", walletTransactions.getContent());
+        model.addAttribute("walletTransactionsCursor", walletTransactions.getNextCursor());
 
         return "user-wallet";
     }
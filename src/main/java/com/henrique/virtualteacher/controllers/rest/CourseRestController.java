@@ -9,6 +9,8 @@ import lombok.AllArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
 import org.slf4j.Logger;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.ui.Model;
@@ -24,6 +26,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @RestController
@@ -37,6 +40,7 @@ private final LectureService lectureService;
 private final AssignmentService assignmentService;
 private final RatingService ratingService;
 private final CommentService commentService;
+private final DropLaunchService dropLaunchService;
 private final CloudinaryConfig cloudinaryConfig;
 private final Logger logger;
 
@@ -45,7 +49,7 @@ private final Logger logger;
     public ResponseEntity<Model> enrolledCourses(Principal principal,
                                                         Model model) {
 
-        User loggedUser = userService.getByEmail(principal.getName());
+        User loggedUser = userService.getWithEnrolledCourses(principal.getName());
         List<CourseModel> courseModels = courseService.mapAllToModel(loggedUser.getPurchasedCourses(), loggedUser, true);
 
         model.addAttribute("enrolledCourses", courseModels);
@@ -57,7 +61,7 @@ private final Logger logger;
     public ResponseEntity<Model> completedCourses(Principal principal,
                                                   Model model) {
 
-        User loggedUser = userService.getByEmail(principal.getName());
+        User loggedUser = userService.getWithEnrolledCourses(principal.getName());
 
         List<CourseModel> courseModels = courseService.mapAllToModel(loggedUser.getCompletedCourses(), loggedUser, true);
         model.addAttribute("completedCourses", courseModels);
@@ -79,8 +83,12 @@ private final Logger logger;
     }
 
     @GetMapping("/enabled")
-    public ResponseEntity<List<CourseModel>> getAllEnabled(Principal principal,
-                                               Model model) {
+    public ResponseEntity<Page<CourseModel>> getAllEnabled(@RequestParam(defaultValue = "0") int page,
+                                                           @RequestParam(defaultValue = "20") int size,
+                                                           @RequestParam(defaultValue = "TITLE") EnumCourseSort sort,
+                                                           @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                                                           Principal principal,
+                                                           Model model) {
 
         Optional<User> loggedUser;
 
@@ -90,17 +98,50 @@ private final Logger logger;
             loggedUser = Optional.of(userService.getByEmail(principal.getName()));
         }
 
-        List<CourseModel> enabledCourses = courseService.getAllByEnabled(true, loggedUser);
+        Page<CourseModel> enabledCourses = courseService.getAllByEnabled(true, loggedUser, page, size, sort, direction);
         return new ResponseEntity<>(enabledCourses,HttpStatus.ACCEPTED);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<CourseModel>> search(CourseSearchQuery query) {
+        return new ResponseEntity<>(courseService.search(query), HttpStatus.OK);
+    }
+
+    @GetMapping("/browse")
+    public ResponseEntity<CourseFacetsModel> browse(CourseFacetQuery query, Principal principal) {
+        Optional<User> loggedUser = principal == null ? Optional.empty() : Optional.of(userService.getByEmail(principal.getName()));
+        return new ResponseEntity<>(courseService.browse(query, loggedUser), HttpStatus.OK);
+    }
+
+    @GetMapping("/top")
+    public ResponseEntity<List<CourseModel>> getTopRated(@RequestParam Optional<EnumTopic> topic,
+                                                         @RequestParam Optional<EnumDifficulty> difficulty,
+                                                         @RequestParam(defaultValue = "10") int limit) {
+
+        if (topic.isPresent() && difficulty.isPresent()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Courses are ranked by topic or by difficulty, not both");
+        }
+
+        List<CourseModel> topCourses;
+        if (topic.isPresent()) {
+            topCourses = courseService.getTopRatedCoursesByTopic(topic.get(), limit);
+        } else if (difficulty.isPresent()) {
+            topCourses = courseService.getTopRatedCoursesByDifficulty(difficulty.get(), limit);
+        } else {
+            topCourses = courseService.getTopRatedCourses(limit);
+        }
+        return new ResponseEntity<>(topCourses, HttpStatus.OK);
+    }
+
     @GetMapping("/disabled")
-    ResponseEntity<Model> getAllDisabled(Principal principal,
-                                                     Model model) {
+    ResponseEntity<Model> getAllDisabled(@RequestParam(defaultValue = "0") int page,
+                                         @RequestParam(defaultValue = "20") int size,
+                                         Principal principal,
+                                         Model model) {
 
         User loggedUser = userService.getByEmail(principal.getName());
 
-        List<CourseModel> disabledCourses = courseService.getAllByEnabled(false, Optional.of(loggedUser));
+        Page<CourseModel> disabledCourses = courseService.getAllByEnabled(false, Optional.of(loggedUser), page, size, EnumCourseSort.TITLE, Sort.Direction.ASC);
         model.addAttribute("disabledCourses", disabledCourses);
         return new ResponseEntity<>(model, HttpStatus.ACCEPTED);
     }
@@ -210,7 +251,7 @@ private final Logger logger;
                                                          Principal principal,
                                                          Model model) {
 
-        User loggedUser = userService.getByEmail(principal.getName());
+        User loggedUser = userService.getWithEnrolledCourses(principal.getName());
 
         Lecture lecture = lectureService.getByEntryIdAndCourseId(entryId, id);
         LectureModel lectureModel = new LectureModel(lecture);
@@ -287,16 +328,49 @@ private final Logger logger;
 
 
     @GetMapping("/{id}/purchase")
-    public boolean enroll(@PathVariable("id") int id,
+    public CompletableFuture<Boolean> enroll(@PathVariable("id") int id,
                        Principal principal) {
 
         User loggedUser = userService.getByEmail(principal.getName());
         Course course  = courseService.getById(id);
 
+        if (dropLaunchService.isOpen(id)) {
+            return dropLaunchService.submit(loggedUser, course)
+                    .thenApply(nft -> {
+                        logger.info(String.format("User with id: %d, has purchased Course with id: %d", loggedUser.getId(), course.getId()));
+                        return true;
+                    });
+        }
+
         courseService.mint(loggedUser, course);
 
         logger.info(String.format("User with id: %d, has purchased Course with id: %d", loggedUser.getId(), course.getId()));
-        return true;
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @PostMapping("/{id}/drop/open")
+    public ResponseEntity<DropLaunchModel> openDrop(@PathVariable int id,
+                                                    Principal principal) {
+
+        User loggedUser = userService.getByEmail(principal.getName());
+        Course course = courseService.getById(id);
+
+        return new ResponseEntity<>(dropLaunchService.open(course, loggedUser), HttpStatus.OK);
+    }
+
+    @PostMapping("/{id}/drop/close")
+    public ResponseEntity<DropLaunchModel> closeDrop(@PathVariable int id,
+                                                     Principal principal) {
+
+        User loggedUser = userService.getByEmail(principal.getName());
+        Course course = courseService.getById(id);
+
+        return new ResponseEntity<>(dropLaunchService.close(course, loggedUser), HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/drop")
+    public ResponseEntity<DropLaunchModel> getDropStatus(@PathVariable int id) {
+        return new ResponseEntity<>(dropLaunchService.getStatus(id), HttpStatus.OK);
     }
 
 
@@ -328,16 +402,14 @@ private final Logger logger;
     }
 
     @PostMapping("/{id}/image")
-    public ResponseEntity<CourseModel> changePicture(@PathVariable int id,
-                                                Principal principal,
-                                                MultipartFile multipartFile) throws IOException {
+    public ResponseEntity<ImageUploadJobModel> changePicture(@PathVariable int id,
+                                                             Principal principal,
+                                                             MultipartFile multipartFile) throws IOException {
 
         User loggedUser = userService.getByEmail(principal.getName());
 
-        courseService.upload(multipartFile, id, loggedUser);
-
-        CourseModel courseModel = new CourseModel(courseService.getById(id));
-        return new ResponseEntity<>(courseModel, HttpStatus.ACCEPTED);
+        ImageUploadJobModel job = courseService.upload(multipartFile, id, loggedUser);
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
     }
 
     @GetMapping("/topics")
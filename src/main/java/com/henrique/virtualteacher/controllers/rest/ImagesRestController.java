@@ -1,38 +1,112 @@
 package com.henrique.virtualteacher.controllers.rest;
 
-import com.henrique.virtualteacher.configurations.CloudinaryConfig;
 import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.exceptions.EntityNotFoundException;
+import com.henrique.virtualteacher.models.EnumImageRendition;
+import com.henrique.virtualteacher.models.ImageUploadJobModel;
+import com.henrique.virtualteacher.services.interfaces.ImageUploadService;
 import com.henrique.virtualteacher.services.interfaces.UserService;
-import lombok.AllArgsConstructor;
-import org.springframework.context.annotation.PropertySource;
+import com.henrique.virtualteacher.utils.ImageRenditionCache;
+import com.henrique.virtualteacher.utils.ImageStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.security.Principal;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/images/")
-@AllArgsConstructor
 public class ImagesRestController {
 
     private final UserService userService;
-    private final CloudinaryConfig cloudinaryConfig;
+    private final ImageUploadService imageUploadService;
+    private final ImageStore imageStore;
+    private final ImageRenditionCache imageRenditionCache;
+    private final CacheControl renditionCacheControl;
+
+    @Autowired
+    public ImagesRestController(UserService userService,
+                                ImageUploadService imageUploadService,
+                                ImageStore imageStore,
+                                ImageRenditionCache imageRenditionCache,
+                                @Value("${images.renditions.max-age-seconds:31536000}") long maxAgeSeconds) {
+        this.userService = userService;
+        this.imageUploadService = imageUploadService;
+        this.imageStore = imageStore;
+        this.imageRenditionCache = imageRenditionCache;
+        this.renditionCacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic();
+    }
 
     @PostMapping("/upload")
-    public ResponseEntity<String> submitPicture(MultipartFile file,
-                                                Principal principal) throws IOException {
+    public ResponseEntity<ImageUploadJobModel> submitPicture(MultipartFile file,
+                                                             Principal principal) throws IOException {
 
 
         User loggedUser = userService.getByEmail(principal.getName());
 
-        String url = cloudinaryConfig.upload(file);
-        return new ResponseEntity<>(url, HttpStatus.CREATED);
+        ImageUploadJobModel job = imageUploadService.upload(file, loggedUser, url -> { });
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<ImageUploadJobModel> getUploadJob(@PathVariable String id,
+                                                            Principal principal) {
+
+        User loggedUser = userService.getByEmail(principal.getName());
+
+        return new ResponseEntity<>(imageUploadService.getJob(id, loggedUser), HttpStatus.OK);
+    }
+
+    /**
+     * Renditions never change, a browser holding one gets 304 when it asks again.
+     */
+    @GetMapping("/renditions/{key}/{rendition}")
+    public ResponseEntity<StreamingResponseBody> getRendition(@PathVariable String key,
+                                                              @PathVariable String rendition,
+                                                              WebRequest request) throws IOException {
+
+        EnumImageRendition size = Arrays.stream(EnumImageRendition.values())
+                .filter(value -> value.getName().equals(rendition))
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Rendition", "name", rendition));
+        ImageRenditionCache.CachedRendition cached = imageRenditionCache.read(key, size);
+        if (cached == null) {
+            throw new EntityNotFoundException("Picture", "key", key);
+        }
+        // also sets the ETag header of the response
+        if (request.checkNotModified(cached.getEtag())) {
+            return null;
+        }
 
+        ByteBuffer content = cached.getContent();
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_JPEG)
+                .contentLength(content.remaining())
+                .cacheControl(renditionCacheControl)
+                .body(output -> {
+                    WritableByteChannel channel = Channels.newChannel(output);
+                    while (content.hasRemaining()) {
+                        channel.write(content);
+                    }
+                });
     }
 
     @PostMapping("/destroy")
@@ -41,7 +115,7 @@ public class ImagesRestController {
 
         User loggedUser = userService.getByEmail(principal.getName());
 
-        cloudinaryConfig.destroy(url);
+        imageStore.destroy(url);
         return new ResponseEntity<>("success", HttpStatus.ACCEPTED);
     }
 
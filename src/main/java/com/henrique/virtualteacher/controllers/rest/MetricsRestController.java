@@ -0,0 +1,76 @@
+package com.henrique.virtualteacher.controllers.rest;
+
+import com.henrique.virtualteacher.models.CatalogCacheMetricsModel;
+import com.henrique.virtualteacher.models.MailOutboxMetricsModel;
+import com.henrique.virtualteacher.models.PasswordVerificationMetricsModel;
+import com.henrique.virtualteacher.models.PoolMetricsModel;
+import com.henrique.virtualteacher.models.SuggestionMetricsModel;
+import com.henrique.virtualteacher.models.UserCacheMetricsModel;
+import com.henrique.virtualteacher.models.UserLookupMetricsModel;
+import com.henrique.virtualteacher.services.interfaces.MailOutboxService;
+import com.henrique.virtualteacher.services.interfaces.SuggestionService;
+import com.henrique.virtualteacher.utils.CourseCatalogCache;
+import com.henrique.virtualteacher.utils.DataSourcePoolMetrics;
+import com.henrique.virtualteacher.utils.LoginAttemptThrottle;
+import com.henrique.virtualteacher.utils.OffloadedPasswordEncoder;
+import com.henrique.virtualteacher.utils.RequestUserContext;
+import com.henrique.virtualteacher.utils.UserDetailsCache;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/metrics")
+@AllArgsConstructor
+public class MetricsRestController {
+
+    private final DataSourcePoolMetrics dataSourcePoolMetrics;
+    private final RequestUserContext requestUserContext;
+    private final UserDetailsCache userDetailsCache;
+    private final OffloadedPasswordEncoder passwordEncoder;
+    private final LoginAttemptThrottle loginAttemptThrottle;
+    private final MailOutboxService mailOutboxService;
+    private final CourseCatalogCache courseCatalogCache;
+    private final SuggestionService suggestionService;
+
+    @GetMapping("/datasource")
+    public ResponseEntity<PoolMetricsModel> getDataSourceMetrics() {
+        return new ResponseEntity<>(dataSourcePoolMetrics.getSnapshot(), HttpStatus.OK);
+    }
+
+    @GetMapping("/user-lookups")
+    public ResponseEntity<UserLookupMetricsModel> getUserLookupMetrics() {
+        return new ResponseEntity<>(requestUserContext.getSnapshot(), HttpStatus.OK);
+    }
+
+    @GetMapping("/user-details-cache")
+    public ResponseEntity<UserCacheMetricsModel> getUserDetailsCacheMetrics() {
+        return new ResponseEntity<>(userDetailsCache.getSnapshot(), HttpStatus.OK);
+    }
+
+    @GetMapping("/password-verification")
+    public ResponseEntity<PasswordVerificationMetricsModel> getPasswordVerificationMetrics() {
+        PasswordVerificationMetricsModel metrics = passwordEncoder.getSnapshot();
+        metrics.setThrottledAttempts(loginAttemptThrottle.getThrottledAttempts());
+        return new ResponseEntity<>(metrics, HttpStatus.OK);
+    }
+
+    @GetMapping("/catalog-cache")
+    public ResponseEntity<CatalogCacheMetricsModel> getCatalogCacheMetrics() {
+        return new ResponseEntity<>(courseCatalogCache.getSnapshot(), HttpStatus.OK);
+    }
+
+    @GetMapping("/mail-outbox")
+    public ResponseEntity<MailOutboxMetricsModel> getMailOutboxMetrics() {
+        return new ResponseEntity<>(mailOutboxService.getMetrics(), HttpStatus.OK);
+    }
+
+    @GetMapping("/suggestions")
+    public ResponseEntity<SuggestionMetricsModel> getSuggestionMetrics() {
+        return new ResponseEntity<>(suggestionService.getMetrics(), HttpStatus.OK);
+    }
+
+}
@@ -65,5 +65,14 @@ public class RatingRestController {
         return new ResponseEntity<>(HttpStatus.ACCEPTED);
     }
 
+    @PostMapping("/summaries/rebuild")
+    public ResponseEntity<Integer> rebuildRatingSummaries() {
+
+        int correctedSummaries = ratingService.rebuildRatingSummaries();
+        logger.info(String.format("Rating summaries rebuild was triggered manually, %d summaries were corrected", correctedSummaries));
+
+        return new ResponseEntity<>(correctedSummaries, HttpStatus.OK);
+    }
+
 
 }
@@ -0,0 +1,44 @@
+package com.henrique.virtualteacher.controllers.rest;
+
+import com.henrique.virtualteacher.exceptions.UnauthorizedOperationException;
+import com.henrique.virtualteacher.models.EnumSuggestionType;
+import com.henrique.virtualteacher.models.SuggestionModel;
+import com.henrique.virtualteacher.services.interfaces.SuggestionService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/suggest")
+public class SuggestionRestController {
+
+    private final SuggestionService suggestionService;
+
+    /**
+     * Anonymous callers only get course title suggestions, usernames are suggested to logged in users.
+     */
+    @GetMapping
+    public ResponseEntity<List<SuggestionModel>> suggest(@RequestParam("q") String prefix,
+                                                         @RequestParam Optional<EnumSuggestionType> type,
+                                                         @RequestParam(defaultValue = "10") int limit,
+                                                         Principal principal) {
+        Optional<EnumSuggestionType> allowedType = type;
+        if (principal == null) {
+            if (type.isPresent() && type.get() != EnumSuggestionType.COURSE) {
+                throw new UnauthorizedOperationException(String.format("Suggestions of type %s are only available to logged in users", type.get()));
+            }
+            allowedType = Optional.of(EnumSuggestionType.COURSE);
+        }
+        return new ResponseEntity<>(suggestionService.suggest(prefix, allowedType, limit), HttpStatus.OK);
+    }
+
+}
@@ -3,6 +3,7 @@ package com.henrique.virtualteacher.controllers.rest;
 import com.henrique.virtualteacher.entities.Transaction;
 import com.henrique.virtualteacher.entities.User;
 import com.henrique.virtualteacher.entities.Wallet;
+import com.henrique.virtualteacher.models.TransactionHistoryModel;
 import com.henrique.virtualteacher.services.interfaces.TransactionService;
 import com.henrique.virtualteacher.services.interfaces.UserService;
 import com.henrique.virtualteacher.services.interfaces.WalletService;
@@ -16,6 +17,7 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -42,17 +44,14 @@ public class TransactionsRestController {
 //    }
 
     @GetMapping("/my-wallet")
-    public Page<Transaction>    getWalletTransactionsPage (@RequestParam("page") int page,
-                                                       @RequestParam("size") int size,
-                                                       Principal principal) {
+    public TransactionHistoryModel getWalletTransactionsPage(@RequestParam(defaultValue = "11") int size,
+                                                             @RequestParam Optional<String> cursor,
+                                                             Principal principal) {
 
         User loggedUser = userService.getLoggedUser(principal);
         Wallet loggedUserWallet = walletService.getLoggedUserWallet(loggedUser);
-        Pageable pageable = PageRequest.of(page -1, size);
 
-        Page<Transaction> transactionPage = transactionService.getWalletTransactionPage(pageable, loggedUserWallet.getId());
-
-        return transactionPage;
+        return transactionService.getWalletHistory(loggedUserWallet, loggedUser, cursor, size);
     }
 
     @GetMapping("/{id}")
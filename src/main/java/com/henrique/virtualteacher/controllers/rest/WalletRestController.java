@@ -3,13 +3,16 @@ package com.henrique.virtualteacher.controllers.rest;
 import com.henrique.virtualteacher.entities.User;
 import com.henrique.virtualteacher.entities.Wallet;
 import com.henrique.virtualteacher.exceptions.AuthenticationException;
+import com.henrique.virtualteacher.models.LedgerVerificationModel;
 import com.henrique.virtualteacher.models.TransactionStatus;
 import com.henrique.virtualteacher.models.WalletModel;
+import com.henrique.virtualteacher.services.interfaces.LedgerService;
 import com.henrique.virtualteacher.services.interfaces.UserService;
 import com.henrique.virtualteacher.services.interfaces.WalletService;
 import lombok.AllArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
+import org.slf4j.Logger;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.ui.Model;
@@ -25,6 +28,8 @@ public class WalletRestController {
 
     private final WalletService walletService;
     private final UserService userService;
+    private final LedgerService ledgerService;
+    private final Logger logger;
 
     @GetMapping("/my-wallet")
      public ResponseEntity<WalletModel> getLoggedUserWallet(Principal principal) {
@@ -35,6 +40,7 @@ public class WalletRestController {
         Wallet userWallet = walletService.getLoggedUserWallet(loggedUser);
 
         WalletModel walletModel = new WalletModel(userWallet);
+        walletModel.setBalance(walletService.getBalance(userWallet));
         return new ResponseEntity<>(walletModel, HttpStatus.OK);
     }
 
@@ -62,4 +68,18 @@ public class WalletRestController {
             return new ResponseEntity<>("completed",HttpStatus.ACCEPTED);
         }
 
+        @GetMapping("/ledger/verify")
+        public ResponseEntity<LedgerVerificationModel> verifyLedger() {
+            return new ResponseEntity<>(ledgerService.verify(), HttpStatus.OK);
+        }
+
+        @PostMapping("/ledger/rebuild")
+        public ResponseEntity<LedgerVerificationModel> rebuildLedgerSnapshots() {
+
+            LedgerVerificationModel report = ledgerService.rebuild();
+            logger.info(String.format("Ledger snapshots rebuild was triggered manually, %d snapshots were written", report.getSnapshots()));
+
+            return new ResponseEntity<>(report, HttpStatus.OK);
+        }
+
 }
@@ -70,6 +70,16 @@ public class Course {
     @Column(name = "available_mints")
     private int availableMints;
 
+    /**
+     * Both counters only change through the conditional updates in
+     * {@link com.henrique.virtualteacher.repositories.CourseRepository}, a stale course can never overwrite them.
+     */
+    @Column(name = "minted_count", updatable = false)
+    private int mintedCount;
+
+    @Column(name = "last_drop_number", updatable = false)
+    private int lastDropNumber;
+
     @ManyToOne
     @JsonIgnore
     @JoinColumn(name = "creator_id")
@@ -115,7 +125,7 @@ public class Course {
     }
 
     public int getTotalMinted() {
-        return this.getNfts().size();
+        return mintedCount;
     }
 
     public void addLecture(Lecture lecture) {
@@ -0,0 +1,52 @@
+package com.henrique.virtualteacher.entities;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * How many lectures of a course a user has completed, next to the number of lectures the course has.
+ * There is a row once the user completes the first lecture of the course. The counters are only changed
+ * through the updates of the repository, when a lecture is completed, added or deleted, and when the progress is rebuilt.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "course_progress",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "course_id"}))
+public class CourseProgress {
+
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    @Column(name = "user_id", updatable = false)
+    private int userId;
+
+    @Column(name = "course_id", updatable = false)
+    private int courseId;
+
+    @Column(name = "completed_lectures", updatable = false)
+    private int completedLectures;
+
+    @Column(name = "total_lectures", updatable = false)
+    private int totalLectures;
+
+    public CourseProgress(int userId, int courseId, int completedLectures, int totalLectures) {
+        this.userId = userId;
+        this.courseId = courseId;
+        this.completedLectures = completedLectures;
+        this.totalLectures = totalLectures;
+    }
+
+    public int getPercentage() {
+        if (totalLectures == 0) {
+            return 0;
+        }
+        return (int) Math.round(Math.min(completedLectures, totalLectures) * 100.0 / totalLectures);
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.henrique.virtualteacher.entities;
+
+import com.henrique.virtualteacher.models.RatingAggregate;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "course_rating_summaries")
+public class CourseRatingSummary implements RatingAggregate {
+
+    @Id
+    @Column(name = "course_id")
+    private int courseId;
+
+    @Column(name = "rating_count")
+    private long ratingCount;
+
+    @Column(name = "rating_sum")
+    private long ratingSum;
+
+    public CourseRatingSummary(int courseId, long ratingCount, long ratingSum) {
+        this.courseId = courseId;
+        this.ratingCount = ratingCount;
+        this.ratingSum = ratingSum;
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.henrique.virtualteacher.entities;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+
+/**
+ * Mint revenue of a creator that has been sold but not yet added to the creator's wallet. Every wallet has
+ * several shards and each sale credits one of them, so concurrent sales of the same creator update different rows.
+ * The amount is only changed through the conditional updates of the repository.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "creator_revenue_shards",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"wallet_id", "shard"}))
+public class CreatorRevenueShard {
+
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    @Column(name = "wallet_id", updatable = false)
+    private int walletId;
+
+    @Column(name = "shard", updatable = false)
+    private int shard;
+
+    @Column(name = "amount", updatable = false)
+    private BigDecimal amount;
+
+    public CreatorRevenueShard(int walletId, int shard) {
+        this.walletId = walletId;
+        this.shard = shard;
+        this.amount = BigDecimal.ZERO;
+    }
+
+}
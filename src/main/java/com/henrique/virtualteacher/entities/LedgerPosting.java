@@ -0,0 +1,55 @@
+package com.henrique.virtualteacher.entities;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One side of a ledger entry. Every movement of funds is written as two postings sharing the same entry id,
+ * a debit (negative amount) and a credit (positive amount), so the sum of all postings is always zero.
+ * Deposits are credited from {@link #EXTERNAL_ACCOUNT_ID}, which stands for money entering the platform.
+ * Postings are append only, they are never updated or deleted.
+ */
+@Entity
+@Getter
+@Immutable
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "ledger_postings")
+public class LedgerPosting {
+
+    public static final int EXTERNAL_ACCOUNT_ID = 0;
+
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(name = "entry_id", updatable = false)
+    private String entryId;
+
+    @Column(name = "wallet_id", updatable = false)
+    private int walletId;
+
+    @Column(name = "transaction_id", updatable = false)
+    private Integer transactionId;
+
+    @Column(name = "amount", updatable = false)
+    private BigDecimal amount;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    public LedgerPosting(String entryId, int walletId, Integer transactionId, BigDecimal amount) {
+        this.entryId = entryId;
+        this.walletId = walletId;
+        this.transactionId = transactionId;
+        this.amount = amount;
+        this.createdAt = LocalDateTime.now();
+    }
+
+}
@@ -37,20 +37,11 @@ public class NFT {
     @Column(name = "drop_number")
     private int dropNumber;
 
-    public NFT(User owner, Course courseToPurchase) {
+    public NFT(User owner, Course courseToPurchase, int dropNumber) {
         this.owner = owner;
         this.course = courseToPurchase;
         this.completed = false;
-        this.dropNumber = setDropNumber(course);
-    }
-
-    private int setDropNumber(Course course) {
-        if (course.getNfts().size() == 0) {
-            return 1;
-        } else {
-            return course.getNfts().get(course.getNfts().size() -1).getDropNumber()
-                    + 1;
-        }
+        this.dropNumber = dropNumber;
     }
 
 }
@@ -0,0 +1,88 @@
+package com.henrique.virtualteacher.entities;
+
+import com.henrique.virtualteacher.models.MailStatus;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.mail.SimpleMailMessage;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "mail_outbox")
+public class OutboundMail {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private int id;
+
+    @Column(name = "recipient")
+    private String recipient;
+
+    @Column(name = "sender")
+    private String sender;
+
+    @Column(name = "subject")
+    private String subject;
+
+    @Column(name = "body")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private MailStatus status;
+
+    @Column(name = "attempts")
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    public OutboundMail(SimpleMailMessage message) {
+        this.recipient = String.join(",", message.getTo());
+        this.sender = message.getFrom();
+        this.subject = message.getSubject();
+        this.body = message.getText();
+        this.status = MailStatus.PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    public SimpleMailMessage toMailMessage() {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(sender);
+        message.setTo(recipient.split(","));
+        message.setSubject(subject);
+        message.setText(body);
+        return message;
+    }
+
+    public void markSent() {
+        this.status = MailStatus.SENT;
+        this.sentAt = LocalDateTime.now();
+        this.lastError = null;
+    }
+
+    public void markFailed(String error, LocalDateTime nextAttemptAt, boolean retry) {
+        this.status = retry ? MailStatus.PENDING : MailStatus.FAILED;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+}
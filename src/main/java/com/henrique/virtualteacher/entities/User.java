@@ -5,9 +5,11 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.henrique.virtualteacher.exceptions.EntityNotFoundException;
 import com.henrique.virtualteacher.exceptions.ImpossibleOperationException;
 import com.henrique.virtualteacher.models.EnumRoles;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import javax.validation.constraints.Email;
@@ -18,10 +20,36 @@ import java.util.stream.Collectors;
 @Setter
 @Entity
 @NoArgsConstructor
-
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = User.AUTHENTICATION_GRAPH,
+                attributeNodes = @NamedAttributeNode("roles")),
+        @NamedEntityGraph(name = User.ENROLLED_COURSES_GRAPH,
+                attributeNodes = @NamedAttributeNode(value = "NftCourses", subgraph = "nft"),
+                subgraphs = {
+                        @NamedSubgraph(name = "nft", attributeNodes = @NamedAttributeNode(value = "course", subgraph = "course")),
+                        @NamedSubgraph(name = "course", attributeNodes = @NamedAttributeNode("creator"))
+                }),
+        @NamedEntityGraph(name = User.PROFILE_GRAPH,
+                attributeNodes = {
+                        @NamedAttributeNode(value = "NftCourses", subgraph = "nft"),
+                        @NamedAttributeNode("completedLectures")
+                },
+                subgraphs = {
+                        @NamedSubgraph(name = "nft", attributeNodes = @NamedAttributeNode(value = "course", subgraph = "course")),
+                        @NamedSubgraph(name = "course", attributeNodes = @NamedAttributeNode("creator"))
+                })
+})
 @Table(name = "users")
 public class User {
 
+    /**
+     * Fetch plans for the screens that load a user, used by the {@code UserRepository} finders of the same purpose.
+     * Roles stay out of the course graphs, two bags cannot be fetched in one query, they are loaded in batches instead.
+     */
+    public static final String AUTHENTICATION_GRAPH = "User.authentication";
+    public static final String ENROLLED_COURSES_GRAPH = "User.enrolledCourses";
+    public static final String PROFILE_GRAPH = "User.profile";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
@@ -49,6 +77,7 @@ public class User {
 //            inverseJoinColumns = @JoinColumn(name = "id"))  //fixme -> was not able to fix
 //    private Wallet wallet;
 
+    @BatchSize(size = 50)
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(name = "users_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -80,10 +109,7 @@ public class User {
 //        inverseJoinColumns = @JoinColumn(name = "course_id"))
 //    private List<Course> enrolledCourses;
 
-    @OneToMany
-    @JoinTable(name = "nft_courses",
-    joinColumns = @JoinColumn(name = "owner_id"),
-    inverseJoinColumns = @JoinColumn(name = "course_id"))
+    @OneToMany(mappedBy = "owner", cascade = CascadeType.REMOVE)
     private List<NFT> NftCourses;
 
     @JsonIgnore
@@ -99,6 +125,11 @@ public class User {
             inverseJoinColumns = @JoinColumn(name = "user_id"))
     private List<Comment> comments;
 
+    @JsonIgnore
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private final UserEnrollmentIndex enrollmentIndex = new UserEnrollmentIndex(this);
+
     public void addComment(Comment comment) {
         comments.add(comment);
     }
@@ -116,16 +147,6 @@ public class User {
                 .collect(Collectors.toList());
     }
 
-    public void purchaseCourse(Course course) {
-        if (hasPurchasedCourse(course)){
-            throw new ImpossibleOperationException(String.format("User with id: {%d}, Is already enrolled in course with id: {%d}", this.getId(), course.getId()));
-        } else if (hasCompletedCourse(course)) {
-            throw new ImpossibleOperationException(String.format("User with id {%d}, has already completed Course with id {%d}", this.getId(), course.getId()));
-        }
-        NFT newNFT = new NFT(this, course);
-        NftCourses.add(newNFT);  //fixme: change made here
-    }
-
     public void completeLecture(Lecture lecture) {
         if (!hasPurchasedCourse(lecture.getCourse())) {
             throw new ImpossibleOperationException(String.format("User with id: {%d}, is not enrolled in Course with id: {%d}", this.getId(), lecture.getCourse().getId()));
@@ -156,6 +177,7 @@ public class User {
         }
 
         toComplete.setCompleted(true);
+        enrollmentIndex.invalidate();
     }
 
     public void addAssignment(Assignment assignment) {
@@ -166,24 +188,23 @@ public class User {
     }
 
     public boolean hasAssignment(Assignment assignment) {
-        return getAssignments().stream()
-                .anyMatch(assignment1 -> assignment1.getLecture().getId() == assignment.getLecture().getId());
+        return enrollmentIndex.hasAssignmentForLecture(assignment.getLecture().getId());
     }
 
     public boolean hasCompletedCourse(Course course) {
-        return this.getNftCourses().stream()
-                .filter(NFT::isCompleted)
-                .anyMatch(courseEnrollment -> courseEnrollment.getCourse().getId() == course.getId());
+        return enrollmentIndex.hasCompletedCourse(course.getId());
     }
 
     public boolean hasCompletedLecture(Lecture lecture) {
-        return getCompletedLectures().stream()
-                .anyMatch(l -> l.getId() == lecture.getId());
+        return enrollmentIndex.hasCompletedLecture(lecture.getId());
     }
 
     public boolean hasPurchasedCourse(Course course) {
-        return this.getNftCourses().stream()
-                .anyMatch(c -> c.getCourse().getId() == course.getId());
+        return enrollmentIndex.hasPurchasedCourse(course.getId());
+    }
+
+    public int countCompletedLectures(Course course) {
+        return enrollmentIndex.countCompletedLectures(course.getId());
     }
 
     public boolean isTeacher() {
@@ -0,0 +1,116 @@
+package com.henrique.virtualteacher.entities;
+
+import com.henrique.virtualteacher.utils.IntCountMap;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Course and lecture ids of a user, indexed once per loaded collection so the membership checks of {@link User}
+ * are constant time instead of a scan per call. Each part is rebuilt when its collection is replaced or changes size,
+ * changes that keep the size, like completing an owned course, {@link #invalidate()} the index explicitly.
+ */
+class UserEnrollmentIndex {
+
+    private final User user;
+
+    private Collection<?> indexedNfts;
+    private int indexedNftCount;
+    private IntCountMap purchasedCourseIds;
+    private IntCountMap completedCourseIds;
+
+    private Collection<?> indexedLectures;
+    private int indexedLectureCount;
+    private IntCountMap completedLectureIds;
+    private IntCountMap completedLecturesPerCourse;
+
+    private Collection<?> indexedAssignments;
+    private int indexedAssignmentCount;
+    private IntCountMap assignedLectureIds;
+
+    UserEnrollmentIndex(User user) {
+        this.user = user;
+    }
+
+    boolean hasPurchasedCourse(int courseId) {
+        indexNfts();
+        return purchasedCourseIds.contains(courseId);
+    }
+
+    boolean hasCompletedCourse(int courseId) {
+        indexNfts();
+        return completedCourseIds.contains(courseId);
+    }
+
+    boolean hasCompletedLecture(int lectureId) {
+        indexLectures();
+        return completedLectureIds.contains(lectureId);
+    }
+
+    int countCompletedLectures(int courseId) {
+        indexLectures();
+        return completedLecturesPerCourse.get(courseId);
+    }
+
+    boolean hasAssignmentForLecture(int lectureId) {
+        indexAssignments();
+        return assignedLectureIds.contains(lectureId);
+    }
+
+    void invalidate() {
+        indexedNfts = null;
+        indexedLectures = null;
+        indexedAssignments = null;
+    }
+
+    private void indexNfts() {
+        List<NFT> nfts = user.getNftCourses();
+        if (isCurrent(nfts, indexedNfts, indexedNftCount)) {
+            return;
+        }
+        purchasedCourseIds = new IntCountMap(nfts.size());
+        completedCourseIds = new IntCountMap(nfts.size());
+        for (NFT nft : nfts) {
+            purchasedCourseIds.increment(nft.getCourse().getId());
+            if (nft.isCompleted()) {
+                completedCourseIds.increment(nft.getCourse().getId());
+            }
+        }
+        indexedNfts = nfts;
+        indexedNftCount = nfts.size();
+    }
+
+    private void indexLectures() {
+        Set<Lecture> lectures = user.getCompletedLectures();
+        if (isCurrent(lectures, indexedLectures, indexedLectureCount)) {
+            return;
+        }
+        completedLectureIds = new IntCountMap(lectures.size());
+        completedLecturesPerCourse = new IntCountMap(lectures.size());
+        for (Lecture lecture : lectures) {
+            completedLectureIds.increment(lecture.getId());
+            completedLecturesPerCourse.increment(lecture.getCourse().getId());
+        }
+        indexedLectures = lectures;
+        indexedLectureCount = lectures.size();
+    }
+
+    private void indexAssignments() {
+        List<Assignment> assignments = user.getAssignments();
+        if (isCurrent(assignments, indexedAssignments, indexedAssignmentCount)) {
+            return;
+        }
+        assignedLectureIds = new IntCountMap(assignments.size());
+        for (Assignment assignment : assignments) {
+            assignedLectureIds.increment(assignment.getLecture().getId());
+        }
+        indexedAssignments = assignments;
+        indexedAssignmentCount = assignments.size();
+    }
+
+    private static boolean isCurrent(Collection<?> source, Collection<?> indexed, int indexedSize) {
+        return source == indexed && source.size() == indexedSize;
+    }
+
+}
@@ -25,7 +25,11 @@ public class Wallet {
     @JoinColumn(name = "user_id")
     private User owner;
 
-    @Column(name = "balance")
+    /**
+     * Only written on insert, afterwards the balance changes through the conditional updates in
+     * {@link com.henrique.virtualteacher.repositories.WalletRepository}, so a stale copy can never be flushed over it.
+     */
+    @Column(name = "balance", updatable = false)
     private BigDecimal balance;
 
     @ManyToMany
@@ -0,0 +1,46 @@
+package com.henrique.virtualteacher.entities;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Balance of a wallet including every one of its postings up to {@code lastPostingId}.
+ * The current balance is the snapshot plus the postings of the wallet after that id.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "wallet_balance_snapshots")
+public class WalletBalanceSnapshot {
+
+    @Id
+    @Column(name = "wallet_id")
+    private int walletId;
+
+    @Column(name = "balance")
+    private BigDecimal balance;
+
+    @Column(name = "last_posting_id")
+    private long lastPostingId;
+
+    @Column(name = "taken_at")
+    private LocalDateTime takenAt;
+
+    public WalletBalanceSnapshot(int walletId) {
+        this.walletId = walletId;
+        this.balance = BigDecimal.ZERO;
+    }
+
+    public void apply(BigDecimal delta, long lastPostingId) {
+        this.balance = balance.add(delta);
+        this.lastPostingId = lastPostingId;
+        this.takenAt = LocalDateTime.now();
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.henrique.virtualteacher.exceptions;
+
+public class TooManyRequestsException extends RuntimeException{
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -36,6 +36,11 @@ public class GlobalExceptionHandler {
             return new ResponseEntity<String>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
 
+        @ExceptionHandler(TooManyRequestsException.class)
+        public ResponseEntity<String> handleGenericTooManyRequestsException(TooManyRequestsException e) {
+            return new ResponseEntity<String>(e.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+        }
+
         @ExceptionHandler(InsufficientFundsException.class)
         public ResponseEntity<String> handleGenericInsufficientFundsException(InsufficientFundsException e) {
             return new ResponseEntity<String>(e.getMessage(), HttpStatus.EXPECTATION_FAILED);
@@ -0,0 +1,28 @@
+package com.henrique.virtualteacher.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogCacheMetricsModel {
+
+    private int size;
+    private int maxSize;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+    private long discardedLoads;
+
+    private double hitRatio;
+
+    private long averageServedAgeMillis;
+    private long maxServedAgeMillis;
+
+}
@@ -0,0 +1,27 @@
+package com.henrique.virtualteacher.models;
+
+import com.henrique.virtualteacher.entities.Course;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@AllArgsConstructor
+public class CourseFacetAttributes {
+
+    public CourseFacetAttributes(Course course) {
+        this(course.getId(), course.getTopic(), course.getDifficulty(), course.isEnabled(), course.getMintPrice());
+    }
+
+    private int courseId;
+
+    private EnumTopic topic;
+
+    private EnumDifficulty difficulty;
+
+    private boolean enabled;
+
+    private BigDecimal mintPrice;
+
+}
@@ -0,0 +1,26 @@
+package com.henrique.virtualteacher.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseFacetQuery {
+
+    private EnumTopic topic;
+
+    private EnumDifficulty difficulty;
+
+    private String price;
+
+    private boolean enabled = true;
+
+    private int page;
+
+    private int size = 20;
+
+}
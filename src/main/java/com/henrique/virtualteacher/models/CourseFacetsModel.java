@@ -0,0 +1,24 @@
+package com.henrique.virtualteacher.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseFacetsModel {
+
+    private List<CourseModel> courses;
+    private int total;
+
+    private Map<EnumTopic, Integer> topics;
+    private Map<EnumDifficulty, Integer> difficulties;
+    private Map<String, Integer> prices;
+
+}
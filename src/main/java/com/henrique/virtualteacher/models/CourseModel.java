@@ -8,6 +8,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Map;
 import java.util.Set;
 
 @Getter
@@ -46,6 +47,8 @@ public class CourseModel {
 
     private String picture;
 
+    private Map<String, String> pictureRenditions;
+
     private String creatorEmail;
 
     private double averageRating;
@@ -62,4 +65,14 @@ public class CourseModel {
     private String skill3;
 
     private Set<CommentModel> comments;
+
+    /**
+     * @return the url of the picture resized to the rendition, or of the original picture when it has no renditions
+     */
+    public String getPictureUrl(String rendition) {
+        if (pictureRenditions == null || !pictureRenditions.containsKey(rendition)) {
+            return picture;
+        }
+        return pictureRenditions.get(rendition);
+    }
 }
@@ -0,0 +1,13 @@
+package com.henrique.virtualteacher.models;
+
+public interface CourseProgressAggregate {
+
+    int getUserId();
+
+    int getCourseId();
+
+    long getCompletedLectures();
+
+    long getTotalLectures();
+
+}
@@ -0,0 +1,13 @@
+package com.henrique.virtualteacher.models;
+
+public interface CourseRankingAttributes {
+
+    int getCourseId();
+
+    EnumTopic getTopic();
+
+    EnumDifficulty getDifficulty();
+
+    boolean isEnabled();
+
+}
@@ -0,0 +1,36 @@
+package com.henrique.virtualteacher.models;
+
+import com.henrique.virtualteacher.entities.Course;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@AllArgsConstructor
+public class CourseSearchDocument {
+
+    public CourseSearchDocument(Course course) {
+        this(course.getId(), course.getTitle(), course.getDescription(), course.getSkill1(), course.getSkill2(),
+                course.getSkill3(), course.getTopic(), course.getDifficulty(), course.getMintPrice());
+    }
+
+    private int courseId;
+
+    private String title;
+
+    private String description;
+
+    private String skill1;
+
+    private String skill2;
+
+    private String skill3;
+
+    private EnumTopic topic;
+
+    private EnumDifficulty difficulty;
+
+    private BigDecimal mintPrice;
+
+}
@@ -0,0 +1,28 @@
+package com.henrique.virtualteacher.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseSearchQuery {
+
+    private String keyword;
+
+    private EnumTopic topic;
+
+    private EnumDifficulty difficulty;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    private int limit = 20;
+
+}
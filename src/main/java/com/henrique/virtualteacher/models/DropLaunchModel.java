@@ -0,0 +1,25 @@
+package com.henrique.virtualteacher.models;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class DropLaunchModel {
+
+    private int courseId;
+
+    private boolean open;
+    private boolean soldOut;
+
+    private int queuedRequests;
+    private int queueCapacity;
+
+    private long mintedNfts;
+    private long failedRequests;
+    private long rejectedRequests;
+    private long batches;
+
+}
@@ -0,0 +1,6 @@
+package com.henrique.virtualteacher.models;
+
+
+public enum EnumCourseSort {
+    TITLE, PRICE, MINT_DATE, RATING, MINT_PERCENTAGE
+}
@@ -0,0 +1,30 @@
+package com.henrique.virtualteacher.models;
+
+import java.util.Locale;
+
+/**
+ * The sizes pictures are scaled down to, each fits inside its box and keeps the proportions of the original.
+ */
+public enum EnumImageRendition {
+    THUMBNAIL(160, 90), CARD(480, 270), HERO(1280, 720);
+
+    private final int maxWidth;
+    private final int maxHeight;
+
+    EnumImageRendition(int maxWidth, int maxHeight) {
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+    }
+
+    public int getMaxWidth() {
+        return maxWidth;
+    }
+
+    public int getMaxHeight() {
+        return maxHeight;
+    }
+
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,5 @@
+package com.henrique.virtualteacher.models;
+
+public enum EnumSuggestionType {
+    COURSE, USER
+}
@@ -0,0 +1,24 @@
+package com.henrique.virtualteacher.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageUploadJobModel {
+
+    private String id;
+    private UploadStatus status;
+    private String url;
+    private String error;
+    private LocalDateTime submittedAt;
+    private Map<String, String> renditions;
+
+}
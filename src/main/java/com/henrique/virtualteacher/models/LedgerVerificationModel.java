@@ -0,0 +1,32 @@
+package com.henrique.virtualteacher.models;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class LedgerVerificationModel {
+
+    private long postings;
+    private long snapshots;
+
+    private BigDecimal ledgerTotal;
+
+    private List<Integer> snapshotMismatches = new ArrayList<>();
+    private List<Integer> walletMismatches = new ArrayList<>();
+
+    public boolean isBalanced() {
+        return ledgerTotal != null && ledgerTotal.signum() == 0;
+    }
+
+    public boolean isConsistent() {
+        return isBalanced() && snapshotMismatches.isEmpty() && walletMismatches.isEmpty();
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.henrique.virtualteacher.models;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class MailOutboxMetricsModel {
+
+    private long pendingMails;
+    private long failedMails;
+
+    private long enqueuedMails;
+    private long sentMails;
+    private long retriedMails;
+    private long abandonedMails;
+    private long smtpBatches;
+
+    private double averageDeliveryMillis;
+
+}
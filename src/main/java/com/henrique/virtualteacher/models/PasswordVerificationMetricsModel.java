@@ -0,0 +1,28 @@
+package com.henrique.virtualteacher.models;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class PasswordVerificationMetricsModel {
+
+    private int strength;
+    private int threads;
+    private int activeVerifications;
+    private int queuedVerifications;
+
+    private long completedVerifications;
+    private long rejectedVerifications;
+    private long timedOutVerifications;
+    private long throttledAttempts;
+    private long upgradedEncodings;
+
+    private double p50Millis;
+    private double p95Millis;
+    private double p99Millis;
+    private double maxMillis;
+
+}
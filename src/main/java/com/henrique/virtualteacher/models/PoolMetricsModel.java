@@ -0,0 +1,29 @@
+package com.henrique.virtualteacher.models;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class PoolMetricsModel {
+
+    private String poolName;
+
+    private int activeConnections;
+    private int idleConnections;
+    private int totalConnections;
+    private int pendingThreads;
+    private int maxConnections;
+    private int minConnections;
+
+    private long connectionRequests;
+    private long createdConnections;
+    private long timeouts;
+
+    private double averageWaitMillis;
+    private double maxWaitMillis;
+    private double averageUsageMillis;
+
+}
@@ -0,0 +1,15 @@
+package com.henrique.virtualteacher.models;
+
+public interface RatingAggregate {
+
+    int getCourseId();
+
+    long getRatingCount();
+
+    long getRatingSum();
+
+    default double getAverage() {
+        return getRatingCount() == 0 ? 0 : (double) getRatingSum() / getRatingCount();
+    }
+
+}
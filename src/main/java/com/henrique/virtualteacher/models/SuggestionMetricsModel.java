@@ -0,0 +1,22 @@
+package com.henrique.virtualteacher.models;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class SuggestionMetricsModel {
+
+    private int courseEntries;
+    private int courseNodes;
+    private long courseEstimatedBytes;
+
+    private int userEntries;
+    private int userNodes;
+    private long userEstimatedBytes;
+
+    private long lastRebuildMillis;
+
+}
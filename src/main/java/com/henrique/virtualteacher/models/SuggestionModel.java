@@ -0,0 +1,19 @@
+package com.henrique.virtualteacher.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionModel {
+
+    private EnumSuggestionType type;
+    private int id;
+    private String text;
+    private long popularity;
+
+}
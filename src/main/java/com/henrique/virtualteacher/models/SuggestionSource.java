@@ -0,0 +1,11 @@
+package com.henrique.virtualteacher.models;
+
+public interface SuggestionSource {
+
+    int getId();
+
+    String getText();
+
+    long getPopularity();
+
+}
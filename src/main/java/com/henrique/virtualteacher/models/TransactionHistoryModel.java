@@ -0,0 +1,28 @@
+package com.henrique.virtualteacher.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * One page of a wallet's history, newest first. The next page is requested with {@code nextCursor},
+ * which is null on the last page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionHistoryModel {
+
+    private List<TransactionSummaryModel> content;
+
+    private String nextCursor;
+
+    public boolean isLast() {
+        return nextCursor == null;
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.henrique.virtualteacher.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A row of a wallet's history, selected column by column so listing transactions does not load
+ * wallets, users or courses. The counterparty is the other wallet's owner, a deposit is incoming
+ * and its counterparty is the wallet owner.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionSummaryModel {
+
+    private int id;
+
+    private TransactionType transactionType;
+
+    private TransactionStatus status;
+
+    private BigDecimal amount;
+
+    private LocalDate creationTime;
+
+    private boolean incoming;
+
+    private String counterpartyUsername;
+
+    private String courseTitle;
+
+}
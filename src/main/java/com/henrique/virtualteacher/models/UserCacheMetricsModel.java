@@ -0,0 +1,24 @@
+package com.henrique.virtualteacher.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserCacheMetricsModel {
+
+    private int size;
+    private int maxSize;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    private double hitRatio;
+
+}
@@ -0,0 +1,18 @@
+package com.henrique.virtualteacher.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserLookupMetricsModel {
+
+    private long lookups;
+    private long databaseQueries;
+    private long queriesSaved;
+
+}
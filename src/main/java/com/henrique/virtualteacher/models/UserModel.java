@@ -7,6 +7,7 @@ import lombok.Setter;
 
 import javax.validation.constraints.NotBlank;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Getter
@@ -40,6 +41,8 @@ public class UserModel {
 
     private String profilePicture;
 
+    private Map<String, String> profilePictureRenditions;
+
     private int walledId;
 
     @NotBlank
@@ -0,0 +1,57 @@
+package com.henrique.virtualteacher.repositories;
+
+import com.henrique.virtualteacher.entities.CourseProgress;
+import com.henrique.virtualteacher.models.CourseProgressAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CourseProgressRepository extends JpaRepository<CourseProgress, Integer> {
+
+    List<CourseProgress> findAllByUserIdAndCourseIdIn(int userId, Collection<Integer> courseIds);
+
+    boolean existsByUserIdAndCourseId(int userId, int courseId);
+
+    @Query("select u.id as userId, l.course.id as courseId, count(l) as completedLectures, " +
+            "(select count(t) from Lecture t where t.course.id = l.course.id) as totalLectures " +
+            "from User u join u.completedLectures l group by u.id, l.course.id")
+    List<CourseProgressAggregate> getAggregatesFromCompletedLectures();
+
+    /**
+     * @return 0 when the user has no progress in the course yet
+     */
+    @Transactional
+    @Modifying
+    @Query("update CourseProgress p set p.completedLectures = p.completedLectures + 1 " +
+            "where p.userId = :userId and p.courseId = :courseId")
+    int incrementCompleted(@Param("userId") int userId, @Param("courseId") int courseId);
+
+    @Transactional
+    @Modifying
+    @Query("update CourseProgress p set p.completedLectures = p.completedLectures - 1 " +
+            "where p.courseId = :courseId and p.userId in :userIds and p.completedLectures > 0")
+    int decrementCompleted(@Param("courseId") int courseId, @Param("userIds") Collection<Integer> userIds);
+
+    @Transactional
+    @Modifying
+    @Query("update CourseProgress p set p.totalLectures = p.totalLectures + :delta where p.courseId = :courseId")
+    int adjustTotalLectures(@Param("courseId") int courseId, @Param("delta") int delta);
+
+    @Transactional
+    @Modifying
+    @Query("update CourseProgress p set p.completedLectures = :completed, p.totalLectures = :total where p.id = :id")
+    int setCounters(@Param("id") int id, @Param("completed") int completed, @Param("total") int total);
+
+    @Transactional
+    @Modifying
+    @Query("delete from CourseProgress p where p.courseId = :courseId")
+    int deleteAllByCourseId(@Param("courseId") int courseId);
+
+}
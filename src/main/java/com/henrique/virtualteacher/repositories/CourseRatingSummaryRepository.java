@@ -0,0 +1,28 @@
+package com.henrique.virtualteacher.repositories;
+
+import com.henrique.virtualteacher.entities.CourseRatingSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CourseRatingSummaryRepository extends JpaRepository<CourseRatingSummary, Integer> {
+
+    Optional<CourseRatingSummary> findByCourseId(int courseId);
+
+    List<CourseRatingSummary> findAllByCourseIdIn(Collection<Integer> courseIds);
+
+    @Modifying
+    @Query("update CourseRatingSummary s set s.ratingCount = s.ratingCount + :countDelta, " +
+            "s.ratingSum = s.ratingSum + :sumDelta where s.courseId = :courseId")
+    int applyDelta(@Param("courseId") int courseId,
+                   @Param("countDelta") long countDelta,
+                   @Param("sumDelta") long sumDelta);
+
+}
@@ -1,11 +1,20 @@
 package com.henrique.virtualteacher.repositories;
 
 import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.models.CourseFacetAttributes;
+import com.henrique.virtualteacher.models.CourseRankingAttributes;
+import com.henrique.virtualteacher.models.CourseSearchDocument;
 import com.henrique.virtualteacher.models.EnumDifficulty;
 import com.henrique.virtualteacher.models.EnumTopic;
+import com.henrique.virtualteacher.models.SuggestionSource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,11 +31,80 @@ public interface CourseRepository extends JpaRepository<Course, Integer> {
 
     List<Course> findByEnabled(boolean isEnabled);
 
+    Page<Course> findByEnabled(boolean isEnabled, Pageable pageable);
+
+    /**
+     * Same rows as {@link #findByEnabled(boolean, Pageable)}, with the rating summary joined in as {@code s}
+     * so that the pageable can sort on computed expressions over {@code c} and {@code s}.
+     */
+    @Query(value = "select c from Course c left join CourseRatingSummary s on s.courseId = c.id where c.enabled = :enabled",
+            countQuery = "select count(c) from Course c where c.enabled = :enabled")
+    Page<Course> findCatalogPage(@Param("enabled") boolean isEnabled, Pageable pageable);
+
     List<Course> findByTopic(EnumTopic topic);
 
     List<Course> findByDifficulty(EnumDifficulty difficulty);
 
-    @Query(value = "select * from courses c order by c.title asc limit 3", nativeQuery = true)
-    List<Course> getThreeRandomCourses();
+    /**
+     * What the course leaderboards need of every course, without loading the courses and their creators.
+     */
+    @Query("select c.id as courseId, c.topic as topic, c.difficulty as difficulty, c.enabled as enabled from Course c")
+    List<CourseRankingAttributes> getRankingAttributes();
+
+    /**
+     * The searchable fields of every enabled course, for rebuilding the search index without loading the courses.
+     */
+    @Query("select new com.henrique.virtualteacher.models.CourseSearchDocument(c.id, c.title, c.description, " +
+            "c.skill1, c.skill2, c.skill3, c.topic, c.difficulty, c.mintPrice) from Course c where c.enabled = true")
+    List<CourseSearchDocument> getSearchDocuments();
+
+    /**
+     * The facet values of every course, for rebuilding the facet bitmaps without loading the courses.
+     */
+    @Query("select new com.henrique.virtualteacher.models.CourseFacetAttributes(c.id, c.topic, c.difficulty, c.enabled, c.mintPrice) " +
+            "from Course c")
+    List<CourseFacetAttributes> getFacetAttributes();
+
+    /**
+     * Title and mint count of every enabled course, for rebuilding the title suggestions.
+     */
+    @Query("select c.id as id, c.title as text, c.mintedCount as popularity from Course c where c.enabled = true")
+    List<SuggestionSource> getSuggestionSources();
+
+    /**
+     * Takes the next drop number of the course if it still has supply, the supply check and both counters
+     * change in one statement under the row lock.
+     * @return 1 when a mint was reserved, 0 when the course is sold out
+     */
+    @Transactional
+    @Modifying
+    @Query("update Course c set c.mintedCount = c.mintedCount + 1, c.lastDropNumber = c.lastDropNumber + 1 " +
+            "where c.id = :courseId and c.mintedCount < c.availableMints")
+    int reserveMint(@Param("courseId") int courseId);
+
+    /**
+     * Takes {@code count} contiguous drop numbers at once, only if the remaining supply covers all of them.
+     */
+    @Transactional
+    @Modifying
+    @Query("update Course c set c.mintedCount = c.mintedCount + :count, c.lastDropNumber = c.lastDropNumber + :count " +
+            "where c.id = :courseId and c.mintedCount + :count <= c.availableMints")
+    int reserveMints(@Param("courseId") int courseId, @Param("count") int count);
+
+    @Transactional
+    @Modifying
+    @Query("update Course c set c.mintedCount = c.mintedCount - 1 where c.id = :courseId and c.mintedCount > 0")
+    int releaseMint(@Param("courseId") int courseId);
+
+    @Transactional
+    @Modifying
+    @Query("update Course c set c.picture = :picture where c.id = :courseId")
+    int updatePicture(@Param("courseId") int courseId, @Param("picture") String picture);
+
+    @Query("select c.availableMints - c.mintedCount from Course c where c.id = :courseId")
+    int getRemainingMints(@Param("courseId") int courseId);
+
+    @Query("select c.lastDropNumber from Course c where c.id = :courseId")
+    int getLastDropNumber(@Param("courseId") int courseId);
 
 }
@@ -0,0 +1,45 @@
+package com.henrique.virtualteacher.repositories;
+
+import com.henrique.virtualteacher.entities.CreatorRevenueShard;
+import com.henrique.virtualteacher.models.WalletBalanceModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface CreatorRevenueShardRepository extends JpaRepository<CreatorRevenueShard, Integer> {
+
+    @Query("select s from CreatorRevenueShard s where s.amount > 0 order by s.walletId, s.shard")
+    List<CreatorRevenueShard> findAllPending();
+
+    @Query("select new com.henrique.virtualteacher.models.WalletBalanceModel(s.walletId, sum(s.amount)) " +
+            "from CreatorRevenueShard s group by s.walletId")
+    List<WalletBalanceModel> sumPendingByWallet();
+
+    @Query("select coalesce(sum(s.amount), 0) from CreatorRevenueShard s where s.walletId = :walletId")
+    BigDecimal sumPending(@Param("walletId") int walletId);
+
+    /**
+     * @return 0 when the shard does not exist yet
+     */
+    @Transactional
+    @Modifying
+    @Query("update CreatorRevenueShard s set s.amount = s.amount + :amount where s.walletId = :walletId and s.shard = :shard")
+    int credit(@Param("walletId") int walletId, @Param("shard") int shard, @Param("amount") BigDecimal amount);
+
+    /**
+     * Takes out an amount read earlier, credits made in the meantime stay in the shard.
+     * @return 0 when the amount is no longer there because another flush has already taken it
+     */
+    @Transactional
+    @Modifying
+    @Query("update CreatorRevenueShard s set s.amount = s.amount - :amount where s.id = :id and s.amount >= :amount")
+    int debit(@Param("id") int id, @Param("amount") BigDecimal amount);
+
+}
@@ -25,6 +25,8 @@ public interface LectureRepository extends JpaRepository<Lecture, Integer> {
 
     List<Lecture> getAllByCourseId(int id);
 
+    int countByCourseId(int courseId);
+
     List<Lecture> getAllByEnabled(boolean enabled);
 
 
@@ -0,0 +1,48 @@
+package com.henrique.virtualteacher.repositories;
+
+import com.henrique.virtualteacher.entities.LedgerPosting;
+import com.henrique.virtualteacher.models.WalletBalanceModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface LedgerPostingRepository extends JpaRepository<LedgerPosting, Long> {
+
+    /**
+     * The snapshot and the postings after its high-water id are read in one statement, so a checkpoint committing
+     * in between cannot count a posting twice or not at all.
+     */
+    @Query(value = "select coalesce((select s.balance from wallet_balance_snapshots s where s.wallet_id = :walletId), 0) " +
+            "+ coalesce((select sum(p.amount) from ledger_postings p where p.wallet_id = :walletId and p.id > " +
+            "coalesce((select s.last_posting_id from wallet_balance_snapshots s where s.wallet_id = :walletId), 0)), 0)",
+            nativeQuery = true)
+    BigDecimal getBalance(@Param("walletId") int walletId);
+
+    @Query("select coalesce(sum(p.amount), 0) from LedgerPosting p")
+    BigDecimal sumAll();
+
+    @Query("select coalesce(max(p.id), 0) from LedgerPosting p")
+    long findLastId();
+
+    @Query("select new com.henrique.virtualteacher.models.WalletBalanceModel(p.walletId, sum(p.amount)) " +
+            "from LedgerPosting p where p.id > :fromId and p.id <= :toId group by p.walletId")
+    List<WalletBalanceModel> sumByWalletInRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /**
+     * @return for every snapshot, the sum of the postings of its wallet up to the snapshot's high-water id
+     */
+    @Query("select new com.henrique.virtualteacher.models.WalletBalanceModel(s.walletId, sum(p.amount)) " +
+            "from WalletBalanceSnapshot s, LedgerPosting p where p.walletId = s.walletId and p.id <= s.lastPostingId " +
+            "group by s.walletId")
+    List<WalletBalanceModel> sumUpToSnapshotByWallet();
+
+    @Query("select new com.henrique.virtualteacher.models.WalletBalanceModel(p.walletId, sum(p.amount)) " +
+            "from LedgerPosting p group by p.walletId")
+    List<WalletBalanceModel> sumAllByWallet();
+
+}
@@ -0,0 +1,35 @@
+package com.henrique.virtualteacher.repositories;
+
+import com.henrique.virtualteacher.entities.OutboundMail;
+import com.henrique.virtualteacher.models.MailStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<OutboundMail, Integer> {
+
+    @Query("select m.id from OutboundMail m where m.status = :status and m.nextAttemptAt <= :now order by m.id")
+    List<Integer> findDueIds(@Param("status") MailStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Leases a due mail to the caller by pushing its next attempt past the lease, so that a concurrent dispatcher
+     * skips it. A mail whose sender died mid delivery becomes due again once the lease runs out.
+     * @return 1 when the mail was claimed, 0 when another dispatcher got it first
+     */
+    @Transactional
+    @Modifying
+    @Query("update OutboundMail m set m.nextAttemptAt = :leaseUntil, m.attempts = m.attempts + 1 " +
+            "where m.id = :id and m.status = com.henrique.virtualteacher.models.MailStatus.PENDING and m.nextAttemptAt <= :now")
+    int claim(@Param("id") int id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    long countByStatus(MailStatus status);
+
+}
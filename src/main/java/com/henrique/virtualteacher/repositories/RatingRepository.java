@@ -1,7 +1,9 @@
 package com.henrique.virtualteacher.repositories;
 
 import com.henrique.virtualteacher.entities.Rating;
+import com.henrique.virtualteacher.models.RatingAggregate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,6 +16,9 @@ public interface RatingRepository extends JpaRepository<Rating, Integer> {
 
     List<Rating> getAllByUserId(int id);
 
+    @Query("select r.course.id as courseId, count(r) as ratingCount, sum(r.rating) as ratingSum " +
+            "from Rating r group by r.course.id")
+    List<RatingAggregate> getAggregatesForAllCourses();
 
 
 }
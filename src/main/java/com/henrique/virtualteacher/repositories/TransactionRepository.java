@@ -2,10 +2,13 @@ package com.henrique.virtualteacher.repositories;
 
 import com.henrique.virtualteacher.entities.Transaction;
 import com.henrique.virtualteacher.models.TransactionStatus;
+import com.henrique.virtualteacher.models.TransactionSummaryModel;
 import com.henrique.virtualteacher.models.TransactionType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -13,11 +16,39 @@ import java.util.Optional;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Integer> {
 
+    String SENT_SUMMARY = "select new com.henrique.virtualteacher.models.TransactionSummaryModel(t.id, t.transactionType, t.status, " +
+            "t.amount, t.creationTime, case when t.recipientWallet.id = :walletId then true else false end, o.username, c.title) " +
+            "from Transaction t left join t.recipientWallet w left join w.owner o left join t.purchasedCourse n left join n.course c ";
+
+    String RECEIVED_SUMMARY = "select new com.henrique.virtualteacher.models.TransactionSummaryModel(t.id, t.transactionType, t.status, " +
+            "t.amount, t.creationTime, true, o.username, c.title) " +
+            "from Transaction t left join t.senderWallet w left join w.owner o left join t.purchasedCourse n left join n.course c ";
+
+    String BEFORE_CURSOR = "and (t.creationTime < :creationTime or (t.creationTime = :creationTime and t.id < :id)) " +
+            "order by t.creationTime desc, t.id desc";
+
     Optional<Transaction> getById(int id);
 
     Page<Transaction> findAllByRecipientWalletIdOrSenderWalletId(int recipientWalletId, int senderWalletId, Pageable pageable);
 
-    Page<Transaction> findAllByRecipientWalletIdOrSenderWalletIdOrderByCreationTimeDesc(int recipientWalletId, int senderWalletId, Pageable pageable);
+    /**
+     * The history of a wallet is read from the sender side and the recipient side separately, each side walks
+     * its own (wallet, creation_time, id) index from the newest row and stops after the page size.
+     * Rows are projected to {@link TransactionSummaryModel} with the counterparty and course joined in the same query.
+     */
+    @Query(SENT_SUMMARY + "where t.senderWallet.id = :walletId order by t.creationTime desc, t.id desc")
+    List<TransactionSummaryModel> findLatestSent(@Param("walletId") int walletId, Pageable pageable);
+
+    @Query(SENT_SUMMARY + "where t.senderWallet.id = :walletId " + BEFORE_CURSOR)
+    List<TransactionSummaryModel> findSentBefore(@Param("walletId") int walletId, @Param("creationTime") LocalDate creationTime,
+                                                 @Param("id") int id, Pageable pageable);
+
+    @Query(RECEIVED_SUMMARY + "where t.recipientWallet.id = :walletId order by t.creationTime desc, t.id desc")
+    List<TransactionSummaryModel> findLatestReceived(@Param("walletId") int walletId, Pageable pageable);
+
+    @Query(RECEIVED_SUMMARY + "where t.recipientWallet.id = :walletId " + BEFORE_CURSOR)
+    List<TransactionSummaryModel> findReceivedBefore(@Param("walletId") int walletId, @Param("creationTime") LocalDate creationTime,
+                                                     @Param("id") int id, Pageable pageable);
 
     Page<Transaction>findAll(Pageable pageable);
 
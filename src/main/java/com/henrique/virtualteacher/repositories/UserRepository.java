@@ -1,7 +1,10 @@
 package com.henrique.virtualteacher.repositories;
 
 import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.models.SuggestionSource;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,8 +17,24 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
     Optional<User> findByEmail(String email);
 
+    @EntityGraph(User.AUTHENTICATION_GRAPH)
+    Optional<User> findForAuthenticationByEmail(String email);
+
+    @EntityGraph(User.ENROLLED_COURSES_GRAPH)
+    Optional<User> findWithEnrolledCoursesByEmail(String email);
+
+    @EntityGraph(User.PROFILE_GRAPH)
+    Optional<User> findProfileById(int id);
+
     List<User> findAllByEnabled(boolean enabled);
 
     Optional<User> findByUsername(String username);
 
+    /**
+     * Username of every verified user, with the mints of the courses the user created as popularity.
+     */
+    @Query("select u.id as id, u.username as text, coalesce(sum(c.mintedCount), 0) as popularity " +
+            "from User u left join Course c on c.creator = u where u.enabled = true group by u.id, u.username")
+    List<SuggestionSource> getSuggestionSources();
+
 }
@@ -0,0 +1,14 @@
+package com.henrique.virtualteacher.repositories;
+
+import com.henrique.virtualteacher.entities.WalletBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WalletBalanceSnapshotRepository extends JpaRepository<WalletBalanceSnapshot, Integer> {
+
+    @Query("select coalesce(max(s.lastPostingId), 0) from WalletBalanceSnapshot s")
+    long findLastPostingId();
+
+}
@@ -1,9 +1,17 @@
 package com.henrique.virtualteacher.repositories;
 
 import com.henrique.virtualteacher.entities.Wallet;
+import com.henrique.virtualteacher.models.WalletBalanceModel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,4 +23,28 @@ public interface WalletRepository extends JpaRepository<Wallet, Integer> {
 
     Optional<Wallet> getByOwnerEmail(String email);
 
+    List<Wallet> getAllByOwnerIdIn(Collection<Integer> ownerIds);
+
+    /**
+     * Balances include the mint revenue that is still pending in the creator revenue shards.
+     */
+    @Query("select new com.henrique.virtualteacher.models.WalletBalanceModel(w.id, w.balance + coalesce(sum(s.amount), 0)) " +
+            "from Wallet w left join CreatorRevenueShard s on s.walletId = w.id group by w.id, w.balance")
+    List<WalletBalanceModel> findAllBalances();
+
+    /**
+     * Takes the amount out of the wallet only if it is covered by the current balance. The check and the update
+     * run as one statement under the row lock, so concurrent withdrawals can neither overdraw the wallet nor lose updates.
+     * @return 1 when the amount was withdrawn, 0 when the balance was insufficient
+     */
+    @Transactional
+    @Modifying
+    @Query("update Wallet w set w.balance = w.balance - :amount where w.id = :walletId and w.balance >= :amount")
+    int withdraw(@Param("walletId") int walletId, @Param("amount") BigDecimal amount);
+
+    @Transactional
+    @Modifying
+    @Query("update Wallet w set w.balance = w.balance + :amount where w.id = :walletId")
+    int deposit(@Param("walletId") int walletId, @Param("amount") BigDecimal amount);
+
 }
@@ -0,0 +1,56 @@
+package com.henrique.virtualteacher.services.implementation;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.models.CourseFacetAttributes;
+import com.henrique.virtualteacher.models.CourseFacetQuery;
+import com.henrique.virtualteacher.repositories.CourseRepository;
+import com.henrique.virtualteacher.services.interfaces.CourseFacetService;
+import com.henrique.virtualteacher.utils.CourseFacetIndex;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import static com.henrique.virtualteacher.utils.TransactionCallbacks.afterCommit;
+
+/**
+ * Keeps the {@link CourseFacetIndex} in step with the courses, disabled courses are indexed as well.
+ * Changes are applied once their transaction commits. {@link #rebuild()} loads the bitmaps when the application
+ * starts and then periodically rebuilds them from the database, which corrects a change missed during a rebuild.
+ */
+@Service
+@AllArgsConstructor
+public class CourseFacetServiceImpl implements CourseFacetService {
+
+    private final CourseFacetIndex courseFacetIndex;
+    private final CourseRepository courseRepository;
+    private final Logger logger;
+
+    @Override
+    public CourseFacetIndex.Result filter(CourseFacetQuery query) {
+        return courseFacetIndex.filter(query.getTopic(), query.getDifficulty(), query.getPrice(), query.isEnabled(),
+                query.getPage(), query.getSize());
+    }
+
+    @Override
+    public void courseChanged(Course course) {
+        CourseFacetAttributes attributes = new CourseFacetAttributes(course);
+        afterCommit(() -> courseFacetIndex.put(attributes));
+    }
+
+    @Override
+    public void courseDeleted(int courseId) {
+        afterCommit(() -> courseFacetIndex.remove(courseId));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${facets.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        courseFacetIndex.replaceAll(courseRepository.getFacetAttributes());
+
+        logger.info(String.format("Course facets rebuilt, %d courses indexed in %d ms",
+                courseFacetIndex.size(), (System.nanoTime() - start) / 1_000_000));
+    }
+
+}
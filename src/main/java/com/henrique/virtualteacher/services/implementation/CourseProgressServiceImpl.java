@@ -0,0 +1,150 @@
+package com.henrique.virtualteacher.services.implementation;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.entities.CourseProgress;
+import com.henrique.virtualteacher.entities.Lecture;
+import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.models.CourseProgressAggregate;
+import com.henrique.virtualteacher.repositories.CourseProgressRepository;
+import com.henrique.virtualteacher.repositories.LectureRepository;
+import com.henrique.virtualteacher.services.interfaces.CourseProgressService;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the completed and total lecture counters of {@link CourseProgress} in step with lecture completions
+ * and with lectures being added to or deleted from a course, so the progress of a whole page of courses
+ * is read with one query instead of going through the completed lectures of the user for every course.
+ */
+@Service
+public class CourseProgressServiceImpl implements CourseProgressService {
+
+    private final CourseProgressRepository courseProgressRepository;
+    private final LectureRepository lectureRepository;
+    private final TransactionTemplate progressCreationTemplate;
+    private final Logger logger;
+
+    @Autowired
+    public CourseProgressServiceImpl(CourseProgressRepository courseProgressRepository,
+                                     LectureRepository lectureRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     Logger logger) {
+        this.courseProgressRepository = courseProgressRepository;
+        this.lectureRepository = lectureRepository;
+        this.progressCreationTemplate = new TransactionTemplate(transactionManager);
+        this.progressCreationTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.logger = logger;
+    }
+
+    @Override
+    public void lectureCompleted(User user, Lecture lecture) {
+        int courseId = lecture.getCourse().getId();
+
+        if (!courseProgressRepository.existsByUserIdAndCourseId(user.getId(), courseId)) {
+            createProgress(user.getId(), courseId);
+        }
+        courseProgressRepository.incrementCompleted(user.getId(), courseId);
+    }
+
+    @Override
+    public void lectureAdded(Course course) {
+        courseProgressRepository.adjustTotalLectures(course.getId(), 1);
+    }
+
+    @Override
+    public void lectureDeleted(Course course, Collection<Integer> completedByUserIds) {
+        courseProgressRepository.adjustTotalLectures(course.getId(), -1);
+        if (!completedByUserIds.isEmpty()) {
+            courseProgressRepository.decrementCompleted(course.getId(), completedByUserIds);
+        }
+    }
+
+    @Override
+    public void allLecturesDeleted(int courseId) {
+        int deleted = courseProgressRepository.deleteAllByCourseId(courseId);
+        logger.info(String.format("Progress of %d users in course with id: %d, has been reset", deleted, courseId));
+    }
+
+    /**
+     * @return the completion percentage by course id, courses the user has not started are left out
+     */
+    @Override
+    public Map<Integer, Integer> getCompletionPercentages(User user, List<Course> courses) {
+        if (courses.isEmpty()) {
+            return Map.of();
+        }
+        List<Integer> courseIds = courses.stream()
+                .map(Course::getId)
+                .collect(Collectors.toList());
+
+        return courseProgressRepository.findAllByUserIdAndCourseIdIn(user.getId(), courseIds)
+                .stream()
+                .collect(Collectors.toMap(CourseProgress::getCourseId, CourseProgress::getPercentage));
+    }
+
+    /**
+     * Recomputes the progress of every user from the users_completed_lectures rows and corrects the ones that drifted,
+     * rows of users that no longer have a completed lecture in the course are removed.
+     * @return the number of progress rows that had to be corrected
+     */
+    @Override
+    @Transactional
+    @Scheduled(cron = "${progress.repair-cron:0 30 3 * * *}")
+    public int rebuildProgress() {
+
+        Map<List<Integer>, CourseProgressAggregate> actualAggregates = courseProgressRepository.getAggregatesFromCompletedLectures()
+                .stream()
+                .collect(Collectors.toMap(aggregate -> List.of(aggregate.getUserId(), aggregate.getCourseId()), Function.identity()));
+
+        List<CourseProgress> toDelete = new ArrayList<>();
+        int corrected = 0;
+        for (CourseProgress progress : courseProgressRepository.findAll()) {
+            CourseProgressAggregate actual = actualAggregates.remove(List.of(progress.getUserId(), progress.getCourseId()));
+
+            if (actual == null) {
+                toDelete.add(progress);
+            } else if (progress.getCompletedLectures() != actual.getCompletedLectures() || progress.getTotalLectures() != actual.getTotalLectures()) {
+                courseProgressRepository.setCounters(progress.getId(), (int) actual.getCompletedLectures(), (int) actual.getTotalLectures());
+                corrected++;
+            }
+        }
+        List<CourseProgress> missing = actualAggregates.values()
+                .stream()
+                .map(actual -> new CourseProgress(actual.getUserId(), actual.getCourseId(), (int) actual.getCompletedLectures(), (int) actual.getTotalLectures()))
+                .collect(Collectors.toList());
+
+        courseProgressRepository.deleteAll(toDelete);
+        courseProgressRepository.saveAll(missing);
+        corrected += toDelete.size() + missing.size();
+        logger.info(String.format("Course progress rebuilt, %d progress rows were corrected", corrected));
+        return corrected;
+    }
+
+    /**
+     * Runs in its own transaction, before the caller increments the counter, so the caller holds no lock on the missing
+     * row while it is inserted. When a concurrent completion of the same user has just created the row, only this insert fails.
+     */
+    private void createProgress(int userId, int courseId) {
+        try {
+            progressCreationTemplate.executeWithoutResult(status -> courseProgressRepository.save(
+                    new CourseProgress(userId, courseId, 0, lectureRepository.countByCourseId(courseId))));
+        } catch (DataIntegrityViolationException e) {
+            // the caller counts the lecture on the row created by the concurrent completion
+        }
+    }
+
+}
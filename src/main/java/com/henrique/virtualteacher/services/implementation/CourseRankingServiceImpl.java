@@ -0,0 +1,95 @@
+package com.henrique.virtualteacher.services.implementation;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.models.CourseRankingAttributes;
+import com.henrique.virtualteacher.models.EnumDifficulty;
+import com.henrique.virtualteacher.models.EnumTopic;
+import com.henrique.virtualteacher.repositories.CourseRatingSummaryRepository;
+import com.henrique.virtualteacher.repositories.CourseRepository;
+import com.henrique.virtualteacher.services.interfaces.CourseRankingService;
+import com.henrique.virtualteacher.utils.CourseLeaderboards;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.henrique.virtualteacher.utils.TransactionCallbacks.afterCommit;
+
+/**
+ * Keeps the {@link CourseLeaderboards} in step with the courses, ratings and mints. Changes are applied once their
+ * transaction commits, callers report them before invalidating the catalog cache so a listing reloaded right after
+ * the invalidation already sees the new ranking.
+ * <p>
+ * {@link #refresh()} loads the boards when the application starts and then periodically reloads the courses and
+ * rating summaries, which corrects a change missed while a reload was running and lets mint velocities decay.
+ * Mint velocities only live in memory and start from zero after a restart.
+ */
+@Service
+@AllArgsConstructor
+public class CourseRankingServiceImpl implements CourseRankingService {
+
+    private final CourseLeaderboards courseLeaderboards;
+    private final CourseRepository courseRepository;
+    private final CourseRatingSummaryRepository ratingSummaryRepository;
+    private final Logger logger;
+
+    @Override
+    public List<Integer> getTopCourseIds(int limit) {
+        return courseLeaderboards.getTop(limit);
+    }
+
+    @Override
+    public List<Integer> getTopCourseIds(EnumTopic topic, int limit) {
+        return courseLeaderboards.getTop(topic, limit);
+    }
+
+    @Override
+    public List<Integer> getTopCourseIds(EnumDifficulty difficulty, int limit) {
+        return courseLeaderboards.getTop(difficulty, limit);
+    }
+
+    @Override
+    public void courseChanged(Course course) {
+        int courseId = course.getId();
+        EnumTopic topic = course.getTopic();
+        EnumDifficulty difficulty = course.getDifficulty();
+        boolean enabled = course.isEnabled();
+        afterCommit(() -> courseLeaderboards.putCourse(courseId, topic, difficulty, enabled));
+    }
+
+    @Override
+    public void courseDeleted(int courseId) {
+        afterCommit(() -> courseLeaderboards.removeCourse(courseId));
+    }
+
+    @Override
+    public void courseRated(int courseId, long countDelta, long sumDelta) {
+        afterCommit(() -> courseLeaderboards.ratingChanged(courseId, countDelta, sumDelta));
+    }
+
+    @Override
+    public void courseMinted(int courseId, int count) {
+        afterCommit(() -> courseLeaderboards.minted(courseId, count));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${ranking.refresh-interval-ms:300000}")
+    public void refresh() {
+        List<CourseRankingAttributes> courses = courseRepository.getRankingAttributes();
+
+        Set<Integer> courseIds = new HashSet<>();
+        for (CourseRankingAttributes course : courses) {
+            courseLeaderboards.putCourse(course.getCourseId(), course.getTopic(), course.getDifficulty(), course.isEnabled());
+            courseIds.add(course.getCourseId());
+        }
+        courseLeaderboards.retainCourses(courseIds);
+        courseLeaderboards.resetRatings(ratingSummaryRepository.findAll());
+
+        logger.info(String.format("Course leaderboards refreshed, %d courses ranked", courseIds.size()));
+    }
+
+}
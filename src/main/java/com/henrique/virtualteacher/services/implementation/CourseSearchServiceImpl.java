@@ -0,0 +1,61 @@
+package com.henrique.virtualteacher.services.implementation;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.models.CourseSearchDocument;
+import com.henrique.virtualteacher.models.CourseSearchQuery;
+import com.henrique.virtualteacher.repositories.CourseRepository;
+import com.henrique.virtualteacher.services.interfaces.CourseSearchService;
+import com.henrique.virtualteacher.utils.CourseSearchIndex;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+import static com.henrique.virtualteacher.utils.TransactionCallbacks.afterCommit;
+
+/**
+ * Keeps the {@link CourseSearchIndex} in step with the courses, only enabled courses can be found.
+ * Changes are indexed once their transaction commits. {@link #rebuild()} loads the index when the application
+ * starts and then periodically rebuilds it from the database, which corrects a change missed during a rebuild.
+ */
+@Service
+@AllArgsConstructor
+public class CourseSearchServiceImpl implements CourseSearchService {
+
+    private final CourseSearchIndex courseSearchIndex;
+    private final CourseRepository courseRepository;
+    private final Logger logger;
+
+    @Override
+    public List<Integer> search(CourseSearchQuery query) {
+        return courseSearchIndex.search(query);
+    }
+
+    @Override
+    public void courseChanged(Course course) {
+        if (!course.isEnabled()) {
+            courseDeleted(course.getId());
+            return;
+        }
+        CourseSearchDocument document = new CourseSearchDocument(course);
+        afterCommit(() -> courseSearchIndex.put(document));
+    }
+
+    @Override
+    public void courseDeleted(int courseId) {
+        afterCommit(() -> courseSearchIndex.remove(courseId));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${search.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        courseSearchIndex.replaceAll(courseRepository.getSearchDocuments());
+
+        logger.info(String.format("Course search index rebuilt, %d courses and %d terms indexed in %d ms",
+                courseSearchIndex.size(), courseSearchIndex.termCount(), (System.nanoTime() - start) / 1_000_000));
+    }
+
+}
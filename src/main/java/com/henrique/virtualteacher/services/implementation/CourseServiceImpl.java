@@ -1,19 +1,31 @@
 package com.henrique.virtualteacher.services.implementation;
 
-import com.henrique.virtualteacher.configurations.CloudinaryConfig;
 import com.henrique.virtualteacher.entities.*;
 import com.henrique.virtualteacher.exceptions.DuplicateEntityException;
 import com.henrique.virtualteacher.exceptions.EntityNotFoundException;
 import com.henrique.virtualteacher.exceptions.ImpossibleOperationException;
 import com.henrique.virtualteacher.exceptions.UnauthorizedOperationException;
+import com.henrique.virtualteacher.models.CourseFacetQuery;
+import com.henrique.virtualteacher.models.CourseFacetsModel;
 import com.henrique.virtualteacher.models.CourseModel;
+import com.henrique.virtualteacher.models.ImageUploadJobModel;
+import com.henrique.virtualteacher.models.CourseSearchQuery;
+import com.henrique.virtualteacher.models.EnumCourseSort;
 import com.henrique.virtualteacher.models.EnumDifficulty;
 import com.henrique.virtualteacher.models.EnumTopic;
 import com.henrique.virtualteacher.repositories.CourseRepository;
 import com.henrique.virtualteacher.repositories.UserRepository;
 import com.henrique.virtualteacher.services.interfaces.*;
+import com.henrique.virtualteacher.utils.CourseCatalogCache;
+import com.henrique.virtualteacher.utils.ImageRenditionCache;
+import com.henrique.virtualteacher.utils.CourseFacetIndex;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -22,7 +34,10 @@ import java.io.IOException;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,29 +46,41 @@ public class CourseServiceImpl implements CourseService {
 
     private static final String ALREADY_ENROLLED_MSG = "User with id: %d is already enrolled in course with id: %d";
     private static final String USER_UNAUTHORIZED_ERROR_MSG = "You are not authorized to perform this operation";
+    private static final int MAX_CATALOG_PAGE_SIZE = 100;
+    private static final String AVERAGE_RATING_EXPRESSION = "coalesce(s.ratingSum * 1.0 / nullif(s.ratingCount, 0), 0)";
+    private static final String MINT_PERCENTAGE_EXPRESSION = "c.mintedCount * 100.0 / nullif(c.availableMints, 0)";
 
     private final CourseRepository courseRepository;
     private final UserService userService;
     private final UserRepository userRepository;
     private final Logger logger;
     private final LectureService lectureService;
-    private final CloudinaryConfig cloudinaryConfig;
+    private final ImageUploadService imageUploadService;
     private final RatingService ratingService;
     private final WalletService walletService;
-    private final TransactionService transactionService;
     private final NFTCourseService nftCourseService;
+    private final CourseProgressService courseProgressService;
+    private final CourseRankingService courseRankingService;
+    private final CourseSearchService courseSearchService;
+    private final SuggestionService suggestionService;
+    private final CourseFacetService courseFacetService;
+    private final CourseCatalogCache courseCatalogCache;
+    private final ImageRenditionCache imageRenditionCache;
 
     @Override
     public List<CourseModel> mapAllToModel(List<Course> courses, User loggedUser, boolean includeCompletionAmount) {
         List<CourseModel> dtoList = new ArrayList<>();
+        Map<Integer, Double> averageRatings = ratingService.getAverageRatingsForCourses(courses);
+        Map<Integer, Integer> completionPercentages = loggedUser != null && includeCompletionAmount
+                ? courseProgressService.getCompletionPercentages(loggedUser, courses)
+                : Map.of();
 
         for (Course current : courses) {
-            CourseModel courseModel = mapCourseModel(current);
-            courseModel.setAverageRating(Math.round(ratingService.getAverageRatingForCourse(current) * 100.0) / 100.0);
+            CourseModel courseModel = mapCourseModel(current, averageRatings.getOrDefault(current.getId(), 0.0));
 
             if (loggedUser != null) {
                 if (includeCompletionAmount) {
-                    courseModel.setCourseCompletionPercentage(getPercentageOfCompletedCourseLectures(loggedUser, current));
+                    courseModel.setCourseCompletionPercentage(completionPercentages.getOrDefault(current.getId(), 0));
                 }
             }
             dtoList.add(courseModel);
@@ -64,9 +91,10 @@ public class CourseServiceImpl implements CourseService {
     @Override
     public List<CourseModel> mapAllToModel(List<Course> courses) {
         List<CourseModel> dtoList = new ArrayList<>();
+        Map<Integer, Double> averageRatings = ratingService.getAverageRatingsForCourses(courses);
 
         for (Course current : courses) {
-            CourseModel courseModel = mapCourseModel(current);
+            CourseModel courseModel = mapCourseModel(current, averageRatings.getOrDefault(current.getId(), 0.0));
             dtoList.add(courseModel);
         }
         return dtoList;
@@ -74,6 +102,9 @@ public class CourseServiceImpl implements CourseService {
 
     private int getCourseMintPercentage(Course course) {
         int totalMints = course.getAvailableMints();
+        if (totalMints == 0) {
+            return 0;
+        }
         int minted = course.getTotalMinted();
         return minted * 100 / totalMints;
     }
@@ -91,7 +122,12 @@ public class CourseServiceImpl implements CourseService {
         } catch (EntityNotFoundException e) {
 
             Course newCourse = mapCourse(course);
-            newCourse = courseRepository.save(newCourse);
+            courseRepository.save(newCourse);
+            courseRankingService.courseChanged(newCourse);
+            courseSearchService.courseChanged(newCourse);
+            suggestionService.courseChanged(newCourse);
+            courseFacetService.courseChanged(newCourse);
+            courseCatalogCache.courseChanged(newCourse);
         }
     }
 
@@ -124,7 +160,7 @@ public class CourseServiceImpl implements CourseService {
 
     }
 
-    private CourseModel mapCourseModel(Course course) {
+    private CourseModel mapCourseModel(Course course, double averageRating) {
         CourseModel courseModel = new CourseModel();
         courseModel.setId(course.getId());
         courseModel.setTitle(course.getTitle());
@@ -133,6 +169,7 @@ public class CourseServiceImpl implements CourseService {
         courseModel.setTopic(course.getTopic());
         courseModel.setDifficulty(course.getDifficulty());
         courseModel.setPicture(course.getPicture());
+        courseModel.setPictureRenditions(imageRenditionCache.urlsOf(course.getPicture()));
         courseModel.setStartingDate(course.getStartingDate());
         courseModel.setSkill1(course.getSkill1());
         courseModel.setSkill2(course.getSkill2());
@@ -140,7 +177,7 @@ public class CourseServiceImpl implements CourseService {
         courseModel.setDescription(course.getDescription());
         courseModel.setTotalMintedCourses(course.getTotalMinted());
         courseModel.setAvailableMints(course.getAvailableMints());
-        courseModel.setAverageRating(Math.round(ratingService.getAverageRatingForCourse(course) * 100.0) / 100.0);
+        courseModel.setAverageRating(Math.round(averageRating * 100.0) / 100.0);
         courseModel.setMintPercentage(Math.round(getCourseMintPercentage(course)));
         return courseModel;
     }
@@ -155,8 +192,14 @@ public class CourseServiceImpl implements CourseService {
             throw new DuplicateEntityException("Course", "title", courseModel.getTitle());
         }
 
+        courseCatalogCache.courseChanged(courseToUpdate);
         courseToUpdate = mapCourse(courseModel, courseToUpdate.getId());
         courseRepository.save(courseToUpdate);
+        courseRankingService.courseChanged(courseToUpdate);
+        courseSearchService.courseChanged(courseToUpdate);
+        suggestionService.courseChanged(courseToUpdate);
+        courseFacetService.courseChanged(courseToUpdate);
+        courseCatalogCache.courseChanged(courseToUpdate);
     }
 
     public boolean titleAlreadyExists(String title, String currentTitle) {
@@ -183,6 +226,11 @@ public class CourseServiceImpl implements CourseService {
         course.getNfts().clear();
         course.getRatings().clear();
         courseRepository.delete(course);
+        courseRankingService.courseDeleted(course.getId());
+        courseSearchService.courseDeleted(course.getId());
+        suggestionService.courseDeleted(course.getId());
+        courseFacetService.courseDeleted(course.getId());
+        courseCatalogCache.courseChanged(course);
     }
 
     public void enableCourse(Course course, User loggedUser) {
@@ -196,6 +244,11 @@ public class CourseServiceImpl implements CourseService {
 
         course.setEnabled(true);
         courseRepository.save(course);
+        courseRankingService.courseChanged(course);
+        courseSearchService.courseChanged(course);
+        suggestionService.courseChanged(course);
+        courseFacetService.courseChanged(course);
+        courseCatalogCache.courseChanged(course);
     }
 
     public void disableCourse(Course course, User loggedUser) {
@@ -210,6 +263,11 @@ public class CourseServiceImpl implements CourseService {
 
         course.setEnabled(false);
         courseRepository.save(course);
+        courseRankingService.courseChanged(course);
+        courseSearchService.courseChanged(course);
+        suggestionService.courseChanged(course);
+        courseFacetService.courseChanged(course);
+        courseCatalogCache.courseChanged(course);
     }
 
     @Override
@@ -219,16 +277,7 @@ public class CourseServiceImpl implements CourseService {
             throw new DuplicateEntityException(String.format("User with id: %d, already owns 1 nft of the course with id: %d", loggedUser.getId(), courseToPurchase.getId()));
         }
         walletService.checkUserWalletHasEnoughFunds(courseToPurchase.getMintPrice(), walletService.getLoggedUserWallet(loggedUser));
-        createTransaction(loggedUser, courseToPurchase);
-    }
-
-    private void createTransaction(User loggedUser, Course course) {
-        Wallet senderWallet = walletService.getLoggedUserWallet(course.getCreator());
-        Wallet recipientWallet = walletService.getLoggedUserWallet(loggedUser);
-
-        NFT mintedCourse = walletService.mintNFT(course, loggedUser);
-        Transaction transaction = new Transaction(senderWallet, recipientWallet, mintedCourse);
-        transactionService.create(transaction, loggedUser);
+        walletService.mintNFT(courseToPurchase, loggedUser);
     }
 
     @Override
@@ -244,24 +293,30 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
-    public void upload(MultipartFile file, int courseId, User loggedUser) throws IOException {
+    public ImageUploadJobModel upload(MultipartFile file, int courseId, User loggedUser) throws IOException {
 
         Course course = getById(courseId);
         if (loggedUser.getId() != course.getCreator().getId() && !loggedUser.isAdmin()) {
             throw new UnauthorizedOperationException(String.format("User with id: {%d}, is not authorized to change Course information",loggedUser.getId()));
         }
 
-        String uploadedFileUrl = cloudinaryConfig.upload(file);
-        course.setPicture(uploadedFileUrl);
-        courseRepository.save(course);
+        return imageUploadService.upload(file, loggedUser, url -> pictureUploaded(course, url));
+    }
+
+    /**
+     * Runs on an upload thread once the picture is stored, only the picture column is written
+     * so changes made to the course in the meantime are kept.
+     */
+    private void pictureUploaded(Course course, String url) {
+        courseRepository.updatePicture(course.getId(), url);
+        course.setPicture(url);
+        courseCatalogCache.courseChanged(course);
+        logger.info(String.format("Picture of course with id: %d, has been changed to %s", course.getId(), url));
     }
 
     public int getPercentageOfCompletedCourseLectures(User loggedUser, Course course) {
 
-        int completedCourseLectures = (int) loggedUser.getCompletedLectures()
-                .stream()
-                .filter(lecture -> lecture.getCourse().getId() == course.getId())
-                .count();
+        int completedCourseLectures = loggedUser.countCompletedLectures(course);
 
         int totalCourseLectures = course.getCourseLectures().size();
 
@@ -270,13 +325,67 @@ public class CourseServiceImpl implements CourseService {
     }
 
     public List<CourseModel> getTopTheeCoursesByRating() {
-        List<Course> topThree = courseRepository.getThreeRandomCourses();
-        return mapAllToModel(topThree);
+        return courseCatalogCache.getList(CourseCatalogCache.Key.topRated(), () -> getTopRatedCourses(3));
+    }
+
+    @Override
+    public List<CourseModel> search(CourseSearchQuery query) {
+        query.setLimit(Math.min(Math.max(query.getLimit(), 1), MAX_CATALOG_PAGE_SIZE));
+        return mapRanked(courseSearchService.search(query));
+    }
+
+    @Override
+    public CourseFacetsModel browse(CourseFacetQuery query, Optional<User> loggedUser) {
+        if (!query.isEnabled() && (loggedUser.isEmpty() || loggedUser.get().isNotTeacherOrAdmin())) {
+            throw new UnauthorizedOperationException("Only teachers and admins can browse disabled courses");
+        }
+        query.setPage(Math.max(query.getPage(), 0));
+        query.setSize(Math.min(Math.max(query.getSize(), 1), MAX_CATALOG_PAGE_SIZE));
+
+        CourseFacetIndex.Result result = courseFacetService.filter(query);
+        return new CourseFacetsModel(mapRanked(result.getCourseIds()), result.getTotal(),
+                result.getTopicCounts(), result.getDifficultyCounts(), result.getPriceCounts());
+    }
+
+    @Override
+    public List<CourseModel> getTopRatedCourses(int limit) {
+        return mapRanked(courseRankingService.getTopCourseIds(limit));
+    }
+
+    @Override
+    public List<CourseModel> getTopRatedCoursesByTopic(EnumTopic topic, int limit) {
+        return mapRanked(courseRankingService.getTopCourseIds(topic, limit));
+    }
+
+    @Override
+    public List<CourseModel> getTopRatedCoursesByDifficulty(EnumDifficulty difficulty, int limit) {
+        return mapRanked(courseRankingService.getTopCourseIds(difficulty, limit));
+    }
+
+    /**
+     * Loads the ranked courses in one query and keeps their order,
+     * a course deleted since it was ranked is left out.
+     */
+    private List<CourseModel> mapRanked(List<Integer> rankedIds) {
+        if (rankedIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Integer, Course> coursesById = courseRepository.findAllById(rankedIds)
+                .stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+
+        List<Course> ranked = rankedIds.stream()
+                .map(coursesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return mapAllToModel(ranked);
     }
 
     @Override
     public CourseModel mapToModel(Course course) {
-        return new CourseModel(course);
+        CourseModel courseModel = new CourseModel(course);
+        courseModel.setPictureRenditions(imageRenditionCache.urlsOf(course.getPicture()));
+        return courseModel;
     }
 
     @Override
@@ -286,11 +395,7 @@ public class CourseServiceImpl implements CourseService {
 
         List<Lecture> courseLectures = course.getCourseLectures();
 
-        List<Lecture> userCompletedCourseLectures =  user.getCompletedLectures().stream()
-                .filter(lecture -> lecture.getCourse().getId() == course.getId())
-                .collect(Collectors.toList());
-
-        if (userCompletedCourseLectures.size() < courseLectures.size()) {
+        if (user.countCompletedLectures(course) < courseLectures.size()) {
             throw new ImpossibleOperationException(String.format("User with id: %d has not completed all the lectures of Course with id: %d", user.getId(), course.getId()));
         }
     }
@@ -336,15 +441,38 @@ public class CourseServiceImpl implements CourseService {
 
     @Override
     public List<CourseModel> getAllByTopic(EnumTopic topic) {
-        return mapAllToModel(courseRepository.findByTopic(topic));
+        return courseCatalogCache.getList(CourseCatalogCache.Key.topic(topic),
+                () -> mapAllToModel(courseRepository.findByTopic(topic)));
     }
 
     @Override
-    public List<CourseModel> getAllByEnabled(boolean isEnabled,  Optional<User> loggedUser) {
+    public Page<CourseModel> getAllByEnabled(boolean isEnabled, Optional<User> loggedUser, int page, int size,
+                                             EnumCourseSort sortBy, Sort.Direction direction) {
 
-        return mapAllToModel(courseRepository.findByEnabled(isEnabled)
-                .stream()
-                .limit(20).collect(Collectors.toList()));
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.min(Math.max(size, 1), MAX_CATALOG_PAGE_SIZE);
+
+        return courseCatalogCache.getPage(CourseCatalogCache.Key.page(isEnabled, pageNumber, pageSize, sortBy, direction), () -> {
+            Page<Course> courses = findCatalogPage(isEnabled, pageNumber, pageSize, sortBy, direction);
+            return new PageImpl<>(mapAllToModel(courses.getContent()), courses.getPageable(), courses.getTotalElements());
+        });
+    }
+
+    private Page<Course> findCatalogPage(boolean isEnabled, int page, int size, EnumCourseSort sortBy, Sort.Direction direction) {
+        Sort tieBreaker = Sort.by(Sort.Direction.ASC, "id");
+
+        switch (sortBy) {
+            case PRICE:
+                return courseRepository.findByEnabled(isEnabled, PageRequest.of(page, size, Sort.by(direction, "mintPrice").and(tieBreaker)));
+            case MINT_DATE:
+                return courseRepository.findByEnabled(isEnabled, PageRequest.of(page, size, Sort.by(direction, "startingDate").and(tieBreaker)));
+            case RATING:
+                return courseRepository.findCatalogPage(isEnabled, PageRequest.of(page, size, JpaSort.unsafe(direction, AVERAGE_RATING_EXPRESSION).and(tieBreaker)));
+            case MINT_PERCENTAGE:
+                return courseRepository.findCatalogPage(isEnabled, PageRequest.of(page, size, JpaSort.unsafe(direction, MINT_PERCENTAGE_EXPRESSION).and(tieBreaker)));
+            default:
+                return courseRepository.findByEnabled(isEnabled, PageRequest.of(page, size, Sort.by(direction, "title").and(tieBreaker)));
+        }
     }
 
     @Override
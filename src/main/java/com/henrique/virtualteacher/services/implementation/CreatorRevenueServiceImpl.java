@@ -0,0 +1,130 @@
+package com.henrique.virtualteacher.services.implementation;
+
+import com.henrique.virtualteacher.entities.CreatorRevenueShard;
+import com.henrique.virtualteacher.entities.Wallet;
+import com.henrique.virtualteacher.exceptions.ImpossibleOperationException;
+import com.henrique.virtualteacher.repositories.CreatorRevenueShardRepository;
+import com.henrique.virtualteacher.repositories.WalletRepository;
+import com.henrique.virtualteacher.services.interfaces.CreatorRevenueService;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Mint revenue is not added to the creator's wallet by every sale. It is credited to one of
+ * {@code revenue.shards} pending rows of the wallet, picked at random, in the same database transaction as the
+ * buyer's debit, so a sale is durable as soon as it commits while parallel sales of one course rarely wait on each other.
+ * {@link #flush()} periodically moves the pending amounts into the wallets, one wallet update per creator.
+ * Until then the revenue already shows in the ledger balance of the creator but cannot be spent.
+ */
+@Service
+public class CreatorRevenueServiceImpl implements CreatorRevenueService {
+
+    private final CreatorRevenueShardRepository shardRepository;
+    private final WalletRepository walletRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate shardCreationTemplate;
+    private final Logger logger;
+    private final int shards;
+
+    @Autowired
+    public CreatorRevenueServiceImpl(CreatorRevenueShardRepository shardRepository,
+                                     WalletRepository walletRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     Logger logger,
+                                     @Value("${revenue.shards:16}") int shards) {
+        this.shardRepository = shardRepository;
+        this.walletRepository = walletRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardCreationTemplate = new TransactionTemplate(transactionManager);
+        this.shardCreationTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.logger = logger;
+        this.shards = shards;
+    }
+
+    @Override
+    public void credit(Wallet creatorWallet, BigDecimal amount) {
+        int shard = ThreadLocalRandom.current().nextInt(shards);
+
+        if (shardRepository.credit(creatorWallet.getId(), shard, amount) == 0) {
+            createShards(creatorWallet.getId());
+            if (shardRepository.credit(creatorWallet.getId(), shard, amount) == 0) {
+                throw new ImpossibleOperationException(String.format("Revenue shards of wallet with id: %d, could not be created", creatorWallet.getId()));
+            }
+        }
+    }
+
+    @Override
+    public BigDecimal getPending(Wallet creatorWallet) {
+        return shardRepository.sumPending(creatorWallet.getId());
+    }
+
+    /**
+     * Each wallet is flushed in its own transaction, which updates the wallet row before the shard rows
+     * like a sale locks the buyer's wallet before a shard. A shard whose amount has already been taken by
+     * another flush rolls the wallet back, the next flush picks it up again.
+     * @return the number of wallets that were credited
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${revenue.flush.interval-ms:1000}")
+    public synchronized int flush() {
+        Map<Integer, List<CreatorRevenueShard>> pending = shardRepository.findAllPending()
+                .stream()
+                .collect(Collectors.groupingBy(CreatorRevenueShard::getWalletId, LinkedHashMap::new, Collectors.toList()));
+
+        int flushed = 0;
+        for (Map.Entry<Integer, List<CreatorRevenueShard>> wallet : pending.entrySet()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> flushWallet(wallet.getKey(), wallet.getValue()));
+                flushed++;
+            } catch (ImpossibleOperationException e) {
+                logger.warn(e.getMessage());
+            }
+        }
+
+        if (flushed > 0) {
+            logger.info(String.format("Pending mint revenue has been added to %d creator wallets", flushed));
+        }
+        return flushed;
+    }
+
+    private void flushWallet(int walletId, List<CreatorRevenueShard> shards) {
+        BigDecimal total = shards.stream()
+                .map(CreatorRevenueShard::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        walletRepository.deposit(walletId, total);
+        for (CreatorRevenueShard shard : shards) {
+            if (shardRepository.debit(shard.getId(), shard.getAmount()) == 0) {
+                throw new ImpossibleOperationException(String.format("Pending revenue of wallet with id: %d, has already been flushed", walletId));
+            }
+        }
+    }
+
+    /**
+     * Runs in its own transaction so a concurrent sale that created the shards first only fails this insert,
+     * not the sale it is part of.
+     */
+    private void createShards(int walletId) {
+        try {
+            shardCreationTemplate.executeWithoutResult(status -> shardRepository.saveAll(IntStream.range(0, shards)
+                    .mapToObj(shard -> new CreatorRevenueShard(walletId, shard))
+                    .collect(Collectors.toList())));
+        } catch (DataIntegrityViolationException ignored) {}
+    }
+
+}
@@ -0,0 +1,437 @@
+package com.henrique.virtualteacher.services.implementation;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.entities.NFT;
+import com.henrique.virtualteacher.entities.Transaction;
+import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.entities.Wallet;
+import com.henrique.virtualteacher.exceptions.DuplicateEntityException;
+import com.henrique.virtualteacher.exceptions.EntityNotFoundException;
+import com.henrique.virtualteacher.exceptions.ImpossibleOperationException;
+import com.henrique.virtualteacher.exceptions.TooManyRequestsException;
+import com.henrique.virtualteacher.exceptions.UnauthorizedOperationException;
+import com.henrique.virtualteacher.models.DropLaunchModel;
+import com.henrique.virtualteacher.repositories.CourseRepository;
+import com.henrique.virtualteacher.repositories.WalletRepository;
+import com.henrique.virtualteacher.services.interfaces.CreatorRevenueService;
+import com.henrique.virtualteacher.services.interfaces.DropLaunchService;
+import com.henrique.virtualteacher.services.interfaces.LedgerService;
+import com.henrique.virtualteacher.services.interfaces.NFTCourseService;
+import com.henrique.virtualteacher.services.interfaces.TransactionService;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * While a course is in drop launch mode its mint requests do not run on the request threads. They are put on a
+ * bounded queue and a single writer per course takes them off in batches. For each batch, in one database transaction,
+ * the writer debits every buyer wallet, reserves one contiguous block of drop numbers, credits the creator's revenue once
+ * and writes the sale transactions. Each request gets a future that completes once its batch has committed.
+ * The course is read again in every batch, so a change of its price or creator applies from the next batch on.
+ * When the supply is exhausted the queued requests fail right away, as does every request submitted afterwards.
+ * Closing a drop stops new requests before the writer finishes the queued ones, whatever the writer leaves
+ * behind fails, so every future completes.
+ */
+@Service
+public class DropLaunchServiceImpl implements DropLaunchService {
+
+    private static final long POLL_TIMEOUT_MILLIS = 200;
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    private final NFTCourseService nftCourseService;
+    private final TransactionService transactionService;
+    private final LedgerService ledgerService;
+    private final CreatorRevenueService creatorRevenueService;
+    private final WalletRepository walletRepository;
+    private final CourseRepository courseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Logger logger;
+
+    private final int queueCapacity, batchSize;
+    private final Map<Integer, Drop> drops = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DropLaunchServiceImpl(NFTCourseService nftCourseService,
+                                 TransactionService transactionService,
+                                 LedgerService ledgerService,
+                                 CreatorRevenueService creatorRevenueService,
+                                 WalletRepository walletRepository,
+                                 CourseRepository courseRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 Logger logger,
+                                 @Value("${drop.queue-capacity:1000}") int queueCapacity,
+                                 @Value("${drop.batch-size:50}") int batchSize) {
+        this.nftCourseService = nftCourseService;
+        this.transactionService = transactionService;
+        this.ledgerService = ledgerService;
+        this.creatorRevenueService = creatorRevenueService;
+        this.walletRepository = walletRepository;
+        this.courseRepository = courseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.logger = logger;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public DropLaunchModel open(Course course, User loggedUser) {
+        checkUserCanManageDrop(loggedUser, course);
+
+        Drop drop = new Drop(course, queueCapacity);
+        if (drops.putIfAbsent(course.getId(), drop) != null) {
+            throw new ImpossibleOperationException(String.format("Drop launch of course with id: %d, is already open", course.getId()));
+        }
+        drop.writer.submit(() -> runWriter(drop));
+
+        logger.info(String.format("User with id: %d, has opened the drop launch of course with id: %d", loggedUser.getId(), course.getId()));
+        return mapToModel(drop);
+    }
+
+    @Override
+    public DropLaunchModel close(Course course, User loggedUser) {
+        checkUserCanManageDrop(loggedUser, course);
+
+        Drop drop = drops.remove(course.getId());
+        if (drop == null) {
+            throw new ImpossibleOperationException(String.format("Course with id: %d, is not in drop launch mode", course.getId()));
+        }
+        stopAccepting(drop);
+        drop.writer.shutdown();
+        try {
+            if (!drop.writer.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn(String.format("Drop launch writer of course with id: %d is still running after the drop was closed", course.getId()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failQueued(drop, closed(drop));
+
+        logger.info(String.format("User with id: %d, has closed the drop launch of course with id: %d", loggedUser.getId(), course.getId()));
+        return mapToModel(drop);
+    }
+
+    @Override
+    public boolean isOpen(int courseId) {
+        return drops.containsKey(courseId);
+    }
+
+    @Override
+    public CompletableFuture<NFT> submit(User buyer, Course course) {
+        Drop drop = drops.get(course.getId());
+        if (drop == null) {
+            throw notInDropLaunch(course);
+        }
+        if (drop.soldOut) {
+            throw soldOut(course);
+        }
+        if (buyer.hasPurchasedCourse(course)) {
+            throw new DuplicateEntityException(String.format("User with id: %d, already owns 1 nft of the course with id: %d", buyer.getId(), course.getId()));
+        }
+
+        // requests are only queued while holding the read lock, closing takes the write lock, so no request
+        // can be queued after the writer has taken the last one
+        drop.openLock.readLock().lock();
+        try {
+            if (!drop.open) {
+                throw notInDropLaunch(course);
+            }
+            if (!drop.queuedBuyers.add(buyer.getId())) {
+                throw new DuplicateEntityException(String.format("User with id: %d, already has a pending mint of the course with id: %d", buyer.getId(), course.getId()));
+            }
+
+            MintRequest request = new MintRequest(buyer, drop.sequence.incrementAndGet());
+            if (!drop.queue.offer(request)) {
+                drop.queuedBuyers.remove(buyer.getId());
+                drop.rejectedRequests.increment();
+                throw new TooManyRequestsException(String.format("Drop launch queue of course with id: %d is full, try again later", course.getId()));
+            }
+            return request.result;
+        } finally {
+            drop.openLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public DropLaunchModel getStatus(int courseId) {
+        Drop drop = drops.get(courseId);
+        if (drop == null) {
+            DropLaunchModel closed = new DropLaunchModel();
+            closed.setCourseId(courseId);
+            return closed;
+        }
+        return mapToModel(drop);
+    }
+
+    private void runWriter(Drop drop) {
+        Deque<MintRequest> pending = new ArrayDeque<>();
+        try {
+            while (drop.open || !drop.queue.isEmpty() || !pending.isEmpty()) {
+                if (pending.isEmpty()) {
+                    MintRequest first = drop.queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    pending.add(first);
+                }
+                drop.queue.drainTo(pending, batchSize - pending.size());
+                processBatch(drop, pending);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error(String.format("Drop launch writer of course with id: %d has stopped", drop.course.getId()), e);
+            drops.remove(drop.course.getId(), drop);
+        }
+
+        stopAccepting(drop);
+        ImpossibleOperationException closed = closed(drop);
+        pending.forEach(request -> fail(drop, request, closed));
+        failQueued(drop, closed);
+    }
+
+    private void stopAccepting(Drop drop) {
+        drop.openLock.writeLock().lock();
+        try {
+            drop.open = false;
+        } finally {
+            drop.openLock.writeLock().unlock();
+        }
+    }
+
+    private void failQueued(Drop drop, RuntimeException failure) {
+        List<MintRequest> queued = new ArrayList<>();
+        drop.queue.drainTo(queued);
+        queued.forEach(request -> fail(drop, request, failure));
+    }
+
+    /**
+     * Requests that do not fit in the remaining supply stay in {@code pending}, a buyer without funds frees
+     * its place for them in the next batch. The supply is read outside the batch transaction, when regular mints
+     * take part of it in the meantime the requests left without a mint go back to {@code pending} as well.
+     */
+    private void processBatch(Drop drop, Deque<MintRequest> pending) {
+        int remainingMints = nftCourseService.getRemainingMints(drop.course);
+        if (remainingMints <= 0) {
+            markSoldOut(drop, pending);
+            return;
+        }
+
+        List<MintRequest> batch = new ArrayList<>();
+        while (batch.size() < remainingMints && !pending.isEmpty()) {
+            batch.add(pending.poll());
+        }
+
+        int minted;
+        try {
+            minted = transactionTemplate.execute(status -> writeBatch(drop.course.getId(), batch));
+        } catch (RuntimeException e) {
+            logger.error(String.format("Drop launch batch of %d mints for course with id: %d has failed", batch.size(), drop.course.getId()), e);
+            batch.forEach(request -> fail(drop, request, e));
+            return;
+        }
+
+        drop.batches.increment();
+        List<MintRequest> unserved = new ArrayList<>();
+        for (MintRequest request : batch) {
+            if (request.nft != null) {
+                drop.queuedBuyers.remove(request.buyer.getId());
+                drop.mintedNfts.increment();
+                request.result.complete(request.nft);
+            } else if (request.failure != null) {
+                fail(drop, request, request.failure);
+            } else {
+                unserved.add(request);
+            }
+        }
+        for (int i = unserved.size() - 1; i >= 0; i--) {
+            pending.addFirst(unserved.get(i));
+        }
+
+        if (minted == remainingMints || !unserved.isEmpty()) {
+            markSoldOut(drop, pending);
+        }
+    }
+
+    /**
+     * Buyer wallets are debited in wallet id order, the same order transfers lock them in. Buyers the supply
+     * no longer covers are refunded and left without an NFT or a failure.
+     * @return the number of NFTs minted
+     */
+    private int writeBatch(int courseId, List<MintRequest> batch) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new EntityNotFoundException("Course", "id", String.valueOf(courseId)));
+        BigDecimal price = course.getMintPrice();
+        Wallet creatorWallet = walletRepository.getByOwnerId(course.getCreator().getId())
+                .orElseThrow(() -> new EntityNotFoundException("Wallet", "Owner", course.getCreator().getEmail()));
+        Map<Integer, Wallet> buyerWallets = walletRepository
+                .getAllByOwnerIdIn(batch.stream().map(request -> request.buyer.getId()).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(wallet -> wallet.getOwner().getId(), Function.identity()));
+
+        List<MintRequest> accepted = new ArrayList<>();
+        for (MintRequest request : batch) {
+            request.wallet = buyerWallets.get(request.buyer.getId());
+            if (request.wallet == null) {
+                request.failure = new EntityNotFoundException("Wallet", "Owner", request.buyer.getEmail());
+            }
+        }
+        batch.stream()
+                .filter(request -> request.wallet != null)
+                .sorted(Comparator.comparingInt(request -> request.wallet.getId()))
+                .forEach(request -> {
+                    if (walletRepository.withdraw(request.wallet.getId(), price) == 1) {
+                        accepted.add(request);
+                    } else {
+                        request.failure = new ImpossibleOperationException(String.format
+                                ("Wallet of user with id: %d, does not have sufficient funds %f", request.buyer.getId(), price.doubleValue()));
+                    }
+                });
+
+        if (accepted.isEmpty()) {
+            return 0;
+        }
+        accepted.sort(Comparator.comparingLong(request -> request.sequence));
+
+        List<NFT> nfts = nftCourseService.mintBatch(course, accepted.stream().map(request -> request.buyer).collect(Collectors.toList()));
+        for (MintRequest unserved : accepted.subList(nfts.size(), accepted.size())) {
+            walletRepository.deposit(unserved.wallet.getId(), price);
+        }
+        accepted.subList(nfts.size(), accepted.size()).clear();
+        if (accepted.isEmpty()) {
+            return 0;
+        }
+        creatorRevenueService.credit(creatorWallet, price.multiply(BigDecimal.valueOf(accepted.size())));
+
+        List<Transaction> sales = new ArrayList<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            sales.add(new Transaction(creatorWallet, accepted.get(i).wallet, nfts.get(i)));
+        }
+        transactionService.createAll(sales);
+
+        for (int i = 0; i < accepted.size(); i++) {
+            ledgerService.recordTransfer(accepted.get(i).wallet, creatorWallet, price, sales.get(i));
+            accepted.get(i).nft = nfts.get(i);
+        }
+        return accepted.size();
+    }
+
+    private void markSoldOut(Drop drop, Deque<MintRequest> pending) {
+        drop.soldOut = true;
+        ImpossibleOperationException soldOut = soldOut(drop.course);
+
+        pending.forEach(request -> fail(drop, request, soldOut));
+        pending.clear();
+        List<MintRequest> queued = new ArrayList<>();
+        drop.queue.drainTo(queued);
+        queued.forEach(request -> fail(drop, request, soldOut));
+
+        logger.info(String.format("Drop launch of course with id: %d has sold out, %d waiting requests were rejected", drop.course.getId(), queued.size()));
+    }
+
+    private void fail(Drop drop, MintRequest request, RuntimeException failure) {
+        drop.queuedBuyers.remove(request.buyer.getId());
+        drop.failedRequests.increment();
+        request.result.completeExceptionally(failure);
+    }
+
+    private ImpossibleOperationException notInDropLaunch(Course course) {
+        return new ImpossibleOperationException(String.format("Course with id: %d, is not in drop launch mode", course.getId()));
+    }
+
+    private ImpossibleOperationException closed(Drop drop) {
+        return new ImpossibleOperationException(String.format("Drop launch of course with id: %d has been closed", drop.course.getId()));
+    }
+
+    private ImpossibleOperationException soldOut(Course course) {
+        return new ImpossibleOperationException(String.format("Course with id: %d, has sold out", course.getId()));
+    }
+
+    private void checkUserCanManageDrop(User loggedUser, Course course) {
+        if (loggedUser.isNotTeacherOrAdmin() && loggedUser.getId() != course.getCreator().getId()) {
+            throw new UnauthorizedOperationException(String.format("User with id: %d, is not authorized to manage the drop launch of course with id: %d", loggedUser.getId(), course.getId()));
+        }
+    }
+
+    private DropLaunchModel mapToModel(Drop drop) {
+        DropLaunchModel model = new DropLaunchModel();
+        model.setCourseId(drop.course.getId());
+        model.setOpen(drop.open);
+        model.setSoldOut(drop.soldOut);
+        model.setQueuedRequests(drop.queue.size());
+        model.setQueueCapacity(queueCapacity);
+        model.setMintedNfts(drop.mintedNfts.sum());
+        model.setFailedRequests(drop.failedRequests.sum());
+        model.setRejectedRequests(drop.rejectedRequests.sum());
+        model.setBatches(drop.batches.sum());
+        return model;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        drops.values().forEach(drop -> {
+            stopAccepting(drop);
+            drop.writer.shutdownNow();
+        });
+        drops.clear();
+    }
+
+    private static class Drop {
+
+        // identifies the course, its price and creator are read again by every batch
+        private final Course course;
+        private final BlockingQueue<MintRequest> queue;
+        private final Set<Integer> queuedBuyers = ConcurrentHashMap.newKeySet();
+        private final ExecutorService writer;
+        private final AtomicLong sequence = new AtomicLong();
+        private final ReadWriteLock openLock = new ReentrantReadWriteLock();
+
+        private final LongAdder mintedNfts = new LongAdder();
+        private final LongAdder failedRequests = new LongAdder();
+        private final LongAdder rejectedRequests = new LongAdder();
+        private final LongAdder batches = new LongAdder();
+
+        private volatile boolean open = true;
+        private volatile boolean soldOut;
+
+        private Drop(Course course, int queueCapacity) {
+            this.course = course;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.writer = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "drop-writer-" + course.getId());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private static class MintRequest {
+
+        private final User buyer;
+        private final long sequence;
+        private final CompletableFuture<NFT> result = new CompletableFuture<>();
+
+        private Wallet wallet;
+        private NFT nft;
+        private RuntimeException failure;
+
+        private MintRequest(User buyer, long sequence) {
+            this.buyer = buyer;
+            this.sequence = sequence;
+        }
+    }
+
+}
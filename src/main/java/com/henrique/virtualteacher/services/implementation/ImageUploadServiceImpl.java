@@ -0,0 +1,185 @@
+package com.henrique.virtualteacher.services.implementation;
+
+import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.exceptions.EntityNotFoundException;
+import com.henrique.virtualteacher.exceptions.ImpossibleOperationException;
+import com.henrique.virtualteacher.exceptions.TooManyRequestsException;
+import com.henrique.virtualteacher.exceptions.UnauthorizedOperationException;
+import com.henrique.virtualteacher.models.ImageUploadJobModel;
+import com.henrique.virtualteacher.models.UploadStatus;
+import com.henrique.virtualteacher.services.interfaces.ImageUploadService;
+import com.henrique.virtualteacher.utils.ImageRenditionCache;
+import com.henrique.virtualteacher.utils.ImageStore;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Uploads pictures to the {@link ImageStore} on a bounded pool, so a request returns as soon as the picture is read
+ * instead of waiting for the remote call. The picture is read into memory while the request is still open, the
+ * multipart body is gone once it ends, and handed to the store as is. When every upload thread is busy and the queue
+ * is full, an upload is rejected right away.
+ * <p>
+ * Every upload gets a job that the uploader can poll, {@code onUploaded} receives the url on an upload thread.
+ * The renditions of a picture are written to the {@link ImageRenditionCache} before {@code onUploaded} runs, so
+ * anything showing the new url can already link to them.
+ * Finished jobs are kept for {@code images.upload.job-retention-minutes}.
+ */
+@Service
+public class ImageUploadServiceImpl implements ImageUploadService {
+
+    private final ImageStore imageStore;
+    private final ImageRenditionCache renditionCache;
+    private final Logger logger;
+    private final ThreadPoolExecutor executor;
+    private final Duration jobRetention;
+    private final Map<String, UploadJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ImageUploadServiceImpl(ImageStore imageStore,
+                                  ImageRenditionCache renditionCache,
+                                  Logger logger,
+                                  @Value("${images.upload.threads:4}") int threads,
+                                  @Value("${images.upload.queue-capacity:50}") int queueCapacity,
+                                  @Value("${images.upload.job-retention-minutes:30}") long jobRetentionMinutes) {
+        this.imageStore = imageStore;
+        this.renditionCache = renditionCache;
+        this.logger = logger;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new UploadThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        this.jobRetention = Duration.ofMinutes(jobRetentionMinutes);
+    }
+
+    @Override
+    public ImageUploadJobModel upload(MultipartFile file, User loggedUser, Consumer<String> onUploaded) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new ImpossibleOperationException("No picture was uploaded");
+        }
+        if (file.getContentType() == null || !file.getContentType().startsWith("image/")) {
+            throw new ImpossibleOperationException(String.format("File of type %s is not a picture", file.getContentType()));
+        }
+
+        byte[] image = file.getBytes();
+        UploadJob job = new UploadJob(UUID.randomUUID().toString(), loggedUser.getId());
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> runUpload(job, image, onUploaded));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new TooManyRequestsException("Too many pictures are being uploaded, please try again shortly");
+        }
+        return job.toModel();
+    }
+
+    @Override
+    public ImageUploadJobModel getJob(String jobId, User loggedUser) {
+        UploadJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new EntityNotFoundException("Upload job", "id", jobId);
+        }
+        if (job.ownerId != loggedUser.getId() && !loggedUser.isAdmin()) {
+            throw new UnauthorizedOperationException(String.format("User with id: %d, is not authorized to see upload job %s", loggedUser.getId(), jobId));
+        }
+        return job.toModel();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${images.upload.eviction-interval-ms:60000}")
+    public void evictFinishedJobs() {
+        LocalDateTime oldest = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.isFinished() && job.finishedAt.isBefore(oldest));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void runUpload(UploadJob job, byte[] image, Consumer<String> onUploaded) {
+        job.status = UploadStatus.UPLOADING;
+        try {
+            String url = imageStore.upload(image);
+            storeRenditions(job, url, image);
+            onUploaded.accept(url);
+            job.renditions = renditionCache.urlsOf(url);
+            job.url = url;
+            job.status = UploadStatus.COMPLETED;
+        } catch (Exception e) {
+            job.error = e.getMessage();
+            job.status = UploadStatus.FAILED;
+            logger.error(String.format("Upload job %s of user with id: %d has failed: %s", job.id, job.ownerId, e.getMessage()));
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * A picture without renditions is still shown at its original size, so failing to make them does not fail the upload.
+     */
+    private void storeRenditions(UploadJob job, String url, byte[] image) {
+        try {
+            if (!renditionCache.store(url, image)) {
+                logger.warn(String.format("Upload job %s: picture %s could not be decoded, no renditions were made", job.id, url));
+            }
+        } catch (IOException e) {
+            logger.warn(String.format("Upload job %s: renditions of picture %s could not be stored: %s", job.id, url, e.getMessage()));
+        }
+    }
+
+    private static class UploadJob {
+
+        private final String id;
+        private final int ownerId;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile UploadStatus status = UploadStatus.QUEUED;
+        private volatile String url;
+        private volatile String error;
+        private volatile Map<String, String> renditions = Collections.emptyMap();
+        private volatile LocalDateTime finishedAt;
+
+        private UploadJob(String id, int ownerId) {
+            this.id = id;
+            this.ownerId = ownerId;
+        }
+
+        private boolean isFinished() {
+            return finishedAt != null;
+        }
+
+        private ImageUploadJobModel toModel() {
+            return new ImageUploadJobModel(id, status, url, error, submittedAt, renditions);
+        }
+    }
+
+    private static class UploadThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "image-upload-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
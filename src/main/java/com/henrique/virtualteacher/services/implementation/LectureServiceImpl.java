@@ -10,6 +10,7 @@ import com.henrique.virtualteacher.exceptions.UnauthorizedOperationException;
 import com.henrique.virtualteacher.models.LectureModel;
 import com.henrique.virtualteacher.repositories.LectureRepository;
 import com.henrique.virtualteacher.repositories.UserRepository;
+import com.henrique.virtualteacher.services.interfaces.CourseProgressService;
 import com.henrique.virtualteacher.services.interfaces.LectureService;
 import lombok.AllArgsConstructor;
 import org.modelmapper.ModelMapper;
@@ -19,6 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
@@ -26,6 +28,7 @@ public class LectureServiceImpl implements LectureService {
 
     private final LectureRepository lectureRepository;
     private final UserRepository userRepository;
+    private final CourseProgressService courseProgressService;
 
     @Override
     public List<LectureModel> mapAllToModel(List<Lecture> lectures) {
@@ -70,6 +73,7 @@ public class LectureServiceImpl implements LectureService {
     }
 
     @Override
+    @Transactional
     public void completeLectureForUser(User loggedUser, Lecture lecture) {
 
         if (!loggedUser.hasPurchasedCourse(lecture.getCourse())) {
@@ -78,6 +82,7 @@ public class LectureServiceImpl implements LectureService {
 
         loggedUser.completeLecture(lecture);
         userRepository.save(loggedUser);
+        courseProgressService.lectureCompleted(loggedUser, lecture);
     }
 
     @Override
@@ -91,7 +96,9 @@ public class LectureServiceImpl implements LectureService {
         }
         checkIfTitleIsUnique(lecture.getTitle());
 
-        return lectureRepository.save(lecture);
+        Lecture created = lectureRepository.save(lecture);
+        courseProgressService.lectureAdded(created.getCourse());
+        return created;
     }
 
     public Lecture mapModelToEntity(LectureModel lectureModel, Course course) {
@@ -142,8 +149,12 @@ public class LectureServiceImpl implements LectureService {
 
         deleteAndOrderCourseLectures(lecture);
 
+        List<Integer> completedByUserIds = lecture.getUsersCompleted().stream()
+                .map(User::getId)
+                .collect(Collectors.toList());
         lecture.getUsersCompleted().clear();
         lectureRepository.delete(lecture);
+        courseProgressService.lectureDeleted(lecture.getCourse(), completedByUserIds);
     }
 
     private void deleteAndOrderCourseLectures(Lecture lecture) {
@@ -167,5 +178,6 @@ public class LectureServiceImpl implements LectureService {
             throw new UnauthorizedOperationException("User", "id", String.valueOf(loggedUser.getId()), "delete", "Lectures", "courseId", String.valueOf(courseId));
         }
         lectureRepository.deleteAllByCourseId(courseId);
+        courseProgressService.allLecturesDeleted(courseId);
     }
 }
@@ -0,0 +1,204 @@
+package com.henrique.virtualteacher.services.implementation;
+
+import com.henrique.virtualteacher.entities.LedgerPosting;
+import com.henrique.virtualteacher.entities.Transaction;
+import com.henrique.virtualteacher.entities.Wallet;
+import com.henrique.virtualteacher.entities.WalletBalanceSnapshot;
+import com.henrique.virtualteacher.models.LedgerVerificationModel;
+import com.henrique.virtualteacher.models.WalletBalanceModel;
+import com.henrique.virtualteacher.repositories.LedgerPostingRepository;
+import com.henrique.virtualteacher.repositories.WalletBalanceSnapshotRepository;
+import com.henrique.virtualteacher.repositories.WalletRepository;
+import com.henrique.virtualteacher.services.interfaces.LedgerService;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.henrique.virtualteacher.utils.TransactionCallbacks.afterCompletion;
+
+/**
+ * Every movement of funds is appended to {@code ledger_postings} as a debit and credit pair, postings are
+ * only ever inserted so writers never contend on a shared row. Balances are served from the latest
+ * {@link WalletBalanceSnapshot} plus the postings after its high-water posting id, {@link #checkpoint()} folds
+ * the new postings into the snapshots periodically so a read only sums what was posted since the last checkpoint.
+ * Every writer registers, before inserting, a bound below the id its postings will get and removes it once its
+ * transaction completes. A checkpoint never moves the high-water id past the lowest registered bound, so a posting whose
+ * transaction commits after later postings is folded by a later checkpoint instead of being left behind. Postings are
+ * never locked or updated by a checkpoint, it only reads them. {@link #verify()} replays the whole ledger and reports any snapshot or wallet that does not
+ * match it, {@link #rebuild()} recreates the snapshots from the postings.
+ */
+@Service
+public class LedgerServiceImpl implements LedgerService {
+
+    private final LedgerPostingRepository postingRepository;
+    private final WalletBalanceSnapshotRepository snapshotRepository;
+    private final WalletRepository walletRepository;
+    private final Logger logger;
+    private final AtomicLong lastPostingId = new AtomicLong();
+    private final Map<Object, Long> inFlightBounds = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LedgerServiceImpl(LedgerPostingRepository postingRepository,
+                             WalletBalanceSnapshotRepository snapshotRepository,
+                             WalletRepository walletRepository,
+                             Logger logger) {
+        this.postingRepository = postingRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.walletRepository = walletRepository;
+        this.logger = logger;
+    }
+
+    @Override
+    @Transactional
+    public void recordTransfer(Wallet senderWallet, Wallet recipientWallet, BigDecimal amount, Transaction transaction) {
+        post(senderWallet.getId(), recipientWallet.getId(), amount, transaction);
+    }
+
+    @Override
+    @Transactional
+    public void recordDeposit(Wallet wallet, BigDecimal amount, Transaction transaction) {
+        post(LedgerPosting.EXTERNAL_ACCOUNT_ID, wallet.getId(), amount, transaction);
+    }
+
+    private void post(int debitedWalletId, int creditedWalletId, BigDecimal amount, Transaction transaction) {
+        String entryId = UUID.randomUUID().toString();
+        Integer transactionId = transaction == null ? null : transaction.getId();
+
+        List<LedgerPosting> postings = List.of(
+                new LedgerPosting(entryId, debitedWalletId, transactionId, amount.negate()),
+                new LedgerPosting(entryId, creditedWalletId, transactionId, amount));
+
+        // postings are inserted right away and get ids above every id allocated before, so above the bound
+        Object writer = new Object();
+        inFlightBounds.put(writer, lastPostingId.get());
+        try {
+            postingRepository.saveAll(postings);
+            postings.forEach(posting -> lastPostingId.accumulateAndGet(posting.getId(), Math::max));
+        } finally {
+            afterCompletion(() -> inFlightBounds.remove(writer));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal getBalance(int walletId) {
+        return postingRepository.getBalance(walletId);
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    @Scheduled(fixedDelayString = "${ledger.checkpoint.interval-ms:60000}")
+    public synchronized int checkpoint() {
+        long fromId = snapshotRepository.findLastPostingId();
+        long toId = findFoldableId();
+        if (toId <= fromId) {
+            return 0;
+        }
+
+        List<WalletBalanceModel> deltas = postingRepository.sumByWalletInRange(fromId, toId);
+        Map<Integer, WalletBalanceSnapshot> snapshots = snapshotRepository
+                .findAllById(deltas.stream().map(WalletBalanceModel::getWalletId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(WalletBalanceSnapshot::getWalletId, Function.identity()));
+
+        for (WalletBalanceModel delta : deltas) {
+            snapshots.computeIfAbsent(delta.getWalletId(), WalletBalanceSnapshot::new)
+                    .apply(delta.getBalance(), toId);
+        }
+        snapshotRepository.saveAll(snapshots.values());
+
+        logger.info(String.format("Ledger checkpoint up to posting %d has updated %d wallet snapshots", toId, deltas.size()));
+        return deltas.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LedgerVerificationModel verify() {
+        LedgerVerificationModel report = new LedgerVerificationModel();
+        report.setPostings(postingRepository.count());
+        report.setLedgerTotal(postingRepository.sumAll());
+
+        // a wallet without postings in the last checkpoints keeps an older high-water id, its balance up to the newest one is the same
+        Map<Integer, BigDecimal> folded = toMap(postingRepository.sumByWalletInRange(0, snapshotRepository.findLastPostingId()));
+        List<WalletBalanceSnapshot> snapshots = snapshotRepository.findAll();
+        report.setSnapshots(snapshots.size());
+        for (WalletBalanceSnapshot snapshot : snapshots) {
+            BigDecimal expected = folded.remove(snapshot.getWalletId());
+            if (!isSameAmount(snapshot.getBalance(), expected)) {
+                report.getSnapshotMismatches().add(snapshot.getWalletId());
+            }
+        }
+        folded.entrySet().stream()
+                .filter(missing -> missing.getValue().signum() != 0)
+                .forEach(missing -> report.getSnapshotMismatches().add(missing.getKey()));
+
+        Map<Integer, BigDecimal> replayed = toMap(postingRepository.sumAllByWallet());
+        for (WalletBalanceModel wallet : walletRepository.findAllBalances()) {
+            if (!isSameAmount(wallet.getBalance(), replayed.get(wallet.getWalletId()))) {
+                report.getWalletMismatches().add(wallet.getWalletId());
+            }
+        }
+
+        if (!report.isConsistent()) {
+            logger.warn(String.format("Ledger verification failed, total: %s, snapshot mismatches: %s, wallet mismatches: %s",
+                    report.getLedgerTotal(), report.getSnapshotMismatches(), report.getWalletMismatches()));
+        }
+        return report;
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public synchronized LedgerVerificationModel rebuild() {
+        long toId = findFoldableId();
+        snapshotRepository.deleteAllInBatch();
+
+        List<WalletBalanceSnapshot> snapshots = postingRepository.sumByWalletInRange(0, toId)
+                .stream()
+                .map(balance -> {
+                    WalletBalanceSnapshot snapshot = new WalletBalanceSnapshot(balance.getWalletId());
+                    snapshot.apply(balance.getBalance(), toId);
+                    return snapshot;
+                })
+                .collect(Collectors.toList());
+        snapshotRepository.saveAll(snapshots);
+
+        logger.info(String.format("Ledger snapshots have been rebuilt for %d wallets up to posting %d", snapshots.size(), toId));
+        return verify();
+    }
+
+    /**
+     * The last committed id is read before the bounds, a posting below it that is not committed yet belongs to a writer
+     * that registered its bound before that id was allocated, so the bound is still registered and caps the result.
+     * Runs read committed, so the postings of writers that complete meanwhile are seen by the statements folding them.
+     */
+    private long findFoldableId() {
+        long lastCommittedId = postingRepository.findLastId();
+        return inFlightBounds.values()
+                .stream()
+                .mapToLong(Long::longValue)
+                .reduce(lastCommittedId, Math::min);
+    }
+
+    private Map<Integer, BigDecimal> toMap(List<WalletBalanceModel> balances) {
+        return balances.stream()
+                .collect(Collectors.toMap(WalletBalanceModel::getWalletId, WalletBalanceModel::getBalance));
+    }
+
+    private boolean isSameAmount(BigDecimal actual, BigDecimal expected) {
+        BigDecimal expectedOrZero = expected == null ? BigDecimal.ZERO : expected;
+        return actual.compareTo(expectedOrZero) == 0;
+    }
+
+}
@@ -0,0 +1,185 @@
+package com.henrique.virtualteacher.services.implementation;
+
+import com.henrique.virtualteacher.entities.OutboundMail;
+import com.henrique.virtualteacher.models.MailOutboxMetricsModel;
+import com.henrique.virtualteacher.models.MailStatus;
+import com.henrique.virtualteacher.repositories.MailOutboxRepository;
+import com.henrique.virtualteacher.services.interfaces.MailOutboxService;
+import com.henrique.virtualteacher.utils.MailSender;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Mails are stored in the {@code mail_outbox} table as part of the caller's transaction and delivered later
+ * by {@link #dispatchPendingMails()}. Every poll claims a batch of due mails and hands them to the worker pool
+ * in chunks, each chunk is sent over a single SMTP connection. Failed mails are retried with exponential backoff
+ * until {@code mail.outbox.max-attempts} is reached.
+ */
+@Service
+public class MailOutboxServiceImpl implements MailOutboxService {
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailSender mailSender;
+    private final Logger logger;
+    private final ExecutorService workers;
+
+    private final int batchSize, connectionBatchSize, maxAttempts;
+    private final Duration initialBackoff, lease;
+
+    private final LongAdder enqueuedMails = new LongAdder();
+    private final LongAdder sentMails = new LongAdder();
+    private final LongAdder retriedMails = new LongAdder();
+    private final LongAdder abandonedMails = new LongAdder();
+    private final LongAdder smtpBatches = new LongAdder();
+    private final LongAdder totalDeliveryMillis = new LongAdder();
+
+    @Autowired
+    public MailOutboxServiceImpl(MailOutboxRepository mailOutboxRepository,
+                                 MailSender mailSender,
+                                 Logger logger,
+                                 @Value("${mail.outbox.workers:2}") int workers,
+                                 @Value("${mail.outbox.batch-size:100}") int batchSize,
+                                 @Value("${mail.outbox.connection-batch-size:20}") int connectionBatchSize,
+                                 @Value("${mail.outbox.max-attempts:6}") int maxAttempts,
+                                 @Value("${mail.outbox.initial-backoff-seconds:30}") long initialBackoffSeconds,
+                                 @Value("${mail.outbox.lease-seconds:300}") long leaseSeconds) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailSender = mailSender;
+        this.logger = logger;
+        this.workers = Executors.newFixedThreadPool(workers);
+        this.batchSize = batchSize;
+        this.connectionBatchSize = connectionBatchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofSeconds(initialBackoffSeconds);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+    }
+
+    @Override
+    @Transactional
+    public void enqueue(SimpleMailMessage mailMessage) {
+        OutboundMail mail = mailOutboxRepository.save(new OutboundMail(mailMessage));
+        enqueuedMails.increment();
+        logger.info(String.format("Mail with id: %d, to: %s, has been queued for delivery", mail.getId(), mail.getRecipient()));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:2000}")
+    public int dispatchPendingMails() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> claimedIds = mailOutboxRepository.findDueIds(MailStatus.PENDING, now, PageRequest.of(0, batchSize))
+                .stream()
+                .filter(id -> mailOutboxRepository.claim(id, now, now.plus(lease)) == 1)
+                .collect(Collectors.toList());
+
+        if (claimedIds.isEmpty()) {
+            return 0;
+        }
+
+        List<OutboundMail> mails = mailOutboxRepository.findAllById(claimedIds);
+        List<Future<?>> deliveries = new ArrayList<>();
+        for (int from = 0; from < mails.size(); from += connectionBatchSize) {
+            List<OutboundMail> chunk = mails.subList(from, Math.min(from + connectionBatchSize, mails.size()));
+            deliveries.add(workers.submit(() -> deliver(chunk)));
+        }
+
+        for (Future<?> delivery : deliveries) {
+            try {
+                delivery.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                logger.error(String.format("Mail delivery batch has failed: %s", e.getCause().getMessage()));
+            }
+        }
+        return mails.size();
+    }
+
+    @Override
+    public MailOutboxMetricsModel getMetrics() {
+        MailOutboxMetricsModel metrics = new MailOutboxMetricsModel();
+        metrics.setPendingMails(mailOutboxRepository.countByStatus(MailStatus.PENDING));
+        metrics.setFailedMails(mailOutboxRepository.countByStatus(MailStatus.FAILED));
+        metrics.setEnqueuedMails(enqueuedMails.sum());
+
+        long sent = sentMails.sum();
+        metrics.setSentMails(sent);
+        metrics.setRetriedMails(retriedMails.sum());
+        metrics.setAbandonedMails(abandonedMails.sum());
+        metrics.setSmtpBatches(smtpBatches.sum());
+        metrics.setAverageDeliveryMillis(sent == 0 ? 0 : (double) totalDeliveryMillis.sum() / sent);
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private void deliver(List<OutboundMail> mails) {
+        Map<OutboundMail, SimpleMailMessage> messages = new IdentityHashMap<>();
+        for (OutboundMail mail : mails) {
+            messages.put(mail, mail.toMailMessage());
+        }
+
+        Map<Object, Exception> failures = Collections.emptyMap();
+        Exception batchFailure = null;
+        try {
+            smtpBatches.increment();
+            mailSender.sendMails(mails.stream().map(messages::get).toArray(SimpleMailMessage[]::new));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            batchFailure = failures.isEmpty() ? e : null;
+        } catch (MailException e) {
+            batchFailure = e;
+        }
+
+        for (OutboundMail mail : mails) {
+            Exception failure = batchFailure != null ? batchFailure : failures.get(messages.get(mail));
+            if (failure == null) {
+                mail.markSent();
+                sentMails.increment();
+                totalDeliveryMillis.add(Duration.between(mail.getCreatedAt(), mail.getSentAt()).toMillis());
+            } else {
+                scheduleRetry(mail, failure);
+            }
+        }
+        mailOutboxRepository.saveAll(mails);
+    }
+
+    private void scheduleRetry(OutboundMail mail, Exception failure) {
+        boolean retry = mail.getAttempts() < maxAttempts;
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.max(0, Math.min(mail.getAttempts() - 1, 16)));
+        mail.markFailed(failure.getMessage(), LocalDateTime.now().plus(backoff), retry);
+
+        if (retry) {
+            retriedMails.increment();
+            logger.warn(String.format("Mail with id: %d, could not be delivered (attempt %d), retrying in %d seconds",
+                    mail.getId(), mail.getAttempts(), backoff.getSeconds()));
+        } else {
+            abandonedMails.increment();
+            logger.error(String.format("Mail with id: %d, could not be delivered after %d attempts: %s",
+                    mail.getId(), mail.getAttempts(), failure.getMessage()));
+        }
+    }
+
+}
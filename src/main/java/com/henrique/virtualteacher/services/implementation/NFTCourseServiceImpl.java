@@ -6,12 +6,19 @@ import com.henrique.virtualteacher.entities.User;
 import com.henrique.virtualteacher.exceptions.EntityNotFoundException;
 import com.henrique.virtualteacher.exceptions.ImpossibleOperationException;
 import com.henrique.virtualteacher.exceptions.UnauthorizedOperationException;
+import com.henrique.virtualteacher.repositories.CourseRepository;
 import com.henrique.virtualteacher.repositories.NFTCourseRepository;
+import com.henrique.virtualteacher.services.interfaces.CourseRankingService;
 import com.henrique.virtualteacher.services.interfaces.NFTCourseService;
+import com.henrique.virtualteacher.services.interfaces.SuggestionService;
+import com.henrique.virtualteacher.utils.CourseCatalogCache;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Service
@@ -19,7 +26,11 @@ import java.util.List;
 public class NFTCourseServiceImpl implements NFTCourseService {
 
     private final NFTCourseRepository nftCourseRepository;
+    private final CourseRepository courseRepository;
     private final Logger logger;
+    private final CourseRankingService courseRankingService;
+    private final SuggestionService suggestionService;
+    private final CourseCatalogCache courseCatalogCache;
 
     @Override
     public NFT getById(int id) {
@@ -84,15 +95,66 @@ public class NFTCourseServiceImpl implements NFTCourseService {
 //        return created;
 //    }
 
+    @Override
+    @Transactional
     public NFT mintNFT(User purchaser, Course courseToPurchaseNft) {
 
         checkCourseHasAvailableMints(courseToPurchaseNft);
-        NFT newMint = new NFT(purchaser, courseToPurchaseNft);
+        int dropNumber = reserveDropNumber(courseToPurchaseNft);
+        NFT newMint = new NFT(purchaser, courseToPurchaseNft, dropNumber);
+        courseRankingService.courseMinted(courseToPurchaseNft.getId(), 1);
+        suggestionService.courseMinted(courseToPurchaseNft, 1);
+        courseCatalogCache.courseMinted(courseToPurchaseNft.getId());
         return nftCourseRepository.save(newMint);
     }
 
+    /**
+     * Reserves one contiguous block of drop numbers for as many purchasers as the remaining supply covers, in the
+     * order they are given. Mints taken elsewhere in the meantime shrink the block instead of failing it.
+     * @return the minted NFTs of the first purchasers, empty when the course is sold out
+     */
+    @Override
+    @Transactional
+    public List<NFT> mintBatch(Course courseToPurchaseNft, List<User> purchasers) {
+
+        int count = purchasers.size();
+        while (courseRepository.reserveMints(courseToPurchaseNft.getId(), count) == 0) {
+            // a consistent read can still show the supply from before the other mints, so the block shrinks every time
+            count = Math.min(count - 1, courseRepository.getRemainingMints(courseToPurchaseNft.getId()));
+            if (count <= 0) {
+                return Collections.emptyList();
+            }
+        }
+
+        int firstDropNumber = courseRepository.getLastDropNumber(courseToPurchaseNft.getId()) - count + 1;
+        List<NFT> newMints = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            newMints.add(new NFT(purchasers.get(i), courseToPurchaseNft, firstDropNumber + i));
+        }
+        courseRankingService.courseMinted(courseToPurchaseNft.getId(), count);
+        suggestionService.courseMinted(courseToPurchaseNft, count);
+        courseCatalogCache.courseMinted(courseToPurchaseNft.getId());
+        return nftCourseRepository.saveAll(newMints);
+    }
+
+    @Override
+    public int getRemainingMints(Course course) {
+        return courseRepository.getRemainingMints(course.getId());
+    }
+
+    /**
+     * The drop number is read back inside the transaction that incremented it, the row stays locked until
+     * commit so no other mint can observe or take the same number.
+     */
+    private int reserveDropNumber(Course course) {
+        if (courseRepository.reserveMint(course.getId()) == 0) {
+            throw new ImpossibleOperationException(String.format("Course with id: %d, does not have available mints", course.getId()));
+        }
+        return courseRepository.getLastDropNumber(course.getId());
+    }
+
     public void checkCourseHasAvailableMints(Course course) {
-        if (course.getNfts().size() >= course.getAvailableMints()) {
+        if (course.getTotalMinted() >= course.getAvailableMints()) {
             throw new ImpossibleOperationException(String.format("Course with id: %d, does not have available mints", course.getId()));
         }
     }
@@ -103,12 +165,16 @@ public class NFTCourseServiceImpl implements NFTCourseService {
     }
 
     @Override
+    @Transactional
     public void burnNFT(User leavingUser, Course courseToLeave) {
         if (!leavingUser.hasPurchasedCourse(courseToLeave)){
             throw new ImpossibleOperationException(String.format("User with id: %d cannot leave course with id: %d, as the user is not enrolled",leavingUser.getId(), courseToLeave.getId()));
         }
         NFT toDelete = getUserOwnedNFTCourse(leavingUser, courseToLeave);
         nftCourseRepository.delete(toDelete);
+        courseRepository.releaseMint(courseToLeave.getId());
+        suggestionService.courseMinted(courseToLeave, -1);
+        courseCatalogCache.courseMinted(courseToLeave.getId());
     }
 
 }
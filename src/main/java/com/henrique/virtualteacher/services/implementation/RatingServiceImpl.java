@@ -1,27 +1,65 @@
 package com.henrique.virtualteacher.services.implementation;
 
 import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.entities.CourseRatingSummary;
 import com.henrique.virtualteacher.entities.Rating;
 import com.henrique.virtualteacher.entities.User;
 import com.henrique.virtualteacher.exceptions.EntityNotFoundException;
 import com.henrique.virtualteacher.exceptions.ImpossibleOperationException;
 import com.henrique.virtualteacher.exceptions.UnauthorizedOperationException;
+import com.henrique.virtualteacher.models.RatingAggregate;
+import com.henrique.virtualteacher.repositories.CourseRatingSummaryRepository;
 import com.henrique.virtualteacher.repositories.RatingRepository;
+import com.henrique.virtualteacher.services.interfaces.CourseRankingService;
 import com.henrique.virtualteacher.services.interfaces.CourseService;
 import com.henrique.virtualteacher.services.interfaces.RatingService;
 import com.henrique.virtualteacher.services.interfaces.UserService;
-import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
+import com.henrique.virtualteacher.utils.CourseCatalogCache;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
-@AllArgsConstructor
 public class RatingServiceImpl implements RatingService {
 
     private final RatingRepository ratingRepository;
+    private final CourseRatingSummaryRepository ratingSummaryRepository;
     private final UserService userService;
+    private final Logger logger;
+    private final CourseRankingService courseRankingService;
+    private final CourseCatalogCache courseCatalogCache;
+    private final TransactionTemplate summaryCreationTemplate;
+
+    @Autowired
+    public RatingServiceImpl(RatingRepository ratingRepository,
+                             CourseRatingSummaryRepository ratingSummaryRepository,
+                             UserService userService,
+                             Logger logger,
+                             CourseRankingService courseRankingService,
+                             CourseCatalogCache courseCatalogCache,
+                             PlatformTransactionManager transactionManager) {
+        this.ratingRepository = ratingRepository;
+        this.ratingSummaryRepository = ratingSummaryRepository;
+        this.userService = userService;
+        this.logger = logger;
+        this.courseRankingService = courseRankingService;
+        this.courseCatalogCache = courseCatalogCache;
+        this.summaryCreationTemplate = new TransactionTemplate(transactionManager);
+        this.summaryCreationTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
     @Override
     public Rating getById(int id) {
@@ -39,22 +77,93 @@ public class RatingServiceImpl implements RatingService {
         return ratingRepository.getAllByUserId(userId);
     }
 
+    @Override
     public double getAverageRatingForCourse(Course course) {
+        return ratingSummaryRepository.findByCourseId(course.getId())
+                .map(CourseRatingSummary::getAverage)
+                .orElse(0.0);
+    }
+
+    /**
+     * Reads the maintained rating summaries of every course in a single query,
+     * courses without ratings are mapped to an average of 0.
+     */
+    @Override
+    public Map<Integer, Double> getAverageRatingsForCourses(List<Course> courses) {
+        Map<Integer, Double> averageRatings = new HashMap<>();
+        if (courses.isEmpty()) {
+            return averageRatings;
+        }
 
-        List<Rating> ratings = getAllByCourseId(course.getId());
-        double numberOfRatings = ratings.size();
+        List<Integer> courseIds = courses.stream()
+                .map(Course::getId)
+                .distinct()
+                .collect(Collectors.toList());
 
-        if (ratings.isEmpty()) {
-            return 0;
+        for (CourseRatingSummary summary : ratingSummaryRepository.findAllByCourseIdIn(courseIds)) {
+            averageRatings.put(summary.getCourseId(), summary.getAverage());
         }
+        for (Integer courseId : courseIds) {
+            averageRatings.putIfAbsent(courseId, 0.0);
+        }
+        return averageRatings;
+    }
 
-        double allRatingsSum = ratings
-                .stream().mapToInt(Rating::getRating)
-                .sum();
+    /**
+     * Recomputes every course rating summary from the raw course_ratings rows and corrects the ones that drifted.
+     * @return the number of summaries that had to be corrected
+     */
+    @Override
+    @Transactional
+    @Scheduled(cron = "${ratings.summary.repair-cron:0 0 3 * * *}")
+    public int rebuildRatingSummaries() {
 
-        return  allRatingsSum / numberOfRatings;
+        Map<Integer, RatingAggregate> actualAggregates = ratingRepository.getAggregatesForAllCourses()
+                .stream()
+                .collect(Collectors.toMap(RatingAggregate::getCourseId, Function.identity()));
+
+        List<CourseRatingSummary> toSave = new ArrayList<>();
+        for (CourseRatingSummary summary : ratingSummaryRepository.findAll()) {
+            RatingAggregate actual = actualAggregates.remove(summary.getCourseId());
+            long actualCount = actual == null ? 0 : actual.getRatingCount();
+            long actualSum = actual == null ? 0 : actual.getRatingSum();
+
+            if (summary.getRatingCount() != actualCount || summary.getRatingSum() != actualSum) {
+                summary.setRatingCount(actualCount);
+                summary.setRatingSum(actualSum);
+                toSave.add(summary);
+            }
+        }
+        for (RatingAggregate missing : actualAggregates.values()) {
+            toSave.add(new CourseRatingSummary(missing.getCourseId(), missing.getRatingCount(), missing.getRatingSum()));
+        }
+
+        ratingSummaryRepository.saveAll(toSave);
+        logger.info(String.format("Course rating summaries rebuilt, %d summaries were corrected", toSave.size()));
+        return toSave.size();
+    }
+
+    private void updateRatingSummary(Course course, long countDelta, long sumDelta) {
+        if (ratingSummaryRepository.applyDelta(course.getId(), countDelta, sumDelta) == 0) {
+            createRatingSummary(course.getId());
+            if (ratingSummaryRepository.applyDelta(course.getId(), countDelta, sumDelta) == 0) {
+                throw new ImpossibleOperationException(String.format("Rating summary of course with id: %d, could not be created", course.getId()));
+            }
+        }
     }
 
+    /**
+     * Creates an empty summary in its own transaction, so when a concurrent first rating of the same course
+     * created it first only this insert fails, and the rating is counted on the existing row.
+     */
+    private void createRatingSummary(int courseId) {
+        try {
+            summaryCreationTemplate.executeWithoutResult(status -> ratingSummaryRepository.save(new CourseRatingSummary(courseId, 0, 0)));
+        } catch (DataIntegrityViolationException ignored) {}
+    }
+
+    @Override
+    @Transactional
     public void create(Course course, User loggedUser, int rating) {
 
         if (getAllByUserId(loggedUser.getId())
@@ -75,8 +184,13 @@ public class RatingServiceImpl implements RatingService {
         }
 
         ratingRepository.save(courseRating);
+        updateRatingSummary(course, 1, rating);
+        courseRankingService.courseRated(course.getId(), 1, rating);
+        courseCatalogCache.courseRated(course.getId());
     }
 
+    @Override
+    @Transactional
     public void update(Rating rating, int newRating, User loggedUser) {
 
         User ratingCreator = rating.getUser();
@@ -85,16 +199,25 @@ public class RatingServiceImpl implements RatingService {
             throw new UnauthorizedOperationException(String.format("User with id: {%d}, is not the creator of the Rating with id: {%d}", loggedUser.getId(), rating.getId()));
         }
 
+        int previousRating = rating.getRating();
         rating.setRating(newRating);
         ratingRepository.save(rating);
+        updateRatingSummary(rating.getCourse(), 0, newRating - previousRating);
+        courseRankingService.courseRated(rating.getCourse().getId(), 0, newRating - previousRating);
+        courseCatalogCache.courseRated(rating.getCourse().getId());
     }
 
+    @Override
+    @Transactional
     public void delete(Rating rating, User loggedUser) {
 
         if (rating.getUser().getId() != loggedUser.getId()) {
             throw new UnauthorizedOperationException(String.format("User with id: {%d}, is not the creator of the rating with id: {%d}",loggedUser.getId(), rating.getId()));
         }
         ratingRepository.delete(rating);
+        updateRatingSummary(rating.getCourse(), -1, -rating.getRating());
+        courseRankingService.courseRated(rating.getCourse().getId(), -1, -rating.getRating());
+        courseCatalogCache.courseRated(rating.getCourse().getId());
     }
 
 }
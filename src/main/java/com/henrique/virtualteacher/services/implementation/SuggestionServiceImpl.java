@@ -0,0 +1,159 @@
+package com.henrique.virtualteacher.services.implementation;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.models.EnumSuggestionType;
+import com.henrique.virtualteacher.models.SuggestionMetricsModel;
+import com.henrique.virtualteacher.models.SuggestionModel;
+import com.henrique.virtualteacher.models.SuggestionSource;
+import com.henrique.virtualteacher.repositories.CourseRepository;
+import com.henrique.virtualteacher.repositories.UserRepository;
+import com.henrique.virtualteacher.services.interfaces.SuggestionService;
+import com.henrique.virtualteacher.utils.SuggestionTrie;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static com.henrique.virtualteacher.utils.TransactionCallbacks.afterCommit;
+
+/**
+ * Type-ahead suggestions of enabled course titles, found by any word of the title, and of verified usernames.
+ * Courses are ranked by their mint count, users by the mints of the courses they created.
+ * Changes are applied once their transaction commits. {@link #rebuild()} loads both tries when the application
+ * starts and then periodically rebuilds them from the database, which corrects a change missed during a rebuild.
+ */
+@Service
+public class SuggestionServiceImpl implements SuggestionService {
+
+    private static final Comparator<SuggestionModel> MOST_POPULAR = Comparator.comparingLong(SuggestionModel::getPopularity)
+            .reversed()
+            .thenComparing(SuggestionModel::getText, String.CASE_INSENSITIVE_ORDER);
+
+    private final SuggestionTrie courseTitles;
+    private final SuggestionTrie usernames;
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+    private final Logger logger;
+    private volatile long lastRebuildMillis;
+
+    @Autowired
+    public SuggestionServiceImpl(CourseRepository courseRepository,
+                                 UserRepository userRepository,
+                                 Logger logger,
+                                 @Value("${suggest.max-results:10}") int maxResults) {
+        this.courseTitles = new SuggestionTrie(maxResults, true);
+        this.usernames = new SuggestionTrie(maxResults, false);
+        this.courseRepository = courseRepository;
+        this.userRepository = userRepository;
+        this.logger = logger;
+    }
+
+    @Override
+    public List<SuggestionModel> suggest(String prefix, Optional<EnumSuggestionType> type, int limit) {
+        List<SuggestionModel> suggestions = new ArrayList<>();
+        if (type.isEmpty() || type.get() == EnumSuggestionType.COURSE) {
+            suggestions.addAll(toModels(EnumSuggestionType.COURSE, courseTitles.suggest(prefix, limit)));
+        }
+        if (type.isEmpty() || type.get() == EnumSuggestionType.USER) {
+            suggestions.addAll(toModels(EnumSuggestionType.USER, usernames.suggest(prefix, limit)));
+        }
+        if (type.isPresent()) {
+            return suggestions;
+        }
+        return suggestions.stream()
+                .sorted(MOST_POPULAR)
+                .limit(Math.max(limit, 0))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void courseChanged(Course course) {
+        if (!course.isEnabled() || course.getTitle() == null) {
+            courseDeleted(course.getId());
+            return;
+        }
+        int courseId = course.getId();
+        String title = course.getTitle();
+        long mints = course.getTotalMinted();
+        afterCommit(() -> courseTitles.put(courseId, title, mints));
+    }
+
+    @Override
+    public void courseDeleted(int courseId) {
+        afterCommit(() -> courseTitles.remove(courseId));
+    }
+
+    @Override
+    public void courseMinted(Course course, int count) {
+        int courseId = course.getId();
+        Optional<Integer> creatorId = Optional.ofNullable(course.getCreator()).map(User::getId);
+        afterCommit(() -> {
+            courseTitles.addPopularity(courseId, count);
+            creatorId.ifPresent(id -> usernames.addPopularity(id, count));
+        });
+    }
+
+    @Override
+    public void userChanged(User user) {
+        if (!user.isEnabled() || user.getUsername() == null) {
+            userDeleted(user.getId());
+            return;
+        }
+        int userId = user.getId();
+        String username = user.getUsername();
+        afterCommit(() -> usernames.putText(userId, username));
+    }
+
+    @Override
+    public void userDeleted(int userId) {
+        afterCommit(() -> usernames.remove(userId));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${suggest.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        courseTitles.replaceAll(toSuggestions(courseRepository.getSuggestionSources()));
+        usernames.replaceAll(toSuggestions(userRepository.getSuggestionSources()));
+        lastRebuildMillis = (System.nanoTime() - start) / 1_000_000;
+
+        logger.info(String.format("Suggestions rebuilt, %d course titles and %d usernames in %d ms, about %d KB",
+                courseTitles.size(), usernames.size(), lastRebuildMillis,
+                (courseTitles.getEstimatedBytes() + usernames.getEstimatedBytes()) / 1024));
+    }
+
+    @Override
+    public SuggestionMetricsModel getMetrics() {
+        SuggestionMetricsModel metrics = new SuggestionMetricsModel();
+        metrics.setCourseEntries(courseTitles.size());
+        metrics.setCourseNodes(courseTitles.nodeCount());
+        metrics.setCourseEstimatedBytes(courseTitles.getEstimatedBytes());
+        metrics.setUserEntries(usernames.size());
+        metrics.setUserNodes(usernames.nodeCount());
+        metrics.setUserEstimatedBytes(usernames.getEstimatedBytes());
+        metrics.setLastRebuildMillis(lastRebuildMillis);
+        return metrics;
+    }
+
+    private List<SuggestionTrie.Suggestion> toSuggestions(List<SuggestionSource> sources) {
+        return sources.stream()
+                .filter(source -> source.getText() != null)
+                .map(source -> new SuggestionTrie.Suggestion(source.getId(), source.getText(), source.getPopularity()))
+                .collect(Collectors.toList());
+    }
+
+    private List<SuggestionModel> toModels(EnumSuggestionType type, List<SuggestionTrie.Suggestion> suggestions) {
+        return suggestions.stream()
+                .map(suggestion -> new SuggestionModel(type, suggestion.getId(), suggestion.getText(), suggestion.getPopularity()))
+                .collect(Collectors.toList());
+    }
+
+}
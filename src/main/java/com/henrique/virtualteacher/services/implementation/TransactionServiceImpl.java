@@ -2,27 +2,41 @@ package com.henrique.virtualteacher.services.implementation;
 
 import com.henrique.virtualteacher.entities.*;
 import com.henrique.virtualteacher.exceptions.EntityNotFoundException;
+import com.henrique.virtualteacher.exceptions.ImpossibleOperationException;
 import com.henrique.virtualteacher.exceptions.UnauthorizedOperationException;
+import com.henrique.virtualteacher.models.TransactionHistoryModel;
 import com.henrique.virtualteacher.models.TransactionModel;
 import com.henrique.virtualteacher.models.TransactionStatus;
+import com.henrique.virtualteacher.models.TransactionSummaryModel;
 import com.henrique.virtualteacher.models.TransactionType;
 import com.henrique.virtualteacher.repositories.TransactionRepository;
 import com.henrique.virtualteacher.services.interfaces.TransactionService;
 import com.henrique.virtualteacher.services.interfaces.UserService;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final Comparator<TransactionSummaryModel> HISTORY_ORDER = Comparator.comparing(TransactionSummaryModel::getCreationTime)
+            .thenComparingInt(TransactionSummaryModel::getId)
+            .reversed();
+
     private final TransactionRepository transactionRepository;
     private final UserService userService;
     private final Logger logger;
@@ -38,9 +52,60 @@ public class TransactionServiceImpl implements TransactionService {
         return transaction;
     }
 
+    /**
+     * Keyset pagination, the cursor is the creation time and id of the last transaction of the previous page,
+     * so a deep page costs the same as the first one. Both sides of the wallet are read up to one row past the
+     * page size and merged, a deposit is on both sides and appears once.
+     */
     @Override
-    public Page<Transaction> getWalletTransactionPage(Pageable pageable, int walletId) {
-        return transactionRepository.findAllByRecipientWalletIdOrSenderWalletIdOrderByCreationTimeDesc(walletId, walletId, pageable);
+    public TransactionHistoryModel getWalletHistory(Wallet wallet, User loggedUser, Optional<String> cursor, int size) {
+        checkUserIsAuthorized(loggedUser, wallet.getOwner().getId());
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_HISTORY_PAGE_SIZE);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<TransactionSummaryModel> sent;
+        List<TransactionSummaryModel> received;
+
+        if (cursor.isPresent()) {
+            LocalDate creationTime = parseCursorCreationTime(cursor.get());
+            int id = parseCursorId(cursor.get());
+            sent = transactionRepository.findSentBefore(wallet.getId(), creationTime, id, limit);
+            received = transactionRepository.findReceivedBefore(wallet.getId(), creationTime, id, limit);
+        } else {
+            sent = transactionRepository.findLatestSent(wallet.getId(), limit);
+            received = transactionRepository.findLatestReceived(wallet.getId(), limit);
+        }
+
+        List<TransactionSummaryModel> merged = Stream.concat(sent.stream(), received.stream())
+                .collect(Collectors.toMap(TransactionSummaryModel::getId, Function.identity(), (first, second) -> first))
+                .values()
+                .stream()
+                .sorted(HISTORY_ORDER)
+                .limit(pageSize + 1)
+                .collect(Collectors.toList());
+
+        if (merged.size() <= pageSize) {
+            return new TransactionHistoryModel(merged, null);
+        }
+        List<TransactionSummaryModel> page = merged.subList(0, pageSize);
+        TransactionSummaryModel last = page.get(pageSize - 1);
+        return new TransactionHistoryModel(page, String.format("%s_%d", last.getCreationTime(), last.getId()));
+    }
+
+    private LocalDate parseCursorCreationTime(String cursor) {
+        try {
+            return LocalDate.parse(cursor.substring(0, cursor.indexOf('_')));
+        } catch (DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new ImpossibleOperationException(String.format("Transaction history cursor: %s, is not valid", cursor));
+        }
+    }
+
+    private int parseCursorId(String cursor) {
+        try {
+            return Integer.parseInt(cursor.substring(cursor.indexOf('_') + 1));
+        } catch (NumberFormatException e) {
+            throw new ImpossibleOperationException(String.format("Transaction history cursor: %s, is not valid", cursor));
+        }
     }
 
     private void checkUserIsAuthorized(User loggedUser, Transaction transaction) {
@@ -112,6 +177,12 @@ public class TransactionServiceImpl implements TransactionService {
         logger.info(String.format("Transaction with id: %d, has been created successfully by user with id: %d", createdTransaction.getId(),loggedUser.getId()));
     }
 
+    @Override
+    public void createAll(List<Transaction> transactions) {
+        transactionRepository.saveAll(transactions);
+        logger.info(String.format("%d transactions have been created in one batch", transactions.size()));
+    }
+
     @Override
     public void createExchangeTransaction(Wallet initiatorWallet, Wallet ownerWallet,BigDecimal offer, NFT courseToMakeOffer) {
 
@@ -6,7 +6,12 @@ import com.henrique.virtualteacher.entities.User;
 import com.henrique.virtualteacher.exceptions.*;
 import com.henrique.virtualteacher.models.*;
 import com.henrique.virtualteacher.repositories.UserRepository;
+import com.henrique.virtualteacher.services.interfaces.SuggestionService;
 import com.henrique.virtualteacher.services.interfaces.UserService;
+import com.henrique.virtualteacher.utils.ImageRenditionCache;
+import com.henrique.virtualteacher.utils.LoginAttemptThrottle;
+import com.henrique.virtualteacher.utils.RequestUserContext;
+import com.henrique.virtualteacher.utils.UserDetailsCache;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.springframework.security.core.GrantedAuthority;
@@ -34,6 +39,11 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder encoder;
     private final Logger logger;
+    private final RequestUserContext requestUserContext;
+    private final UserDetailsCache userDetailsCache;
+    private final LoginAttemptThrottle loginAttemptThrottle;
+    private final SuggestionService suggestionService;
+    private final ImageRenditionCache imageRenditionCache;
 
     @Override
     public List<User> getAll(User loggedUser) {
@@ -57,6 +67,8 @@ public class UserServiceImpl implements UserService {
         User toVerify = getById(userToVerifyId);
         toVerify.setEnabled(true);
         userRepository.save(toVerify);
+        suggestionService.userChanged(toVerify);
+        userDetailsCache.removeUserFromCache(toVerify.getEmail());
     }
 
     @Override
@@ -77,7 +89,8 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserModel getModelById(int id) {
-        User userToGet = getById(id);
+        User userToGet = userRepository.findProfileById(id)
+                .orElseThrow(() -> new EntityNotFoundException("User", "Id", String.valueOf(id)));
         return mapToModel(userToGet);
     }
 
@@ -93,6 +106,7 @@ public class UserServiceImpl implements UserService {
         usermodel.setCompletedCourses(user.getCompletedCourses());
         usermodel.setOwnedNftCourses(user.getNftCourses());
         usermodel.setProfilePicture(user.getProfilePicture());
+        usermodel.setProfilePictureRenditions(imageRenditionCache.urlsOf(user.getProfilePicture()));
         return usermodel;
     }
 
@@ -108,7 +122,17 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public User getByEmail(String email) {
-        return userRepository.findByEmail(email)
+        return requestUserContext.resolve(email, mail -> userRepository.findByEmail(mail)
+                .orElseThrow(() -> new EntityNotFoundException("User", "Email", mail)));
+    }
+
+    /**
+     * Loads the user with the owned NFTs and their courses in one query. The user may already be in the
+     * persistence context from an earlier lookup of the request, the fetch join then initializes its collection.
+     */
+    @Override
+    public User getWithEnrolledCourses(String email) {
+        return userRepository.findWithEnrolledCoursesByEmail(email)
                 .orElseThrow(() -> new EntityNotFoundException("User", "Email", email));
     }
 
@@ -134,17 +158,28 @@ public class UserServiceImpl implements UserService {
         checkPasswordMeetsRequirements(register.getPassword());
         checkPasswordsAreEqual(register.getPassword(), register.getPasswordConfirm());
 
-       User user = mapFromRegisterModel(register);
-       return userRepository.save(user);
+       User user = userRepository.save(mapFromRegisterModel(register));
+       suggestionService.userChanged(user);
+       return user;
     }
 
 
     public void verifyLoginInfo(String email, String password) {
+        if (loginAttemptThrottle.isBlocked(email)) {
+            throw new TooManyRequestsException(String.format("Too many failed login attempts for %s, try again later", email));
+        }
+
         User existingUser = getByEmail(email);
         if (!encoder.matches(password, existingUser.getPassword())) {
+            loginAttemptThrottle.recordFailure(email);
             throw new ImpossibleOperationException("Password is incorrect");
         }
-        else if (!existingUser.isEnabled()) {
+        loginAttemptThrottle.recordSuccess(email);
+
+        if (encoder.upgradeEncoding(existingUser.getPassword())) {
+            upgradePasswordHash(existingUser, encoder.encode(password));
+        }
+        if (!existingUser.isEnabled()) {
             throw new AuthenticationException(String.format("User with id: %d, is not email verified", existingUser.getId()));
         }
     }
@@ -157,6 +192,7 @@ public class UserServiceImpl implements UserService {
         verifyUserIsAllowed(affectedUser, getLoggedUser(initiator));
         addTeacherRoleToUser(affectedUser);
         userRepository.save(affectedUser);
+        userDetailsCache.removeUserFromCache(affectedUser.getEmail());
         logger.info(String.format("TEACHER ROLE has been granted to user with id %d", affectedUser.getId()));
     }
 
@@ -188,10 +224,28 @@ public class UserServiceImpl implements UserService {
         setNewUserPassword(newPassword, user);
 
         userRepository.save(user);
+        userDetailsCache.removeUserFromCache(user.getEmail());
         logger.info(String.format("User: %s, has changed his password successfully",user.getUsername()));
         //todo test
     }
 
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+        User user = getByEmail(userDetails.getUsername());
+        upgradePasswordHash(user, newEncodedPassword);
+
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+                .password(newEncodedPassword)
+                .build();
+    }
+
+    private void upgradePasswordHash(User user, String newEncodedPassword) {
+        user.setPassword(newEncodedPassword);
+        userRepository.save(user);
+        userDetailsCache.removeUserFromCache(user.getEmail());
+        logger.info(String.format("Password hash of user with id: %d, has been upgraded", user.getId()));
+    }
+
     @Override
     public void updateProfileInfo(Principal loggedUser, UserUpdateModel updateModel) {
 
@@ -204,6 +258,7 @@ public class UserServiceImpl implements UserService {
         mapFromUserUpdateModel(updateModel, user);
 
         userRepository.save(user);
+        suggestionService.userChanged(user);
         logger.info(String.format("User with email: {%s}, has been updated", user.getEmail()));
         //todo test
     }
@@ -213,19 +268,30 @@ public class UserServiceImpl implements UserService {
         verifyUserIsAllowed(toDelete, loggedUser);
 
         toDelete.getCompletedLectures().clear();
-        toDelete.getNftCourses().clear();
 
         //fixme -> will need to delete also the comments, ratings and assignments
         userRepository.delete(toDelete);
+        suggestionService.userDeleted(toDelete.getId());
+        requestUserContext.evict(toDelete.getEmail());
+        userDetailsCache.removeUserFromCache(toDelete.getEmail());
     }
 
     public String getMostStudiedCourseTopic(User loggedUser) {
+        return getMostStudiedCourseTopic(loggedUser.getNftCourses());
+    }
+
+    @Override
+    public String getMostStudiedCourseTopic(UserModel userModel) {
+        return getMostStudiedCourseTopic(userModel.getOwnedNftCourses());
+    }
+
+    private String getMostStudiedCourseTopic(List<NFT> ownedNftCourses) {
 
-        if (loggedUser.getNftCourses().size() == 0){
+        if (ownedNftCourses.size() == 0){
             return "";
         }
 
-        List<NFT> sortedEnrolledCourses = loggedUser.getNftCourses().stream().
+        List<NFT> sortedEnrolledCourses = ownedNftCourses.stream().
                 sorted(Comparator.comparing(object -> object.getCourse().getTopic().name())).collect(Collectors.toList());
 
         int maxSequence = 1;
@@ -252,12 +318,6 @@ public class UserServiceImpl implements UserService {
         return mostStudiedTopic.name();
     }
 
-    @Override
-    public String getMostStudiedCourseTopic(UserModel userModel) {
-        User user = getByEmail(userModel.getEmail());
-        return getMostStudiedCourseTopic(user);
-    }
-
     private User mapFromRegisterModel(RegisterUserModel register) {
         User newUser = new User();
 
@@ -335,13 +395,14 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public User getLoggedUser(Principal principal) { // TODO: Need to know how to mock principal
-        return userRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new AuthenticationException("User is not logged in "));
+        return requestUserContext.resolve(principal.getName(), email -> userRepository.findByEmail(email)
+                .orElseThrow(() -> new AuthenticationException("User is not logged in ")));
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(username)
+        // runs in the security filters, before open-in-view, so the user is not kept for the rest of the request
+        User user = userRepository.findForAuthenticationByEmail(username)
                 .orElseThrow(() -> new EntityNotFoundException("User", "email", username));
 
         return new org.springframework.security.core.userdetails.User(user.getEmail(), user.getPassword(), mapRolesToAuthorities(user.getRoles()));
@@ -6,6 +6,7 @@ import com.henrique.virtualteacher.exceptions.EntityNotFoundException;
 import com.henrique.virtualteacher.exceptions.UnauthorizedOperationException;
 import com.henrique.virtualteacher.models.VerificationTokenModel;
 import com.henrique.virtualteacher.repositories.VerificationTokenRepository;
+import com.henrique.virtualteacher.services.interfaces.MailOutboxService;
 import com.henrique.virtualteacher.services.interfaces.UserService;
 import com.henrique.virtualteacher.services.interfaces.VerificationTokenService;
 import com.henrique.virtualteacher.utils.MailSender;
@@ -14,6 +15,7 @@ import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.ArrayList;
@@ -25,17 +27,17 @@ public class VerificationTokenServiceImpl implements VerificationTokenService {
     private final VerificationTokenRepository tokenRepository;
     private final UserService userService;
     private final Logger logger;
-    private final MailSender mailSender;
+    private final MailOutboxService mailOutboxService;
 
     @Autowired
     public VerificationTokenServiceImpl(VerificationTokenRepository tokenRepository,
                                         UserService userService,
                                         Logger logger,
-                                        MailSender mailSender) {
+                                        MailOutboxService mailOutboxService) {
         this.tokenRepository  = tokenRepository;
         this.userService = userService;
         this.logger = logger;
-        this.mailSender = mailSender;
+        this.mailOutboxService = mailOutboxService;
     }
 
     @Override
@@ -103,6 +105,7 @@ public class VerificationTokenServiceImpl implements VerificationTokenService {
     }
 
     @Override
+    @Transactional
     public VerificationTokenModel create(User loggedUser, HttpServletRequest request) {
 
         VerificationToken verificationToken = new VerificationToken(loggedUser);
@@ -115,8 +118,8 @@ public class VerificationTokenServiceImpl implements VerificationTokenService {
 
     private void sendVerificationMail(User recipient, VerificationToken token, HttpServletRequest request) {
         SimpleMailMessage mailMessage = MailSender.createRegistrationMail(recipient, token, request);
-        mailSender.sendMail(mailMessage);
-        logger.info(String.format("Email has been sent successfully to the user mail: {%s}", recipient.getEmail()));
+        mailOutboxService.enqueue(mailMessage);
+        logger.info(String.format("Verification email has been queued for the user mail: {%s}", recipient.getEmail()));
     }
 
     @Override
@@ -8,6 +8,8 @@ import com.henrique.virtualteacher.exceptions.UnauthorizedOperationException;
 import com.henrique.virtualteacher.models.TransactionStatus;
 import com.henrique.virtualteacher.models.VerificationTokenModel;
 import com.henrique.virtualteacher.repositories.WalletRepository;
+import com.henrique.virtualteacher.services.interfaces.CreatorRevenueService;
+import com.henrique.virtualteacher.services.interfaces.LedgerService;
 import com.henrique.virtualteacher.services.interfaces.NFTCourseService;
 import com.henrique.virtualteacher.services.interfaces.TransactionService;
 import com.henrique.virtualteacher.services.interfaces.WalletService;
@@ -25,6 +27,8 @@ public class WalletServiceImpl implements WalletService{
     private final WalletRepository walletRepository;
     private final TransactionService transactionService;
     private final NFTCourseService nftCourseService;
+    private final LedgerService ledgerService;
+    private final CreatorRevenueService creatorRevenueService;
     private final Logger logger;
 
 
@@ -41,13 +45,18 @@ public class WalletServiceImpl implements WalletService{
     @Override
     public Wallet getLoggedUserWallet(User loggedUser) {
 
-        Wallet wallet =  walletRepository.getByOwnerEmail(loggedUser.getEmail())
+        Wallet wallet =  walletRepository.getByOwnerId(loggedUser.getId())
                 .orElseThrow(() -> new EntityNotFoundException("Wallet", "Owner", loggedUser.getEmail()));
 
         checkUserIsWalletOwner(loggedUser, wallet);
         return wallet;
     }
 
+    @Override
+    public BigDecimal getBalance(Wallet wallet) {
+        return ledgerService.getBalance(wallet.getId());
+    }
+
     @Override
     public Wallet create(User userToCreateWalletFor) {
 
@@ -64,6 +73,7 @@ public class WalletServiceImpl implements WalletService{
     }
 
     @Override
+    @Transactional
     public void verifyPendingDepositOrTransfer(User loggedUser, Transaction transaction, VerificationTokenModel verificationToken) {
 
         if (transaction.isDeposit()) {
@@ -80,13 +90,13 @@ public class WalletServiceImpl implements WalletService{
         verifyDepositAmountIsAboveMinimum(amount);
 
         Wallet userWallet = getLoggedUserWallet(loggedUser);
-        TransactionStatus status = prepareDepositTransaction(userWallet, amount);
+        Transaction transaction = prepareDepositTransaction(userWallet, amount);
 
-        if (status.equals(TransactionStatus.PENDING)) {
+        if (transaction.getStatus().equals(TransactionStatus.PENDING)) {
             return TransactionStatus.PENDING;
         }
 
-        addFundsToUserWallet(userWallet, amount);
+        addFundsToUserWallet(userWallet, transaction);
         return TransactionStatus.COMPLETED;
     }
 
@@ -97,6 +107,7 @@ public class WalletServiceImpl implements WalletService{
     }
 
     @Override
+    @Transactional
     public void send(User sender, User recipient, BigDecimal amount) {
 
         checkSenderIsNotRecipient(sender, recipient);
@@ -111,6 +122,7 @@ public class WalletServiceImpl implements WalletService{
     }
 
     @Override
+    @Transactional
     public NFT mintNFT(Course course, User loggedUser) {
 
         Wallet userWallet = getLoggedUserWallet(loggedUser);
@@ -118,19 +130,52 @@ public class WalletServiceImpl implements WalletService{
         transferFunds(userWallet, creatorWallet, course.getMintPrice());
         NFT nft = nftCourseService.mintNFT(loggedUser, course);
 
+        Transaction sale = new Transaction(creatorWallet, userWallet, nft);
+        transactionService.create(sale, loggedUser);
+        ledgerService.recordTransfer(userWallet, creatorWallet, course.getMintPrice(), sale);
+
         logger.info(String.format("User with username: %s, has successfully MINTED course with id %d",loggedUser.getUsername(), course.getId()));
         return nft;
     }
 
+    /**
+     * The creator is paid through {@link CreatorRevenueService}, only the buyer's wallet row is updated by the sale.
+     * The ledger entry is recorded by the caller once the sale transaction exists.
+     */
     private void transferFunds(Wallet userWallet, Wallet creatorWallet, BigDecimal value) {
         checkUserWalletHasEnoughFunds(value, userWallet);
+        withdrawFromWallet(userWallet, value);
+        creatorRevenueService.credit(creatorWallet, value);
         userWallet.retrieveFromWallet(value);
-        creatorWallet.addToWallet(value);
-        updateWallet(userWallet);
-        updateWallet(creatorWallet);
         logger.info(String.format("User %s has transferred %f to User: %s", userWallet.getOwner().getUsername(), value.doubleValue(), creatorWallet.getOwner().getUsername()));
     }
 
+    /**
+     * Balances are only changed through conditional updates in the database, never by saving the in memory value,
+     * so concurrent transfers cannot overwrite each other. Rows are updated in wallet id order, which keeps two opposite
+     * transfers from deadlocking, a failed withdrawal rolls back the deposit made before it.
+     * The movement is appended to the ledger in the same database transaction.
+     */
+    private void moveFunds(Wallet senderWallet, Wallet recipientWallet, BigDecimal amount, Transaction transaction) {
+        if (senderWallet.getId() < recipientWallet.getId()) {
+            withdrawFromWallet(senderWallet, amount);
+            walletRepository.deposit(recipientWallet.getId(), amount);
+        } else {
+            walletRepository.deposit(recipientWallet.getId(), amount);
+            withdrawFromWallet(senderWallet, amount);
+        }
+        ledgerService.recordTransfer(senderWallet, recipientWallet, amount, transaction);
+        senderWallet.retrieveFromWallet(amount);
+        recipientWallet.addToWallet(amount);
+    }
+
+    private void withdrawFromWallet(Wallet wallet, BigDecimal amount) {
+        if (walletRepository.withdraw(wallet.getId(), amount) == 0) {
+            throw new ImpossibleOperationException(String.format
+                    ("Wallet of user with id: %d, does not have sufficient funds %f", wallet.getOwner().getId(), amount.doubleValue()));
+        }
+    }
+
     @Override
     public void createExchangeRequest(User initiator, BigDecimal offer, NFT wantedMintedCourse) {
 
@@ -146,6 +191,7 @@ public class WalletServiceImpl implements WalletService{
         //todo;
     }
 
+    @Transactional
     public void handleExchangeRequestResponse(User loggedUser, TransactionStatus response, Transaction transaction) {
 
         if (loggedUser.getId() != transaction.getPurchasedCourse().getOwner().getId())
@@ -180,13 +226,7 @@ public class WalletServiceImpl implements WalletService{
     }
 
     private void retrieveFromWallets(Transaction transaction) {
-        BigDecimal amount = transaction.getAmount();
-        Wallet senderWallet = transaction.getSenderWallet();
-        Wallet recipientWallet = transaction.getRecipientWallet();
-        senderWallet.retrieveFromWallet(amount);
-        recipientWallet.addToWallet(amount);
-        updateWallet(senderWallet);
-        updateWallet(recipientWallet);
+        moveFunds(transaction.getSenderWallet(), transaction.getRecipientWallet(), transaction.getAmount(), transaction);
     }
 
     private void verifyPendingDeposit(User loggedUser, VerificationTokenModel tokenModel) {
@@ -199,18 +239,15 @@ public class WalletServiceImpl implements WalletService{
         Transaction pendingTransaction = transactionService.getById(tokenModel.getTransactionId(), loggedUser);
 
         pendingTransaction.completeTransaction();
-        addFundsToUserWallet(loggedUserWallet, pendingTransaction.getAmount());
+        addFundsToUserWallet(loggedUserWallet, pendingTransaction);
         //TODO: TEST
     }
 
-    private void updateWallet(Wallet walletToUpdate) {
-        walletRepository.save(walletToUpdate);
-    }
-
-    private void addFundsToUserWallet(Wallet userWallet, BigDecimal amount) {
+    private void addFundsToUserWallet(Wallet userWallet, Transaction deposit) {
+        BigDecimal amount = deposit.getAmount();
+        walletRepository.deposit(userWallet.getId(), amount);
+        ledgerService.recordDeposit(userWallet, amount, deposit);
         userWallet.addToWallet(amount);
-
-        walletRepository.save(userWallet);
         logger.info(String.format("User with id %d, has successfully added %f", userWallet.getOwner().getId(), amount.doubleValue()));
     }
 
@@ -228,10 +265,10 @@ public class WalletServiceImpl implements WalletService{
         return transaction;
     }
 
-    private TransactionStatus prepareDepositTransaction(Wallet userWallet, BigDecimal amount) {
+    private Transaction prepareDepositTransaction(Wallet userWallet, BigDecimal amount) {
         Transaction transaction = new Transaction(userWallet, amount);
         transactionService.create(transaction, userWallet.getOwner());
-        return transaction.getStatus();
+        return transaction;
     }
 
     public void checkUserWalletHasEnoughFunds(BigDecimal amount, Wallet userWallet) {
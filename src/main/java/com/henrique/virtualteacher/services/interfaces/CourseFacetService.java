@@ -0,0 +1,17 @@
+package com.henrique.virtualteacher.services.interfaces;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.models.CourseFacetQuery;
+import com.henrique.virtualteacher.utils.CourseFacetIndex;
+
+public interface CourseFacetService {
+
+    CourseFacetIndex.Result filter(CourseFacetQuery query);
+
+    void courseChanged(Course course);
+
+    void courseDeleted(int courseId);
+
+    void rebuild();
+
+}
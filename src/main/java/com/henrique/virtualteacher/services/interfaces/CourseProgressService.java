@@ -0,0 +1,25 @@
+package com.henrique.virtualteacher.services.interfaces;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.entities.Lecture;
+import com.henrique.virtualteacher.entities.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface CourseProgressService {
+
+    void lectureCompleted(User user, Lecture lecture);
+
+    void lectureAdded(Course course);
+
+    void lectureDeleted(Course course, Collection<Integer> completedByUserIds);
+
+    void allLecturesDeleted(int courseId);
+
+    Map<Integer, Integer> getCompletionPercentages(User user, List<Course> courses);
+
+    int rebuildProgress();
+
+}
@@ -0,0 +1,27 @@
+package com.henrique.virtualteacher.services.interfaces;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.models.EnumDifficulty;
+import com.henrique.virtualteacher.models.EnumTopic;
+
+import java.util.List;
+
+public interface CourseRankingService {
+
+    List<Integer> getTopCourseIds(int limit);
+
+    List<Integer> getTopCourseIds(EnumTopic topic, int limit);
+
+    List<Integer> getTopCourseIds(EnumDifficulty difficulty, int limit);
+
+    void courseChanged(Course course);
+
+    void courseDeleted(int courseId);
+
+    void courseRated(int courseId, long countDelta, long sumDelta);
+
+    void courseMinted(int courseId, int count);
+
+    void refresh();
+
+}
@@ -0,0 +1,18 @@
+package com.henrique.virtualteacher.services.interfaces;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.models.CourseSearchQuery;
+
+import java.util.List;
+
+public interface CourseSearchService {
+
+    List<Integer> search(CourseSearchQuery query);
+
+    void courseChanged(Course course);
+
+    void courseDeleted(int courseId);
+
+    void rebuild();
+
+}
@@ -3,9 +3,16 @@ package com.henrique.virtualteacher.services.interfaces;
 import com.henrique.virtualteacher.entities.Course;
 import com.henrique.virtualteacher.entities.Lecture;
 import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.models.CourseFacetQuery;
+import com.henrique.virtualteacher.models.CourseFacetsModel;
 import com.henrique.virtualteacher.models.CourseModel;
+import com.henrique.virtualteacher.models.CourseSearchQuery;
+import com.henrique.virtualteacher.models.EnumCourseSort;
 import com.henrique.virtualteacher.models.EnumDifficulty;
 import com.henrique.virtualteacher.models.EnumTopic;
+import com.henrique.virtualteacher.models.ImageUploadJobModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -21,6 +28,16 @@ public interface CourseService {
 
     List<CourseModel> getTopTheeCoursesByRating();
 
+    List<CourseModel> search(CourseSearchQuery query);
+
+    CourseFacetsModel browse(CourseFacetQuery query, Optional<User> loggedUser);
+
+    List<CourseModel> getTopRatedCourses(int limit);
+
+    List<CourseModel> getTopRatedCoursesByTopic(EnumTopic topic, int limit);
+
+    List<CourseModel> getTopRatedCoursesByDifficulty(EnumDifficulty difficulty, int limit);
+
     CourseModel mapToModel(Course course);
 
     Course getById(int id);
@@ -33,7 +50,8 @@ public interface CourseService {
 
     List<CourseModel> getAllByTopic(EnumTopic topic);
 
-    List<CourseModel> getAllByEnabled(boolean isEnabled, Optional<User> loggedUser);
+    Page<CourseModel> getAllByEnabled(boolean isEnabled, Optional<User> loggedUser, int page, int size,
+                                      EnumCourseSort sortBy, Sort.Direction direction);
 
     List<Course> getAllByDifficulty(EnumDifficulty difficultyLevel);
 
@@ -53,7 +71,7 @@ public interface CourseService {
 
     void complete(Course course, User loggedUser);
 
-    void upload (MultipartFile file, int courseId, User loggedUser) throws IOException;
+    ImageUploadJobModel upload(MultipartFile file, int courseId, User loggedUser) throws IOException;
 
     void addLectureToCourse(Lecture lecture, Course course, User loggedUser);
 
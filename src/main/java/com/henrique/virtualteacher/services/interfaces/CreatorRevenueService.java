@@ -0,0 +1,15 @@
+package com.henrique.virtualteacher.services.interfaces;
+
+import com.henrique.virtualteacher.entities.Wallet;
+
+import java.math.BigDecimal;
+
+public interface CreatorRevenueService {
+
+    void credit(Wallet creatorWallet, BigDecimal amount);
+
+    BigDecimal getPending(Wallet creatorWallet);
+
+    int flush();
+
+}
@@ -0,0 +1,22 @@
+package com.henrique.virtualteacher.services.interfaces;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.entities.NFT;
+import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.models.DropLaunchModel;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface DropLaunchService {
+
+    DropLaunchModel open(Course course, User loggedUser);
+
+    DropLaunchModel close(Course course, User loggedUser);
+
+    boolean isOpen(int courseId);
+
+    CompletableFuture<NFT> submit(User buyer, Course course);
+
+    DropLaunchModel getStatus(int courseId);
+
+}
@@ -0,0 +1,18 @@
+package com.henrique.virtualteacher.services.interfaces;
+
+import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.models.ImageUploadJobModel;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+public interface ImageUploadService {
+
+    ImageUploadJobModel upload(MultipartFile file, User loggedUser, Consumer<String> onUploaded) throws IOException;
+
+    ImageUploadJobModel getJob(String jobId, User loggedUser);
+
+    void evictFinishedJobs();
+
+}
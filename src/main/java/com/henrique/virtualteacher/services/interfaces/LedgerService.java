@@ -0,0 +1,23 @@
+package com.henrique.virtualteacher.services.interfaces;
+
+import com.henrique.virtualteacher.entities.Transaction;
+import com.henrique.virtualteacher.entities.Wallet;
+import com.henrique.virtualteacher.models.LedgerVerificationModel;
+
+import java.math.BigDecimal;
+
+public interface LedgerService {
+
+    void recordTransfer(Wallet senderWallet, Wallet recipientWallet, BigDecimal amount, Transaction transaction);
+
+    void recordDeposit(Wallet wallet, BigDecimal amount, Transaction transaction);
+
+    BigDecimal getBalance(int walletId);
+
+    int checkpoint();
+
+    LedgerVerificationModel verify();
+
+    LedgerVerificationModel rebuild();
+
+}
@@ -0,0 +1,14 @@
+package com.henrique.virtualteacher.services.interfaces;
+
+import com.henrique.virtualteacher.models.MailOutboxMetricsModel;
+import org.springframework.mail.SimpleMailMessage;
+
+public interface MailOutboxService {
+
+    void enqueue(SimpleMailMessage mailMessage);
+
+    int dispatchPendingMails();
+
+    MailOutboxMetricsModel getMetrics();
+
+}
@@ -25,6 +25,10 @@ public interface NFTCourseService {
 
     NFT mintNFT(User purchaser, Course toMint);
 
+    List<NFT> mintBatch(Course toMint, List<User> purchasers);
+
+    int getRemainingMints(Course course);
+
     void burnNFT(User leavingUser, Course courseToLeave);
 
 }
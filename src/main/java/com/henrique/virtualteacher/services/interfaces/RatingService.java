@@ -5,6 +5,7 @@ import com.henrique.virtualteacher.entities.Rating;
 import com.henrique.virtualteacher.entities.User;
 
 import java.util.List;
+import java.util.Map;
 
 public interface RatingService {
 
@@ -22,4 +23,8 @@ public interface RatingService {
 
     double getAverageRatingForCourse(Course course);
 
+    Map<Integer, Double> getAverageRatingsForCourses(List<Course> courses);
+
+    int rebuildRatingSummaries();
+
 }
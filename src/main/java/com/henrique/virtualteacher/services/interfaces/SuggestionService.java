@@ -0,0 +1,30 @@
+package com.henrique.virtualteacher.services.interfaces;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.models.EnumSuggestionType;
+import com.henrique.virtualteacher.models.SuggestionMetricsModel;
+import com.henrique.virtualteacher.models.SuggestionModel;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface SuggestionService {
+
+    List<SuggestionModel> suggest(String prefix, Optional<EnumSuggestionType> type, int limit);
+
+    void courseChanged(Course course);
+
+    void courseDeleted(int courseId);
+
+    void courseMinted(Course course, int count);
+
+    void userChanged(User user);
+
+    void userDeleted(int userId);
+
+    void rebuild();
+
+    SuggestionMetricsModel getMetrics();
+
+}
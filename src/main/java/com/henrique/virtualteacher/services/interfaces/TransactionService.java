@@ -1,20 +1,20 @@
 package com.henrique.virtualteacher.services.interfaces;
 
 import com.henrique.virtualteacher.entities.*;
+import com.henrique.virtualteacher.models.TransactionHistoryModel;
 import com.henrique.virtualteacher.models.TransactionModel;
 import com.henrique.virtualteacher.models.TransactionStatus;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 public interface TransactionService {
 
     Transaction getById(int id, User loggedUser);
 
-    Page<Transaction> getWalletTransactionPage(Pageable pageable, int recipientWalletId);
+    TransactionHistoryModel getWalletHistory(Wallet wallet, User loggedUser, Optional<String> cursor, int size);
 
     List<Transaction> getAllForUser(User loggedUser, int toGetId);
 
@@ -30,6 +30,8 @@ public interface TransactionService {
 
     void create(Transaction Transaction, User loggedUser);
 
+    void createAll(List<Transaction> transactions);
+
     void update(int transactionId, TransactionModel model, User loggedUser);
 
     void delete(int transactionId, User loggedUser);
@@ -5,13 +5,14 @@ import com.henrique.virtualteacher.models.RegisterUserModel;
 import com.henrique.virtualteacher.models.UserModel;
 import com.henrique.virtualteacher.models.UserUpdateModel;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.security.Principal;
 import java.util.List;
 
-public interface UserService extends UserDetailsService {
+public interface UserService extends UserDetailsService, UserDetailsPasswordService {
 
     void enableUser(int userToVerifyId);
 
@@ -45,6 +46,8 @@ public interface UserService extends UserDetailsService {
 
     User getByEmail(String email);
 
+    User getWithEnrolledCourses(String email);
+
     User getByUsername(String username);
 
     User create(RegisterUserModel register);
@@ -12,6 +12,8 @@ public interface WalletService {
 
     Wallet getLoggedUserWallet(User loggedUser);
 
+    BigDecimal getBalance(Wallet wallet);
+
     Wallet create(User walletOwner);
 
     void delete(User walletOwner);
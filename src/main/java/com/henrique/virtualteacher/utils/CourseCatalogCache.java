@@ -0,0 +1,244 @@
+package com.henrique.virtualteacher.utils;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.models.CatalogCacheMetricsModel;
+import com.henrique.virtualteacher.models.CourseModel;
+import com.henrique.virtualteacher.models.EnumCourseSort;
+import com.henrique.virtualteacher.models.EnumTopic;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static com.henrique.virtualteacher.utils.TransactionCallbacks.afterCommit;
+
+/**
+ * Bounded, least recently used cache of the course listings of the catalog, keyed by what was asked for, so the
+ * home page can be served from memory for anonymous and logged in visitors alike. Cached models are shared, callers treat them as read only.
+ * <p>
+ * Entries remember the ids of the courses they hold and are removed when one of those courses changes, or when a change
+ * can move a course into or within the listing: created, updated, deleted, enabled or disabled courses, and for the
+ * listings sorted by them, mints and ratings. Changes made inside a transaction invalidate after it commits, and a
+ * listing loaded while an invalidation happened is not cached, so a committed change is never hidden by an older load.
+ * The time to live only bounds how long an entry missed by the invalidation could be served.
+ */
+public class CourseCatalogCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final Map<Key, CachedListing> entries;
+
+    private long generation;
+    private long hits, misses, evictions, invalidations, discardedLoads;
+    private long servedAgeNanos, maxServedAgeNanos;
+
+    public CourseCatalogCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    CourseCatalogCache(int maxSize, Duration ttl, LongSupplier nanoClock) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedListing> eldest) {
+                if (size() > CourseCatalogCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Page<CourseModel> getPage(Key key, Supplier<Page<CourseModel>> loader) {
+        return get(key, loader, Page::getContent);
+    }
+
+    public List<CourseModel> getList(Key key, Supplier<List<CourseModel>> loader) {
+        return get(key, loader, Function.identity());
+    }
+
+    /**
+     * For created, updated, deleted, enabled and disabled courses. An update that moves a course to another topic
+     * is reported for both topics.
+     */
+    public void courseChanged(Course course) {
+        int courseId = course.getId();
+        EnumTopic topic = course.getTopic();
+        afterCommit(() -> invalidate(listing -> listing.contains(courseId)
+                || listing.key.kind != Kind.TOPIC
+                || listing.key.topic == topic));
+    }
+
+    public void courseMinted(int courseId) {
+        afterCommit(() -> invalidate(listing -> listing.contains(courseId)
+                || listing.key.kind == Kind.TOP_RATED || listing.key.sort == EnumCourseSort.MINT_PERCENTAGE));
+    }
+
+    public void courseRated(int courseId) {
+        afterCommit(() -> invalidate(listing -> listing.contains(courseId)
+                || listing.key.kind == Kind.TOP_RATED || listing.key.sort == EnumCourseSort.RATING));
+    }
+
+    public synchronized CatalogCacheMetricsModel getSnapshot() {
+        long requests = hits + misses;
+        return new CatalogCacheMetricsModel(entries.size(), maxSize, hits, misses, evictions, invalidations, discardedLoads,
+                requests == 0 ? 0 : (double) hits / requests,
+                hits == 0 ? 0 : servedAgeNanos / hits / 1_000_000, maxServedAgeNanos / 1_000_000);
+    }
+
+    /**
+     * The loader runs outside of the lock, concurrent misses of one key may both load it.
+     */
+    private <T> T get(Key key, Supplier<T> loader, Function<T, List<CourseModel>> courses) {
+        long loadGeneration;
+        synchronized (this) {
+            T cached = lookup(key);
+            if (cached != null) {
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+
+        T loaded = loader.get();
+        store(key, loaded, courses.apply(loaded), loadGeneration);
+        return loaded;
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized <T> T lookup(Key key) {
+        CachedListing cached = entries.get(key);
+        long now = nanoClock.getAsLong();
+
+        if (cached == null) {
+            misses++;
+            return null;
+        }
+        if (now - cached.expiresAt > 0) {
+            entries.remove(key);
+            evictions++;
+            misses++;
+            return null;
+        }
+
+        long age = now - cached.loadedAt;
+        hits++;
+        servedAgeNanos += age;
+        maxServedAgeNanos = Math.max(maxServedAgeNanos, age);
+        return (T) cached.value;
+    }
+
+    private synchronized void store(Key key, Object value, List<CourseModel> courses, long loadGeneration) {
+        if (maxSize <= 0) {
+            return;
+        }
+        if (loadGeneration != generation) {
+            discardedLoads++;
+            return;
+        }
+        IntCountMap courseIds = new IntCountMap(courses.size());
+        courses.forEach(course -> courseIds.increment(course.getId()));
+
+        long now = nanoClock.getAsLong();
+        entries.put(key, new CachedListing(key, value, courseIds, now, now + ttlNanos));
+    }
+
+    private synchronized void invalidate(Predicate<CachedListing> affected) {
+        generation++;
+        entries.values().removeIf(listing -> {
+            if (affected.test(listing)) {
+                invalidations++;
+                return true;
+            }
+            return false;
+        });
+    }
+
+    public enum Kind {
+        PAGE, TOPIC, TOP_RATED
+    }
+
+    public static final class Key {
+
+        private final Kind kind;
+        private final boolean enabled;
+        private final EnumTopic topic;
+        private final int page;
+        private final int size;
+        private final EnumCourseSort sort;
+        private final Sort.Direction direction;
+
+        private Key(Kind kind, boolean enabled, EnumTopic topic, int page, int size, EnumCourseSort sort, Sort.Direction direction) {
+            this.kind = kind;
+            this.enabled = enabled;
+            this.topic = topic;
+            this.page = page;
+            this.size = size;
+            this.sort = sort;
+            this.direction = direction;
+        }
+
+        public static Key page(boolean enabled, int page, int size, EnumCourseSort sort, Sort.Direction direction) {
+            return new Key(Kind.PAGE, enabled, null, page, size, sort, direction);
+        }
+
+        public static Key topic(EnumTopic topic) {
+            return new Key(Kind.TOPIC, false, topic, 0, 0, null, null);
+        }
+
+        public static Key topRated() {
+            return new Key(Kind.TOP_RATED, false, null, 0, 0, null, null);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return kind == other.kind && enabled == other.enabled && topic == other.topic && page == other.page
+                    && size == other.size && sort == other.sort && direction == other.direction;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, enabled, topic, page, size, sort, direction);
+        }
+    }
+
+    private static class CachedListing {
+
+        private final Key key;
+        private final Object value;
+        private final IntCountMap courseIds;
+        private final long loadedAt;
+        private final long expiresAt;
+
+        private CachedListing(Key key, Object value, IntCountMap courseIds, long loadedAt, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.courseIds = courseIds;
+            this.loadedAt = loadedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean contains(int courseId) {
+            return courseIds.contains(courseId);
+        }
+    }
+
+}
@@ -0,0 +1,290 @@
+package com.henrique.virtualteacher.utils;
+
+import com.henrique.virtualteacher.exceptions.ImpossibleOperationException;
+import com.henrique.virtualteacher.models.CourseFacetAttributes;
+import com.henrique.virtualteacher.models.EnumDifficulty;
+import com.henrique.virtualteacher.models.EnumTopic;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmaps of course ids, one per topic, difficulty, price range and for the enabled courses.
+ * A filter is the intersection of the bitmaps of the selected values, and the count shown next to a facet value is
+ * the size of its bitmap intersected with the filters of all other facets, so choosing another topic keeps the
+ * selected difficulty and price but replaces the selected topic. Course ids are small and dense, which keeps
+ * the bitmaps at one bit per course ever created.
+ * <p>
+ * Price ranges run from one bound up to the next, the last one is open ended.
+ * Queries run in parallel, changes take the write lock, {@link #replaceAll} builds the new bitmaps before taking it.
+ */
+public class CourseFacetIndex {
+
+    private final BigDecimal[] priceBounds;
+    private final List<String> priceRanges;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Bitmaps bitmaps;
+
+    public CourseFacetIndex(BigDecimal... priceBounds) {
+        this.priceBounds = priceBounds.clone();
+        Arrays.sort(this.priceBounds);
+        this.priceRanges = Collections.unmodifiableList(priceRangeLabels(this.priceBounds));
+        this.bitmaps = new Bitmaps();
+    }
+
+    public List<String> getPriceRanges() {
+        return priceRanges;
+    }
+
+    public void put(CourseFacetAttributes course) {
+        lock.writeLock().lock();
+        try {
+            bitmaps.remove(course.getCourseId());
+            bitmaps.add(course);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int courseId) {
+        lock.writeLock().lock();
+        try {
+            bitmaps.remove(courseId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replaceAll(Collection<CourseFacetAttributes> courses) {
+        Bitmaps rebuilt = new Bitmaps();
+        courses.forEach(rebuilt::add);
+
+        lock.writeLock().lock();
+        try {
+            bitmaps = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param topic      the selected topic, or null for all topics
+     * @param difficulty the selected difficulty, or null for all difficulties
+     * @param priceRange one of {@link #getPriceRanges()}, or null for all prices
+     * @param enabled    whether enabled or disabled courses are listed
+     * @return the ids of the page of matching courses, ascending, with the total and the counts of every facet value
+     */
+    public Result filter(EnumTopic topic, EnumDifficulty difficulty, String priceRange, boolean enabled, int page, int size) {
+        int priceIndex = priceRange == null ? -1 : priceRanges.indexOf(priceRange);
+        if (priceRange != null && priceIndex < 0) {
+            throw new ImpossibleOperationException(String.format("Unknown price range: %s, expected one of %s", priceRange, priceRanges));
+        }
+
+        lock.readLock().lock();
+        try {
+            BitSet visible = enabled ? copy(bitmaps.enabled) : difference(bitmaps.all, bitmaps.enabled);
+            BitSet topicFilter = topic == null ? null : bitmaps.byTopic.get(topic);
+            BitSet difficultyFilter = difficulty == null ? null : bitmaps.byDifficulty.get(difficulty);
+            BitSet priceFilter = priceIndex < 0 ? null : bitmaps.byPrice[priceIndex];
+
+            BitSet withoutTopic = intersect(visible, difficultyFilter, priceFilter);
+            BitSet withoutDifficulty = intersect(visible, topicFilter, priceFilter);
+            BitSet withoutPrice = intersect(visible, topicFilter, difficultyFilter);
+            BitSet matching = intersect(withoutTopic, topicFilter);
+
+            BitSet scratch = new BitSet();
+            Map<EnumTopic, Integer> topicCounts = new EnumMap<>(EnumTopic.class);
+            for (EnumTopic value : EnumTopic.values()) {
+                topicCounts.put(value, countBoth(withoutTopic, bitmaps.byTopic.get(value), scratch));
+            }
+            Map<EnumDifficulty, Integer> difficultyCounts = new EnumMap<>(EnumDifficulty.class);
+            for (EnumDifficulty value : EnumDifficulty.values()) {
+                difficultyCounts.put(value, countBoth(withoutDifficulty, bitmaps.byDifficulty.get(value), scratch));
+            }
+            Map<String, Integer> priceCounts = new LinkedHashMap<>();
+            for (int i = 0; i < priceRanges.size(); i++) {
+                priceCounts.put(priceRanges.get(i), countBoth(withoutPrice, bitmaps.byPrice[i], scratch));
+            }
+
+            return new Result(page(matching, page, size), matching.cardinality(), topicCounts, difficultyCounts, priceCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return bitmaps.all.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int priceRangeIndex(BigDecimal price) {
+        if (price == null) {
+            return -1;
+        }
+        int index = 0;
+        while (index < priceBounds.length && price.compareTo(priceBounds[index]) >= 0) {
+            index++;
+        }
+        return index;
+    }
+
+    private static List<String> priceRangeLabels(BigDecimal[] bounds) {
+        List<String> labels = new ArrayList<>();
+        String lower = "0";
+        for (BigDecimal bound : bounds) {
+            String upper = bound.stripTrailingZeros().toPlainString();
+            labels.add(lower + "-" + upper);
+            lower = upper;
+        }
+        labels.add(lower + "+");
+        return labels;
+    }
+
+    private static List<Integer> page(BitSet matching, int page, int size) {
+        List<Integer> ids = new ArrayList<>(size);
+        int skip = page * size;
+        for (int id = matching.nextSetBit(0); id >= 0 && ids.size() < size; id = matching.nextSetBit(id + 1)) {
+            if (skip > 0) {
+                skip--;
+            } else {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private static BitSet intersect(BitSet base, BitSet... filters) {
+        BitSet result = copy(base);
+        for (BitSet filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    private static BitSet difference(BitSet base, BitSet excluded) {
+        BitSet result = copy(base);
+        result.andNot(excluded);
+        return result;
+    }
+
+    private static int countBoth(BitSet first, BitSet second, BitSet scratch) {
+        scratch.clear();
+        scratch.or(first);
+        scratch.and(second);
+        return scratch.cardinality();
+    }
+
+    private static BitSet copy(BitSet bitSet) {
+        return (BitSet) bitSet.clone();
+    }
+
+    public static class Result {
+
+        private final List<Integer> courseIds;
+        private final int total;
+        private final Map<EnumTopic, Integer> topicCounts;
+        private final Map<EnumDifficulty, Integer> difficultyCounts;
+        private final Map<String, Integer> priceCounts;
+
+        private Result(List<Integer> courseIds, int total, Map<EnumTopic, Integer> topicCounts,
+                       Map<EnumDifficulty, Integer> difficultyCounts, Map<String, Integer> priceCounts) {
+            this.courseIds = courseIds;
+            this.total = total;
+            this.topicCounts = topicCounts;
+            this.difficultyCounts = difficultyCounts;
+            this.priceCounts = priceCounts;
+        }
+
+        public List<Integer> getCourseIds() {
+            return courseIds;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public Map<EnumTopic, Integer> getTopicCounts() {
+            return topicCounts;
+        }
+
+        public Map<EnumDifficulty, Integer> getDifficultyCounts() {
+            return difficultyCounts;
+        }
+
+        public Map<String, Integer> getPriceCounts() {
+            return priceCounts;
+        }
+    }
+
+    /**
+     * The facet values of each course are kept as well, so a course can be cleared from its bitmaps
+     * without scanning all of them.
+     */
+    private class Bitmaps {
+
+        private final BitSet all = new BitSet();
+        private final BitSet enabled = new BitSet();
+        private final Map<EnumTopic, BitSet> byTopic = new EnumMap<>(EnumTopic.class);
+        private final Map<EnumDifficulty, BitSet> byDifficulty = new EnumMap<>(EnumDifficulty.class);
+        private final BitSet[] byPrice = new BitSet[priceRanges.size()];
+        private final Map<Integer, CourseFacetAttributes> courses = new HashMap<>();
+
+        private Bitmaps() {
+            for (EnumTopic topic : EnumTopic.values()) {
+                byTopic.put(topic, new BitSet());
+            }
+            for (EnumDifficulty difficulty : EnumDifficulty.values()) {
+                byDifficulty.put(difficulty, new BitSet());
+            }
+            for (int i = 0; i < byPrice.length; i++) {
+                byPrice[i] = new BitSet();
+            }
+        }
+
+        private void add(CourseFacetAttributes course) {
+            set(course, true);
+            courses.put(course.getCourseId(), course);
+        }
+
+        private void remove(int courseId) {
+            CourseFacetAttributes course = courses.remove(courseId);
+            if (course != null) {
+                set(course, false);
+            }
+        }
+
+        private void set(CourseFacetAttributes course, boolean value) {
+            int id = course.getCourseId();
+            all.set(id, value);
+            enabled.set(id, value && course.isEnabled());
+            if (course.getTopic() != null) {
+                byTopic.get(course.getTopic()).set(id, value);
+            }
+            if (course.getDifficulty() != null) {
+                byDifficulty.get(course.getDifficulty()).set(id, value);
+            }
+            int priceIndex = priceRangeIndex(course.getMintPrice());
+            if (priceIndex >= 0) {
+                byPrice[priceIndex].set(id, value);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,248 @@
+package com.henrique.virtualteacher.utils;
+
+import com.henrique.virtualteacher.models.EnumDifficulty;
+import com.henrique.virtualteacher.models.EnumTopic;
+import com.henrique.virtualteacher.models.RatingAggregate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.LongSupplier;
+
+/**
+ * In memory leaderboards of the enabled courses, overall, per topic and per difficulty, ordered by score.
+ * The score of a course is its Bayesian average rating, the ratings pulled towards the mean rating of all courses
+ * by {@code priorWeight} virtual votes so a single five star rating does not top the board, plus {@code mintWeight}
+ * times the log of its mint velocity, the number of mints decayed with a half life of {@code mintHalfLife}.
+ * <p>
+ * Every course is kept in its sorted boards, so a rating or a mint moves it with O(log n) work and a course leaving
+ * the top is replaced without a reload, while at most {@code topK} courses are served per board.
+ * Velocities only decay when a course is minted again or on {@link #rescore()}, which also picks up a new prior mean.
+ */
+public class CourseLeaderboards {
+
+    private static final Comparator<Standing> BY_SCORE = Comparator.comparingDouble((Standing standing) -> standing.score)
+            .reversed()
+            .thenComparingInt(standing -> standing.courseId);
+
+    private final int topK;
+    private final double priorWeight;
+    private final double mintWeight;
+    private final double mintHalfLifeNanos;
+    private final LongSupplier nanoClock;
+
+    private final Map<Integer, Standing> standings = new HashMap<>();
+    private final NavigableSet<Standing> overall = new TreeSet<>(BY_SCORE);
+    private final Map<EnumTopic, NavigableSet<Standing>> byTopic = new EnumMap<>(EnumTopic.class);
+    private final Map<EnumDifficulty, NavigableSet<Standing>> byDifficulty = new EnumMap<>(EnumDifficulty.class);
+
+    private double priorMean;
+
+    public CourseLeaderboards(int topK, double priorWeight, double mintWeight, Duration mintHalfLife) {
+        this(topK, priorWeight, mintWeight, mintHalfLife, System::nanoTime);
+    }
+
+    CourseLeaderboards(int topK, double priorWeight, double mintWeight, Duration mintHalfLife, LongSupplier nanoClock) {
+        this.topK = topK;
+        this.priorWeight = priorWeight;
+        this.mintWeight = mintWeight;
+        this.mintHalfLifeNanos = mintHalfLife.toNanos();
+        this.nanoClock = nanoClock;
+        for (EnumTopic topic : EnumTopic.values()) {
+            byTopic.put(topic, new TreeSet<>(BY_SCORE));
+        }
+        for (EnumDifficulty difficulty : EnumDifficulty.values()) {
+            byDifficulty.put(difficulty, new TreeSet<>(BY_SCORE));
+        }
+    }
+
+    public synchronized List<Integer> getTop(int limit) {
+        return top(overall, limit);
+    }
+
+    public synchronized List<Integer> getTop(EnumTopic topic, int limit) {
+        return top(byTopic.get(topic), limit);
+    }
+
+    public synchronized List<Integer> getTop(EnumDifficulty difficulty, int limit) {
+        return top(byDifficulty.get(difficulty), limit);
+    }
+
+    /**
+     * Adds the course or updates where it is listed, its ratings and mint velocity are kept.
+     */
+    public synchronized void putCourse(int courseId, EnumTopic topic, EnumDifficulty difficulty, boolean enabled) {
+        Standing standing = unlist(courseId);
+        standing.topic = topic;
+        standing.difficulty = difficulty;
+        standing.enabled = enabled;
+        list(standing);
+    }
+
+    public synchronized void removeCourse(int courseId) {
+        Standing standing = standings.remove(courseId);
+        if (standing != null) {
+            boardsOf(standing).forEach(board -> board.remove(standing));
+        }
+    }
+
+    /**
+     * Forgets every course that is not in {@code courseIds}, for the periodic reload of deleted courses.
+     */
+    public synchronized void retainCourses(Set<Integer> courseIds) {
+        List<Integer> removed = new ArrayList<>();
+        for (Integer courseId : standings.keySet()) {
+            if (!courseIds.contains(courseId)) {
+                removed.add(courseId);
+            }
+        }
+        removed.forEach(this::removeCourse);
+    }
+
+    public synchronized void ratingChanged(int courseId, long countDelta, long sumDelta) {
+        Standing standing = unlist(courseId);
+        standing.ratingCount += countDelta;
+        standing.ratingSum += sumDelta;
+        list(standing);
+    }
+
+    public synchronized void minted(int courseId, int count) {
+        Standing standing = unlist(courseId);
+        long now = nanoClock.getAsLong();
+        standing.mintVelocity = decayedVelocity(standing, now) + count;
+        standing.velocityAt = now;
+        list(standing);
+    }
+
+    /**
+     * Replaces the ratings of every known course, for the periodic reload from the rating summaries.
+     * Known courses without an aggregate have no ratings.
+     */
+    public synchronized void resetRatings(Collection<? extends RatingAggregate> aggregates) {
+        for (Standing standing : standings.values()) {
+            standing.ratingCount = 0;
+            standing.ratingSum = 0;
+        }
+        for (RatingAggregate aggregate : aggregates) {
+            Standing standing = standings.get(aggregate.getCourseId());
+            if (standing != null) {
+                standing.ratingCount = aggregate.getRatingCount();
+                standing.ratingSum = aggregate.getRatingSum();
+            }
+        }
+        rescore();
+    }
+
+    /**
+     * Recomputes the prior mean from the ratings of all courses, decays every mint velocity to now and reorders the boards.
+     */
+    public synchronized void rescore() {
+        long totalCount = 0, totalSum = 0;
+        for (Standing standing : standings.values()) {
+            totalCount += standing.ratingCount;
+            totalSum += standing.ratingSum;
+        }
+        priorMean = totalCount == 0 ? 0 : (double) totalSum / totalCount;
+
+        long now = nanoClock.getAsLong();
+        clearBoards();
+        for (Standing standing : standings.values()) {
+            standing.mintVelocity = decayedVelocity(standing, now);
+            standing.velocityAt = now;
+            list(standing);
+        }
+    }
+
+    public synchronized int size() {
+        return standings.size();
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    private List<Integer> top(NavigableSet<Standing> board, int limit) {
+        int count = Math.min(Math.max(limit, 0), topK);
+        List<Integer> courseIds = new ArrayList<>(count);
+        Iterator<Standing> ranked = board.iterator();
+        while (courseIds.size() < count && ranked.hasNext()) {
+            courseIds.add(ranked.next().courseId);
+        }
+        return courseIds;
+    }
+
+    /**
+     * Takes the course off its boards before anything its position depends on changes, {@link #list(Standing)} puts it back.
+     */
+    private Standing unlist(int courseId) {
+        Standing standing = standings.computeIfAbsent(courseId, id -> new Standing(id, nanoClock.getAsLong()));
+        boardsOf(standing).forEach(board -> board.remove(standing));
+        return standing;
+    }
+
+    private void list(Standing standing) {
+        standing.score = score(standing);
+        boardsOf(standing).forEach(board -> board.add(standing));
+    }
+
+    private List<NavigableSet<Standing>> boardsOf(Standing standing) {
+        List<NavigableSet<Standing>> boards = new ArrayList<>(3);
+        if (!standing.enabled) {
+            return boards;
+        }
+        boards.add(overall);
+        if (standing.topic != null) {
+            boards.add(byTopic.get(standing.topic));
+        }
+        if (standing.difficulty != null) {
+            boards.add(byDifficulty.get(standing.difficulty));
+        }
+        return boards;
+    }
+
+    private void clearBoards() {
+        overall.clear();
+        byTopic.values().forEach(NavigableSet::clear);
+        byDifficulty.values().forEach(NavigableSet::clear);
+    }
+
+    private double score(Standing standing) {
+        double bayesianAverage = (priorWeight * priorMean + standing.ratingSum) / (priorWeight + standing.ratingCount);
+        return bayesianAverage + mintWeight * Math.log1p(standing.mintVelocity);
+    }
+
+    private double decayedVelocity(Standing standing, long now) {
+        if (standing.mintVelocity == 0) {
+            return 0;
+        }
+        return standing.mintVelocity * Math.pow(0.5, (now - standing.velocityAt) / mintHalfLifeNanos);
+    }
+
+    private static class Standing {
+
+        private final int courseId;
+        private EnumTopic topic;
+        private EnumDifficulty difficulty;
+        private boolean enabled;
+        private long ratingCount;
+        private long ratingSum;
+        private double mintVelocity;
+        private long velocityAt;
+        private double score;
+
+        private Standing(int courseId, long velocityAt) {
+            this.courseId = courseId;
+            this.velocityAt = velocityAt;
+        }
+    }
+
+}
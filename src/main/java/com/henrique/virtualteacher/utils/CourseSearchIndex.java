@@ -0,0 +1,432 @@
+package com.henrique.virtualteacher.utils;
+
+import com.henrique.virtualteacher.models.CourseSearchDocument;
+import com.henrique.virtualteacher.models.CourseSearchQuery;
+import com.henrique.virtualteacher.models.EnumDifficulty;
+import com.henrique.virtualteacher.models.EnumTopic;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over the title, skills and description of the enabled courses, for keyword search in memory.
+ * <p>
+ * Every keyword of a query must match a course: exactly, the last keyword also as the prefix of a longer term, and
+ * an unknown keyword of at least {@value #MIN_FUZZY_LENGTH} characters also with one typo (an inserted, missing,
+ * replaced or swapped character). Exact matches score highest, then prefixes, then typos, each weighted by the field
+ * the term is in and by how rare the term is.
+ * Topic, difficulty and price range filter the matches. A query without keywords lists the filtered courses by id.
+ * <p>
+ * Typos are found through the single character deletions of every term, two words one typo apart share a deletion,
+ * so no term of the dictionary has to be compared with the keyword. Searches run in parallel, {@link #put} and
+ * {@link #remove} take the write lock for the terms of one course, {@link #replaceAll} builds the new index
+ * before taking it.
+ */
+public class CourseSearchIndex {
+
+    static final float TITLE_WEIGHT = 3;
+    static final float SKILL_WEIGHT = 2;
+    static final float DESCRIPTION_WEIGHT = 1;
+
+    private static final float PREFIX_FACTOR = 0.7f;
+    private static final float TYPO_FACTOR = 0.5f;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_EXPANSIONS = 64;
+    private static final int MAX_KEYWORDS = 16;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+
+    public void put(CourseSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            index.remove(document.getCourseId());
+            index.add(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int courseId) {
+        lock.writeLock().lock();
+        try {
+            index.remove(courseId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replaceAll(Collection<CourseSearchDocument> documents) {
+        Index rebuilt = new Index();
+        documents.forEach(rebuilt::add);
+
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the ids of at most {@code query.getLimit()} matching courses, best match first
+     */
+    public List<Integer> search(CourseSearchQuery query) {
+        List<String> keywords = tokenize(query.getKeyword());
+        if (keywords.size() > MAX_KEYWORDS) {
+            keywords = keywords.subList(0, MAX_KEYWORDS);
+        }
+
+        lock.readLock().lock();
+        try {
+            return index.search(new ArrayList<>(new LinkedHashSet<>(keywords)), query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.documentIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return index.terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Optimal string alignment distance, capped: anything further apart than {@code max} returns {@code max + 1}.
+     */
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return Math.min(d[a.length()][b.length()], max + 1);
+    }
+
+    private static Set<String> deletions(String term) {
+        Set<String> deletions = new LinkedHashSet<>();
+        for (int i = 0; i < term.length(); i++) {
+            deletions.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return deletions;
+    }
+
+    private static class Index {
+
+        private final Map<String, Postings> terms = new HashMap<>();
+        private final NavigableSet<String> sortedTerms = new TreeSet<>();
+        private final Map<String, List<String>> termsByDeletion = new HashMap<>();
+        private final Map<Integer, Integer> documentIds = new HashMap<>();
+        private Document[] documents = new Document[64];
+        private int documentLimit;
+        private final List<Integer> freeDocuments = new ArrayList<>();
+
+        private void add(CourseSearchDocument source) {
+            Map<String, Float> weights = new HashMap<>();
+            addField(weights, source.getTitle(), TITLE_WEIGHT);
+            addField(weights, source.getSkill1(), SKILL_WEIGHT);
+            addField(weights, source.getSkill2(), SKILL_WEIGHT);
+            addField(weights, source.getSkill3(), SKILL_WEIGHT);
+            addField(weights, source.getDescription(), DESCRIPTION_WEIGHT);
+
+            int doc = freeDocuments.isEmpty() ? documentLimit++ : freeDocuments.remove(freeDocuments.size() - 1);
+            if (doc == documents.length) {
+                documents = Arrays.copyOf(documents, documents.length * 2);
+            }
+            documents[doc] = new Document(source, weights.keySet().toArray(new String[0]));
+            documentIds.put(source.getCourseId(), doc);
+
+            for (Map.Entry<String, Float> term : weights.entrySet()) {
+                terms.computeIfAbsent(term.getKey(), this::newTerm).add(doc, term.getValue());
+            }
+        }
+
+        private void remove(int courseId) {
+            Integer doc = documentIds.remove(courseId);
+            if (doc == null) {
+                return;
+            }
+            for (String term : documents[doc].terms) {
+                Postings postings = terms.get(term);
+                postings.remove(doc);
+                if (postings.size == 0) {
+                    terms.remove(term);
+                    sortedTerms.remove(term);
+                    forgetDeletions(term);
+                }
+            }
+            documents[doc] = null;
+            freeDocuments.add(doc);
+        }
+
+        /**
+         * A term repeated in one field counts with diminishing weight, a term in several fields adds up.
+         */
+        private static void addField(Map<String, Float> weights, String text, float fieldWeight) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String token : tokenize(text)) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+            frequencies.forEach((term, frequency) ->
+                    weights.merge(term, fieldWeight * (1 + (float) Math.log(frequency)), Float::sum));
+        }
+
+        private Postings newTerm(String term) {
+            sortedTerms.add(term);
+            termsByDeletion.computeIfAbsent(term, key -> new ArrayList<>(1)).add(term);
+            for (String deletion : deletions(term)) {
+                termsByDeletion.computeIfAbsent(deletion, key -> new ArrayList<>(1)).add(term);
+            }
+            return new Postings();
+        }
+
+        private void forgetDeletions(String term) {
+            Set<String> keys = deletions(term);
+            keys.add(term);
+            for (String key : keys) {
+                List<String> sharing = termsByDeletion.get(key);
+                sharing.remove(term);
+                if (sharing.isEmpty()) {
+                    termsByDeletion.remove(key);
+                }
+            }
+        }
+
+        private List<Integer> search(List<String> keywords, CourseSearchQuery query) {
+            int limit = Math.max(query.getLimit(), 0);
+            if (limit == 0) {
+                return Collections.emptyList();
+            }
+            if (keywords.isEmpty()) {
+                return filterOnly(query, limit);
+            }
+
+            float[] scores = new float[documentLimit];
+            int[] matchedKeywords = new int[documentLimit];
+            for (int keyword = 0; keyword < keywords.size(); keyword++) {
+                Map<String, Float> expansions = expand(keywords.get(keyword), keyword == keywords.size() - 1);
+                if (expansions.isEmpty()) {
+                    return Collections.emptyList();
+                }
+                for (Map.Entry<String, Float> expansion : expansions.entrySet()) {
+                    Postings postings = terms.get(expansion.getKey());
+                    float factor = expansion.getValue() * idf(postings);
+                    for (int i = 0; i < postings.size; i++) {
+                        int doc = postings.docs[i];
+                        if (matchedKeywords[doc] == keyword || matchedKeywords[doc] == keyword + 1) {
+                            scores[doc] += postings.weights[i] * factor;
+                            matchedKeywords[doc] = keyword + 1;
+                        }
+                    }
+                }
+            }
+
+            PriorityQueue<ScoredDocument> best = new PriorityQueue<>(limit + 1);
+            for (int doc = 0; doc < documentLimit; doc++) {
+                if (matchedKeywords[doc] == keywords.size() && documents[doc].matches(query)) {
+                    best.add(new ScoredDocument(documents[doc].courseId, scores[doc]));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+            List<Integer> courseIds = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                courseIds.add(best.poll().courseId);
+            }
+            Collections.reverse(courseIds);
+            return courseIds;
+        }
+
+        private List<Integer> filterOnly(CourseSearchQuery query, int limit) {
+            PriorityQueue<Integer> lowest = new PriorityQueue<>(limit + 1, Collections.reverseOrder());
+            for (int doc = 0; doc < documentLimit; doc++) {
+                if (documents[doc] != null && documents[doc].matches(query)) {
+                    lowest.add(documents[doc].courseId);
+                    if (lowest.size() > limit) {
+                        lowest.poll();
+                    }
+                }
+            }
+            List<Integer> courseIds = new ArrayList<>(lowest);
+            Collections.sort(courseIds);
+            return courseIds;
+        }
+
+        /**
+         * The terms a keyword stands for, with the factor of how they match it. Only the last keyword, the one
+         * still being typed, matches as a prefix, and only a keyword that is not a known term is treated as a typo.
+         */
+        private Map<String, Float> expand(String keyword, boolean last) {
+            Map<String, Float> expansions = new HashMap<>();
+            boolean known = terms.containsKey(keyword);
+            if (known) {
+                expansions.put(keyword, 1f);
+            }
+
+            if (last) {
+                int expanded = 0;
+                for (String term : sortedTerms.subSet(keyword, false, keyword + Character.MAX_VALUE, false)) {
+                    if (expanded++ == MAX_EXPANSIONS) {
+                        break;
+                    }
+                    expansions.put(term, PREFIX_FACTOR);
+                }
+            }
+
+            if (!known && keyword.length() >= MIN_FUZZY_LENGTH) {
+                Set<String> keys = deletions(keyword);
+                keys.add(keyword);
+                for (String key : keys) {
+                    for (String term : termsByDeletion.getOrDefault(key, Collections.emptyList())) {
+                        if (!expansions.containsKey(term) && distance(keyword, term, 1) == 1) {
+                            expansions.put(term, TYPO_FACTOR);
+                        }
+                    }
+                }
+            }
+            return expansions;
+        }
+
+        private float idf(Postings postings) {
+            return (float) Math.log(1 + (double) documentIds.size() / postings.size);
+        }
+    }
+
+    private static class Document {
+
+        private final int courseId;
+        private final String[] terms;
+        private final EnumTopic topic;
+        private final EnumDifficulty difficulty;
+        private final BigDecimal price;
+
+        private Document(CourseSearchDocument source, String[] terms) {
+            this.courseId = source.getCourseId();
+            this.terms = terms;
+            this.topic = source.getTopic();
+            this.difficulty = source.getDifficulty();
+            this.price = source.getMintPrice();
+        }
+
+        private boolean matches(CourseSearchQuery query) {
+            if (query.getTopic() != null && query.getTopic() != topic) {
+                return false;
+            }
+            if (query.getDifficulty() != null && query.getDifficulty() != difficulty) {
+                return false;
+            }
+            if (query.getMinPrice() != null && (price == null || price.compareTo(query.getMinPrice()) < 0)) {
+                return false;
+            }
+            return query.getMaxPrice() == null || (price != null && price.compareTo(query.getMaxPrice()) <= 0);
+        }
+    }
+
+    /**
+     * Growable parallel arrays of documents and weights, a removal moves the last posting into the gap.
+     */
+    private static class Postings {
+
+        private int[] docs = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        private void add(int doc, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+
+        private void remove(int doc) {
+            for (int i = 0; i < size; i++) {
+                if (docs[i] == doc) {
+                    size--;
+                    docs[i] = docs[size];
+                    weights[i] = weights[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private static class ScoredDocument implements Comparable<ScoredDocument> {
+
+        private final int courseId;
+        private final float score;
+
+        private ScoredDocument(int courseId, float score) {
+            this.courseId = courseId;
+            this.score = score;
+        }
+
+        /**
+         * Worst first, so the queue drops it when a better document arrives. Equal scores rank the lower id higher.
+         */
+        @Override
+        public int compareTo(ScoredDocument other) {
+            int byScore = Float.compare(score, other.score);
+            return byScore != 0 ? byScore : Integer.compare(other.courseId, courseId);
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.henrique.virtualteacher.utils;
+
+import com.henrique.virtualteacher.models.PoolMetricsModel;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects connection pool statistics published by Hikari, the active/idle counts are read
+ * from the pool itself while wait times and timeouts are accumulated on every borrow request.
+ */
+public class DataSourcePoolMetrics implements MetricsTrackerFactory {
+
+    private final LongAdder connectionRequests = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Long::max, 0);
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder createdConnections = new LongAdder();
+    private final LongAdder totalUsageMillis = new LongAdder();
+    private final LongAdder usageSamples = new LongAdder();
+
+    private volatile PoolStats poolStats;
+    private volatile String poolName;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolName = poolName;
+        this.poolStats = poolStats;
+        return new Tracker();
+    }
+
+    public PoolMetricsModel getSnapshot() {
+        PoolMetricsModel model = new PoolMetricsModel();
+        model.setPoolName(poolName);
+
+        PoolStats stats = poolStats;
+        if (stats != null) {
+            model.setActiveConnections(stats.getActiveConnections());
+            model.setIdleConnections(stats.getIdleConnections());
+            model.setTotalConnections(stats.getTotalConnections());
+            model.setPendingThreads(stats.getPendingThreads());
+            model.setMaxConnections(stats.getMaxConnections());
+            model.setMinConnections(stats.getMinConnections());
+        }
+
+        long requests = connectionRequests.sum();
+        model.setConnectionRequests(requests);
+        model.setCreatedConnections(createdConnections.sum());
+        model.setTimeouts(timeouts.sum());
+        model.setAverageWaitMillis(requests == 0 ? 0 : nanosToMillis(totalWaitNanos.sum()) / requests);
+        model.setMaxWaitMillis(nanosToMillis(maxWaitNanos.get()));
+
+        long samples = usageSamples.sum();
+        model.setAverageUsageMillis(samples == 0 ? 0 : (double) totalUsageMillis.sum() / samples);
+        return model;
+    }
+
+    private static double nanosToMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private class Tracker implements IMetricsTracker {
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            createdConnections.increment();
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            connectionRequests.increment();
+            totalWaitNanos.add(elapsedAcquiredNanos);
+            maxWaitNanos.accumulate(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usageSamples.increment();
+            totalUsageMillis.add(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+        }
+    }
+
+}
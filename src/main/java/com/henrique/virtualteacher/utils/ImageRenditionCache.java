@@ -0,0 +1,266 @@
+package com.henrique.virtualteacher.utils;
+
+import com.henrique.virtualteacher.models.EnumImageRendition;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+/**
+ * Scaled down copies of uploaded pictures, kept on local disk as {@code <key>/<rendition>.jpg} where the key is
+ * derived from the url of the original. Uploaded pictures get a new url, so a rendition never changes once written
+ * and can be cached by browsers for as long as they like.
+ * <p>
+ * Renditions are read through memory mapped files, the most recently read ones stay mapped so serving them again
+ * is a copy out of the page cache. Keys of the pictures that have renditions are loaded from disk on startup.
+ * When the renditions of a picture are asked for and some are missing, they are written again in the background
+ * from the original in the {@link ImageStore}, meanwhile the picture is only available at its original size.
+ * A picture that cannot be downloaded or decoded is not tried again until the next startup.
+ */
+public class ImageRenditionCache {
+
+    private static final String URL_PREFIX = "/api/images/renditions/";
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{32}");
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final Path directory;
+    private final ImageStore imageStore;
+    private final Executor regenerator;
+    private final Set<String> keys = ConcurrentHashMap.newKeySet();
+    private final Set<String> regenerating = ConcurrentHashMap.newKeySet();
+    private final Map<Path, MappedByteBuffer> mapped;
+
+    public ImageRenditionCache(Path directory, int maxMappedFiles, ImageStore imageStore) {
+        this(directory, maxMappedFiles, imageStore, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "image-renditions");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    public ImageRenditionCache(Path directory, int maxMappedFiles, ImageStore imageStore, Executor regenerator) {
+        this.directory = directory;
+        this.imageStore = imageStore;
+        this.regenerator = regenerator;
+        this.mapped = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, MappedByteBuffer> eldest) {
+                return size() > maxMappedFiles;
+            }
+        });
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    String key = entry.getFileName().toString();
+                    if (KEY_PATTERN.matcher(key).matches() && hasAllRenditions(entry)) {
+                        keys.add(key);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Could not open image rendition cache at %s", directory), e);
+        }
+    }
+
+    /**
+     * Writes every rendition of the picture stored under {@code pictureUrl}.
+     *
+     * @return false when the picture could not be decoded, it is then only available at its original size
+     */
+    public boolean store(String pictureUrl, byte[] original) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(original));
+        if (image == null) {
+            return false;
+        }
+
+        String key = keyOf(pictureUrl);
+        Path pictureDirectory = Files.createDirectories(directory.resolve(key));
+        for (EnumImageRendition rendition : EnumImageRendition.values()) {
+            Path target = pictureDirectory.resolve(fileName(rendition));
+            Path temporary = Files.createTempFile(pictureDirectory, rendition.getName(), ".tmp");
+            Files.write(temporary, encodeJpeg(scale(image, rendition)));
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            mapped.remove(target);
+        }
+        keys.add(key);
+        return true;
+    }
+
+    /**
+     * @return the url of each rendition by its name, or an empty map when the picture has none
+     */
+    public Map<String, String> urlsOf(String pictureUrl) {
+        if (pictureUrl == null) {
+            return Collections.emptyMap();
+        }
+        String key = keyOf(pictureUrl);
+        if (!keys.contains(key)) {
+            regenerate(pictureUrl, key);
+            return Collections.emptyMap();
+        }
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (EnumImageRendition rendition : EnumImageRendition.values()) {
+            urls.put(rendition.getName(), URL_PREFIX + key + "/" + rendition.getName());
+        }
+        return urls;
+    }
+
+    /**
+     * @return the rendition, or null when there is none for the key
+     */
+    public CachedRendition read(String key, EnumImageRendition rendition) throws IOException {
+        if (!KEY_PATTERN.matcher(key).matches() || !keys.contains(key)) {
+            return null;
+        }
+        Path file = directory.resolve(key).resolve(fileName(rendition));
+        MappedByteBuffer content = mapped.get(file);
+        if (content == null) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                content = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (NoSuchFileException e) {
+                // the next lookup by the picture url writes the renditions again
+                keys.remove(key);
+                regenerating.remove(key);
+                return null;
+            }
+            mapped.put(file, content);
+        }
+        return new CachedRendition(content.asReadOnlyBuffer(), String.format("\"%s-%s\"", key, rendition.getName()));
+    }
+
+    private void regenerate(String pictureUrl, String key) {
+        if (!regenerating.add(key)) {
+            return;
+        }
+        regenerator.execute(() -> {
+            try {
+                store(pictureUrl, imageStore.download(pictureUrl));
+            } catch (IOException | RuntimeException e) {
+                // left at its original size, the key stays marked so the picture is not downloaded again
+            }
+        });
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    static String keyOf(String pictureUrl) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(pictureUrl.getBytes(StandardCharsets.UTF_8));
+            StringBuilder key = new StringBuilder(32);
+            for (int i = 0; i < 16; i++) {
+                key.append(Character.forDigit((digest[i] >> 4) & 0xf, 16)).append(Character.forDigit(digest[i] & 0xf, 16));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static BufferedImage scale(BufferedImage image, EnumImageRendition rendition) {
+        double ratio = Math.min(1.0, Math.min((double) rendition.getMaxWidth() / image.getWidth(),
+                (double) rendition.getMaxHeight() / image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+
+        BufferedImage current = image;
+        int currentWidth = image.getWidth();
+        int currentHeight = image.getHeight();
+        do {
+            // halving at a time keeps bilinear filtering from skipping pixels on large reductions
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    private static boolean hasAllRenditions(Path pictureDirectory) {
+        for (EnumImageRendition rendition : EnumImageRendition.values()) {
+            if (!Files.isRegularFile(pictureDirectory.resolve(fileName(rendition)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String fileName(EnumImageRendition rendition) {
+        return rendition.getName() + ".jpg";
+    }
+
+    public static class CachedRendition {
+
+        private final ByteBuffer content;
+        private final String etag;
+
+        private CachedRendition(ByteBuffer content, String etag) {
+            this.content = content;
+            this.etag = etag;
+        }
+
+        public ByteBuffer getContent() {
+            return content;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+
+}
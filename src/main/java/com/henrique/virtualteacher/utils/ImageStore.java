@@ -0,0 +1,16 @@
+package com.henrique.virtualteacher.utils;
+
+import java.io.IOException;
+
+/**
+ * Remote storage of uploaded pictures, the returned url is what courses and profiles keep.
+ */
+public interface ImageStore {
+
+    String upload(byte[] image) throws IOException;
+
+    byte[] download(String url) throws IOException;
+
+    void destroy(String url) throws Exception;
+
+}
@@ -0,0 +1,73 @@
+package com.henrique.virtualteacher.utils;
+
+/**
+ * Open addressing map from int keys to positive counts, without boxing. A key with a count of zero is absent,
+ * so the map doubles as a primitive int hash set through {@link #increment(int)} and {@link #contains(int)}.
+ * Not thread safe.
+ */
+public class IntCountMap {
+
+    private int[] keys;
+    private int[] counts;
+    private int size;
+
+    public IntCountMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(2, expectedSize)) << 2;
+        keys = new int[capacity];
+        counts = new int[capacity];
+    }
+
+    public void increment(int key) {
+        int slot = slotOf(key);
+        if (counts[slot] == 0) {
+            keys[slot] = key;
+            size++;
+        }
+        counts[slot]++;
+        if (size * 2 > keys.length) {
+            resize();
+        }
+    }
+
+    public int get(int key) {
+        return counts[slotOf(key)];
+    }
+
+    public boolean contains(int key) {
+        return get(key) > 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int slotOf(int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (counts[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new int[oldKeys.length << 1];
+        counts = new int[oldCounts.length << 1];
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.henrique.virtualteacher.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the most recent latency samples in a fixed size ring buffer and computes percentiles over them on demand.
+ */
+public class LatencyRecorder {
+
+    private final long[] samples;
+    private int next;
+    private int count;
+
+    public LatencyRecorder(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    public synchronized void record(long elapsedNanos) {
+        samples[next] = elapsedNanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    /**
+     * @param percentile value between 0 and 100
+     * @return the latency in milliseconds at the given percentile, 0 when nothing has been recorded
+     */
+    public double getPercentileMillis(double percentile) {
+        long[] sorted;
+        synchronized (this) {
+            if (count == 0) {
+                return 0;
+            }
+            sorted = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return nanosToMillis(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+
+    private static double nanosToMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+}
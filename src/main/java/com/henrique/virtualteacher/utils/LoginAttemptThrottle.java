@@ -0,0 +1,89 @@
+package com.henrique.virtualteacher.utils;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts failed login attempts per account within a fixed window. Once an account reaches the configured amount
+ * of failures, further attempts are rejected before any password hashing happens, until the window expires.
+ */
+public class LoginAttemptThrottle {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final int maxFailedAttempts;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, FailureWindow> failures = new ConcurrentHashMap<>();
+    private final LongAdder throttledAttempts = new LongAdder();
+
+    public LoginAttemptThrottle(int maxFailedAttempts, Duration window) {
+        this(maxFailedAttempts, window, System::nanoTime);
+    }
+
+    LoginAttemptThrottle(int maxFailedAttempts, Duration window, LongSupplier nanoClock) {
+        this.maxFailedAttempts = maxFailedAttempts;
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public boolean isBlocked(String username) {
+        String key = toKey(username);
+        FailureWindow window = failures.get(key);
+
+        if (window == null) {
+            return false;
+        }
+        if (isExpired(window, nanoClock.getAsLong())) {
+            failures.remove(key, window);
+            return false;
+        }
+        if (window.failedAttempts >= maxFailedAttempts) {
+            throttledAttempts.increment();
+            return true;
+        }
+        return false;
+    }
+
+    public void recordFailure(String username) {
+        long now = nanoClock.getAsLong();
+        failures.compute(toKey(username), (key, window) -> window == null || isExpired(window, now) ?
+                new FailureWindow(now, 1) : new FailureWindow(window.startedAt, window.failedAttempts + 1));
+
+        if (failures.size() > PURGE_THRESHOLD) {
+            failures.values().removeIf(window -> isExpired(window, now));
+        }
+    }
+
+    public void recordSuccess(String username) {
+        failures.remove(toKey(username));
+    }
+
+    public long getThrottledAttempts() {
+        return throttledAttempts.sum();
+    }
+
+    private boolean isExpired(FailureWindow window, long now) {
+        return now - window.startedAt > windowNanos;
+    }
+
+    private static String toKey(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private static class FailureWindow {
+
+        private final long startedAt;
+        private final int failedAttempts;
+
+        private FailureWindow(long startedAt, int failedAttempts) {
+            this.startedAt = startedAt;
+            this.failedAttempts = failedAttempts;
+        }
+    }
+
+}
@@ -49,6 +49,14 @@ public  void sendMail(SimpleMailMessage mailMessage) {
     mailSender.send(mailMessage);
 }
 
+/**
+ * Sends all messages over one SMTP connection, failed messages are reported through
+ * {@link org.springframework.mail.MailSendException#getFailedMessages()}.
+ */
+public void sendMails(SimpleMailMessage... mailMessages) {
+    mailSender.send(mailMessages);
+}
+
 private static String getUrl(HttpServletRequest request) {
     return request.getScheme() + "://" + request.getServerName() + ":" + request.getLocalPort() + REGISTRATION_VERIFICATION_URL;
 }
@@ -0,0 +1,125 @@
+package com.henrique.virtualteacher.utils;
+
+import com.henrique.virtualteacher.exceptions.TooManyRequestsException;
+import com.henrique.virtualteacher.models.PasswordVerificationMetricsModel;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs password verification on a dedicated, bounded pool instead of the servlet threads. When every hashing thread
+ * is busy and the queue is full, a login is rejected right away rather than piling up behind CPU bound work.
+ * Encoding and upgrade checks are delegated unchanged.
+ */
+public class OffloadedPasswordEncoder implements PasswordEncoder {
+
+    private static final int LATENCY_SAMPLES = 1024;
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutNanos;
+    private final int strength;
+
+    private final LatencyRecorder hashLatency = new LatencyRecorder(LATENCY_SAMPLES);
+    private final LongAdder completedVerifications = new LongAdder();
+    private final LongAdder rejectedVerifications = new LongAdder();
+    private final LongAdder timedOutVerifications = new LongAdder();
+    private final LongAdder upgradedEncodings = new LongAdder();
+
+    public OffloadedPasswordEncoder(PasswordEncoder delegate, int strength, int threads, int queueCapacity, Duration timeout) {
+        this.delegate = delegate;
+        this.strength = strength;
+        this.timeoutNanos = timeout.toNanos();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new VerificationThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Future<Boolean> verification;
+        try {
+            verification = executor.submit(() -> timedMatches(rawPassword, encodedPassword));
+        } catch (RejectedExecutionException e) {
+            rejectedVerifications.increment();
+            throw new TooManyRequestsException("Too many login attempts are being processed, please try again shortly");
+        }
+
+        try {
+            return verification.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            verification.cancel(true);
+            timedOutVerifications.increment();
+            throw new TooManyRequestsException("Password verification timed out, please try again shortly");
+        } catch (InterruptedException e) {
+            verification.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new TooManyRequestsException("Password verification was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        boolean upgrade = delegate.upgradeEncoding(encodedPassword);
+        if (upgrade) {
+            upgradedEncodings.increment();
+        }
+        return upgrade;
+    }
+
+    public PasswordVerificationMetricsModel getSnapshot() {
+        PasswordVerificationMetricsModel model = new PasswordVerificationMetricsModel();
+        model.setStrength(strength);
+        model.setThreads(executor.getMaximumPoolSize());
+        model.setActiveVerifications(executor.getActiveCount());
+        model.setQueuedVerifications(executor.getQueue().size());
+        model.setCompletedVerifications(completedVerifications.sum());
+        model.setRejectedVerifications(rejectedVerifications.sum());
+        model.setTimedOutVerifications(timedOutVerifications.sum());
+        model.setUpgradedEncodings(upgradedEncodings.sum());
+        model.setP50Millis(hashLatency.getPercentileMillis(50));
+        model.setP95Millis(hashLatency.getPercentileMillis(95));
+        model.setP99Millis(hashLatency.getPercentileMillis(99));
+        model.setMaxMillis(hashLatency.getPercentileMillis(100));
+        return model;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private boolean timedMatches(CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            hashLatency.record(System.nanoTime() - start);
+            completedVerifications.increment();
+        }
+    }
+
+    private static class VerificationThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-verification-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.henrique.virtualteacher.utils;
+
+import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.models.UserLookupMetricsModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Keeps the users resolved during the current HTTP request, keyed by email, so that the controller advice,
+ * the controllers and the services share one database lookup per user and request.
+ * Outside of a request (scheduled jobs, async workers) every lookup goes straight to the loader.
+ * <p>
+ * A user is only kept when it is loaded while the request's entity manager is open, which open-in-view binds
+ * for the whole request once it reaches the dispatcher. A user loaded before that, by the security filters, or
+ * in a transaction of its own would be detached by the time it is handed out again, and its lazy associations
+ * would fail to load.
+ */
+@Component
+public class RequestUserContext {
+
+    private static final String USERS_ATTRIBUTE = RequestUserContext.class.getName() + ".users";
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder queriesSaved = new LongAdder();
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean openInView;
+
+    @Autowired
+    public RequestUserContext(EntityManagerFactory entityManagerFactory,
+                              @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.openInView = openInView;
+    }
+
+    public User resolve(String email, Function<String, User> loader) {
+        lookups.increment();
+        Map<String, User> users = getRequestUsers();
+
+        if (users == null || !isEntityManagerOpenForRequest()) {
+            return loader.apply(email);
+        }
+
+        User user = users.get(email);
+        if (user != null) {
+            queriesSaved.increment();
+            return user;
+        }
+
+        user = loader.apply(email);
+        users.put(email, user);
+        return user;
+    }
+
+    public void evict(String email) {
+        Map<String, User> users = getRequestUsers();
+        if (users != null) {
+            users.remove(email);
+        }
+    }
+
+    public UserLookupMetricsModel getSnapshot() {
+        long totalLookups = lookups.sum();
+        long saved = queriesSaved.sum();
+        return new UserLookupMetricsModel(totalLookups, totalLookups - saved, saved);
+    }
+
+    private boolean isEntityManagerOpenForRequest() {
+        return openInView && TransactionSynchronizationManager.hasResource(entityManagerFactory);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, User> getRequestUsers() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+
+        Map<String, User> users = (Map<String, User>) attributes.getAttribute(USERS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (users == null) {
+            users = new HashMap<>();
+            attributes.setAttribute(USERS_ATTRIBUTE, users, RequestAttributes.SCOPE_REQUEST);
+        }
+        return users;
+    }
+
+}
@@ -0,0 +1,475 @@
+package com.henrique.virtualteacher.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed prefix tree of display texts, like course titles or usernames, for type-ahead suggestions.
+ * Chains of single-child nodes are collapsed into one edge, and every node keeps the {@code maxResults} most popular
+ * entries below it, so a suggestion costs a walk down the typed prefix and a copy of that list, whatever the size
+ * of the tree. With {@code indexWordStarts} an entry is also found by the start of any later word of its text.
+ * <p>
+ * Changing an entry updates the lists on the paths of its keys only, up to the first node where it does not rank.
+ * Suggestions run in parallel, changes take the write lock, {@link #replaceAll} builds the new tree before taking it.
+ */
+public class SuggestionTrie {
+
+    private static final Comparator<Suggestion> MOST_POPULAR = Comparator.comparingLong(Suggestion::getPopularity)
+            .reversed()
+            .thenComparing(Suggestion::getText)
+            .thenComparingInt(Suggestion::getId);
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+    private final int maxResults;
+    private final boolean indexWordStarts;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Tree tree = new Tree();
+
+    public SuggestionTrie(int maxResults, boolean indexWordStarts) {
+        this.maxResults = maxResults;
+        this.indexWordStarts = indexWordStarts;
+    }
+
+    public void put(int id, String text, long popularity) {
+        lock.writeLock().lock();
+        try {
+            tree.remove(id);
+            tree.add(new Suggestion(id, text, popularity));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the entry or changes its text, an entry that is already known keeps its popularity.
+     */
+    public void putText(int id, String text) {
+        lock.writeLock().lock();
+        try {
+            Suggestion current = tree.entries.get(id);
+            tree.remove(id);
+            tree.add(new Suggestion(id, text, current == null ? 0 : current.popularity));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addPopularity(int id, long delta) {
+        lock.writeLock().lock();
+        try {
+            Suggestion current = tree.entries.get(id);
+            if (current != null) {
+                tree.remove(id);
+                tree.add(new Suggestion(id, current.text, current.popularity + delta));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            tree.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replaceAll(Collection<Suggestion> suggestions) {
+        Tree rebuilt = new Tree();
+        suggestions.forEach(rebuilt::add);
+
+        lock.writeLock().lock();
+        try {
+            tree = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return at most {@code limit} entries with a key starting with {@code prefix}, most popular first
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        int count = Math.min(Math.max(limit, 0), maxResults);
+        if (key.isEmpty() || count == 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = tree.find(key);
+            if (node == null) {
+                return Collections.emptyList();
+            }
+            return List.of(Arrays.copyOf(node.top, Math.min(count, node.top.length)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tree.entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return tree.nodeCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate heap size of the tree and its entries, assuming compressed references and compact strings.
+     */
+    public long getEstimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (Suggestion entry : tree.entries.values()) {
+                bytes += 24 + stringBytes(entry.text);
+            }
+            return bytes + nodeBytes(tree.root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long nodeBytes(Node node) {
+        long bytes = 24 + stringBytes(node.edge) + arrayBytes(node.children.length)
+                + arrayBytes(node.terminals.length) + arrayBytes(node.top.length);
+        for (Node child : node.children) {
+            bytes += nodeBytes(child);
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String text) {
+        return 24 + align(16 + text.length());
+    }
+
+    private static long arrayBytes(int length) {
+        return length == 0 ? 0 : align(16 + 4L * length);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7;
+    }
+
+    /**
+     * A trailing space of a typed prefix is kept, it ends the word.
+     */
+    private static String normalize(String text) {
+        return text == null ? "" : text.stripLeading().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private Set<String> keys(String text) {
+        String normalized = normalize(text).stripTrailing();
+        Set<String> keys = new LinkedHashSet<>();
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+        keys.add(normalized);
+        if (indexWordStarts) {
+            for (int i = 1; i < normalized.length(); i++) {
+                if (!Character.isLetterOrDigit(normalized.charAt(i - 1)) && Character.isLetterOrDigit(normalized.charAt(i))) {
+                    keys.add(normalized.substring(i));
+                }
+            }
+        }
+        return keys;
+    }
+
+    public static final class Suggestion {
+
+        private final int id;
+        private final String text;
+        private final long popularity;
+
+        public Suggestion(int id, String text, long popularity) {
+            this.id = id;
+            this.text = text;
+            this.popularity = popularity;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public long getPopularity() {
+            return popularity;
+        }
+    }
+
+    private static class Node {
+
+        private String edge;
+        private Node[] children = NO_CHILDREN;
+        private Suggestion[] terminals = NO_SUGGESTIONS;
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        private Node(String edge) {
+            this.edge = edge;
+        }
+
+        private Node child(char first) {
+            int index = childIndex(first);
+            return index < 0 ? null : children[index];
+        }
+
+        /**
+         * Children are sorted by the first character of their edge, which is unique among siblings.
+         */
+        private int childIndex(char first) {
+            int low = 0, high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char current = children[middle].edge.charAt(0);
+                if (current < first) {
+                    low = middle + 1;
+                } else if (current > first) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private void putChild(Node child) {
+            int index = childIndex(child.edge.charAt(0));
+            if (index >= 0) {
+                children[index] = child;
+                return;
+            }
+            int insertAt = -(index + 1);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, insertAt);
+            grown[insertAt] = child;
+            System.arraycopy(children, insertAt, grown, insertAt + 1, children.length - insertAt);
+            children = grown;
+        }
+
+        private void removeChild(char first) {
+            int index = childIndex(first);
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, index);
+            System.arraycopy(children, index + 1, shrunk, index, children.length - index - 1);
+            children = shrunk.length == 0 ? NO_CHILDREN : shrunk;
+        }
+    }
+
+    private class Tree {
+
+        private final Node root = new Node("");
+        private final Map<Integer, Suggestion> entries = new HashMap<>();
+        private int nodeCount = 1;
+
+        private void add(Suggestion entry) {
+            entries.put(entry.id, entry);
+            for (String key : keys(entry.text)) {
+                insert(key, entry);
+            }
+        }
+
+        private void remove(int id) {
+            Suggestion entry = entries.remove(id);
+            if (entry != null) {
+                for (String key : keys(entry.text)) {
+                    delete(key, entry);
+                }
+            }
+        }
+
+        private Node find(String prefix) {
+            Node node = root;
+            int position = 0;
+            while (position < prefix.length()) {
+                Node child = node.child(prefix.charAt(position));
+                if (child == null) {
+                    return null;
+                }
+                int compared = Math.min(child.edge.length(), prefix.length() - position);
+                if (!prefix.regionMatches(position, child.edge, 0, compared)) {
+                    return null;
+                }
+                position += compared;
+                node = child;
+            }
+            return node;
+        }
+
+        private void insert(String key, Suggestion entry) {
+            List<Node> path = new ArrayList<>();
+            path.add(root);
+            Node node = root;
+            int position = 0;
+
+            while (position < key.length()) {
+                Node child = node.child(key.charAt(position));
+                if (child == null) {
+                    Node leaf = new Node(key.substring(position));
+                    node.putChild(leaf);
+                    nodeCount++;
+                    node = leaf;
+                    path.add(leaf);
+                    break;
+                }
+                int common = commonPrefixLength(child.edge, key, position);
+                if (common < child.edge.length()) {
+                    Node split = new Node(child.edge.substring(0, common));
+                    split.top = child.top;
+                    node.putChild(split);
+                    child.edge = child.edge.substring(common);
+                    split.putChild(child);
+                    nodeCount++;
+                    child = split;
+                }
+                node = child;
+                position += common;
+                path.add(node);
+            }
+
+            node.terminals = append(node.terminals, entry);
+            for (int i = path.size() - 1; i >= 0; i--) {
+                if (!offer(path.get(i), entry)) {
+                    break;
+                }
+            }
+        }
+
+        private void delete(String key, Suggestion entry) {
+            List<Node> path = new ArrayList<>();
+            path.add(root);
+            Node node = root;
+            int position = 0;
+            while (position < key.length()) {
+                node = node.child(key.charAt(position));
+                position += node.edge.length();
+                path.add(node);
+            }
+            node.terminals = without(node.terminals, entry);
+
+            for (int i = path.size() - 1; i > 0; i--) {
+                Node current = path.get(i);
+                Node parent = path.get(i - 1);
+                if (current.terminals.length == 0 && current.children.length == 0) {
+                    parent.removeChild(current.edge.charAt(0));
+                    nodeCount--;
+                } else if (current.terminals.length == 0 && current.children.length == 1) {
+                    Node onlyChild = current.children[0];
+                    onlyChild.edge = current.edge + onlyChild.edge;
+                    parent.putChild(onlyChild);
+                    nodeCount--;
+                } else if (contains(current.top, entry)) {
+                    updateTop(current);
+                } else {
+                    return;
+                }
+            }
+            if (contains(root.top, entry)) {
+                updateTop(root);
+            }
+        }
+
+        /**
+         * Adds the entry to the list of the node if it ranks among the most popular. When it does not, or the node
+         * already lists it through another key, the lists of the ancestors are unchanged as well.
+         */
+        private boolean offer(Node node, Suggestion entry) {
+            int position = 0;
+            while (position < node.top.length && MOST_POPULAR.compare(node.top[position], entry) < 0) {
+                position++;
+            }
+            if (position == maxResults || contains(node.top, entry)) {
+                return false;
+            }
+            int length = Math.min(node.top.length + 1, maxResults);
+            Suggestion[] top = new Suggestion[length];
+            System.arraycopy(node.top, 0, top, 0, position);
+            top[position] = entry;
+            System.arraycopy(node.top, position, top, position + 1, length - position - 1);
+            node.top = top;
+            return true;
+        }
+
+        private boolean contains(Suggestion[] suggestions, Suggestion entry) {
+            for (Suggestion suggestion : suggestions) {
+                if (suggestion == entry) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void updateTop(Node node) {
+            List<Suggestion> candidates = new ArrayList<>(Arrays.asList(node.terminals));
+            for (Node child : node.children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(MOST_POPULAR);
+
+            List<Suggestion> top = new ArrayList<>(Math.min(maxResults, candidates.size()));
+            Set<Integer> seen = new HashSet<>();
+            for (Suggestion candidate : candidates) {
+                if (top.size() == maxResults) {
+                    break;
+                }
+                if (seen.add(candidate.id)) {
+                    top.add(candidate);
+                }
+            }
+            node.top = top.isEmpty() ? NO_SUGGESTIONS : top.toArray(NO_SUGGESTIONS);
+        }
+
+        private int commonPrefixLength(String edge, String key, int position) {
+            int length = 0;
+            int max = Math.min(edge.length(), key.length() - position);
+            while (length < max && edge.charAt(length) == key.charAt(position + length)) {
+                length++;
+            }
+            return length;
+        }
+
+        private Suggestion[] append(Suggestion[] suggestions, Suggestion entry) {
+            Suggestion[] grown = Arrays.copyOf(suggestions, suggestions.length + 1);
+            grown[suggestions.length] = entry;
+            return grown;
+        }
+
+        private Suggestion[] without(Suggestion[] suggestions, Suggestion entry) {
+            Suggestion[] remaining = Arrays.stream(suggestions)
+                    .filter(suggestion -> suggestion != entry)
+                    .toArray(Suggestion[]::new);
+            return remaining.length == 0 ? NO_SUGGESTIONS : remaining;
+        }
+    }
+
+}
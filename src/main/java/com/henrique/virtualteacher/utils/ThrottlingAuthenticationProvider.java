@@ -0,0 +1,42 @@
+package com.henrique.virtualteacher.utils;
+
+import com.henrique.virtualteacher.exceptions.TooManyRequestsException;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Rejects logins for accounts with too many recent failures before the user is loaded or the password hashed,
+ * and turns a saturated password verification pool into an authentication failure instead of a server error.
+ */
+public class ThrottlingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final LoginAttemptThrottle loginAttemptThrottle;
+
+    public ThrottlingAuthenticationProvider(LoginAttemptThrottle loginAttemptThrottle) {
+        this.loginAttemptThrottle = loginAttemptThrottle;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) {
+        String username = authentication.getName();
+
+        if (loginAttemptThrottle.isBlocked(username)) {
+            throw new LockedException(String.format("Too many failed login attempts for %s, try again later", username));
+        }
+
+        try {
+            Authentication result = super.authenticate(authentication);
+            loginAttemptThrottle.recordSuccess(username);
+            return result;
+        } catch (BadCredentialsException e) {
+            loginAttemptThrottle.recordFailure(username);
+            throw e;
+        } catch (TooManyRequestsException e) {
+            throw new AuthenticationServiceException(e.getMessage(), e);
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.henrique.virtualteacher.utils;
+
+import com.henrique.virtualteacher.models.UserCacheMetricsModel;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, least recently used cache of {@link UserDetails} with a time to live, used by the authentication provider
+ * so that HTTP Basic clients do not hit the database on every request.
+ * Entries are stored and handed out as copies, otherwise erasing the credentials of an authenticated token
+ * would also wipe the cached password.
+ */
+public class UserDetailsCache implements UserCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, CachedUser> entries;
+
+    private long hits, misses, evictions, invalidations;
+
+    public UserDetailsCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    UserDetailsCache(int maxSize, Duration ttl, LongSupplier nanoClock) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                if (size() > UserDetailsCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public synchronized UserDetails getUserFromCache(String username) {
+        CachedUser cached = entries.get(username);
+
+        if (cached == null) {
+            misses++;
+            return null;
+        }
+        if (nanoClock.getAsLong() - cached.expiresAt > 0) {
+            entries.remove(username);
+            evictions++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return copy(cached.user);
+    }
+
+    @Override
+    public synchronized void putUserInCache(UserDetails user) {
+        if (maxSize <= 0) {
+            return;
+        }
+        entries.put(user.getUsername(), new CachedUser(copy(user), nanoClock.getAsLong() + ttlNanos));
+    }
+
+    @Override
+    public synchronized void removeUserFromCache(String username) {
+        if (entries.remove(username) != null) {
+            invalidations++;
+        }
+    }
+
+    public synchronized UserCacheMetricsModel getSnapshot() {
+        long requests = hits + misses;
+        return new UserCacheMetricsModel(entries.size(), maxSize, hits, misses, evictions, invalidations,
+                requests == 0 ? 0 : (double) hits / requests);
+    }
+
+    private static UserDetails copy(UserDetails user) {
+        return User.withUserDetails(user).build();
+    }
+
+    private static class CachedUser {
+
+        private final UserDetails user;
+        private final long expiresAt;
+
+        private CachedUser(UserDetails user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+}
@@ -188,7 +188,7 @@ function openModal(e) {
     modalTitleSelector.innerHTML = courseTitle.innerHTML
     modalCourseIdSelector.innerHTML = courseId.innerHTML;
     modalDescriptionSelector.innerHTML = courseDescription.innerHTML
-    modalImage.src = courseImage.src
+    modalImage.src = courseImage.dataset.fullSrc || courseImage.src
     console.log('hello')
 }
 
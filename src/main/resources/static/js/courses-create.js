@@ -153,9 +153,11 @@ function createCourse() {
             processData: false,
             contentType: false,
 
-            success: function(imageUrl) {
+            success: function(uploadJob) {
 
-                uploadedPictureUrl = imageUrl.body;
+                waitForUpload(uploadJob.id, function (imageUrl) {
+                    uploadedPictureUrl = imageUrl;
+                })
                 },
 
             error: function(data) {
@@ -164,6 +166,18 @@ function createCourse() {
         })
     }
 
+    function waitForUpload(jobId, onUploaded) {
+        $.get("/api/images/jobs/" + jobId, function (uploadJob) {
+            if (uploadJob.status === 'COMPLETED') {
+                onUploaded(uploadJob.url)
+            } else if (uploadJob.status === 'FAILED') {
+                alert("The image could not be uploaded")
+            } else {
+                setTimeout(function () { waitForUpload(jobId, onUploaded) }, 500)
+            }
+        })
+    }
+
     pictureFormSelector.onchange = evt => {
     const [file] = uploadImageSelector.files
     if (file) {
@@ -278,9 +278,11 @@ function uploadImage() {
         processData: false,
         contentType: false,
 
-        success: function(imageUrl) {
+        success: function(uploadJob) {
 
-            userProfilePictureURL = imageUrl.body;
+            waitForUpload(uploadJob.id, function (imageUrl) {
+                userProfilePictureURL = imageUrl;
+            })
 
             //TODO TEST
         },
@@ -291,6 +293,18 @@ function uploadImage() {
     })
 }
 
+function waitForUpload(jobId, onUploaded) {
+    $.get("/api/images/jobs/" + jobId, function (uploadJob) {
+        if (uploadJob.status === 'COMPLETED') {
+            onUploaded(uploadJob.url)
+        } else if (uploadJob.status === 'FAILED') {
+            alert("The image could not be uploaded")
+        } else {
+            setTimeout(function () { waitForUpload(jobId, onUploaded) }, 500)
+        }
+    })
+}
+
 function setInputError(inputSelector) {
     inputSelector.classList.add('error-animation')
 
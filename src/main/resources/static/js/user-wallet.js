@@ -3,29 +3,24 @@
 
 const loggedUserId = Number (document.querySelector("#user-id").textContent);
 const pageSize = 11;
-let totalTransactionPages;
+const pageCursors = [null];
+let lastPageReached = true;
 
-getAndLoadContent(pageSize, 1).then(
-    response => initializePaginationArrows())
-
-$("#page-buttons").on('click', function (e) {
-    e.preventDefault();
-    let pageNumber = Number (e.target.innerHTML);
-    const activePage = $(".active-page").element
-
-    getAndLoadContent(pageSize, pageNumber)
-})
+function getAndLoadContent(size, cursor) {
+    const data = {size: size};
+    if (cursor !== null) {
+        data.cursor = cursor;
+    }
 
-function getAndLoadContent(size, page) {
     return $.ajax({
         url: `/api/transactions/my-wallet`,
         type: "GET",
         dataType: "json",
-        data: {size: size, page: page},
+        data: data,
 
         success: function (response) {
 
-            totalTransactionPages = response.totalPages
+            lastPageReached = response.last
             const tableContent = $(".transactions").empty();
 
             response.content.forEach( function (transaction) {
@@ -38,22 +33,18 @@ function getAndLoadContent(size, page) {
                 let transactionCreationTime = transaction.creationTime;
                 let transactionStatus = lowercaseWord(transaction.status);
 
-                if (transaction.senderWallet.owner.id === loggedUserId) {
-
-                    if (transactionType === 'deposit') {
-                        senderName = '-'
-                        recipientName = 'Me'
-                        transactionType = 'incoming'
-                    } else {
-                        senderName = 'me'
-                        recipientName = transaction.recipientWallet.owner.firstName;
-                        transactionDirection =  'outgoing'
-                    }
-
-                } else {
-                    senderName = transaction.senderWallet.owner.firstName;
+                if (transactionType === 'deposit') {
+                    senderName = '-'
+                    recipientName = 'Me'
+                    transactionType = 'incoming'
+                } else if (transaction.incoming) {
+                    senderName = transaction.counterpartyUsername;
                     recipientName = "me"
                     transactionDirection = "incoming";
+                } else {
+                    senderName = 'me'
+                    recipientName = transaction.counterpartyUsername;
+                    transactionDirection =  'outgoing'
                 }
 
                 let statusClass;
@@ -113,22 +104,30 @@ function lowercaseWord(string) {
 var pr = document.querySelector( '.paginate.left' );
 var pl = document.querySelector( '.paginate.right' );
 
+initializePaginationArrows()
+
 function initializePaginationArrows() {
 
     pr.onclick = slide.bind( this, -1 );
     pl.onclick = slide.bind( this, 1 );
 
-    var index = 0, total = totalTransactionPages;
+    var index = 0;
 
     function slide(offset) {
-        index = Math.min( Math.max( index + offset, 0 ), total - 1 );
-
-        document.querySelector( '.counter' ).innerHTML = ( index + 1 ) + ' / ' + total;
+        if (offset > 0 && lastPageReached) {
+            return;
+        }
+        index = Math.max( index + offset, 0 );
 
-        getAndLoadContent(11, index + 1);
+        getAndLoadContent(pageSize, pageCursors[index]).then(response => {
+            if (!response.last) {
+                pageCursors[index + 1] = response.nextCursor;
+            }
+            document.querySelector( '.counter' ).innerHTML = String( index + 1 );
 
-        pr.setAttribute( 'data-state', index === 0 ? 'disabled' : '' );
-        pl.setAttribute( 'data-state', index === total - 1 ? 'disabled' : '' );
+            pr.setAttribute( 'data-state', index === 0 ? 'disabled' : '' );
+            pl.setAttribute( 'data-state', response.last ? 'disabled' : '' );
+        });
     }
     slide(0);
 }
@@ -0,0 +1,109 @@
+package com.henrique.virtualteacher.configurations;
+
+import com.henrique.virtualteacher.models.PoolMetricsModel;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class HibernateConfigLoadTests {
+
+    private static final String EMBEDDED_DB_URL = "jdbc:h2:mem:pool_load_test;DB_CLOSE_DELAY=-1";
+    private static final int THREADS = 8;
+    private static final int QUERIES_PER_THREAD = 500;
+
+    @Test
+    public void dataSource_shouldBeDriverManager_whenPoolIsDisabled() {
+        DataSource dataSource = new HibernateConfig(createEnvironment(false, 10)).dataSource();
+
+        Assertions.assertTrue(dataSource instanceof DriverManagerDataSource);
+    }
+
+    @Test
+    public void pooledDataSource_shouldReuseConnections_underConcurrentLoad() throws Exception {
+        HibernateConfig pooledConfig = new HibernateConfig(createEnvironment(true, THREADS));
+        HikariDataSource pooled = (HikariDataSource) pooledConfig.dataSource();
+
+        try {
+            runLoad(pooled);
+            runLoad(pooled);
+
+            PoolMetricsModel metrics = pooledConfig.dataSourcePoolMetrics().getSnapshot();
+            Assertions.assertEquals(2L * THREADS * QUERIES_PER_THREAD, metrics.getConnectionRequests());
+            Assertions.assertTrue(metrics.getTotalConnections() <= THREADS);
+            Assertions.assertEquals(0, metrics.getTimeouts());
+        } finally {
+            pooled.close();
+        }
+    }
+
+    @Test
+    public void pooledDataSource_shouldRecordTimeout_whenPoolIsExhausted() throws SQLException {
+        HibernateConfig pooledConfig = new HibernateConfig(createEnvironment(true, 1));
+        HikariDataSource pooled = (HikariDataSource) pooledConfig.dataSource();
+
+        try (Connection ignored = pooled.getConnection()) {
+            Assertions.assertThrows(SQLTransientConnectionException.class, pooled::getConnection);
+        } finally {
+            pooled.close();
+        }
+
+        PoolMetricsModel metrics = pooledConfig.dataSourcePoolMetrics().getSnapshot();
+        Assertions.assertEquals(1, metrics.getTimeouts());
+        Assertions.assertEquals(2, metrics.getConnectionRequests());
+    }
+
+    private void runLoad(DataSource dataSource) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> results = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                for (int j = 0; j < QUERIES_PER_THREAD; j++) {
+                    executeQuery(dataSource);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+    }
+
+    private void executeQuery(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT 1")) {
+            resultSet.next();
+        }
+    }
+
+    private MockEnvironment createEnvironment(boolean poolEnabled, int maxPoolSize) {
+        return new MockEnvironment()
+                .withProperty("database.url", EMBEDDED_DB_URL)
+                .withProperty("database.username", "sa")
+                .withProperty("database.password", "")
+                .withProperty("database.driver-class-name", "org.h2.Driver")
+                .withProperty("database.pool.enabled", String.valueOf(poolEnabled))
+                .withProperty("database.pool.min-idle", "1")
+                .withProperty("database.pool.max-size", String.valueOf(maxPoolSize))
+                .withProperty("database.pool.connection-timeout-ms", "250")
+                .withProperty("database.pool.validation-timeout-ms", "250")
+                .withProperty("database.pool.statement-cache-size", "0");
+    }
+
+}
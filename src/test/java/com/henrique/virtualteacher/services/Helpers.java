@@ -181,6 +181,12 @@ public class Helpers {
         return NFT;
     }
 
+    public static NFT enrollUser(User user, Course course) {
+        NFT NFT = new NFT(user, course, 1);
+        user.getNftCourses().add(NFT);
+        return NFT;
+    }
+
     public static NFT createMockCourseEnrollment(User userToEnroll, Course course) {
         NFT NFT = createCourseEnrollment();
         NFT.setCourse(course);
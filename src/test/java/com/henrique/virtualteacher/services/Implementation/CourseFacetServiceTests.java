@@ -0,0 +1,77 @@
+package com.henrique.virtualteacher.services.Implementation;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.exceptions.ImpossibleOperationException;
+import com.henrique.virtualteacher.models.CourseFacetAttributes;
+import com.henrique.virtualteacher.models.CourseFacetQuery;
+import com.henrique.virtualteacher.models.EnumDifficulty;
+import com.henrique.virtualteacher.models.EnumTopic;
+import com.henrique.virtualteacher.repositories.CourseRepository;
+import com.henrique.virtualteacher.services.Helpers;
+import com.henrique.virtualteacher.services.implementation.CourseFacetServiceImpl;
+import com.henrique.virtualteacher.utils.CourseFacetIndex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+public class CourseFacetServiceTests {
+
+    @Mock
+    CourseRepository courseRepository;
+    @Mock
+    Logger logger;
+
+    CourseFacetServiceImpl courseFacetService;
+
+    @BeforeEach
+    public void setUp() {
+        courseFacetService = new CourseFacetServiceImpl(new CourseFacetIndex(BigDecimal.valueOf(10)), courseRepository, logger);
+    }
+
+    @Test
+    public void rebuild_shouldIndexCourses_fromRepository() {
+        Mockito.when(courseRepository.getFacetAttributes()).thenReturn(List.of(
+                new CourseFacetAttributes(4, EnumTopic.JAVA, EnumDifficulty.NERD, true, BigDecimal.ONE)));
+
+        courseFacetService.rebuild();
+
+        Assertions.assertEquals(List.of(4), courseFacetService.filter(new CourseFacetQuery(EnumTopic.JAVA, null, "0-10", true, 0, 20)).getCourseIds());
+    }
+
+    @Test
+    public void courseChanged_shouldOnlyApply_afterTransactionCommits() {
+        Course course = Helpers.createMockCourse();
+        CourseFacetQuery query = new CourseFacetQuery(null, null, null, true, 0, 20);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            courseFacetService.courseChanged(course);
+            Assertions.assertTrue(courseFacetService.filter(query).getCourseIds().isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assertions.assertEquals(List.of(course.getId()), courseFacetService.filter(query).getCourseIds());
+    }
+
+    @Test
+    public void filter_shouldThrowException_whenPriceRangeIsUnknown() {
+        CourseFacetQuery query = new CourseFacetQuery(null, null, "0-5", true, 0, 20);
+
+        Assertions.assertThrows(ImpossibleOperationException.class, () -> courseFacetService.filter(query));
+    }
+
+}
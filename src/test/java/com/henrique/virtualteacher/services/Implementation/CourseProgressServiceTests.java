@@ -0,0 +1,136 @@
+package com.henrique.virtualteacher.services.Implementation;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.entities.CourseProgress;
+import com.henrique.virtualteacher.entities.Lecture;
+import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.models.CourseProgressAggregate;
+import com.henrique.virtualteacher.repositories.CourseProgressRepository;
+import com.henrique.virtualteacher.repositories.LectureRepository;
+import com.henrique.virtualteacher.services.Helpers;
+import com.henrique.virtualteacher.services.implementation.CourseProgressServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+@ExtendWith(MockitoExtension.class)
+public class CourseProgressServiceTests {
+
+    @Mock
+    CourseProgressRepository courseProgressRepository;
+    @Mock
+    LectureRepository lectureRepository;
+    @Mock
+    PlatformTransactionManager transactionManager;
+    @Mock
+    Logger logger;
+
+    CourseProgressServiceImpl courseProgressService;
+
+    User user;
+    Course course;
+    Lecture lecture;
+
+    @BeforeEach
+    public void setUp() {
+        courseProgressService = new CourseProgressServiceImpl(courseProgressRepository, lectureRepository, transactionManager, logger);
+        user = Helpers.createMockUser(21);
+        course = Helpers.createMockCourse();
+        lecture = course.getCourseLectures().get(0);
+    }
+
+    @Test
+    public void lectureCompleted_shouldOnlyIncrement_whenProgressExists() {
+        Mockito.when(courseProgressRepository.existsByUserIdAndCourseId(21, course.getId())).thenReturn(true);
+
+        courseProgressService.lectureCompleted(user, lecture);
+
+        Mockito.verify(courseProgressRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(courseProgressRepository, Mockito.times(1)).incrementCompleted(21, course.getId());
+    }
+
+    @Test
+    public void lectureCompleted_shouldCreateProgress_withCourseLectureCount_beforeCountingFirstLecture() {
+        Mockito.when(courseProgressRepository.existsByUserIdAndCourseId(21, course.getId())).thenReturn(false);
+        Mockito.when(lectureRepository.countByCourseId(course.getId())).thenReturn(4);
+
+        courseProgressService.lectureCompleted(user, lecture);
+
+        ArgumentCaptor<CourseProgress> captor = ArgumentCaptor.forClass(CourseProgress.class);
+        InOrder inOrder = Mockito.inOrder(courseProgressRepository);
+        inOrder.verify(courseProgressRepository).save(captor.capture());
+        inOrder.verify(courseProgressRepository).incrementCompleted(21, course.getId());
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(0, captor.getValue().getCompletedLectures()),
+                () -> Assertions.assertEquals(4, captor.getValue().getTotalLectures())
+        );
+    }
+
+    @Test
+    public void lectureCompleted_shouldIncrementExistingProgress_whenConcurrentCompletionCreatedIt() {
+        Mockito.when(courseProgressRepository.existsByUserIdAndCourseId(21, course.getId())).thenReturn(false);
+        Mockito.when(courseProgressRepository.save(Mockito.any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        courseProgressService.lectureCompleted(user, lecture);
+
+        Mockito.verify(courseProgressRepository, Mockito.times(1)).incrementCompleted(21, course.getId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void rebuildProgress_shouldCorrectDriftedRows_createMissingOnes_andDeleteStaleOnes() {
+        CourseProgress drifted = new CourseProgress(21, 1, 5, 4);
+        CourseProgress accurate = new CourseProgress(21, 2, 2, 3);
+        CourseProgress stale = new CourseProgress(22, 1, 1, 4);
+        List<CourseProgressAggregate> actual = List.of(aggregate(21, 1, 3, 4), aggregate(21, 2, 2, 3), aggregate(23, 2, 1, 3));
+        Mockito.when(courseProgressRepository.findAll()).thenReturn(List.of(drifted, accurate, stale));
+        Mockito.when(courseProgressRepository.getAggregatesFromCompletedLectures()).thenReturn(actual);
+
+        int corrected = courseProgressService.rebuildProgress();
+
+        ArgumentCaptor<List<CourseProgress>> created = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(courseProgressRepository).setCounters(drifted.getId(), 3, 4);
+        Mockito.verify(courseProgressRepository).deleteAll(List.of(stale));
+        Mockito.verify(courseProgressRepository).saveAll(created.capture());
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(3, corrected),
+                () -> Assertions.assertEquals(1, created.getValue().size()),
+                () -> Assertions.assertEquals(23, created.getValue().get(0).getUserId()),
+                () -> Assertions.assertEquals(1, created.getValue().get(0).getCompletedLectures())
+        );
+    }
+
+    @Test
+    public void getCompletionPercentages_shouldReadAllCourses_inOneQuery() {
+        Course other = Helpers.createMockCourse();
+        other.setId(course.getId() + 1);
+        Mockito.when(courseProgressRepository.findAllByUserIdAndCourseIdIn(21, List.of(course.getId(), other.getId())))
+                .thenReturn(List.of(new CourseProgress(21, other.getId(), 3, 3)));
+
+        Map<Integer, Integer> percentages = courseProgressService.getCompletionPercentages(user, List.of(course, other));
+
+        Assertions.assertEquals(Map.of(other.getId(), 100), percentages);
+    }
+
+    private static CourseProgressAggregate aggregate(int userId, int courseId, long completedLectures, long totalLectures) {
+        CourseProgressAggregate aggregate = Mockito.mock(CourseProgressAggregate.class);
+        Mockito.when(aggregate.getUserId()).thenReturn(userId);
+        Mockito.when(aggregate.getCourseId()).thenReturn(courseId);
+        Mockito.when(aggregate.getCompletedLectures()).thenReturn(completedLectures);
+        Mockito.when(aggregate.getTotalLectures()).thenReturn(totalLectures);
+        return aggregate;
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.henrique.virtualteacher.services.Implementation;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.entities.CourseRatingSummary;
+import com.henrique.virtualteacher.models.CourseRankingAttributes;
+import com.henrique.virtualteacher.models.EnumDifficulty;
+import com.henrique.virtualteacher.models.EnumTopic;
+import com.henrique.virtualteacher.repositories.CourseRatingSummaryRepository;
+import com.henrique.virtualteacher.repositories.CourseRepository;
+import com.henrique.virtualteacher.services.Helpers;
+import com.henrique.virtualteacher.services.implementation.CourseRankingServiceImpl;
+import com.henrique.virtualteacher.utils.CourseLeaderboards;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+public class CourseRankingServiceTests {
+
+    @Mock
+    CourseRepository courseRepository;
+    @Mock
+    CourseRatingSummaryRepository ratingSummaryRepository;
+    @Mock
+    Logger logger;
+
+    CourseRankingServiceImpl courseRankingService;
+
+    @BeforeEach
+    public void setUp() {
+        courseRankingService = new CourseRankingServiceImpl(new CourseLeaderboards(10, 10, 0.5, Duration.ofHours(24)),
+                courseRepository, ratingSummaryRepository, logger);
+    }
+
+    @Test
+    public void refresh_shouldRankEnabledCourses_fromRatingSummaries() {
+        Mockito.when(courseRepository.getRankingAttributes()).thenReturn(List.of(
+                attributes(1, EnumTopic.JAVA, EnumDifficulty.BEGINNER, true),
+                attributes(2, EnumTopic.JAVA, EnumDifficulty.ADVANCED, true),
+                attributes(3, EnumTopic.JAVA, EnumDifficulty.ADVANCED, false)));
+        Mockito.when(ratingSummaryRepository.findAll()).thenReturn(List.of(
+                new CourseRatingSummary(1, 10, 30),
+                new CourseRatingSummary(2, 10, 50),
+                new CourseRatingSummary(3, 10, 50)));
+
+        courseRankingService.refresh();
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(List.of(2, 1), courseRankingService.getTopCourseIds(10)),
+                () -> Assertions.assertEquals(List.of(2), courseRankingService.getTopCourseIds(EnumDifficulty.ADVANCED, 10))
+        );
+    }
+
+    @Test
+    public void refresh_shouldDropDeletedCourses() {
+        Mockito.when(courseRepository.getRankingAttributes())
+                .thenReturn(List.of(attributes(1, EnumTopic.JAVA, EnumDifficulty.BEGINNER, true),
+                        attributes(2, EnumTopic.JAVA, EnumDifficulty.BEGINNER, true)))
+                .thenReturn(List.of(attributes(2, EnumTopic.JAVA, EnumDifficulty.BEGINNER, true)));
+
+        courseRankingService.refresh();
+        courseRankingService.refresh();
+
+        Assertions.assertEquals(List.of(2), courseRankingService.getTopCourseIds(EnumTopic.JAVA, 10));
+    }
+
+    @Test
+    public void courseRated_shouldOnlyApply_afterTransactionCommits() {
+        Course course = Helpers.createMockCourse();
+        course.setEnabled(true);
+        courseRankingService.courseChanged(course);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            courseRankingService.courseRated(course.getId(), 1, 5);
+            Assertions.assertTrue(courseRankingService.getTopCourseIds(10).contains(course.getId()));
+
+            courseRankingService.courseDeleted(course.getId());
+            Assertions.assertTrue(courseRankingService.getTopCourseIds(10).contains(course.getId()));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assertions.assertTrue(courseRankingService.getTopCourseIds(10).isEmpty());
+    }
+
+    private static CourseRankingAttributes attributes(int courseId, EnumTopic topic, EnumDifficulty difficulty, boolean enabled) {
+        return new CourseRankingAttributes() {
+            @Override
+            public int getCourseId() {
+                return courseId;
+            }
+
+            @Override
+            public EnumTopic getTopic() {
+                return topic;
+            }
+
+            @Override
+            public EnumDifficulty getDifficulty() {
+                return difficulty;
+            }
+
+            @Override
+            public boolean isEnabled() {
+                return enabled;
+            }
+        };
+    }
+
+}
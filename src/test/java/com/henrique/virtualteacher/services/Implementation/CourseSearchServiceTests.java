@@ -0,0 +1,67 @@
+package com.henrique.virtualteacher.services.Implementation;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.models.CourseSearchDocument;
+import com.henrique.virtualteacher.models.CourseSearchQuery;
+import com.henrique.virtualteacher.models.EnumDifficulty;
+import com.henrique.virtualteacher.models.EnumTopic;
+import com.henrique.virtualteacher.repositories.CourseRepository;
+import com.henrique.virtualteacher.services.Helpers;
+import com.henrique.virtualteacher.services.implementation.CourseSearchServiceImpl;
+import com.henrique.virtualteacher.utils.CourseSearchIndex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+public class CourseSearchServiceTests {
+
+    @Mock
+    CourseRepository courseRepository;
+    @Mock
+    Logger logger;
+
+    CourseSearchServiceImpl courseSearchService;
+
+    @BeforeEach
+    public void setUp() {
+        courseSearchService = new CourseSearchServiceImpl(new CourseSearchIndex(), courseRepository, logger);
+    }
+
+    @Test
+    public void rebuild_shouldIndexEnabledCourses_fromRepository() {
+        Mockito.when(courseRepository.getSearchDocuments()).thenReturn(List.of(
+                new CourseSearchDocument(5, "Angular forms", null, "rxjs", null, null, EnumTopic.ANGULAR, EnumDifficulty.INTERMEDIATE, BigDecimal.ONE)));
+
+        courseSearchService.rebuild();
+
+        Assertions.assertEquals(List.of(5), courseSearchService.search(query("rxjs")));
+    }
+
+    @Test
+    public void courseChanged_shouldUnindexDisabledCourse() {
+        Course course = Helpers.createMockCourse();
+        course.setEnabled(true);
+        courseSearchService.courseChanged(course);
+        String keyword = course.getTitle();
+        Assertions.assertEquals(List.of(course.getId()), courseSearchService.search(query(keyword)));
+
+        course.setEnabled(false);
+        courseSearchService.courseChanged(course);
+
+        Assertions.assertTrue(courseSearchService.search(query(keyword)).isEmpty());
+    }
+
+    private static CourseSearchQuery query(String keyword) {
+        return new CourseSearchQuery(keyword, null, null, null, null, 20);
+    }
+
+}
@@ -1,15 +1,16 @@
 package com.henrique.virtualteacher.services.Implementation;
 
-import com.henrique.virtualteacher.configurations.CloudinaryConfig;
 import com.henrique.virtualteacher.entities.Course;
 import com.henrique.virtualteacher.entities.Lecture;
-import com.henrique.virtualteacher.entities.Transaction;
 import com.henrique.virtualteacher.entities.User;
 import com.henrique.virtualteacher.exceptions.DuplicateEntityException;
 import com.henrique.virtualteacher.exceptions.EntityNotFoundException;
 import com.henrique.virtualteacher.exceptions.ImpossibleOperationException;
 import com.henrique.virtualteacher.exceptions.UnauthorizedOperationException;
+import com.henrique.virtualteacher.models.CourseFacetQuery;
 import com.henrique.virtualteacher.models.CourseModel;
+import com.henrique.virtualteacher.models.CourseSearchQuery;
+import com.henrique.virtualteacher.models.EnumCourseSort;
 import com.henrique.virtualteacher.models.EnumDifficulty;
 import com.henrique.virtualteacher.models.EnumTopic;
 import com.henrique.virtualteacher.repositories.CourseRepository;
@@ -19,22 +20,36 @@ import com.henrique.virtualteacher.services.Helpers;
 import com.henrique.virtualteacher.services.implementation.CourseServiceImpl;
 import com.henrique.virtualteacher.services.implementation.LectureServiceImpl;
 import com.henrique.virtualteacher.services.interfaces.*;
+import com.henrique.virtualteacher.utils.CourseCatalogCache;
+import com.henrique.virtualteacher.utils.ImageRenditionCache;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.text.ParseException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 @ExtendWith(MockitoExtension.class)
 public class CourseServiceTests {
@@ -56,13 +71,25 @@ public class CourseServiceTests {
     @Mock
     WalletService walletService;
     @Mock
-    TransactionService transactionService;
-    @Mock
     NFTCourseService enrollmentService;
     @Mock
     Logger logger;
     @Mock
-    CloudinaryConfig cloudinaryConfig;
+    ImageUploadService imageUploadService;
+    @Mock
+    CourseProgressService courseProgressService;
+    @Mock
+    CourseRankingService courseRankingService;
+    @Mock
+    CourseSearchService courseSearchService;
+    @Mock
+    SuggestionService suggestionService;
+    @Mock
+    CourseFacetService courseFacetService;
+    @Mock
+    ImageRenditionCache imageRenditionCache;
+    @Spy
+    CourseCatalogCache courseCatalogCache = new CourseCatalogCache(0, Duration.ZERO);
 
     @InjectMocks
     CourseServiceImpl courseService;
@@ -117,22 +144,37 @@ public class CourseServiceTests {
     }
 
     @Test
-    public void getAllByEnabled_should_callRepository_andReturn_list() {
+    public void getAllByEnabled_should_callRepository_andReturn_page() {
         List<Course> mockCourses = Helpers.createMockCourseList();
 
-        Mockito.when(courseRepository.findByEnabled(true)).thenReturn(mockCourses);
-        Mockito.when(ratingService.getAverageRatingForCourse(Mockito.any())).thenReturn(Mockito.any(Double.class));
+        Mockito.when(courseRepository.findByEnabled(Mockito.eq(true), Mockito.any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(mockCourses, invocation.getArgument(1), 40));
 
-        courseService.getAllByEnabled(true, Optional.empty());
-        Mockito.verify(courseRepository, Mockito.times(1))
-                .findByEnabled(true);
+        Page<CourseModel> result = courseService.getAllByEnabled(true, Optional.empty(), 1, 20, EnumCourseSort.TITLE, Sort.Direction.ASC);
+
+        Assertions.assertEquals(mockCourses.size(), result.getContent().size());
+        Assertions.assertEquals(40, result.getTotalElements());
+        Mockito.verify(courseRepository, Mockito.never()).findByEnabled(true);
+    }
+
+    @Test
+    public void getAllByEnabled_should_sortByRatingInDatabase_and_capPageSize() {
+        List<Course> mockCourses = Helpers.createMockCourseList();
+
+        Mockito.when(courseRepository.findCatalogPage(Mockito.eq(true), Mockito.any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(mockCourses, invocation.getArgument(1), mockCourses.size()));
+
+        Page<CourseModel> result = courseService.getAllByEnabled(true, Optional.empty(), 0, 5000, EnumCourseSort.RATING, Sort.Direction.DESC);
+
+        Assertions.assertEquals(100, result.getPageable().getPageSize());
+        Mockito.verify(courseRepository, Mockito.never()).findByEnabled(Mockito.anyBoolean(), Mockito.any(Pageable.class));
     }
 
     @Test
     public void verifyUserIsEnrolledToCourse_shouldThrowException_when_userIsNotEnrolledToCourse() {
         User mockUser = Helpers.createMockUser();
         Course course = Helpers.createMockCourse();
-        mockUser.purchaseCourse(course);
+        Helpers.enrollUser(mockUser, course);
 
         Course otherCourse = Helpers.createMockCourse();
         otherCourse.setId(2);
@@ -148,7 +190,7 @@ public class CourseServiceTests {
 
         mockCourse.setCourseLectures(List.copyOf(mockCourseLectures));
         mockCourseLectures.remove(0);
-        mockUser.purchaseCourse(mockCourse);
+        Helpers.enrollUser(mockUser, mockCourse);
         mockUser.setCompletedLectures(Set.copyOf(mockCourseLectures));
 
         Assertions.assertThrows(ImpossibleOperationException.class, () -> courseService.verifyUserHasCompletedAllCourseLectures(mockUser, mockCourse));
@@ -194,7 +236,7 @@ public class CourseServiceTests {
 
         User mockUser = Helpers.createMockUser();
         Course mockCourse = Helpers.createMockCourse();
-        mockUser.purchaseCourse(mockCourse);
+        Helpers.enrollUser(mockUser, mockCourse);
         mockUser.completeCourse(mockCourse);
 
         Assertions.assertThrows(ImpossibleOperationException.class, () -> courseService.complete(mockCourse, mockUser));
@@ -338,11 +380,28 @@ public class CourseServiceTests {
         User mockUser = Helpers.createMockUser();
         List<Course> courseList = Helpers.createMockCourseList();
 
-        Mockito.when(ratingService.getAverageRatingForCourse(Mockito.any())).thenReturn(Mockito.any(Double.class));
+        Mockito.when(ratingService.getAverageRatingsForCourses(courseList)).thenReturn(Map.of(courseList.get(0).getId(), 4.0));
         List<CourseModel> resultList = courseService.mapAllToModel(courseList, mockUser, true);
         Assertions.assertEquals(courseList.get(0).getId(), resultList.get(0).getId());
     }
 
+    @Test
+    public void mapAllToModel_shouldTakeCompletionPercentages_fromCourseProgress() {
+        User mockUser = Helpers.createMockUser();
+        Course started = Helpers.createMockCourse();
+        Course notStarted = Helpers.createMockCourse();
+        notStarted.setId(started.getId() + 1);
+        List<Course> courses = List.of(started, notStarted);
+
+        Mockito.when(courseProgressService.getCompletionPercentages(mockUser, courses)).thenReturn(Map.of(started.getId(), 75));
+        List<CourseModel> resultList = courseService.mapAllToModel(courses, mockUser, true);
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(75, resultList.get(0).getCourseCompletionPercentage()),
+                () -> Assertions.assertEquals(0, resultList.get(1).getCourseCompletionPercentage())
+        );
+    }
+
     @Test
     public void titleAlreadyExists_shouldReturnFalse_when_newAndOldTitles_areTheSame() {
         Course mockCourse = Helpers.createMockCourse();
@@ -356,7 +415,7 @@ public class CourseServiceTests {
         User mockUser = Helpers.createMockUser(21);
         Course course = Helpers.createMockCourse();
 
-        mockUser.purchaseCourse(course);
+        Helpers.enrollUser(mockUser, course);
         Assertions.assertThrows(DuplicateEntityException.class, () -> courseService.mint(mockUser, course));
     }
 
@@ -366,12 +425,10 @@ public class CourseServiceTests {
         Course mockCourse = Helpers.createMockCourse();
 
         Mockito.doNothing().when(walletService).mintNFT(mockCourse, mockUser);
-        Mockito.doNothing().when(transactionService).create(Mockito.any(Transaction.class), Mockito.any());
         Mockito.doNothing().when(enrollmentService).purchase(mockUser, mockCourse);
         courseService.mint(mockUser, mockCourse);
 
         Mockito.verify(walletService, Mockito.times(1)).mintNFT(mockCourse, mockUser);
-        Mockito.verify(transactionService, Mockito.times(1)).create(Mockito.any(), Mockito.any());
         Mockito.verify(enrollmentService, Mockito.times(1)).purchase(mockUser, mockCourse);
     }
 
@@ -380,7 +437,7 @@ public class CourseServiceTests {
         User mockUser = Helpers.createMockUser(21);
         Course mockCourse = Helpers.createMockCourse();
 
-        mockUser.purchaseCourse(mockCourse);
+        Helpers.enrollUser(mockUser, mockCourse);
 
         courseService.complete(mockCourse, mockUser);
 
@@ -398,24 +455,87 @@ public class CourseServiceTests {
     }
 
     @Test
-    public void upload_ShouldCallRepository_and_updateEntity() throws IOException {
+    public void upload_ShouldUpdatePicture_whenUploadCompletes() throws IOException {
         User initiator = Helpers.createMockTeacher();
         Course courseToUpdate = Helpers.createMockCourse(initiator);
+        MultipartFile picture = new MockMultipartFile("file", "picture.png", "image/png", new byte[]{1});
+        ArgumentCaptor<Consumer<String>> onUploaded = ArgumentCaptor.forClass(Consumer.class);
 
         Mockito.when(courseRepository.findById(courseToUpdate.getId())).thenReturn(Optional.of(courseToUpdate));
 
-        courseService.upload(Mockito.any(), courseToUpdate.getId(), initiator);
+        courseService.upload(picture, courseToUpdate.getId(), initiator);
+        Mockito.verify(imageUploadService).upload(Mockito.eq(picture), Mockito.eq(initiator), onUploaded.capture());
+        Mockito.verify(courseRepository, Mockito.never()).updatePicture(Mockito.anyInt(), Mockito.anyString());
 
-        Mockito.verify(courseRepository, Mockito.times(1)).save(courseToUpdate);
+        onUploaded.getValue().accept("https://images/picture.png");
+
+        Assertions.assertAll(
+                () -> Mockito.verify(courseRepository).updatePicture(courseToUpdate.getId(), "https://images/picture.png"),
+                () -> Assertions.assertEquals("https://images/picture.png", courseToUpdate.getPicture())
+        );
     }
 
     @Test
     public void getTopThreeCoursesByRating_ShouldReturnEntityList() {
-
-        Mockito.when(courseRepository.getThreeRandomCourses()).thenReturn(Helpers.createMockCourseList());
+        List<Course> courses = Helpers.createMockCourseList().subList(0, 3);
+        for (int i = 0; i < courses.size(); i++) {
+            courses.get(i).setId(i + 1);
+        }
+        Mockito.when(courseRankingService.getTopCourseIds(3)).thenReturn(List.of(1, 2, 3));
+        Mockito.when(courseRepository.findAllById(List.of(1, 2, 3))).thenReturn(courses);
 
         List<CourseModel> courseList = courseService.getTopTheeCoursesByRating();
-        Assertions.assertFalse(courseList.isEmpty());
+        Assertions.assertEquals(3, courseList.size());
+    }
+
+    @Test
+    public void getTopRatedCoursesByTopic_shouldKeepLeaderboardOrder_andSkipDeletedCourses() {
+        List<Course> courses = Helpers.createMockCourseList().subList(0, 2);
+        courses.get(0).setId(4);
+        courses.get(1).setId(7);
+        Mockito.when(courseRankingService.getTopCourseIds(EnumTopic.JAVA, 5)).thenReturn(List.of(7, 9, 4));
+        Mockito.when(courseRepository.findAllById(List.of(7, 9, 4))).thenReturn(courses);
+
+        List<CourseModel> courseList = courseService.getTopRatedCoursesByTopic(EnumTopic.JAVA, 5);
+
+        Assertions.assertEquals(List.of(7, 4), courseList.stream().map(CourseModel::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void browse_shouldThrowException_whenStudentBrowsesDisabledCourses() {
+        User student = Helpers.createMockUser();
+        CourseFacetQuery query = new CourseFacetQuery(null, null, null, false, 0, 20);
+
+        Assertions.assertThrows(UnauthorizedOperationException.class, () -> courseService.browse(query, Optional.of(student)));
+        Mockito.verifyNoInteractions(courseFacetService);
+    }
+
+    @Test
+    public void search_shouldCapLimit_andKeepRelevanceOrder() {
+        List<Course> courses = Helpers.createMockCourseList().subList(0, 2);
+        courses.get(0).setId(3);
+        courses.get(1).setId(8);
+        CourseSearchQuery query = new CourseSearchQuery("java", null, null, null, null, 5000);
+        Mockito.when(courseSearchService.search(query)).thenReturn(List.of(8, 3));
+        Mockito.when(courseRepository.findAllById(List.of(8, 3))).thenReturn(courses);
+
+        List<CourseModel> courseList = courseService.search(query);
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(100, query.getLimit()),
+                () -> Assertions.assertEquals(List.of(8, 3), courseList.stream().map(CourseModel::getId).collect(Collectors.toList()))
+        );
+    }
+
+    @Test
+    public void delete_shouldRemoveCourseFromLeaderboardsAndSearch() {
+        User admin = Helpers.createMockAdmin();
+        Course course = Helpers.createMockCourse();
+
+        courseService.delete(course, admin);
+
+        Mockito.verify(courseRankingService, Mockito.times(1)).courseDeleted(course.getId());
+        Mockito.verify(courseSearchService, Mockito.times(1)).courseDeleted(course.getId());
     }
 
     @Test
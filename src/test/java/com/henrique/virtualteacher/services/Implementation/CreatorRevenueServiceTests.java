@@ -0,0 +1,119 @@
+package com.henrique.virtualteacher.services.Implementation;
+
+import com.henrique.virtualteacher.entities.CreatorRevenueShard;
+import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.entities.Wallet;
+import com.henrique.virtualteacher.exceptions.ImpossibleOperationException;
+import com.henrique.virtualteacher.repositories.CreatorRevenueShardRepository;
+import com.henrique.virtualteacher.repositories.WalletRepository;
+import com.henrique.virtualteacher.services.Helpers;
+import com.henrique.virtualteacher.services.implementation.CreatorRevenueServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+public class CreatorRevenueServiceTests {
+
+    @Mock
+    CreatorRevenueShardRepository shardRepository;
+    @Mock
+    WalletRepository walletRepository;
+    @Mock
+    PlatformTransactionManager transactionManager;
+    @Mock
+    Logger logger;
+
+    CreatorRevenueServiceImpl creatorRevenueService;
+
+    @BeforeEach
+    public void setUp() {
+        creatorRevenueService = new CreatorRevenueServiceImpl(shardRepository, walletRepository, transactionManager, logger, 4);
+    }
+
+    @Test
+    public void credit_shouldNotCreateShards_whenShardExists() {
+        Wallet wallet = createWallet(3);
+        Mockito.when(shardRepository.credit(Mockito.eq(3), Mockito.anyInt(), Mockito.eq(BigDecimal.TEN))).thenReturn(1);
+
+        creatorRevenueService.credit(wallet, BigDecimal.TEN);
+
+        Mockito.verify(shardRepository, Mockito.never()).saveAll(Mockito.anyIterable());
+        Mockito.verify(walletRepository, Mockito.never()).deposit(Mockito.anyInt(), Mockito.any(BigDecimal.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void credit_shouldCreateAllShards_andRetry_whenWalletHasNoShards() {
+        Wallet wallet = createWallet(3);
+        Mockito.when(shardRepository.credit(Mockito.eq(3), Mockito.anyInt(), Mockito.eq(BigDecimal.TEN))).thenReturn(0, 1);
+
+        creatorRevenueService.credit(wallet, BigDecimal.TEN);
+
+        ArgumentCaptor<List<CreatorRevenueShard>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(shardRepository).saveAll(captor.capture());
+        Mockito.verify(shardRepository, Mockito.times(2)).credit(Mockito.eq(3), Mockito.anyInt(), Mockito.eq(BigDecimal.TEN));
+        Assertions.assertEquals(4, captor.getValue().size());
+    }
+
+    @Test
+    public void credit_shouldThrowException_whenShardsCannotBeCreated() {
+        Wallet wallet = createWallet(3);
+        Mockito.when(shardRepository.credit(Mockito.eq(3), Mockito.anyInt(), Mockito.eq(BigDecimal.TEN))).thenReturn(0);
+
+        Assertions.assertThrows(ImpossibleOperationException.class, () -> creatorRevenueService.credit(wallet, BigDecimal.TEN));
+    }
+
+    @Test
+    public void flush_shouldDepositSumOfShards_onceForEachWallet() {
+        List<CreatorRevenueShard> pending = new ArrayList<>();
+        pending.add(createShard(1, 3, 0, 5));
+        pending.add(createShard(2, 3, 1, 7));
+        pending.add(createShard(3, 8, 0, 2));
+        Mockito.when(shardRepository.findAllPending()).thenReturn(pending);
+        Mockito.when(shardRepository.debit(Mockito.anyInt(), Mockito.any(BigDecimal.class))).thenReturn(1);
+
+        int flushed = creatorRevenueService.flush();
+
+        Assertions.assertEquals(2, flushed);
+        Mockito.verify(walletRepository).deposit(3, BigDecimal.valueOf(12));
+        Mockito.verify(walletRepository).deposit(8, BigDecimal.valueOf(2));
+        Mockito.verify(shardRepository).debit(2, BigDecimal.valueOf(7));
+    }
+
+    @Test
+    public void flush_shouldSkipWallet_whenShardWasAlreadyFlushed() {
+        Mockito.when(shardRepository.findAllPending()).thenReturn(List.of(createShard(1, 3, 0, 5)));
+        Mockito.when(shardRepository.debit(1, BigDecimal.valueOf(5))).thenReturn(0);
+
+        Assertions.assertEquals(0, creatorRevenueService.flush());
+        Mockito.verify(transactionManager).rollback(Mockito.any());
+    }
+
+    private CreatorRevenueShard createShard(int id, int walletId, int shard, int amount) {
+        CreatorRevenueShard revenueShard = new CreatorRevenueShard(walletId, shard);
+        ReflectionTestUtils.setField(revenueShard, "id", id);
+        ReflectionTestUtils.setField(revenueShard, "amount", BigDecimal.valueOf(amount));
+        return revenueShard;
+    }
+
+    private Wallet createWallet(int walletId) {
+        User owner = Helpers.createMockUser(21);
+        Wallet wallet = Helpers.createMockWallet(owner);
+        wallet.setId(walletId);
+        return wallet;
+    }
+
+}
@@ -0,0 +1,271 @@
+package com.henrique.virtualteacher.services.Implementation;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.entities.NFT;
+import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.entities.Wallet;
+import com.henrique.virtualteacher.exceptions.ImpossibleOperationException;
+import com.henrique.virtualteacher.exceptions.UnauthorizedOperationException;
+import com.henrique.virtualteacher.models.DropLaunchModel;
+import com.henrique.virtualteacher.repositories.CourseRepository;
+import com.henrique.virtualteacher.repositories.WalletRepository;
+import com.henrique.virtualteacher.services.Helpers;
+import com.henrique.virtualteacher.services.implementation.DropLaunchServiceImpl;
+import com.henrique.virtualteacher.services.interfaces.CreatorRevenueService;
+import com.henrique.virtualteacher.services.interfaces.LedgerService;
+import com.henrique.virtualteacher.services.interfaces.NFTCourseService;
+import com.henrique.virtualteacher.services.interfaces.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+@ExtendWith(MockitoExtension.class)
+public class DropLaunchServiceTests {
+
+    @Mock
+    NFTCourseService nftCourseService;
+    @Mock
+    TransactionService transactionService;
+    @Mock
+    LedgerService ledgerService;
+    @Mock
+    CreatorRevenueService creatorRevenueService;
+    @Mock
+    WalletRepository walletRepository;
+    @Mock
+    CourseRepository courseRepository;
+    @Mock
+    PlatformTransactionManager transactionManager;
+    @Mock
+    Logger logger;
+
+    DropLaunchServiceImpl dropLaunchService;
+
+    User creator;
+    Course course;
+    Map<Integer, Wallet> wallets;
+
+    @BeforeEach
+    public void setUp() {
+        dropLaunchService = new DropLaunchServiceImpl(nftCourseService, transactionService, ledgerService,
+                creatorRevenueService, walletRepository, courseRepository, transactionManager, logger, 100, 50);
+
+        creator = Helpers.createMockTeacher();
+        course = Helpers.createMockCourse(creator);
+        course.setMintPrice(BigDecimal.TEN);
+        wallets = new HashMap<>();
+        wallets.put(creator.getId(), Helpers.createMockWallet(creator));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dropLaunchService.shutdown();
+    }
+
+    @Test
+    public void submit_shouldThrowException_whenDropIsNotOpen() {
+        User buyer = Helpers.createMockUser(10);
+
+        Assertions.assertThrows(ImpossibleOperationException.class, () -> dropLaunchService.submit(buyer, course));
+    }
+
+    @Test
+    public void open_shouldThrowException_whenUserIsNotCreatorOrTeacher() {
+        User student = Helpers.createMockUser(10);
+
+        Assertions.assertThrows(UnauthorizedOperationException.class, () -> dropLaunchService.open(course, student));
+    }
+
+    @Test
+    public void submit_shouldMintUpToSupply_andRejectTheRest_whenDropIsOversubscribed() throws Exception {
+        List<User> buyers = createBuyers(8);
+        AtomicInteger remaining = stubSupply(5);
+        stubWallets();
+        Mockito.when(walletRepository.withdraw(Mockito.anyInt(), Mockito.any(BigDecimal.class))).thenReturn(1);
+
+        dropLaunchService.open(course, creator);
+        List<CompletableFuture<NFT>> results = buyers.stream()
+                .map(buyer -> dropLaunchService.submit(buyer, course))
+                .collect(Collectors.toList());
+
+        List<NFT> minted = new ArrayList<>();
+        int soldOut = 0;
+        for (CompletableFuture<NFT> result : results) {
+            try {
+                minted.add(result.get(5, TimeUnit.SECONDS));
+            } catch (ExecutionException e) {
+                Assertions.assertTrue(e.getCause() instanceof ImpossibleOperationException);
+                soldOut++;
+            }
+        }
+        DropLaunchModel status = dropLaunchService.getStatus(course.getId());
+
+        ArgumentCaptor<BigDecimal> credited = ArgumentCaptor.forClass(BigDecimal.class);
+        Mockito.verify(creatorRevenueService, Mockito.times((int) status.getBatches())).credit(Mockito.eq(wallets.get(creator.getId())), credited.capture());
+        BigDecimal totalCredited = credited.getAllValues().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(0, remaining.get()),
+                () -> Assertions.assertEquals(5, minted.size()),
+                () -> Assertions.assertEquals(List.of(1, 2, 3, 4, 5), minted.stream().map(NFT::getDropNumber).sorted().collect(Collectors.toList())),
+                () -> Assertions.assertEquals(0, totalCredited.compareTo(BigDecimal.valueOf(50))),
+                () -> Assertions.assertTrue(status.isSoldOut()),
+                () -> Assertions.assertThrows(ImpossibleOperationException.class, () -> dropLaunchService.submit(Helpers.createMockUser(99), course))
+        );
+        Assertions.assertEquals(3, soldOut);
+    }
+
+    @Test
+    public void submit_shouldFailOnlyBuyer_withInsufficientFunds() throws Exception {
+        List<User> buyers = createBuyers(3);
+        stubSupply(10);
+        stubWallets();
+        int brokeWalletId = wallets.get(buyers.get(1).getId()).getId();
+        Mockito.when(walletRepository.withdraw(Mockito.anyInt(), Mockito.any(BigDecimal.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0, Integer.class) == brokeWalletId ? 0 : 1);
+
+        dropLaunchService.open(course, creator);
+        List<CompletableFuture<NFT>> results = buyers.stream()
+                .map(buyer -> dropLaunchService.submit(buyer, course))
+                .collect(Collectors.toList());
+
+        ExecutionException failure = Assertions.assertThrows(ExecutionException.class, () -> results.get(1).get(5, TimeUnit.SECONDS));
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(buyers.get(0), results.get(0).get(5, TimeUnit.SECONDS).getOwner()),
+                () -> Assertions.assertEquals(buyers.get(2), results.get(2).get(5, TimeUnit.SECONDS).getOwner()),
+                () -> Assertions.assertTrue(failure.getCause() instanceof ImpossibleOperationException)
+        );
+    }
+
+    @Test
+    public void submit_shouldChargeCurrentPrice_whenPriceChangesDuringDrop() throws Exception {
+        List<User> buyers = createBuyers(2);
+        stubSupply(10);
+        stubWallets();
+        Mockito.when(walletRepository.withdraw(Mockito.anyInt(), Mockito.any(BigDecimal.class))).thenReturn(1);
+
+        dropLaunchService.open(course, creator);
+        Course updated = Helpers.createMockCourse(creator);
+        updated.setId(course.getId());
+        updated.setMintPrice(BigDecimal.valueOf(20));
+        Mockito.when(courseRepository.findById(course.getId())).thenReturn(Optional.of(updated));
+        for (User buyer : buyers) {
+            dropLaunchService.submit(buyer, course).get(5, TimeUnit.SECONDS);
+        }
+
+        Mockito.verify(walletRepository, Mockito.times(2)).withdraw(Mockito.anyInt(), Mockito.eq(BigDecimal.valueOf(20)));
+        Mockito.verify(walletRepository, Mockito.never()).withdraw(Mockito.anyInt(), Mockito.eq(BigDecimal.TEN));
+    }
+
+    @Test
+    public void submit_shouldRefundAndRejectBuyers_whenRegularMintsTakeSupplyDuringBatch() throws Exception {
+        List<User> buyers = createBuyers(8);
+        AtomicInteger remaining = stubSupply(5);
+        stubWallets();
+        AtomicInteger withdrawals = new AtomicInteger();
+        Mockito.when(walletRepository.withdraw(Mockito.anyInt(), Mockito.any(BigDecimal.class))).thenAnswer(invocation -> {
+            if (withdrawals.getAndIncrement() == 0) {
+                remaining.addAndGet(-2);
+            }
+            return 1;
+        });
+
+        dropLaunchService.open(course, creator);
+        List<CompletableFuture<NFT>> results = buyers.stream()
+                .map(buyer -> dropLaunchService.submit(buyer, course))
+                .collect(Collectors.toList());
+
+        int minted = 0;
+        int soldOut = 0;
+        for (CompletableFuture<NFT> result : results) {
+            try {
+                result.get(5, TimeUnit.SECONDS);
+                minted++;
+            } catch (ExecutionException e) {
+                Assertions.assertTrue(e.getCause() instanceof ImpossibleOperationException);
+                soldOut++;
+            }
+        }
+
+        Mockito.verify(walletRepository, Mockito.times(2)).deposit(Mockito.anyInt(), Mockito.eq(BigDecimal.TEN));
+        Mockito.verify(creatorRevenueService).credit(wallets.get(creator.getId()), BigDecimal.valueOf(30));
+        Assertions.assertEquals(3, minted);
+        Assertions.assertEquals(5, soldOut);
+        Assertions.assertTrue(dropLaunchService.getStatus(course.getId()).isSoldOut());
+    }
+
+    @Test
+    public void close_shouldCompleteEveryQueuedRequest_andRejectLaterRequests() {
+        List<User> buyers = createBuyers(20);
+        stubSupply(100);
+        stubWallets();
+        Mockito.when(walletRepository.withdraw(Mockito.anyInt(), Mockito.any(BigDecimal.class))).thenReturn(1);
+
+        dropLaunchService.open(course, creator);
+        List<CompletableFuture<NFT>> results = buyers.stream()
+                .map(buyer -> dropLaunchService.submit(buyer, course))
+                .collect(Collectors.toList());
+        dropLaunchService.close(course, creator);
+
+        Assertions.assertAll(
+                () -> Assertions.assertTrue(results.stream().allMatch(CompletableFuture::isDone)),
+                () -> Assertions.assertThrows(ImpossibleOperationException.class, () -> dropLaunchService.submit(Helpers.createMockUser(99), course))
+        );
+    }
+
+    private List<User> createBuyers(int count) {
+        List<User> buyers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User buyer = Helpers.createMockUser(10 + i);
+            buyers.add(buyer);
+            wallets.put(buyer.getId(), Helpers.createMockWallet(buyer));
+        }
+        return buyers;
+    }
+
+    private AtomicInteger stubSupply(int supply) {
+        AtomicInteger remaining = new AtomicInteger(supply);
+        AtomicInteger lastDropNumber = new AtomicInteger();
+        Mockito.lenient().when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
+        Mockito.when(nftCourseService.getRemainingMints(course)).thenAnswer(invocation -> remaining.get());
+        Mockito.when(nftCourseService.mintBatch(Mockito.any(Course.class), Mockito.anyList())).thenAnswer(invocation -> {
+            Course minted = invocation.getArgument(0);
+            List<User> owners = invocation.getArgument(1);
+            int count = Math.min(owners.size(), Math.max(remaining.get(), 0));
+            remaining.addAndGet(-count);
+            return owners.subList(0, count).stream()
+                    .map(owner -> new NFT(owner, minted, lastDropNumber.incrementAndGet()))
+                    .collect(Collectors.toList());
+        });
+        return remaining;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubWallets() {
+        Mockito.when(walletRepository.getByOwnerId(creator.getId())).thenReturn(Optional.of(wallets.get(creator.getId())));
+        Mockito.when(walletRepository.getAllByOwnerIdIn(Mockito.anyCollection())).thenAnswer(invocation ->
+                ((Collection<Integer>) invocation.getArgument(0)).stream().map(wallets::get).collect(Collectors.toList()));
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.henrique.virtualteacher.services.Implementation;
+
+import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.exceptions.ImpossibleOperationException;
+import com.henrique.virtualteacher.exceptions.TooManyRequestsException;
+import com.henrique.virtualteacher.exceptions.UnauthorizedOperationException;
+import com.henrique.virtualteacher.models.ImageUploadJobModel;
+import com.henrique.virtualteacher.models.UploadStatus;
+import com.henrique.virtualteacher.services.Helpers;
+import com.henrique.virtualteacher.services.StubImageStore;
+import com.henrique.virtualteacher.services.implementation.ImageUploadServiceImpl;
+import com.henrique.virtualteacher.utils.ImageRenditionCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.util.Set;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(MockitoExtension.class)
+public class ImageUploadServiceTests {
+
+    @Mock
+    Logger logger;
+
+    @TempDir
+    Path renditionDirectory;
+
+    StubImageStore imageStore;
+    ImageUploadServiceImpl imageUploadService;
+    User uploader;
+
+    @BeforeEach
+    public void setUp() {
+        imageStore = new StubImageStore();
+        imageUploadService = new ImageUploadServiceImpl(imageStore, new ImageRenditionCache(renditionDirectory, 10, imageStore, Runnable::run), logger, 1, 1, 30);
+        uploader = Helpers.createMockUser(5);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        imageStore.release();
+        imageUploadService.shutdown();
+    }
+
+    @Test
+    public void upload_shouldReturnJob_beforeImageIsStored() throws Exception {
+        imageStore.hold();
+        CompletableFuture<String> uploaded = new CompletableFuture<>();
+
+        ImageUploadJobModel job = imageUploadService.upload(picture(), uploader, uploaded::complete);
+        Assertions.assertNotEquals(UploadStatus.COMPLETED, imageUploadService.getJob(job.getId(), uploader).getStatus());
+
+        imageStore.release();
+        String url = uploaded.get(5, TimeUnit.SECONDS);
+
+        Assertions.assertAll(
+                () -> Assertions.assertArrayEquals(new byte[]{1, 2, 3}, imageStore.get(url)),
+                () -> Assertions.assertEquals(url, awaitFinished(job.getId()).getUrl()),
+                () -> Assertions.assertEquals(UploadStatus.COMPLETED, awaitFinished(job.getId()).getStatus())
+        );
+    }
+
+    @Test
+    public void upload_shouldListRenditions_whenPictureIsStored() throws Exception {
+        BufferedImage image = new BufferedImage(1000, 500, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+
+        ImageUploadJobModel job = imageUploadService.upload(new MockMultipartFile("file", "picture.png", "image/png", png.toByteArray()), uploader, url -> { });
+
+        Assertions.assertEquals(Set.of("thumbnail", "card", "hero"), awaitFinished(job.getId()).getRenditions().keySet());
+    }
+
+    @Test
+    public void upload_shouldMarkJobFailed_whenImageStoreFails() throws Exception {
+        imageStore.setFailUploads(true);
+
+        ImageUploadJobModel job = imageUploadService.upload(picture(), uploader, url -> Assertions.fail("upload should fail"));
+
+        Assertions.assertEquals(UploadStatus.FAILED, awaitFinished(job.getId()).getStatus());
+    }
+
+    @Test
+    public void upload_shouldRejectUpload_whenQueueIsFull() throws Exception {
+        imageStore.hold();
+        imageUploadService.upload(picture(), uploader, url -> { });
+        imageUploadService.upload(picture(), uploader, url -> { });
+
+        Assertions.assertThrows(TooManyRequestsException.class, () -> imageUploadService.upload(picture(), uploader, url -> { }));
+    }
+
+    @Test
+    public void upload_shouldThrowException_whenFileIsNotAPicture() {
+        MockMultipartFile text = new MockMultipartFile("file", "notes.txt", "text/plain", new byte[]{1});
+
+        Assertions.assertThrows(ImpossibleOperationException.class, () -> imageUploadService.upload(text, uploader, url -> { }));
+    }
+
+    @Test
+    public void getJob_shouldThrowException_whenUserDidNotUpload() throws Exception {
+        ImageUploadJobModel job = imageUploadService.upload(picture(), uploader, url -> { });
+
+        Assertions.assertThrows(UnauthorizedOperationException.class, () -> imageUploadService.getJob(job.getId(), Helpers.createMockUser(6)));
+    }
+
+    private ImageUploadJobModel awaitFinished(String jobId) throws InterruptedException {
+        for (int attempt = 0; attempt < 500; attempt++) {
+            ImageUploadJobModel job = imageUploadService.getJob(jobId, uploader);
+            if (job.getStatus() == UploadStatus.COMPLETED || job.getStatus() == UploadStatus.FAILED) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError(String.format("Upload job %s did not finish", jobId));
+    }
+
+    private static MockMultipartFile picture() {
+        return new MockMultipartFile("file", "picture.png", "image/png", new byte[]{1, 2, 3});
+    }
+
+}
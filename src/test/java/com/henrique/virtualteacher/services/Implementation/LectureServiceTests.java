@@ -12,6 +12,7 @@ import com.henrique.virtualteacher.repositories.LectureRepository;
 import com.henrique.virtualteacher.repositories.UserRepository;
 import com.henrique.virtualteacher.services.Helpers;
 import com.henrique.virtualteacher.services.implementation.LectureServiceImpl;
+import com.henrique.virtualteacher.services.interfaces.CourseProgressService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -34,6 +35,8 @@ public class LectureServiceTests {
     ModelMapper modelMapper;
     @Mock
     UserRepository userRepository;
+    @Mock
+    CourseProgressService courseProgressService;
 
     @InjectMocks
     LectureServiceImpl lectureService;
@@ -202,6 +205,31 @@ public class LectureServiceTests {
 
     }
 
+    @Test
+    public void delete_shouldUpdateProgress_ofUsersWhoCompletedLecture() {
+        User initiator = Helpers.createMockAdmin();
+        Course course = Helpers.createMockCourse();
+        List<Lecture> courseLectures = course.getCourseLectures();
+        Lecture lectureToDelete = courseLectures.get(3);
+        lectureToDelete.setUsersCompleted(new ArrayList<>(List.of(Helpers.createMockUser(21), Helpers.createMockUser(13))));
+
+        lectureService.delete(lectureToDelete, initiator);
+
+        Mockito.verify(courseProgressService).lectureDeleted(course, List.of(21, 13));
+    }
+
+    @Test
+    public void completeLectureForUser_shouldUpdateProgress() {
+        User mockUser = Helpers.createMockUser();
+        Course course = Helpers.createMockCourse();
+        Lecture lecture = course.getCourseLectures().get(0);
+        Helpers.enrollUser(mockUser, course);
+
+        lectureService.completeLectureForUser(mockUser, lecture);
+
+        Mockito.verify(courseProgressService).lectureCompleted(mockUser, lecture);
+    }
+
     @Test
     public void delete_shouldCallRepository_andClearUsersCompleted() {
         User initiator = Helpers.createMockTeacher();
@@ -226,7 +254,7 @@ public class LectureServiceTests {
         User mockUser = Helpers.createMockUser();
         Course course = Helpers.createMockCourse();
         Lecture lecture = Helpers.createMockLecture(course);
-        mockUser.purchaseCourse(course);
+        Helpers.enrollUser(mockUser, course);
 
         lectureService.completeLectureForUser(mockUser, lecture);
 
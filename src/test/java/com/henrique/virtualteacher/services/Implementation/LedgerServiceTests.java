@@ -0,0 +1,162 @@
+package com.henrique.virtualteacher.services.Implementation;
+
+import com.henrique.virtualteacher.entities.LedgerPosting;
+import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.entities.Wallet;
+import com.henrique.virtualteacher.entities.WalletBalanceSnapshot;
+import com.henrique.virtualteacher.models.LedgerVerificationModel;
+import com.henrique.virtualteacher.models.WalletBalanceModel;
+import com.henrique.virtualteacher.repositories.LedgerPostingRepository;
+import com.henrique.virtualteacher.repositories.WalletBalanceSnapshotRepository;
+import com.henrique.virtualteacher.repositories.WalletRepository;
+import com.henrique.virtualteacher.services.Helpers;
+import com.henrique.virtualteacher.services.implementation.LedgerServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+public class LedgerServiceTests {
+
+    @Mock
+    LedgerPostingRepository postingRepository;
+    @Mock
+    WalletBalanceSnapshotRepository snapshotRepository;
+    @Mock
+    WalletRepository walletRepository;
+    @Mock
+    Logger logger;
+
+    LedgerServiceImpl ledgerService;
+
+    @BeforeEach
+    public void setUp() {
+        ledgerService = new LedgerServiceImpl(postingRepository, snapshotRepository, walletRepository, logger);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void recordTransfer_shouldAppend_balancedPostingPair() {
+        Wallet sender = createWallet(1, 21);
+        Wallet recipient = createWallet(2, 99);
+
+        ledgerService.recordTransfer(sender, recipient, BigDecimal.valueOf(40), null);
+
+        ArgumentCaptor<List<LedgerPosting>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(postingRepository).saveAll(captor.capture());
+        List<LedgerPosting> postings = captor.getValue();
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(2, postings.size()),
+                () -> Assertions.assertEquals(postings.get(0).getEntryId(), postings.get(1).getEntryId()),
+                () -> Assertions.assertEquals(1, postings.get(0).getWalletId()),
+                () -> Assertions.assertEquals(BigDecimal.valueOf(-40), postings.get(0).getAmount()),
+                () -> Assertions.assertEquals(2, postings.get(1).getWalletId()),
+                () -> Assertions.assertEquals(BigDecimal.valueOf(40), postings.get(1).getAmount())
+        );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void recordDeposit_shouldDebit_externalAccount() {
+        Wallet wallet = createWallet(3, 21);
+
+        ledgerService.recordDeposit(wallet, BigDecimal.valueOf(25), null);
+
+        ArgumentCaptor<List<LedgerPosting>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(postingRepository).saveAll(captor.capture());
+
+        Assertions.assertEquals(LedgerPosting.EXTERNAL_ACCOUNT_ID, captor.getValue().get(0).getWalletId());
+        Assertions.assertEquals(3, captor.getValue().get(1).getWalletId());
+    }
+
+    @Test
+    public void getBalance_shouldReadSnapshotAndPostingTail_inOneQuery() {
+        Mockito.when(postingRepository.getBalance(1)).thenReturn(BigDecimal.valueOf(70));
+
+        Assertions.assertEquals(BigDecimal.valueOf(70), ledgerService.getBalance(1));
+        Mockito.verifyNoInteractions(snapshotRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void checkpoint_shouldFoldPostingsAfterHighWaterId_intoSnapshots() {
+        WalletBalanceSnapshot existing = new WalletBalanceSnapshot(1);
+        existing.apply(BigDecimal.valueOf(100), 3);
+
+        Mockito.when(snapshotRepository.findLastPostingId()).thenReturn(3L);
+        Mockito.when(postingRepository.findLastId()).thenReturn(5L);
+        Mockito.when(postingRepository.sumByWalletInRange(3, 5)).thenReturn(List.of(
+                new WalletBalanceModel(1, BigDecimal.valueOf(-20)),
+                new WalletBalanceModel(2, BigDecimal.valueOf(20))));
+        Mockito.when(snapshotRepository.findAllById(List.of(1, 2))).thenReturn(List.of(existing));
+
+        int updated = ledgerService.checkpoint();
+
+        ArgumentCaptor<Iterable<WalletBalanceSnapshot>> captor = ArgumentCaptor.forClass(Iterable.class);
+        Mockito.verify(snapshotRepository).saveAll(captor.capture());
+        List<WalletBalanceSnapshot> saved = new ArrayList<>();
+        captor.getValue().forEach(saved::add);
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(2, updated),
+                () -> Assertions.assertEquals(BigDecimal.valueOf(80), existing.getBalance()),
+                () -> Assertions.assertTrue(saved.stream().allMatch(snapshot -> snapshot.getLastPostingId() == 5)),
+                () -> Assertions.assertTrue(saved.stream().anyMatch(snapshot -> snapshot.getWalletId() == 2
+                        && snapshot.getBalance().compareTo(BigDecimal.valueOf(20)) == 0))
+        );
+    }
+
+    @Test
+    public void checkpoint_shouldNotWrite_whenNoPostingIsAfterHighWaterId() {
+        Mockito.when(snapshotRepository.findLastPostingId()).thenReturn(5L);
+        Mockito.when(postingRepository.findLastId()).thenReturn(5L);
+
+        Assertions.assertEquals(0, ledgerService.checkpoint());
+        Mockito.verify(snapshotRepository, Mockito.never()).saveAll(Mockito.any());
+    }
+
+    @Test
+    public void verify_shouldReportWallets_thatDoNotMatchTheLedger() {
+        WalletBalanceSnapshot snapshot = new WalletBalanceSnapshot(1);
+        snapshot.apply(BigDecimal.valueOf(60), 10);
+
+        Mockito.when(postingRepository.sumAll()).thenReturn(BigDecimal.ZERO);
+        Mockito.when(snapshotRepository.findLastPostingId()).thenReturn(10L);
+        Mockito.when(postingRepository.sumByWalletInRange(0, 10)).thenReturn(List.of(new WalletBalanceModel(1, BigDecimal.valueOf(50))));
+        Mockito.when(snapshotRepository.findAll()).thenReturn(List.of(snapshot));
+        Mockito.when(postingRepository.sumAllByWallet()).thenReturn(List.of(
+                new WalletBalanceModel(1, BigDecimal.valueOf(50)),
+                new WalletBalanceModel(2, BigDecimal.valueOf(30))));
+        Mockito.when(walletRepository.findAllBalances()).thenReturn(List.of(
+                new WalletBalanceModel(1, BigDecimal.valueOf(50)),
+                new WalletBalanceModel(2, BigDecimal.valueOf(35))));
+
+        LedgerVerificationModel report = ledgerService.verify();
+
+        Assertions.assertAll(
+                () -> Assertions.assertTrue(report.isBalanced()),
+                () -> Assertions.assertFalse(report.isConsistent()),
+                () -> Assertions.assertEquals(List.of(1), report.getSnapshotMismatches()),
+                () -> Assertions.assertEquals(List.of(2), report.getWalletMismatches())
+        );
+    }
+
+    private Wallet createWallet(int walletId, int ownerId) {
+        User owner = Helpers.createMockUser(ownerId);
+        Wallet wallet = Helpers.createMockWallet(owner);
+        wallet.setId(walletId);
+        return wallet;
+    }
+
+}
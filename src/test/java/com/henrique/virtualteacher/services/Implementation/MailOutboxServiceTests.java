@@ -0,0 +1,172 @@
+package com.henrique.virtualteacher.services.Implementation;
+
+import com.henrique.virtualteacher.entities.OutboundMail;
+import com.henrique.virtualteacher.models.MailOutboxMetricsModel;
+import com.henrique.virtualteacher.models.MailStatus;
+import com.henrique.virtualteacher.repositories.MailOutboxRepository;
+import com.henrique.virtualteacher.services.implementation.MailOutboxServiceImpl;
+import com.henrique.virtualteacher.utils.FakeSmtpServer;
+import com.henrique.virtualteacher.utils.MailSender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@ExtendWith(MockitoExtension.class)
+public class MailOutboxServiceTests {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    MailOutboxRepository mailOutboxRepository;
+    @Mock
+    Logger logger;
+
+    FakeSmtpServer smtpServer;
+    MailOutboxServiceImpl mailOutboxService;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        smtpServer = new FakeSmtpServer();
+        mailOutboxService = createService(smtpServer.getPort());
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        mailOutboxService.shutdown();
+        smtpServer.close();
+    }
+
+    @Test
+    public void enqueue_shouldStoreMail_withoutContactingSmtpServer() {
+        Mockito.when(mailOutboxRepository.save(Mockito.any(OutboundMail.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        mailOutboxService.enqueue(createMessage("student@gmail.com"));
+
+        Mockito.verify(mailOutboxRepository).save(Mockito.argThat(mail -> mail.getStatus() == MailStatus.PENDING
+                && mail.getRecipient().equals("student@gmail.com")));
+        Assertions.assertEquals(0, smtpServer.getConnections());
+    }
+
+    @Test
+    public void dispatchPendingMails_shouldSendBatch_overSingleConnection() {
+        List<OutboundMail> mails = createClaimedMails("first@gmail.com", "second@gmail.com", "third@gmail.com");
+
+        int dispatched = mailOutboxService.dispatchPendingMails();
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(3, dispatched),
+                () -> Assertions.assertEquals(1, smtpServer.getConnections()),
+                () -> Assertions.assertEquals(List.of("first@gmail.com", "second@gmail.com", "third@gmail.com"), smtpServer.getDeliveredRecipients()),
+                () -> Assertions.assertTrue(mails.stream().allMatch(mail -> mail.getStatus() == MailStatus.SENT)),
+                () -> Assertions.assertEquals(3, mailOutboxService.getMetrics().getSentMails())
+        );
+        Mockito.verify(mailOutboxRepository).saveAll(mails);
+    }
+
+    @Test
+    public void dispatchPendingMails_shouldScheduleRetry_forRejectedMail_only() {
+        smtpServer.reject("second@gmail.com");
+        List<OutboundMail> mails = createClaimedMails("first@gmail.com", "second@gmail.com", "third@gmail.com");
+
+        mailOutboxService.dispatchPendingMails();
+
+        OutboundMail rejected = mails.get(1);
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(MailStatus.SENT, mails.get(0).getStatus()),
+                () -> Assertions.assertEquals(MailStatus.PENDING, rejected.getStatus()),
+                () -> Assertions.assertTrue(rejected.getNextAttemptAt().isAfter(LocalDateTime.now())),
+                () -> Assertions.assertNotNull(rejected.getLastError()),
+                () -> Assertions.assertEquals(MailStatus.SENT, mails.get(2).getStatus()),
+                () -> Assertions.assertEquals(1, mailOutboxService.getMetrics().getRetriedMails())
+        );
+    }
+
+    @Test
+    public void dispatchPendingMails_shouldGiveUp_after_maxAttempts() {
+        smtpServer.reject("student@gmail.com");
+        List<OutboundMail> mails = createClaimedMails("student@gmail.com");
+        mails.get(0).setAttempts(MAX_ATTEMPTS);
+
+        mailOutboxService.dispatchPendingMails();
+
+        MailOutboxMetricsModel metrics = mailOutboxService.getMetrics();
+        Assertions.assertEquals(MailStatus.FAILED, mails.get(0).getStatus());
+        Assertions.assertEquals(1, metrics.getAbandonedMails());
+    }
+
+    @Test
+    public void dispatchPendingMails_shouldRetryWholeBatch_when_serverIsDown() throws IOException {
+        mailOutboxService.shutdown();
+        smtpServer.close();
+        mailOutboxService = createService(smtpServer.getPort());
+        List<OutboundMail> mails = createClaimedMails("first@gmail.com", "second@gmail.com");
+
+        mailOutboxService.dispatchPendingMails();
+
+        Assertions.assertTrue(mails.stream().allMatch(mail -> mail.getStatus() == MailStatus.PENDING && mail.getLastError() != null));
+        Assertions.assertEquals(2, mailOutboxService.getMetrics().getRetriedMails());
+    }
+
+    @Test
+    public void dispatchPendingMails_shouldSkipMails_claimedByAnotherDispatcher() {
+        Mockito.when(mailOutboxRepository.findDueIds(Mockito.eq(MailStatus.PENDING), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(1));
+        Mockito.when(mailOutboxRepository.claim(Mockito.eq(1), Mockito.any(), Mockito.any())).thenReturn(0);
+
+        Assertions.assertEquals(0, mailOutboxService.dispatchPendingMails());
+        Mockito.verify(mailOutboxRepository, Mockito.never()).findAllById(Mockito.any());
+    }
+
+    private List<OutboundMail> createClaimedMails(String... recipients) {
+        List<OutboundMail> mails = new ArrayList<>();
+        for (int i = 0; i < recipients.length; i++) {
+            OutboundMail mail = new OutboundMail(createMessage(recipients[i]));
+            mail.setId(i + 1);
+            mail.setAttempts(1);
+            mails.add(mail);
+        }
+        List<Integer> ids = mails.stream().map(OutboundMail::getId).collect(Collectors.toList());
+
+        Mockito.when(mailOutboxRepository.findDueIds(Mockito.eq(MailStatus.PENDING), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class)))
+                .thenReturn(ids);
+        Mockito.when(mailOutboxRepository.claim(Mockito.anyInt(), Mockito.any(), Mockito.any())).thenReturn(1);
+        Mockito.when(mailOutboxRepository.findAllById(ids)).thenReturn(mails);
+        return mails;
+    }
+
+    private SimpleMailMessage createMessage(String recipient) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@virtual-teacher.com");
+        message.setTo(recipient);
+        message.setSubject("Virtual-Teacher Account Verification");
+        message.setText("Hello");
+        return message;
+    }
+
+    private MailOutboxServiceImpl createService(int port) {
+        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost("localhost");
+        javaMailSender.setPort(port);
+        javaMailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+        javaMailSender.getJavaMailProperties().put("mail.smtp.timeout", "2000");
+
+        return new MailOutboxServiceImpl(mailOutboxRepository, new MailSender(javaMailSender), logger,
+                2, 100, 20, MAX_ATTEMPTS, 30, 300);
+    }
+
+}
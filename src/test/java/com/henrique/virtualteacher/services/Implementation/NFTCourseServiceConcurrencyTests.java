@@ -0,0 +1,191 @@
+package com.henrique.virtualteacher.services.Implementation;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.entities.NFT;
+import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.exceptions.ImpossibleOperationException;
+import com.henrique.virtualteacher.repositories.CourseRepository;
+import com.henrique.virtualteacher.repositories.NFTCourseRepository;
+import com.henrique.virtualteacher.repositories.UserRepository;
+import com.henrique.virtualteacher.services.implementation.NFTCourseServiceImpl;
+import com.henrique.virtualteacher.services.interfaces.CourseRankingService;
+import com.henrique.virtualteacher.services.interfaces.SuggestionService;
+import com.henrique.virtualteacher.utils.CourseCatalogCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@Import(NFTCourseServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class NFTCourseServiceConcurrencyTests {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    NFTCourseServiceImpl nftCourseService;
+    @Autowired
+    NFTCourseRepository nftCourseRepository;
+    @Autowired
+    CourseRepository courseRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    Logger logger;
+    @MockBean
+    CourseRankingService courseRankingService;
+    @MockBean
+    SuggestionService suggestionService;
+    @MockBean
+    CourseCatalogCache courseCatalogCache;
+
+    /**
+     * Course.nfts is mapped through a join table, so the generated test schema makes nft_courses.course_id unique
+     * and nft_courses.id a foreign key to courses, neither exists in the schema from database/CreateSql.
+     * The generated constraints of the table are dropped, the counters under test do not depend on them.
+     */
+    @BeforeEach
+    public void dropGeneratedJoinTableConstraints() {
+        jdbcTemplate.queryForList("select constraint_name from information_schema.constraints " +
+                        "where table_name = 'NFT_COURSES' and constraint_type <> 'PRIMARY KEY'", String.class)
+                .forEach(constraint -> jdbcTemplate.execute("alter table nft_courses drop constraint " + constraint));
+        jdbcTemplate.queryForList("select distinct index_name from information_schema.indexes " +
+                        "where table_name = 'NFT_COURSES' and non_unique = false and primary_key = false", String.class)
+                .forEach(index -> jdbcTemplate.execute("drop index " + index));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        nftCourseRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void mintNFT_shouldHandOutUniqueDropNumbers_andEnforceSupply_onHotDrop() throws Exception {
+        User buyer = createUser();
+        Course course = createCourse(buyer, 150);
+
+        List<Callable<NFT>> mints = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            mints.add(() -> tryMint(buyer, course));
+        }
+
+        List<NFT> minted = runInParallel(mints);
+
+        Set<Integer> dropNumbers = minted.stream().map(NFT::getDropNumber).collect(Collectors.toCollection(TreeSet::new));
+        Set<Integer> expected = IntStream.rangeClosed(1, 150).boxed().collect(Collectors.toCollection(TreeSet::new));
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(150, minted.size()),
+                () -> Assertions.assertEquals(expected, dropNumbers),
+                () -> Assertions.assertEquals(150, courseRepository.findById(course.getId()).orElseThrow().getMintedCount()),
+                () -> Assertions.assertEquals(150, nftCourseRepository.getAllByCourseId(course.getId()).size())
+        );
+    }
+
+    @Test
+    public void mintNFT_shouldNotReuseDropNumber_afterMintIsReleased() {
+        User buyer = createUser();
+        Course course = createCourse(buyer, 2);
+
+        nftCourseService.mintNFT(buyer, course);
+        nftCourseService.mintNFT(buyer, course);
+        Assertions.assertThrows(ImpossibleOperationException.class, () -> nftCourseService.mintNFT(buyer, course));
+
+        courseRepository.releaseMint(course.getId());
+        NFT reminted = nftCourseService.mintNFT(buyer, course);
+
+        Assertions.assertEquals(3, reminted.getDropNumber());
+    }
+
+    @Test
+    public void mintBatch_shouldMintForFirstPurchasers_whenSupplyWasTakenMeanwhile() {
+        User buyer = createUser();
+        User lateBuyer = createUser("late");
+        Course course = createCourse(buyer, 4);
+        nftCourseService.mintNFT(buyer, course);
+        nftCourseService.mintNFT(buyer, course);
+
+        List<NFT> minted = nftCourseService.mintBatch(course, List.of(buyer, buyer, lateBuyer));
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(List.of(3, 4), minted.stream().map(NFT::getDropNumber).collect(Collectors.toList())),
+                () -> Assertions.assertTrue(minted.stream().noneMatch(nft -> nft.getOwner().getId() == lateBuyer.getId())),
+                () -> Assertions.assertTrue(nftCourseService.mintBatch(course, List.of(lateBuyer)).isEmpty()),
+                () -> Assertions.assertEquals(4, courseRepository.findById(course.getId()).orElseThrow().getMintedCount())
+        );
+    }
+
+    private NFT tryMint(User buyer, Course course) {
+        try {
+            return nftCourseService.mintNFT(buyer, course);
+        } catch (ImpossibleOperationException e) {
+            return null;
+        }
+    }
+
+    private List<NFT> runInParallel(List<Callable<NFT>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<NFT> minted = new ArrayList<>();
+            for (Future<NFT> result : executor.invokeAll(tasks)) {
+                if (result.get() != null) {
+                    minted.add(result.get());
+                }
+            }
+            return minted;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private User createUser() {
+        return createUser("buyer");
+    }
+
+    private User createUser(String username) {
+        User user = new User();
+        user.setEmail(username + "@mail.com");
+        user.setUsername(username);
+        user.setEnabled(true);
+        return userRepository.save(user);
+    }
+
+    private Course createCourse(User creator, int availableMints) {
+        Course course = new Course();
+        course.setTitle("Hot drop");
+        course.setCreator(creator);
+        course.setEnabled(true);
+        course.setMintPrice(BigDecimal.ONE);
+        course.setStartingDate(LocalDate.now());
+        course.setAvailableMints(availableMints);
+        return courseRepository.save(course);
+    }
+
+}
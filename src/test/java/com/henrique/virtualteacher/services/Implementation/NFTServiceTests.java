@@ -9,6 +9,9 @@ import com.henrique.virtualteacher.exceptions.UnauthorizedOperationException;
 import com.henrique.virtualteacher.repositories.NFTCourseRepository;
 import com.henrique.virtualteacher.services.Helpers;
 import com.henrique.virtualteacher.services.implementation.NFTCourseServiceImpl;
+import com.henrique.virtualteacher.services.interfaces.CourseRankingService;
+import com.henrique.virtualteacher.services.interfaces.SuggestionService;
+import com.henrique.virtualteacher.utils.CourseCatalogCache;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,6 +29,13 @@ public class NFTServiceTests {
     @Mock
     NFTCourseRepository NFTCourseRepository;
 
+    @Mock
+    CourseRankingService courseRankingService;
+    @Mock
+    SuggestionService suggestionService;
+    @Mock
+    CourseCatalogCache courseCatalogCache;
+
     @InjectMocks
     NFTCourseServiceImpl courseEnrollmentService;
 
@@ -180,7 +190,7 @@ public class NFTServiceTests {
         User mockUser = Helpers.createMockUser();
         Course mockCourse = Helpers.createMockCourse();
 
-        mockUser.purchaseCourse(mockCourse);
+        Helpers.enrollUser(mockUser, mockCourse);
 
         Assertions.assertThrows(ImpossibleOperationException.class, () -> courseEnrollmentService.purchase(mockUser, mockCourse));
     }
@@ -211,7 +221,7 @@ public class NFTServiceTests {
         User mockUser = Helpers.createMockUser();
         Course mockCourse = Helpers.createMockCourse();
         NFT NFT = Helpers.createMockCourseEnrollment(mockUser, mockCourse);
-        mockUser.purchaseCourse(mockCourse);
+        Helpers.enrollUser(mockUser, mockCourse);
 
         Mockito.when(NFTCourseRepository.getByOwnerIdAndCourseId(mockUser.getId(), mockCourse.getId())).thenReturn(Optional.of(NFT));
 
@@ -1,14 +1,19 @@
 package com.henrique.virtualteacher.services.Implementation;
 
 import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.entities.CourseRatingSummary;
 import com.henrique.virtualteacher.entities.Rating;
 import com.henrique.virtualteacher.entities.User;
 import com.henrique.virtualteacher.exceptions.EntityNotFoundException;
 import com.henrique.virtualteacher.exceptions.ImpossibleOperationException;
 import com.henrique.virtualteacher.exceptions.UnauthorizedOperationException;
+import com.henrique.virtualteacher.models.RatingAggregate;
+import com.henrique.virtualteacher.repositories.CourseRatingSummaryRepository;
 import com.henrique.virtualteacher.repositories.RatingRepository;
 import com.henrique.virtualteacher.services.Helpers;
 import com.henrique.virtualteacher.services.implementation.RatingServiceImpl;
+import com.henrique.virtualteacher.services.interfaces.CourseRankingService;
+import com.henrique.virtualteacher.utils.CourseCatalogCache;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,8 +22,14 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @ExtendWith(MockitoExtension.class)
 public class RatingServiceTests {
@@ -26,7 +37,17 @@ public class RatingServiceTests {
     @Mock
     RatingRepository ratingRepository;
     @Mock
+    CourseRatingSummaryRepository ratingSummaryRepository;
+    @Mock
     ModelMapper modelMapper;
+    @Mock
+    Logger logger;
+    @Mock
+    CourseRankingService courseRankingService;
+    @Mock
+    CourseCatalogCache courseCatalogCache;
+    @Mock
+    PlatformTransactionManager transactionManager;
 
     @InjectMocks
     RatingServiceImpl ratingService;
@@ -63,15 +84,137 @@ public class RatingServiceTests {
 
     @Test
     public void getAverageRatingForCourse_shouldReturn_correctNumber() {
-        List<Rating> ratings = Helpers.createMockRatingList();
-        ratings.get(0).setRating(4);
-        ratings.get(1).setRating(3);
         Course mockCourse = Helpers.createMockCourse();
-        mockCourse.setRatings(ratings);
 
-        Mockito.when(ratingRepository.getAllByCourseId(Helpers.createMockCourse().getId())).thenReturn(ratings);
+        Mockito.when(ratingSummaryRepository.findByCourseId(mockCourse.getId()))
+                .thenReturn(Optional.of(new CourseRatingSummary(mockCourse.getId(), 5, 22)));
 
         Assertions.assertEquals(ratingService.getAverageRatingForCourse(mockCourse),4.4);
+        Mockito.verify(ratingRepository, Mockito.never()).getAllByCourseId(mockCourse.getId());
+    }
+
+    @Test
+    public void getAverageRatingForCourse_shouldReturnZero_whenCourseHasNoRatings() {
+        Course mockCourse = Helpers.createMockCourse();
+
+        Mockito.when(ratingSummaryRepository.findByCourseId(mockCourse.getId())).thenReturn(Optional.empty());
+
+        Assertions.assertEquals(0, ratingService.getAverageRatingForCourse(mockCourse));
+    }
+
+    @Test
+    public void getAverageRatingsForCourses_shouldUseSingleQuery() {
+        List<Course> courses = Helpers.createMockCourseList();
+        for (int i = 0; i < courses.size(); i++) {
+            courses.get(i).setId(i + 1);
+        }
+        Mockito.when(ratingSummaryRepository.findAllByCourseIdIn(Mockito.anyCollection()))
+                .thenReturn(List.of(new CourseRatingSummary(1, 2, 9)));
+
+        Map<Integer, Double> averageRatings = ratingService.getAverageRatingsForCourses(courses);
+
+        Mockito.verify(ratingSummaryRepository, Mockito.times(1)).findAllByCourseIdIn(Mockito.anyCollection());
+        Mockito.verify(ratingRepository, Mockito.never()).getAllByCourseId(Mockito.anyInt());
+        Assertions.assertEquals(4.5, averageRatings.get(1));
+        Assertions.assertEquals(0.0, averageRatings.get(5));
+    }
+
+    @Test
+    public void getAverageRatingsForCourses_shouldNotQuery_whenCourseListIsEmpty() {
+        Map<Integer, Double> averageRatings = ratingService.getAverageRatingsForCourses(List.of());
+
+        Mockito.verifyNoInteractions(ratingSummaryRepository);
+        Assertions.assertTrue(averageRatings.isEmpty());
+    }
+
+    @Test
+    public void create_shouldUpdateRatingSummary() {
+        User mockUser = Helpers.createMockUser();
+        Course course = Helpers.createMockCourse();
+        mockUser.getNftCourses().add(Helpers.createMockCourseEnrollment(mockUser, course));
+
+        Mockito.when(ratingRepository.getAllByUserId(mockUser.getId())).thenReturn(new ArrayList<>());
+        Mockito.when(ratingSummaryRepository.applyDelta(course.getId(), 1, 4)).thenReturn(1);
+
+        ratingService.create(course, mockUser, 4);
+
+        Mockito.verify(ratingSummaryRepository, Mockito.times(1)).applyDelta(course.getId(), 1, 4);
+        Mockito.verify(ratingSummaryRepository, Mockito.never()).save(Mockito.any(CourseRatingSummary.class));
+    }
+
+    @Test
+    public void create_shouldInsertRatingSummary_whenCourseHasNoSummary() {
+        User mockUser = Helpers.createMockUser();
+        Course course = Helpers.createMockCourse();
+        mockUser.getNftCourses().add(Helpers.createMockCourseEnrollment(mockUser, course));
+
+        Mockito.when(ratingRepository.getAllByUserId(mockUser.getId())).thenReturn(new ArrayList<>());
+        Mockito.when(ratingSummaryRepository.applyDelta(course.getId(), 1, 4)).thenReturn(0, 1);
+
+        ratingService.create(course, mockUser, 4);
+
+        Mockito.verify(ratingSummaryRepository, Mockito.times(1)).save(Mockito.argThat(summary -> summary.getRatingCount() == 0));
+        Mockito.verify(ratingSummaryRepository, Mockito.times(2)).applyDelta(course.getId(), 1, 4);
+    }
+
+    @Test
+    public void create_shouldCountRating_whenConcurrentRatingCreatedSummaryFirst() {
+        User mockUser = Helpers.createMockUser();
+        Course course = Helpers.createMockCourse();
+        mockUser.getNftCourses().add(Helpers.createMockCourseEnrollment(mockUser, course));
+
+        Mockito.when(ratingRepository.getAllByUserId(mockUser.getId())).thenReturn(new ArrayList<>());
+        Mockito.when(ratingSummaryRepository.applyDelta(course.getId(), 1, 4)).thenReturn(0, 1);
+        Mockito.when(ratingSummaryRepository.save(Mockito.any(CourseRatingSummary.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        Assertions.assertDoesNotThrow(() -> ratingService.create(course, mockUser, 4));
+        Mockito.verify(ratingSummaryRepository, Mockito.times(2)).applyDelta(course.getId(), 1, 4);
+    }
+
+    @Test
+    public void update_shouldApplyRatingDifference_toRatingSummary() {
+        Rating rating = Helpers.createMockRating();
+        Mockito.when(ratingSummaryRepository.applyDelta(rating.getCourse().getId(), 0, -3)).thenReturn(1);
+
+        ratingService.update(rating, 2, rating.getUser());
+
+        Mockito.verify(ratingSummaryRepository, Mockito.times(1)).applyDelta(rating.getCourse().getId(), 0, -3);
+        Mockito.verify(courseRankingService, Mockito.times(1)).courseRated(rating.getCourse().getId(), 0, -3);
+    }
+
+    @Test
+    public void delete_shouldRemoveRating_fromRatingSummary() {
+        Rating rating = Helpers.createMockRating();
+        Mockito.when(ratingSummaryRepository.applyDelta(rating.getCourse().getId(), -1, -5)).thenReturn(1);
+
+        ratingService.delete(rating, rating.getUser());
+
+        Mockito.verify(ratingSummaryRepository, Mockito.times(1)).applyDelta(rating.getCourse().getId(), -1, -5);
+        Mockito.verify(courseRankingService, Mockito.times(1)).courseRated(rating.getCourse().getId(), -1, -5);
+    }
+
+    @Test
+    public void rebuildRatingSummaries_shouldCorrectDriftedAndMissingSummaries() {
+        RatingAggregate firstCourse = Mockito.mock(RatingAggregate.class);
+        Mockito.when(firstCourse.getCourseId()).thenReturn(1);
+        Mockito.when(firstCourse.getRatingCount()).thenReturn(3L);
+        Mockito.when(firstCourse.getRatingSum()).thenReturn(12L);
+        RatingAggregate secondCourse = Mockito.mock(RatingAggregate.class);
+        Mockito.when(secondCourse.getCourseId()).thenReturn(2);
+        Mockito.when(secondCourse.getRatingCount()).thenReturn(1L);
+        Mockito.when(secondCourse.getRatingSum()).thenReturn(5L);
+
+        CourseRatingSummary drifted = new CourseRatingSummary(1, 4, 15);
+        CourseRatingSummary orphaned = new CourseRatingSummary(3, 2, 7);
+
+        Mockito.when(ratingRepository.getAggregatesForAllCourses()).thenReturn(List.of(firstCourse, secondCourse));
+        Mockito.when(ratingSummaryRepository.findAll()).thenReturn(List.of(drifted, orphaned));
+
+        Assertions.assertEquals(3, ratingService.rebuildRatingSummaries());
+        Assertions.assertEquals(3, drifted.getRatingCount());
+        Assertions.assertEquals(12, drifted.getRatingSum());
+        Assertions.assertEquals(0, orphaned.getRatingCount());
     }
 
     @Test
@@ -0,0 +1,113 @@
+package com.henrique.virtualteacher.services.Implementation;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.models.EnumSuggestionType;
+import com.henrique.virtualteacher.models.SuggestionModel;
+import com.henrique.virtualteacher.models.SuggestionSource;
+import com.henrique.virtualteacher.repositories.CourseRepository;
+import com.henrique.virtualteacher.repositories.UserRepository;
+import com.henrique.virtualteacher.services.Helpers;
+import com.henrique.virtualteacher.services.implementation.SuggestionServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@ExtendWith(MockitoExtension.class)
+public class SuggestionServiceTests {
+
+    @Mock
+    CourseRepository courseRepository;
+    @Mock
+    UserRepository userRepository;
+    @Mock
+    Logger logger;
+
+    SuggestionServiceImpl suggestionService;
+
+    @BeforeEach
+    public void setUp() {
+        suggestionService = new SuggestionServiceImpl(courseRepository, userRepository, logger, 10);
+    }
+
+    @Test
+    public void suggest_shouldMergeCoursesAndUsers_byPopularity() {
+        Mockito.when(courseRepository.getSuggestionSources()).thenReturn(List.of(source(1, "Spring Security", 3), source(2, "Python", 9)));
+        Mockito.when(userRepository.getSuggestionSources()).thenReturn(List.of(source(7, "springfield", 5)));
+        suggestionService.rebuild();
+
+        List<SuggestionModel> suggestions = suggestionService.suggest("spr", Optional.empty(), 10);
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(List.of("springfield", "Spring Security"), texts(suggestions)),
+                () -> Assertions.assertEquals(EnumSuggestionType.USER, suggestions.get(0).getType()),
+                () -> Assertions.assertEquals(List.of("Spring Security"), texts(suggestionService.suggest("spr", Optional.of(EnumSuggestionType.COURSE), 10))),
+                () -> Assertions.assertEquals(3, suggestionService.getMetrics().getCourseEntries() + suggestionService.getMetrics().getUserEntries())
+        );
+    }
+
+    @Test
+    public void courseMinted_shouldRaiseCourseAndCreator() {
+        User creator = Helpers.createMockUser(7);
+        creator.setUsername("teacher");
+        Course course = Helpers.createMockCourse(creator);
+        Course other = Helpers.createMockCourse(creator);
+        other.setId(2);
+        other.setTitle("info security");
+        suggestionService.courseChanged(course);
+        suggestionService.courseChanged(other);
+        suggestionService.userChanged(creator);
+
+        suggestionService.courseMinted(other, 2);
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(List.of("info security", "info"), texts(suggestionService.suggest("inf", Optional.empty(), 10))),
+                () -> Assertions.assertEquals(2, suggestionService.suggest("teach", Optional.of(EnumSuggestionType.USER), 10).get(0).getPopularity())
+        );
+    }
+
+    @Test
+    public void userChanged_shouldDropUnverifiedUser() {
+        User user = Helpers.createMockUser(3);
+        user.setUsername("henrique");
+        suggestionService.userChanged(user);
+
+        user.setEnabled(false);
+        suggestionService.userChanged(user);
+
+        Assertions.assertTrue(suggestionService.suggest("hen", Optional.empty(), 10).isEmpty());
+    }
+
+    private static List<String> texts(List<SuggestionModel> suggestions) {
+        return suggestions.stream().map(SuggestionModel::getText).collect(Collectors.toList());
+    }
+
+    private static SuggestionSource source(int id, String text, long popularity) {
+        return new SuggestionSource() {
+            @Override
+            public int getId() {
+                return id;
+            }
+
+            @Override
+            public String getText() {
+                return text;
+            }
+
+            @Override
+            public long getPopularity() {
+                return popularity;
+            }
+        };
+    }
+
+}
@@ -8,8 +8,8 @@ import com.henrique.virtualteacher.models.VerificationTokenModel;
 import com.henrique.virtualteacher.repositories.VerificationTokenRepository;
 import com.henrique.virtualteacher.services.Helpers;
 import com.henrique.virtualteacher.services.implementation.VerificationTokenServiceImpl;
+import com.henrique.virtualteacher.services.interfaces.MailOutboxService;
 import com.henrique.virtualteacher.services.interfaces.UserService;
-import com.henrique.virtualteacher.utils.MailSender;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -42,7 +42,7 @@ public class TokenServiceTests {
     @Mock
     HttpServletRequest request;
     @Mock
-    MailSender mailSender;
+    MailOutboxService mailOutboxService;
 
     @InjectMocks
     VerificationTokenServiceImpl tokenService;
@@ -160,16 +160,13 @@ public class TokenServiceTests {
         User loggedUser = Helpers.createMockUser(21);
         VerificationToken verificationToken = Helpers.createMockVerificationToken(loggedUser);
 
-        SimpleMailMessage mailMessage = Mockito.mock(SimpleMailMessage.class);
         HttpServletRequest mockServlet = Mockito.mock(HttpServletRequest.class);
 
-        MailSender mailSender = Mockito.spy(MailSender.class);
-
-
         Mockito.when(tokenRepository.save(Mockito.any(VerificationToken.class))).thenReturn(verificationToken);
-        VerificationTokenModel result = tokenService.create(loggedUser,null);
+        VerificationTokenModel result = tokenService.create(loggedUser, mockServlet);
 
         Assertions.assertEquals(verificationToken.getToken(), result.getToken());
+        Mockito.verify(mailOutboxService, Mockito.times(1)).enqueue(Mockito.any(SimpleMailMessage.class));
     }
 
     @Test
@@ -0,0 +1,149 @@
+package com.henrique.virtualteacher.services.Implementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.henrique.virtualteacher.entities.Transaction;
+import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.entities.Wallet;
+import com.henrique.virtualteacher.models.TransactionHistoryModel;
+import com.henrique.virtualteacher.repositories.TransactionRepository;
+import com.henrique.virtualteacher.repositories.UserRepository;
+import com.henrique.virtualteacher.repositories.WalletRepository;
+import com.henrique.virtualteacher.services.implementation.TransactionServiceImpl;
+import com.henrique.virtualteacher.services.interfaces.UserService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+/**
+ * Compares the wallet history page built from {@link TransactionHistoryModel} projections with the previous
+ * page of {@link Transaction} entities, serialized the way the rest controller does. Each variant runs
+ * inside a transaction, like a request with the session kept open, so lazy associations load as they would in production.
+ */
+@DataJpaTest(properties = {"spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Import(TransactionServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TransactionHistoryBenchmarkTests {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    TransactionServiceImpl transactionService;
+    @Autowired
+    TransactionRepository transactionRepository;
+    @Autowired
+    WalletRepository walletRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @MockBean
+    UserService userService;
+    @MockBean
+    Logger logger;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+
+    @AfterEach
+    public void cleanUp() {
+        transactionRepository.deleteAllInBatch();
+        walletRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void projectedHistory_shouldUseFewerStatements_andSmallerPayload_thanEntityPage() throws Exception {
+        User owner = createUser("owner");
+        Wallet ownerWallet = createWallet(owner);
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE * 2; i++) {
+            Wallet counterparty = createWallet(createUser("counterparty" + i));
+            transactions.add(i % 2 == 0
+                    ? new Transaction(ownerWallet, counterparty, BigDecimal.valueOf(i + 1))
+                    : new Transaction(counterparty, ownerWallet, BigDecimal.valueOf(i + 1)));
+            transactions.add(new Transaction(ownerWallet, BigDecimal.TEN));
+        }
+        transactionRepository.saveAll(transactions);
+
+        Measurement entities = measure(() -> objectMapper.writeValueAsBytes(transactionRepository.findAllByRecipientWalletIdOrSenderWalletId(
+                ownerWallet.getId(), ownerWallet.getId(), PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "creationTime", "id")))));
+        Measurement projections = measure(() -> objectMapper.writeValueAsBytes(
+                transactionService.getWalletHistory(ownerWallet, owner, Optional.empty(), PAGE_SIZE)));
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(2, projections.statements),
+                () -> Assertions.assertTrue(projections.statements < entities.statements),
+                () -> Assertions.assertTrue(projections.bytes < entities.bytes)
+        );
+    }
+
+    private Measurement measure(Callable<byte[]> page) throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        byte[] payload = transactionTemplate.execute(status -> call(page));
+        long statements = statistics.getPrepareStatementCount();
+
+        return new Measurement(payload.length, statements);
+    }
+
+    private byte[] call(Callable<byte[]> page) {
+        try {
+            return page.call();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private User createUser(String username) {
+        User user = new User();
+        user.setEmail(username + "@mail.com");
+        user.setUsername(username);
+        user.setFirstName(username);
+        user.setLastName(username);
+        user.setEnabled(true);
+        return userRepository.save(user);
+    }
+
+    private Wallet createWallet(User owner) {
+        return walletRepository.save(new Wallet(owner));
+    }
+
+    private static class Measurement {
+
+        private final int bytes;
+        private final long statements;
+
+        private Measurement(int bytes, long statements) {
+            this.bytes = bytes;
+            this.statements = statements;
+        }
+    }
+
+}
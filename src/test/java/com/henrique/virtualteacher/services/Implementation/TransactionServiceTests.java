@@ -5,9 +5,13 @@ import com.henrique.virtualteacher.entities.Transaction;
 import com.henrique.virtualteacher.entities.User;
 import com.henrique.virtualteacher.entities.Wallet;
 import com.henrique.virtualteacher.exceptions.EntityNotFoundException;
+import com.henrique.virtualteacher.exceptions.ImpossibleOperationException;
 import com.henrique.virtualteacher.exceptions.UnauthorizedOperationException;
+import com.henrique.virtualteacher.models.TransactionHistoryModel;
 import com.henrique.virtualteacher.models.TransactionModel;
 import com.henrique.virtualteacher.models.TransactionStatus;
+import com.henrique.virtualteacher.models.TransactionSummaryModel;
+import com.henrique.virtualteacher.models.TransactionType;
 import com.henrique.virtualteacher.repositories.TransactionRepository;
 import com.henrique.virtualteacher.services.Helpers;
 import com.henrique.virtualteacher.services.implementation.TransactionServiceImpl;
@@ -20,6 +24,7 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -189,6 +194,60 @@ public class TransactionServiceTests {
         Assertions.assertEquals(mockTransactions, result);
     }
 
+    @Test
+    public void getWalletHistory_shouldMergeSides_andReturnCursorOfLastTransaction() {
+        User walletOwner = Helpers.createMockUser();
+        Wallet wallet = Helpers.createMockWallet(walletOwner);
+        LocalDate today = LocalDate.now();
+        TransactionSummaryModel deposit = createSummary(9, today);
+        TransactionSummaryModel sent = createSummary(7, today);
+        TransactionSummaryModel received = createSummary(8, today.minusDays(1));
+        TransactionSummaryModel older = createSummary(3, today.minusDays(2));
+
+        Mockito.when(transactionRepository.findLatestSent(Mockito.eq(wallet.getId()), Mockito.any(Pageable.class))).thenReturn(List.of(deposit, sent, older));
+        Mockito.when(transactionRepository.findLatestReceived(Mockito.eq(wallet.getId()), Mockito.any(Pageable.class))).thenReturn(List.of(deposit, received));
+
+        TransactionHistoryModel result = transactionService.getWalletHistory(wallet, walletOwner, Optional.empty(), 3);
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(List.of(deposit, sent, received), result.getContent()),
+                () -> Assertions.assertEquals(String.format("%s_8", today.minusDays(1)), result.getNextCursor()),
+                () -> Assertions.assertFalse(result.isLast())
+        );
+    }
+
+    @Test
+    public void getWalletHistory_shouldContinueAfterCursor_andMarkLastPage() {
+        User walletOwner = Helpers.createMockUser();
+        Wallet wallet = Helpers.createMockWallet(walletOwner);
+        LocalDate cursorDate = LocalDate.of(2022, 3, 5);
+        TransactionSummaryModel older = createSummary(3, cursorDate.minusDays(2));
+
+        Mockito.when(transactionRepository.findSentBefore(Mockito.eq(wallet.getId()), Mockito.eq(cursorDate), Mockito.eq(8), Mockito.any(Pageable.class))).thenReturn(List.of(older));
+        Mockito.when(transactionRepository.findReceivedBefore(Mockito.eq(wallet.getId()), Mockito.eq(cursorDate), Mockito.eq(8), Mockito.any(Pageable.class))).thenReturn(List.of());
+
+        TransactionHistoryModel result = transactionService.getWalletHistory(wallet, walletOwner, Optional.of("2022-03-05_8"), 3);
+
+        Assertions.assertEquals(List.of(older), result.getContent());
+        Assertions.assertTrue(result.isLast());
+    }
+
+    @Test
+    public void getWalletHistory_shouldThrowException_whenCursorIsNotValid() {
+        User walletOwner = Helpers.createMockUser();
+        Wallet wallet = Helpers.createMockWallet(walletOwner);
+
+        Assertions.assertThrows(ImpossibleOperationException.class, () -> transactionService.getWalletHistory(wallet, walletOwner, Optional.of("page-2"), 3));
+    }
+
+    @Test
+    public void getWalletHistory_shouldThrowException_whenUserIsNot_ownerOrTeacher() {
+        User walletOwner = Helpers.createMockTeacher();
+        Wallet wallet = Helpers.createMockWallet(walletOwner);
+
+        Assertions.assertThrows(UnauthorizedOperationException.class, () -> transactionService.getWalletHistory(wallet, Helpers.createMockUser(), Optional.empty(), 3));
+    }
+
     @Test
     public void create_shouldThrowException_when_initiatorIsNot_transactionAssociate() {
         User initiator = Helpers.createMockUser(21);
@@ -262,4 +321,10 @@ public class TransactionServiceTests {
     }
 
     //todo: do update and delete method tests -> not done as i believe they will not be needed
+
+    private TransactionSummaryModel createSummary(int id, LocalDate creationTime) {
+        return new TransactionSummaryModel(id, TransactionType.DEPOSIT, TransactionStatus.COMPLETED, BigDecimal.TEN,
+                creationTime, true, "test", null);
+    }
+
 }
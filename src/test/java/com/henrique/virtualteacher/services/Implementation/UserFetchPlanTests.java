@@ -0,0 +1,171 @@
+package com.henrique.virtualteacher.services.Implementation;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.entities.NFT;
+import com.henrique.virtualteacher.entities.Role;
+import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.models.EnumRoles;
+import com.henrique.virtualteacher.models.EnumTopic;
+import com.henrique.virtualteacher.models.UserModel;
+import com.henrique.virtualteacher.repositories.CourseRepository;
+import com.henrique.virtualteacher.repositories.NFTCourseRepository;
+import com.henrique.virtualteacher.repositories.UserRepository;
+import com.henrique.virtualteacher.services.QueryCounter;
+import com.henrique.virtualteacher.services.implementation.UserServiceImpl;
+import com.henrique.virtualteacher.services.interfaces.SuggestionService;
+import com.henrique.virtualteacher.utils.ImageRenditionCache;
+import com.henrique.virtualteacher.utils.LoginAttemptThrottle;
+import com.henrique.virtualteacher.utils.RequestUserContext;
+import com.henrique.virtualteacher.utils.UserDetailsCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Guards the statement count of each user screen: the fetch plan of the screen must stay within its budget
+ * no matter how many courses the user owns, while the plain lookup grows with them.
+ */
+@DataJpaTest(properties = {"spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Import({UserServiceImpl.class, RequestUserContext.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserFetchPlanTests {
+
+    private static final int OWNED_COURSES = 5;
+
+    @Autowired
+    UserServiceImpl userService;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    CourseRepository courseRepository;
+    @Autowired
+    NFTCourseRepository nftCourseRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @MockBean
+    PasswordEncoder encoder;
+    @MockBean
+    Logger logger;
+    @MockBean
+    UserDetailsCache userDetailsCache;
+    @MockBean
+    LoginAttemptThrottle loginAttemptThrottle;
+    @MockBean
+    SuggestionService suggestionService;
+    @MockBean
+    ImageRenditionCache imageRenditionCache;
+
+    QueryCounter queryCounter;
+    User student;
+
+    /**
+     * Course.nfts is mapped through a join table, so the generated test schema adds constraints to nft_courses
+     * that do not exist in the schema from database/CreateSql, see NFTCourseServiceConcurrencyTests.
+     */
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.queryForList("select constraint_name from information_schema.constraints " +
+                        "where table_name = 'NFT_COURSES' and constraint_type <> 'PRIMARY KEY'", String.class)
+                .forEach(constraint -> jdbcTemplate.execute("alter table nft_courses drop constraint " + constraint));
+        jdbcTemplate.queryForList("select distinct index_name from information_schema.indexes " +
+                        "where table_name = 'NFT_COURSES' and non_unique = false and primary_key = false", String.class)
+                .forEach(index -> jdbcTemplate.execute("drop index " + index));
+        jdbcTemplate.update("insert into roles (id, type) values (1, 'STUDENT'), (2, 'TEACHER')");
+
+        queryCounter = new QueryCounter(entityManagerFactory, transactionManager);
+        student = createUser("student", new Role(1, EnumRoles.STUDENT));
+        for (int i = 0; i < OWNED_COURSES; i++) {
+            Course course = createCourse(createUser("teacher" + i, new Role(2, EnumRoles.TEACHER)), i);
+            nftCourseRepository.save(new NFT(student, course, 1));
+        }
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        nftCourseRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        jdbcTemplate.execute("delete from users_roles");
+        userRepository.deleteAllInBatch();
+        jdbcTemplate.execute("delete from roles");
+    }
+
+    @Test
+    public void loadUserByUsername_shouldLoadUserAndRoles_inOneStatement() {
+        queryCounter.assertAtMost(1, "Authentication", () ->
+                Assertions.assertEquals(1, userService.loadUserByUsername(student.getEmail()).getAuthorities().size()));
+    }
+
+    @Test
+    public void getWithEnrolledCourses_shouldStayWithinBudget_andBeatPlainLookup() {
+        long plain = queryCounter.count(() -> touchCourses(userRepository.findByEmail(student.getEmail()).orElseThrow()));
+        long planned = queryCounter.assertAtMost(2, "Enrolled courses", () ->
+                Assertions.assertEquals(OWNED_COURSES, touchCourses(userService.getWithEnrolledCourses(student.getEmail()))));
+
+        Assertions.assertTrue(planned < plain, String.format("fetch plan ran %d statements, plain lookup %d", planned, plain));
+    }
+
+    @Test
+    public void getModelById_shouldLoadProfile_withinBudget() {
+        queryCounter.assertAtMost(2, "Profile", () -> {
+            UserModel profile = userService.getModelById(student.getId());
+            Assertions.assertAll(
+                    () -> Assertions.assertEquals(OWNED_COURSES, profile.getOwnedNftCourses().size()),
+                    () -> Assertions.assertEquals(0, profile.getCompletedLectures().size()),
+                    () -> Assertions.assertEquals(1, profile.getRolesList().size()),
+                    () -> Assertions.assertFalse(userService.getMostStudiedCourseTopic(profile).isEmpty())
+            );
+        });
+    }
+
+    private int touchCourses(User user) {
+        return (int) user.getPurchasedCourses().stream()
+                .filter(course -> course.getCreator().isTeacher())
+                .count();
+    }
+
+    private User createUser(String username, Role role) {
+        User user = new User();
+        user.setEmail(username + "@mail.com");
+        user.setUsername(username);
+        user.setFirstName(username);
+        user.setLastName(username);
+        user.setPassword("{noop}password");
+        user.setEnabled(true);
+        user.setRoles(List.of(role));
+        return userRepository.save(user);
+    }
+
+    private Course createCourse(User creator, int index) {
+        Course course = new Course();
+        course.setTitle("Course " + index);
+        course.setCreator(creator);
+        course.setTopic(EnumTopic.values()[index % EnumTopic.values().length]);
+        course.setEnabled(true);
+        course.setMintPrice(BigDecimal.ONE);
+        course.setStartingDate(LocalDate.now());
+        course.setAvailableMints(10);
+        return courseRepository.save(course);
+    }
+
+}
@@ -14,6 +14,8 @@ import com.henrique.virtualteacher.models.UserUpdateModel;
 import com.henrique.virtualteacher.repositories.UserRepository;
 import com.henrique.virtualteacher.services.Helpers;
 import com.henrique.virtualteacher.services.implementation.UserServiceImpl;
+import com.henrique.virtualteacher.services.interfaces.SuggestionService;
+import com.henrique.virtualteacher.utils.ImageRenditionCache;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -37,6 +39,10 @@ public class UserServiceTests {
     ModelMapper modelMapper =  new ModelMapper();
     @Mock
     BCryptPasswordEncoder passwordEncoder;
+    @Mock
+    SuggestionService suggestionService;
+    @Mock
+    ImageRenditionCache imageRenditionCache;
 
     @InjectMocks
     UserServiceImpl userService;
@@ -55,7 +61,7 @@ public class UserServiceTests {
         User mockUser = Helpers.createMockUser();
         Course mockCourse = Helpers.createMockCourse();
         Lecture mockLecture = Helpers.createMockLecture(mockCourse);
-        mockUser.purchaseCourse(mockCourse);
+        Helpers.enrollUser(mockUser, mockCourse);
         mockUser.completeLecture(mockLecture);
 
         Assertions.assertThrows(ImpossibleOperationException.class,() -> mockUser.completeLecture(mockLecture));
@@ -0,0 +1,291 @@
+package com.henrique.virtualteacher.services.Implementation;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.entities.NFT;
+import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.entities.Wallet;
+import com.henrique.virtualteacher.exceptions.ImpossibleOperationException;
+import com.henrique.virtualteacher.models.LedgerVerificationModel;
+import com.henrique.virtualteacher.repositories.CreatorRevenueShardRepository;
+import com.henrique.virtualteacher.repositories.LedgerPostingRepository;
+import com.henrique.virtualteacher.repositories.UserRepository;
+import com.henrique.virtualteacher.repositories.WalletBalanceSnapshotRepository;
+import com.henrique.virtualteacher.repositories.WalletRepository;
+import com.henrique.virtualteacher.services.implementation.CreatorRevenueServiceImpl;
+import com.henrique.virtualteacher.services.implementation.LedgerServiceImpl;
+import com.henrique.virtualteacher.services.implementation.WalletServiceImpl;
+import com.henrique.virtualteacher.services.interfaces.CreatorRevenueService;
+import com.henrique.virtualteacher.services.interfaces.LedgerService;
+import com.henrique.virtualteacher.services.interfaces.NFTCourseService;
+import com.henrique.virtualteacher.services.interfaces.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@DataJpaTest(properties = {"spring.jpa.hibernate.ddl-auto=create-drop", "revenue.flush.interval-ms=3600000"})
+@Import({WalletServiceImpl.class, LedgerServiceImpl.class, CreatorRevenueServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class WalletServiceConcurrencyTests {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    WalletServiceImpl walletService;
+    @Autowired
+    WalletRepository walletRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    LedgerService ledgerService;
+    @Autowired
+    LedgerPostingRepository ledgerPostingRepository;
+    @Autowired
+    WalletBalanceSnapshotRepository snapshotRepository;
+    @Autowired
+    CreatorRevenueService creatorRevenueService;
+    @Autowired
+    CreatorRevenueShardRepository revenueShardRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @MockBean
+    TransactionService transactionService;
+    @MockBean
+    NFTCourseService nftCourseService;
+    @MockBean
+    Logger logger;
+
+    @BeforeEach
+    public void setUp() {
+        Mockito.when(nftCourseService.mintNFT(Mockito.any(User.class), Mockito.any(Course.class)))
+                .thenAnswer(invocation -> new NFT(invocation.getArgument(0), invocation.getArgument(1), 1));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        snapshotRepository.deleteAllInBatch();
+        revenueShardRepository.deleteAllInBatch();
+        ledgerPostingRepository.deleteAllInBatch();
+        walletRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void mintNFT_shouldNotOverdraw_norLoseUpdates_whenMintingInParallel() throws Exception {
+        User buyer = createUserWithWallet("buyer@mail.com", 100);
+        User creator = createUserWithWallet("creator@mail.com", 0);
+        Course course = createCourse(creator);
+
+        List<Callable<Boolean>> mints = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            mints.add(() -> tryMint(course, buyer));
+        }
+        long successfulMints = runInParallel(mints);
+        double creatorBalanceBeforeFlush = getBalance(creator);
+        creatorRevenueService.flush();
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(100, successfulMints),
+                () -> Assertions.assertEquals(0.0, getBalance(buyer)),
+                () -> Assertions.assertEquals(0.0, creatorBalanceBeforeFlush),
+                () -> Assertions.assertEquals(100.0, getBalance(creator)),
+                () -> Assertions.assertEquals(0.0, getLedgerBalance(buyer)),
+                () -> Assertions.assertEquals(100.0, getLedgerBalance(creator))
+        );
+    }
+
+    @Test
+    public void mintNFT_shouldKeepTotalBalance_whenTransferringInBothDirections() throws Exception {
+        User first = createUserWithWallet("first@mail.com", 100);
+        User second = createUserWithWallet("second@mail.com", 100);
+        Course firstCourse = createCourse(first);
+        Course secondCourse = createCourse(second);
+
+        List<Callable<Boolean>> mints = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            mints.add(() -> tryMint(secondCourse, first));
+            mints.add(() -> tryMint(firstCourse, second));
+        }
+        runInParallel(mints);
+        creatorRevenueService.flush();
+        ledgerService.checkpoint();
+
+        double firstBalance = getBalance(first);
+        double secondBalance = getBalance(second);
+        Assertions.assertAll(
+                () -> Assertions.assertTrue(firstBalance >= 0),
+                () -> Assertions.assertTrue(secondBalance >= 0),
+                () -> Assertions.assertEquals(200.0, firstBalance + secondBalance),
+                () -> Assertions.assertEquals(firstBalance, getLedgerBalance(first)),
+                () -> Assertions.assertEquals(secondBalance, getLedgerBalance(second))
+        );
+    }
+
+    @Test
+    public void ledger_shouldMatchWalletBalances_afterParallelMints_andCheckpoints() throws Exception {
+        User first = createUserWithWallet("first@mail.com", 50);
+        User second = createUserWithWallet("second@mail.com", 50);
+        Course firstCourse = createCourse(first);
+        Course secondCourse = createCourse(second);
+
+        List<Callable<Boolean>> mints = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            mints.add(() -> tryMint(secondCourse, first));
+            mints.add(() -> tryMint(firstCourse, second));
+        }
+        runInParallel(mints.subList(0, 100));
+        ledgerService.checkpoint();
+        runInParallel(mints.subList(100, mints.size()));
+
+        LedgerVerificationModel verification = ledgerService.verify();
+        creatorRevenueService.flush();
+        LedgerVerificationModel rebuilt = ledgerService.rebuild();
+
+        Assertions.assertAll(
+                () -> Assertions.assertTrue(verification.isConsistent()),
+                () -> Assertions.assertTrue(rebuilt.isConsistent()),
+                () -> Assertions.assertEquals(getBalance(first), getLedgerBalance(first))
+        );
+    }
+
+    @Test
+    public void checkpoint_shouldCountPosting_committedAfterALaterPosting() throws Exception {
+        User owner = createUserWithWallet("owner@mail.com", 0);
+        Wallet wallet = walletRepository.getByOwnerId(owner.getId()).orElseThrow();
+        CountDownLatch posted = new CountDownLatch(1);
+        CountDownLatch checkpointed = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> slowDeposit = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                ledgerService.recordDeposit(wallet, BigDecimal.valueOf(5), null);
+                posted.countDown();
+                try {
+                    checkpointed.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            posted.await(10, TimeUnit.SECONDS);
+            ledgerService.recordDeposit(wallet, BigDecimal.valueOf(7), null);
+            ledgerService.checkpoint();
+            checkpointed.countDown();
+            slowDeposit.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+        ledgerService.checkpoint();
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(12.0, getLedgerBalance(owner)),
+                () -> Assertions.assertEquals(0, BigDecimal.valueOf(12).compareTo(snapshotRepository.findById(wallet.getId()).orElseThrow().getBalance()))
+        );
+    }
+
+    @Test
+    public void flush_shouldCreditCreatorOnce_forRevenueSpreadOverShards() throws Exception {
+        User creator = createUserWithWallet("creator@mail.com", 0);
+        Course course = createCourse(creator);
+
+        List<Callable<Boolean>> mints = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            User buyer = createUserWithWallet(String.format("buyer%d@mail.com", i), 5);
+            for (int j = 0; j < 5; j++) {
+                mints.add(() -> tryMint(course, buyer));
+            }
+        }
+        runInParallel(mints);
+
+        Wallet creatorWallet = walletRepository.getByOwnerId(creator.getId()).orElseThrow();
+        double pending = creatorRevenueService.getPending(creatorWallet).doubleValue();
+        boolean consistentBeforeFlush = ledgerService.verify().isConsistent();
+        int flushedWallets = creatorRevenueService.flush();
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(200.0, pending),
+                () -> Assertions.assertTrue(revenueShardRepository.count() > 1),
+                () -> Assertions.assertTrue(consistentBeforeFlush),
+                () -> Assertions.assertEquals(1, flushedWallets),
+                () -> Assertions.assertEquals(200.0, getBalance(creator)),
+                () -> Assertions.assertEquals(0.0, creatorRevenueService.getPending(creatorWallet).doubleValue()),
+                () -> Assertions.assertEquals(0, creatorRevenueService.flush()),
+                () -> Assertions.assertTrue(ledgerService.verify().isConsistent())
+        );
+    }
+
+    private boolean tryMint(Course course, User user) {
+        try {
+            walletService.mintNFT(course, user);
+            return true;
+        } catch (ImpossibleOperationException e) {
+            return false;
+        }
+    }
+
+    private long runInParallel(List<Callable<Boolean>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long successful = 0;
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                if (result.get()) {
+                    successful++;
+                }
+            }
+            return successful;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private User createUserWithWallet(String email, int balance) {
+        User user = new User();
+        user.setEmail(email);
+        user.setUsername(email);
+        user.setEnabled(true);
+        user = userRepository.save(user);
+
+        Wallet wallet = new Wallet(user);
+        wallet.setBalance(BigDecimal.valueOf(balance));
+        wallet = walletRepository.save(wallet);
+        ledgerService.recordDeposit(wallet, BigDecimal.valueOf(balance), null);
+        return user;
+    }
+
+    private Course createCourse(User creator) {
+        Course course = new Course();
+        course.setCreator(creator);
+        course.setMintPrice(BigDecimal.ONE);
+        return course;
+    }
+
+    private double getLedgerBalance(User owner) {
+        Wallet wallet = walletRepository.getByOwnerId(owner.getId()).orElseThrow();
+        return ledgerService.getBalance(wallet.getId()).doubleValue();
+    }
+
+    private double getBalance(User owner) {
+        return walletRepository.getByOwnerId(owner.getId()).orElseThrow().getBalance().doubleValue();
+    }
+
+}
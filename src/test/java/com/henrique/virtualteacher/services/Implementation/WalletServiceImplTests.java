@@ -1,6 +1,7 @@
 package com.henrique.virtualteacher.services.Implementation;
 
 import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.entities.NFT;
 import com.henrique.virtualteacher.entities.Transaction;
 import com.henrique.virtualteacher.entities.User;
 import com.henrique.virtualteacher.entities.Wallet;
@@ -13,12 +14,15 @@ import com.henrique.virtualteacher.repositories.NFTCourseRepository;
 import com.henrique.virtualteacher.repositories.WalletRepository;
 import com.henrique.virtualteacher.services.Helpers;
 import com.henrique.virtualteacher.services.implementation.WalletServiceImpl;
+import com.henrique.virtualteacher.services.interfaces.CreatorRevenueService;
+import com.henrique.virtualteacher.services.interfaces.LedgerService;
 import com.henrique.virtualteacher.services.interfaces.NFTCourseService;
 import com.henrique.virtualteacher.services.interfaces.TransactionService;
 import com.henrique.virtualteacher.services.interfaces.UserService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -43,6 +47,10 @@ public class WalletServiceImplTests {
     NFTCourseRepository NFTCourseRepository;
     @Mock
     NFTCourseService NFTCourseService;
+    @Mock
+    LedgerService ledgerService;
+    @Mock
+    CreatorRevenueService creatorRevenueService;
 
     @InjectMocks
     WalletServiceImpl walletService;
@@ -97,7 +105,7 @@ public class WalletServiceImplTests {
         User initiator = Helpers.createMockUser();
         initiator.setId(21);
 
-        Mockito.when(walletRepository.getByOwnerEmail(initiator.getEmail())).thenReturn(Optional.of(mockWallet));
+        Mockito.when(walletRepository.getByOwnerId(initiator.getId())).thenReturn(Optional.of(mockWallet));
 
         Assertions.assertThrows(UnauthorizedOperationException.class, () -> walletService.getLoggedUserWallet(initiator));
     }
@@ -107,7 +115,7 @@ public class WalletServiceImplTests {
         User mockUser = Helpers.createMockUser();
         Wallet mockWallet = Helpers.createMockWallet(mockUser);
 
-        Mockito.when(walletRepository.getByOwnerEmail(mockUser.getEmail())).thenReturn(Optional.of(mockWallet));
+        Mockito.when(walletRepository.getByOwnerId(mockUser.getId())).thenReturn(Optional.of(mockWallet));
 
         Assertions.assertThrows(DuplicateEntityException.class, () -> walletService.create(mockUser));
     }
@@ -140,7 +148,7 @@ public class WalletServiceImplTests {
         User mockUser = Helpers.createMockUser();
         Wallet mockWallet = Helpers.createMockWallet(mockUser);
 
-        Mockito.when(walletRepository.getByOwnerEmail(mockUser.getEmail())).thenReturn(Optional.of(mockWallet));
+        Mockito.when(walletRepository.getByOwnerId(mockUser.getId())).thenReturn(Optional.of(mockWallet));
 
         walletService.deposit(mockUser, BigDecimal.valueOf(30));
 
@@ -153,7 +161,7 @@ public class WalletServiceImplTests {
         Wallet mockWallet = Helpers.createMockWallet(mockUser);
         Course course = Helpers.createMockCourse();
 
-        Mockito.when(walletRepository.getByOwnerEmail(mockUser.getEmail())).thenReturn(Optional.of(mockWallet));
+        Mockito.when(walletRepository.getByOwnerId(mockUser.getId())).thenReturn(Optional.of(mockWallet));
 
         Assertions.assertThrows(ImpossibleOperationException.class, () -> walletService.mintNFT(course, mockUser));
     }
@@ -166,13 +174,63 @@ public class WalletServiceImplTests {
 
         mockCourse.setMintPrice(BigDecimal.valueOf(50));
 
-        Mockito.when(walletRepository.getByOwnerEmail(mockUser.getEmail())).thenReturn(Optional.of(userWallet));
+        Mockito.when(walletRepository.getByOwnerId(mockUser.getId())).thenReturn(Optional.of(userWallet));
+        Mockito.when(walletRepository.withdraw(Mockito.anyInt(), Mockito.any(BigDecimal.class))).thenReturn(1);
+        Mockito.when(NFTCourseService.mintNFT(mockUser, mockCourse)).thenReturn(new NFT(mockUser, mockCourse, 1));
 
         walletService.mintNFT(mockCourse, mockUser);
 
         Assertions.assertEquals(250.0, userWallet.getBalance().doubleValue());
     }
 
+    @Test
+    public void mintNFT_shouldRecordLedgerTransfer_withPurchaseTransaction() {
+        User buyer = Helpers.createMockUser(21);
+        Wallet buyerWallet = Helpers.createMockWallet(buyer, BigDecimal.valueOf(300));
+        User creator = Helpers.createMockTeacher();
+        Wallet creatorWallet = Helpers.createMockWallet(creator);
+        Course course = Helpers.createMockCourse(creator);
+        course.setMintPrice(BigDecimal.valueOf(50));
+        NFT nft = new NFT(buyer, course, 1);
+
+        Mockito.when(walletRepository.getByOwnerId(buyer.getId())).thenReturn(Optional.of(buyerWallet));
+        Mockito.when(walletRepository.getByOwnerId(creator.getId())).thenReturn(Optional.of(creatorWallet));
+        Mockito.when(walletRepository.withdraw(Mockito.anyInt(), Mockito.any(BigDecimal.class))).thenReturn(1);
+        Mockito.when(NFTCourseService.mintNFT(buyer, course)).thenReturn(nft);
+
+        walletService.mintNFT(course, buyer);
+
+        ArgumentCaptor<Transaction> sale = ArgumentCaptor.forClass(Transaction.class);
+        Mockito.verify(transactionService).create(sale.capture(), Mockito.eq(buyer));
+        Mockito.verify(ledgerService).recordTransfer(buyerWallet, creatorWallet, BigDecimal.valueOf(50), sale.getValue());
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(nft, sale.getValue().getPurchasedCourse()),
+                () -> Assertions.assertEquals(creatorWallet, sale.getValue().getSenderWallet()),
+                () -> Assertions.assertEquals(buyerWallet, sale.getValue().getRecipientWallet())
+        );
+    }
+
+    @Test
+    public void handleTransactionVerification_shouldThrowException_when_conditionalWithdrawFails() {
+        User initiator = Helpers.createMockUser(21);
+        Wallet senderWallet = Helpers.createMockWallet(initiator);
+        senderWallet.setBalance(BigDecimal.valueOf(100));
+
+        User recipient = Helpers.createMockUser(1);
+        Wallet recipientWallet = Helpers.createMockWallet(recipient);
+        recipientWallet.setBalance(BigDecimal.valueOf(100));
+
+        Transaction transaction = Helpers.createTransaction(senderWallet, recipientWallet, BigDecimal.valueOf(25));
+        VerificationTokenModel tokenModel = Helpers.createTransactionTokenModel(transaction);
+
+        Mockito.when(transactionService.getById(transaction.getId(), initiator)).thenReturn(transaction);
+        Mockito.when(walletRepository.withdraw(senderWallet.getId(), BigDecimal.valueOf(25))).thenReturn(0);
+
+        Assertions.assertThrows(ImpossibleOperationException.class, () ->
+                walletService.verifyPendingDepositOrTransfer(initiator, transaction, tokenModel));
+        Assertions.assertEquals(100.0, senderWallet.getBalance().doubleValue());
+    }
+
     @Test
     public void handleTransactionVerification_shouldThrowException_whenInitiator_isNotTokenVerifier() {
         User initiator = Helpers.createMockUser(21);
@@ -202,6 +260,7 @@ public class WalletServiceImplTests {
         VerificationTokenModel tokenModel = Helpers.createTransactionTokenModel(transaction);
 
         Mockito.when(transactionService.getById(transaction.getId(), initiator)).thenReturn(transaction);
+        Mockito.when(walletRepository.withdraw(Mockito.anyInt(), Mockito.any(BigDecimal.class))).thenReturn(1);
 
         walletService.verifyPendingDepositOrTransfer(initiator,transaction, tokenModel);
 
@@ -235,7 +294,7 @@ public class WalletServiceImplTests {
         double initialWalletBalance = userWallet.getBalance().doubleValue();
 
         Mockito.when(transactionService.getById(transaction.getId(), initiator)).thenReturn(transaction);
-        Mockito.when(walletRepository.getByOwnerEmail(initiator.getEmail())).thenReturn(Optional.of(userWallet));
+        Mockito.when(walletRepository.getByOwnerId(initiator.getId())).thenReturn(Optional.of(userWallet));
 
         walletService.verifyPendingDepositOrTransfer(initiator, transaction, tokenModel);
 
@@ -249,7 +308,7 @@ public class WalletServiceImplTests {
         mockUser.setWallet(mockWallet);
         double initialAmount = mockWallet.getBalance().doubleValue();
 
-        Mockito.when(walletRepository.getByOwnerEmail(mockUser.getEmail())).thenReturn(Optional.of(mockWallet));
+        Mockito.when(walletRepository.getByOwnerId(mockUser.getId())).thenReturn(Optional.of(mockWallet));
 
         walletService.deposit(mockUser, BigDecimal.valueOf(300));
 
@@ -300,6 +359,7 @@ public class WalletServiceImplTests {
         Wallet recipientWallet = Helpers.createMockWallet(recipient);
         recipient.setWallet(recipientWallet);
         recipientWallet.setBalance(BigDecimal.valueOf(50));
+        Mockito.when(walletRepository.withdraw(Mockito.anyInt(), Mockito.any(BigDecimal.class))).thenReturn(1);
 
         walletService.send(sender, recipient, BigDecimal.valueOf(100));
 
@@ -0,0 +1,39 @@
+package com.henrique.virtualteacher.services;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Counts the statements Hibernate prepares while a piece of work runs inside a transaction, like a request
+ * with the session kept open, so lazy loads triggered by the work are counted too.
+ * Requires {@code spring.jpa.properties.hibernate.generate_statistics=true} in the test properties.
+ */
+public class QueryCounter {
+
+    private final Statistics statistics;
+    private final TransactionTemplate transactionTemplate;
+
+    public QueryCounter(EntityManagerFactory entityManagerFactory, PlatformTransactionManager transactionManager) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public long count(Runnable work) {
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> work.run());
+        return statistics.getPrepareStatementCount();
+    }
+
+    public long assertAtMost(long maxStatements, String useCase, Runnable work) {
+        long statements = count(work);
+        Assertions.assertTrue(statements <= maxStatements,
+                String.format("%s ran %d statements, at most %d expected", useCase, statements, maxStatements));
+        return statements;
+    }
+
+}
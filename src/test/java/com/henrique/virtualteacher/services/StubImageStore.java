@@ -0,0 +1,68 @@
+package com.henrique.virtualteacher.services;
+
+import com.henrique.virtualteacher.utils.ImageStore;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps uploaded pictures in memory under made up urls. Uploads can be held back with {@link #hold()},
+ * and fail while {@link #failUploads} is set.
+ */
+public class StubImageStore implements ImageStore {
+
+    private final Map<String, byte[]> images = new ConcurrentHashMap<>();
+    private final AtomicInteger uploads = new AtomicInteger();
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+    private volatile boolean failUploads;
+
+    @Override
+    public String upload(byte[] image) throws IOException {
+        try {
+            gate.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Upload was interrupted");
+        }
+        if (failUploads) {
+            throw new IOException("Image store is unavailable");
+        }
+        String url = "https://images.test/" + uploads.incrementAndGet();
+        images.put(url, image);
+        return url;
+    }
+
+    @Override
+    public byte[] download(String url) throws IOException {
+        byte[] image = images.get(url);
+        if (image == null) {
+            throw new IOException(String.format("No image is stored at %s", url));
+        }
+        return image;
+    }
+
+    @Override
+    public void destroy(String url) {
+        images.remove(url);
+    }
+
+    public byte[] get(String url) {
+        return images.get(url);
+    }
+
+    public void hold() {
+        gate = new CountDownLatch(1);
+    }
+
+    public void release() {
+        gate.countDown();
+    }
+
+    public void setFailUploads(boolean failUploads) {
+        this.failUploads = failUploads;
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.henrique.virtualteacher.utils;
+
+import com.henrique.virtualteacher.entities.Course;
+import com.henrique.virtualteacher.models.CatalogCacheMetricsModel;
+import com.henrique.virtualteacher.models.CourseModel;
+import com.henrique.virtualteacher.models.EnumCourseSort;
+import com.henrique.virtualteacher.models.EnumTopic;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class CourseCatalogCacheTests {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final CourseCatalogCache catalogCache = new CourseCatalogCache(10, Duration.ofSeconds(60), clock::get);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    public void getList_shouldServeFromMemory_untilEntryExpires() {
+        CourseCatalogCache.Key key = CourseCatalogCache.Key.topic(EnumTopic.JAVA);
+
+        catalogCache.getList(key, loader(1, 2));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        catalogCache.getList(key, loader(1, 2));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        catalogCache.getList(key, loader(1, 2));
+
+        CatalogCacheMetricsModel metrics = catalogCache.getSnapshot();
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(2, loads.get()),
+                () -> Assertions.assertEquals(1, metrics.getHits()),
+                () -> Assertions.assertEquals(2, metrics.getMisses()),
+                () -> Assertions.assertEquals(30_000, metrics.getMaxServedAgeMillis())
+        );
+    }
+
+    @Test
+    public void courseMinted_shouldOnlyEvictListings_containingCourseOrSortedByMints() {
+        CourseCatalogCache.Key java = CourseCatalogCache.Key.topic(EnumTopic.JAVA);
+        CourseCatalogCache.Key python = CourseCatalogCache.Key.topic(EnumTopic.PYTHON);
+        CourseCatalogCache.Key byTitle = CourseCatalogCache.Key.page(true, 0, 20, EnumCourseSort.TITLE, Sort.Direction.ASC);
+        CourseCatalogCache.Key byMints = CourseCatalogCache.Key.page(true, 0, 20, EnumCourseSort.MINT_PERCENTAGE, Sort.Direction.DESC);
+        catalogCache.getList(java, loader(1, 2));
+        catalogCache.getList(python, loader(3));
+        catalogCache.getList(byTitle, loader(4));
+        catalogCache.getList(byMints, loader(4));
+
+        catalogCache.courseMinted(2);
+        loads.set(0);
+        catalogCache.getList(java, loader(1, 2));
+        catalogCache.getList(python, loader(3));
+        catalogCache.getList(byTitle, loader(4));
+        catalogCache.getList(byMints, loader(4));
+
+        Assertions.assertEquals(2, loads.get());
+        Assertions.assertEquals(2, catalogCache.getSnapshot().getInvalidations());
+    }
+
+    @Test
+    public void courseChanged_shouldEvictPages_andListingsOfCourseTopic() {
+        CourseCatalogCache.Key java = CourseCatalogCache.Key.topic(EnumTopic.JAVA);
+        CourseCatalogCache.Key python = CourseCatalogCache.Key.topic(EnumTopic.PYTHON);
+        CourseCatalogCache.Key topRated = CourseCatalogCache.Key.topRated();
+        catalogCache.getList(java, loader(1));
+        catalogCache.getList(python, loader(3));
+        catalogCache.getList(topRated, loader(3));
+
+        catalogCache.courseChanged(createCourse(7, EnumTopic.JAVA));
+        loads.set(0);
+        catalogCache.getList(java, loader(1, 7));
+        catalogCache.getList(python, loader(3));
+        catalogCache.getList(topRated, loader(7));
+
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void getList_shouldNotCache_whenInvalidatedWhileLoading() {
+        CourseCatalogCache.Key key = CourseCatalogCache.Key.topic(EnumTopic.JAVA);
+
+        catalogCache.getList(key, () -> {
+            catalogCache.courseRated(1);
+            return loader(1).get();
+        });
+        catalogCache.getList(key, loader(1));
+
+        Assertions.assertEquals(2, loads.get());
+        Assertions.assertEquals(1, catalogCache.getSnapshot().getDiscardedLoads());
+    }
+
+    private Supplier<List<CourseModel>> loader(int... courseIds) {
+        return () -> {
+            loads.incrementAndGet();
+            return Arrays.stream(courseIds)
+                    .mapToObj(id -> {
+                        CourseModel model = new CourseModel();
+                        model.setId(id);
+                        return model;
+                    })
+                    .collect(Collectors.toList());
+        };
+    }
+
+    private Course createCourse(int id, EnumTopic topic) {
+        Course course = new Course();
+        course.setId(id);
+        course.setTopic(topic);
+        return course;
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.henrique.virtualteacher.utils;
+
+import com.henrique.virtualteacher.exceptions.ImpossibleOperationException;
+import com.henrique.virtualteacher.models.CourseFacetAttributes;
+import com.henrique.virtualteacher.models.EnumDifficulty;
+import com.henrique.virtualteacher.models.EnumTopic;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class CourseFacetIndexTests {
+
+    private final CourseFacetIndex index = new CourseFacetIndex(BigDecimal.valueOf(10), BigDecimal.valueOf(50));
+
+    @BeforeEach
+    public void setUp() {
+        index.replaceAll(List.of(
+                course(1, EnumTopic.JAVA, EnumDifficulty.BEGINNER, true, 5),
+                course(2, EnumTopic.JAVA, EnumDifficulty.ADVANCED, true, 20),
+                course(3, EnumTopic.PYTHON, EnumDifficulty.BEGINNER, true, 20),
+                course(4, EnumTopic.PYTHON, EnumDifficulty.BEGINNER, true, 80),
+                course(5, EnumTopic.JAVA, EnumDifficulty.BEGINNER, false, 5)));
+    }
+
+    @Test
+    public void filter_shouldCountOtherFacetValues_againstRemainingFilters() {
+        CourseFacetIndex.Result result = index.filter(EnumTopic.PYTHON, EnumDifficulty.BEGINNER, null, true, 0, 10);
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(List.of(3, 4), result.getCourseIds()),
+                () -> Assertions.assertEquals(2, result.getTotal()),
+                () -> Assertions.assertEquals(1, result.getTopicCounts().get(EnumTopic.JAVA)),
+                () -> Assertions.assertEquals(2, result.getTopicCounts().get(EnumTopic.PYTHON)),
+                () -> Assertions.assertEquals(0, result.getDifficultyCounts().get(EnumDifficulty.ADVANCED)),
+                () -> Assertions.assertEquals(List.of("0-10", "10-50", "50+"), List.copyOf(result.getPriceCounts().keySet())),
+                () -> Assertions.assertEquals(List.of(0, 1, 1), List.copyOf(result.getPriceCounts().values()))
+        );
+    }
+
+    @Test
+    public void filter_shouldSeparateEnabledCourses_andPage() {
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(List.of(5), index.filter(null, null, null, false, 0, 10).getCourseIds()),
+                () -> Assertions.assertEquals(List.of(3), index.filter(null, null, "10-50", true, 1, 1).getCourseIds()),
+                () -> Assertions.assertEquals(4, index.filter(null, null, null, true, 5, 10).getTotal())
+        );
+    }
+
+    @Test
+    public void put_shouldMoveCourseBetweenBitmaps() {
+        index.put(course(2, EnumTopic.PYTHON, EnumDifficulty.ADVANCED, false, 60));
+        index.remove(4);
+
+        CourseFacetIndex.Result result = index.filter(null, null, null, true, 0, 10);
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(List.of(1, 3), result.getCourseIds()),
+                () -> Assertions.assertEquals(0, result.getDifficultyCounts().get(EnumDifficulty.ADVANCED)),
+                () -> Assertions.assertEquals(List.of(2, 5), index.filter(null, null, null, false, 0, 10).getCourseIds()),
+                () -> Assertions.assertEquals(4, index.size())
+        );
+    }
+
+    @Test
+    public void filter_shouldRejectUnknownPriceRange() {
+        Assertions.assertThrows(ImpossibleOperationException.class, () -> index.filter(null, null, "5-15", true, 0, 10));
+    }
+
+    private static CourseFacetAttributes course(int courseId, EnumTopic topic, EnumDifficulty difficulty, boolean enabled, int price) {
+        return new CourseFacetAttributes(courseId, topic, difficulty, enabled, BigDecimal.valueOf(price));
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.henrique.virtualteacher.utils;
+
+import com.henrique.virtualteacher.entities.CourseRatingSummary;
+import com.henrique.virtualteacher.models.EnumDifficulty;
+import com.henrique.virtualteacher.models.EnumTopic;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CourseLeaderboardsTests {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final CourseLeaderboards leaderboards = new CourseLeaderboards(3, 10, 0.5, Duration.ofHours(1), clock::get);
+
+    @Test
+    public void getTop_shouldRankManyGoodRatings_aboveSinglePerfectRating() {
+        leaderboards.putCourse(1, EnumTopic.JAVA, EnumDifficulty.BEGINNER, true);
+        leaderboards.putCourse(2, EnumTopic.JAVA, EnumDifficulty.BEGINNER, true);
+        leaderboards.putCourse(3, EnumTopic.JAVA, EnumDifficulty.BEGINNER, true);
+        leaderboards.resetRatings(List.of(
+                new CourseRatingSummary(1, 1, 5),
+                new CourseRatingSummary(2, 40, 180),
+                new CourseRatingSummary(3, 10, 20)));
+
+        Assertions.assertEquals(List.of(2, 1, 3), leaderboards.getTop(3));
+    }
+
+    @Test
+    public void ratingChanged_shouldMoveCourse_withinItsBoards() {
+        leaderboards.putCourse(1, EnumTopic.JAVA, EnumDifficulty.BEGINNER, true);
+        leaderboards.putCourse(2, EnumTopic.PYTHON, EnumDifficulty.BEGINNER, true);
+        leaderboards.putCourse(3, EnumTopic.PYTHON, EnumDifficulty.ADVANCED, true);
+        leaderboards.resetRatings(List.of(new CourseRatingSummary(1, 20, 80), new CourseRatingSummary(2, 20, 60)));
+
+        leaderboards.ratingChanged(2, 20, 100);
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(List.of(2, 1, 3), leaderboards.getTop(3)),
+                () -> Assertions.assertEquals(List.of(2, 3), leaderboards.getTop(EnumTopic.PYTHON, 3)),
+                () -> Assertions.assertEquals(List.of(2, 1), leaderboards.getTop(EnumDifficulty.BEGINNER, 3)),
+                () -> Assertions.assertEquals(List.of(3), leaderboards.getTop(EnumDifficulty.ADVANCED, 3))
+        );
+    }
+
+    @Test
+    public void getTop_shouldServeAtMostK_andSkipDisabledCourses() {
+        for (int courseId = 1; courseId <= 5; courseId++) {
+            leaderboards.putCourse(courseId, EnumTopic.JAVA, EnumDifficulty.BEGINNER, courseId != 1);
+        }
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(List.of(2, 3, 4), leaderboards.getTop(10)),
+                () -> Assertions.assertEquals(List.of(2), leaderboards.getTop(EnumTopic.JAVA, 1)),
+                () -> Assertions.assertTrue(leaderboards.getTop(EnumTopic.PYTHON, 3).isEmpty())
+        );
+    }
+
+    @Test
+    public void minted_shouldFavourRecentMints_overOlderOnes() {
+        leaderboards.putCourse(1, EnumTopic.JAVA, EnumDifficulty.BEGINNER, true);
+        leaderboards.putCourse(2, EnumTopic.JAVA, EnumDifficulty.BEGINNER, true);
+
+        leaderboards.minted(1, 10);
+        Assertions.assertEquals(List.of(1, 2), leaderboards.getTop(3));
+
+        clock.addAndGet(TimeUnit.HOURS.toNanos(3));
+        leaderboards.minted(2, 3);
+        leaderboards.rescore();
+
+        Assertions.assertEquals(List.of(2, 1), leaderboards.getTop(3));
+    }
+
+    @Test
+    public void retainCourses_shouldForgetDeletedCourses() {
+        leaderboards.putCourse(1, EnumTopic.JAVA, EnumDifficulty.BEGINNER, true);
+        leaderboards.putCourse(2, EnumTopic.JAVA, EnumDifficulty.BEGINNER, true);
+
+        leaderboards.retainCourses(Set.of(2));
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(1, leaderboards.size()),
+                () -> Assertions.assertEquals(List.of(2), leaderboards.getTop(EnumTopic.JAVA, 3))
+        );
+    }
+
+}
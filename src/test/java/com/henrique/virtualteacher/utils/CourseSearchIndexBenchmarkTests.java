@@ -0,0 +1,97 @@
+package com.henrique.virtualteacher.utils;
+
+import com.henrique.virtualteacher.models.CourseSearchDocument;
+import com.henrique.virtualteacher.models.CourseSearchQuery;
+import com.henrique.virtualteacher.models.EnumDifficulty;
+import com.henrique.virtualteacher.models.EnumTopic;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Searches a synthetic catalog of {@value #COURSES} courses with exact, prefix, misspelled and faceted queries,
+ * and checks that the median search stays under {@value #MEDIAN_BUDGET_MILLIS} ms.
+ */
+public class CourseSearchIndexBenchmarkTests {
+
+    private static final int COURSES = 100_000;
+    private static final int QUERIES = 2_000;
+    private static final long MEDIAN_BUDGET_MILLIS = 10;
+    private static final int RARE_WORDS = 20_000;
+
+    private static final String[] WORDS = ("java spring boot hibernate python django flask pandas numpy react angular " +
+            "javascript typescript node kotlin android ruby rails php laravel calisthenics strength mobility docker " +
+            "kubernetes cloud security testing design patterns algorithms structures databases sql queries web services " +
+            "microservices streams concurrency functional reactive machine learning statistics analysis visualization " +
+            "beginners advanced practical complete masterclass bootcamp fundamentals projects interview guide modern")
+            .split(" ");
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void search_shouldStayUnderBudget_onLargeCatalog() {
+        CourseSearchIndex searchIndex = new CourseSearchIndex();
+        List<CourseSearchDocument> catalog = new ArrayList<>(COURSES);
+        for (int courseId = 1; courseId <= COURSES; courseId++) {
+            catalog.add(new CourseSearchDocument(courseId, words(4) + rareWord(), words(25) + rareWord(), words(1), words(1), words(1),
+                    EnumTopic.values()[random.nextInt(EnumTopic.values().length)],
+                    EnumDifficulty.values()[random.nextInt(EnumDifficulty.values().length)],
+                    BigDecimal.valueOf(random.nextInt(200))));
+        }
+
+        searchIndex.replaceAll(catalog);
+
+        List<CourseSearchQuery> queries = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            queries.add(query(i));
+        }
+        queries.forEach(searchIndex::search);
+
+        long[] micros = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            searchIndex.search(queries.get(i));
+            micros[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(micros);
+        long median = micros[QUERIES / 2];
+
+        Assertions.assertTrue(median < MEDIAN_BUDGET_MILLIS * 1_000, String.format("median search took %d us", median));
+    }
+
+    private CourseSearchQuery query(int i) {
+        String word = WORDS[random.nextInt(WORDS.length)];
+        switch (i % 4) {
+            case 0:
+                return new CourseSearchQuery(word + " " + WORDS[random.nextInt(WORDS.length)], null, null, null, null, 20);
+            case 1:
+                return new CourseSearchQuery(word.substring(0, Math.min(3, word.length())), null, null, null, null, 20);
+            case 2:
+                return new CourseSearchQuery(word.length() < 5 ? word : word.substring(1), null, null, null, null, 20);
+            default:
+                return new CourseSearchQuery(word, EnumTopic.values()[random.nextInt(EnumTopic.values().length)],
+                        EnumDifficulty.BEGINNER, BigDecimal.TEN, BigDecimal.valueOf(100), 20);
+        }
+    }
+
+    /**
+     * One of {@value #RARE_WORDS} words that only a few courses share, the long tail of a real vocabulary.
+     */
+    private String rareWord() {
+        return "topic" + Integer.toString(random.nextInt(RARE_WORDS), 36);
+    }
+
+    private String words(int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return text.toString();
+    }
+
+}
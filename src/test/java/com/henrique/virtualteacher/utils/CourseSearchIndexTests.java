@@ -0,0 +1,100 @@
+package com.henrique.virtualteacher.utils;
+
+import com.henrique.virtualteacher.models.CourseSearchDocument;
+import com.henrique.virtualteacher.models.CourseSearchQuery;
+import com.henrique.virtualteacher.models.EnumDifficulty;
+import com.henrique.virtualteacher.models.EnumTopic;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class CourseSearchIndexTests {
+
+    private final CourseSearchIndex searchIndex = new CourseSearchIndex();
+
+    @BeforeEach
+    public void setUp() {
+        searchIndex.put(document(1, "Java for beginners", "Learn the basics of programming", "java", EnumTopic.JAVA, EnumDifficulty.BEGINNER, 10));
+        searchIndex.put(document(2, "Spring Boot in depth", "Build web services with java and spring", "spring", EnumTopic.JAVA, EnumDifficulty.ADVANCED, 40));
+        searchIndex.put(document(3, "Python data science", "Pandas and numpy for analysis", "python", EnumTopic.PYTHON, EnumDifficulty.INTERMEDIATE, 25));
+        searchIndex.put(document(4, "Calisthenics", "Bodyweight programming for strength", "strength", EnumTopic.CALISTHENICS, EnumDifficulty.BEGINNER, 5));
+    }
+
+    @Test
+    public void search_shouldRankTitleMatches_aboveDescriptionMatches() {
+        Assertions.assertEquals(List.of(1, 2), searchIndex.search(query("java")));
+    }
+
+    @Test
+    public void search_shouldRequireEveryKeyword() {
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(List.of(2), searchIndex.search(query("java spring"))),
+                () -> Assertions.assertTrue(searchIndex.search(query("java pandas")).isEmpty())
+        );
+    }
+
+    @Test
+    public void search_shouldMatchPrefixes_andSingleTypos() {
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(List.of(1, 4), searchIndex.search(query("progr"))),
+                () -> Assertions.assertEquals(List.of(3), searchIndex.search(query("pyhton"))),
+                () -> Assertions.assertEquals(List.of(4), searchIndex.search(query("calistenics"))),
+                () -> Assertions.assertTrue(searchIndex.search(query("pythn dta")).isEmpty())
+        );
+    }
+
+    @Test
+    public void search_shouldApplyFacets() {
+        CourseSearchQuery beginnerCheap = new CourseSearchQuery("programming", null, EnumDifficulty.BEGINNER, null, BigDecimal.valueOf(8), 20);
+        CourseSearchQuery javaOnly = new CourseSearchQuery(null, EnumTopic.JAVA, null, BigDecimal.valueOf(20), null, 20);
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(List.of(4), searchIndex.search(beginnerCheap)),
+                () -> Assertions.assertEquals(List.of(2), searchIndex.search(javaOnly))
+        );
+    }
+
+    @Test
+    public void put_shouldReplacePreviousTerms_andRemoveShouldForgetCourse() {
+        searchIndex.put(document(1, "Kotlin for beginners", "Learn the basics of programming", "kotlin", EnumTopic.KOTLIN, EnumDifficulty.BEGINNER, 10));
+        searchIndex.remove(3);
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(List.of(2), searchIndex.search(query("java"))),
+                () -> Assertions.assertEquals(List.of(1), searchIndex.search(query("kotlin"))),
+                () -> Assertions.assertTrue(searchIndex.search(query("python")).isEmpty()),
+                () -> Assertions.assertEquals(3, searchIndex.size())
+        );
+    }
+
+    @Test
+    public void replaceAll_shouldSwapTheWholeIndex() {
+        searchIndex.replaceAll(List.of(document(9, "Ruby on rails", null, null, EnumTopic.RUBY, null, 1)));
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(List.of(9), searchIndex.search(query("rails"))),
+                () -> Assertions.assertTrue(searchIndex.search(query("java")).isEmpty())
+        );
+    }
+
+    @Test
+    public void distance_shouldCountSwapsAsOneTypo() {
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(1, CourseSearchIndex.distance("jvaa", "java", 1)),
+                () -> Assertions.assertEquals(2, CourseSearchIndex.distance("jbvb", "java", 1))
+        );
+    }
+
+    private static CourseSearchQuery query(String keyword) {
+        return new CourseSearchQuery(keyword, null, null, null, null, 20);
+    }
+
+    static CourseSearchDocument document(int courseId, String title, String description, String skill,
+                                         EnumTopic topic, EnumDifficulty difficulty, int price) {
+        return new CourseSearchDocument(courseId, title, description, skill, null, null, topic, difficulty, BigDecimal.valueOf(price));
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.henrique.virtualteacher.utils;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal SMTP server for tests, accepts every mail except the ones addressed to a rejected recipient
+ * and records how many connections were opened and which recipients received a message.
+ */
+public class FakeSmtpServer implements Closeable {
+
+    private final ServerSocket serverSocket;
+    private final Set<String> rejectedRecipients = Collections.synchronizedSet(new HashSet<>());
+    private final List<String> deliveredRecipients = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    public FakeSmtpServer() throws IOException {
+        this.serverSocket = new ServerSocket(0);
+        Thread acceptor = new Thread(this::acceptConnections, "fake-smtp");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public void reject(String recipient) {
+        rejectedRecipients.add(recipient);
+    }
+
+    public List<String> getDeliveredRecipients() {
+        return deliveredRecipients;
+    }
+
+    public int getConnections() {
+        return connections.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try (Socket socket = serverSocket.accept()) {
+                connections.incrementAndGet();
+                handle(socket);
+            } catch (IOException ignored) {}
+        }
+    }
+
+    private void handle(Socket socket) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII);
+        reply(out, "220 localhost fake SMTP");
+
+        List<String> recipients = new ArrayList<>();
+        String line;
+        while ((line = in.readLine()) != null) {
+            String command = line.toUpperCase(Locale.ROOT);
+
+            if (command.startsWith("RCPT TO:")) {
+                String recipient = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                if (rejectedRecipients.contains(recipient)) {
+                    reply(out, "550 mailbox unavailable");
+                } else {
+                    recipients.add(recipient);
+                    reply(out, "250 OK");
+                }
+            } else if (command.equals("DATA")) {
+                reply(out, "354 end data with <CR><LF>.<CR><LF>");
+                while ((line = in.readLine()) != null && !line.equals(".")) {
+                    // message content is not needed
+                }
+                deliveredRecipients.addAll(recipients);
+                recipients.clear();
+                reply(out, "250 OK queued");
+            } else if (command.equals("RSET")) {
+                recipients.clear();
+                reply(out, "250 OK");
+            } else if (command.equals("QUIT")) {
+                reply(out, "221 bye");
+                return;
+            } else {
+                reply(out, "250 OK");
+            }
+        }
+    }
+
+    private static void reply(Writer out, String message) throws IOException {
+        out.write(message + "\r\n");
+        out.flush();
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.henrique.virtualteacher.utils;
+
+import com.henrique.virtualteacher.models.EnumImageRendition;
+import com.henrique.virtualteacher.services.StubImageStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+public class ImageRenditionCacheTests {
+
+    private static final String PICTURE_URL = "https://images.test/course.png";
+
+    @TempDir
+    Path directory;
+
+    StubImageStore imageStore = new StubImageStore();
+
+    @Test
+    public void store_shouldScaleEveryRendition_keepingProportions() throws IOException {
+        ImageRenditionCache cache = newCache();
+
+        Assertions.assertTrue(cache.store(PICTURE_URL, png(2000, 1000)));
+        String key = ImageRenditionCache.keyOf(PICTURE_URL);
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(List.of(160, 80), dimensions(cache.read(key, EnumImageRendition.THUMBNAIL))),
+                () -> Assertions.assertEquals(List.of(480, 240), dimensions(cache.read(key, EnumImageRendition.CARD))),
+                () -> Assertions.assertEquals(List.of(1280, 640), dimensions(cache.read(key, EnumImageRendition.HERO)))
+        );
+    }
+
+    @Test
+    public void store_shouldNotEnlargeSmallPictures() throws IOException {
+        ImageRenditionCache cache = newCache();
+
+        cache.store(PICTURE_URL, png(100, 50));
+
+        Assertions.assertEquals(List.of(100, 50), dimensions(cache.read(ImageRenditionCache.keyOf(PICTURE_URL), EnumImageRendition.HERO)));
+    }
+
+    @Test
+    public void urlsOf_shouldBeEmpty_whenPictureCouldNotBeDecoded() throws IOException {
+        ImageRenditionCache cache = newCache();
+
+        Assertions.assertFalse(cache.store(PICTURE_URL, new byte[]{1, 2, 3}));
+        Assertions.assertTrue(cache.urlsOf(PICTURE_URL).isEmpty());
+    }
+
+    @Test
+    public void urlsOf_shouldListStoredRenditions_afterRestart() throws IOException {
+        newCache().store(PICTURE_URL, png(800, 600));
+
+        Map<String, String> urls = newCache().urlsOf(PICTURE_URL);
+
+        String key = ImageRenditionCache.keyOf(PICTURE_URL);
+        Assertions.assertEquals(Map.of(
+                "thumbnail", "/api/images/renditions/" + key + "/thumbnail",
+                "card", "/api/images/renditions/" + key + "/card",
+                "hero", "/api/images/renditions/" + key + "/hero"), urls);
+    }
+
+    @Test
+    public void read_shouldReturnNull_whenKeyIsNotAPicture() throws IOException {
+        ImageRenditionCache cache = newCache();
+        cache.store(PICTURE_URL, png(800, 600));
+
+        Assertions.assertAll(
+                () -> Assertions.assertNull(cache.read("../" + ImageRenditionCache.keyOf(PICTURE_URL), EnumImageRendition.CARD)),
+                () -> Assertions.assertNull(cache.read(ImageRenditionCache.keyOf("https://images.test/other.png"), EnumImageRendition.CARD))
+        );
+    }
+
+    @Test
+    public void urlsOf_shouldWriteRenditionsFromOriginal_whenPictureHasNone() throws IOException {
+        String pictureUrl = imageStore.upload(png(800, 600));
+        ImageRenditionCache cache = newCache();
+
+        Map<String, String> beforeRegeneration = cache.urlsOf(pictureUrl);
+
+        Assertions.assertAll(
+                () -> Assertions.assertTrue(beforeRegeneration.isEmpty()),
+                () -> Assertions.assertEquals(3, cache.urlsOf(pictureUrl).size()),
+                () -> Assertions.assertEquals(List.of(360, 270), dimensions(cache.read(ImageRenditionCache.keyOf(pictureUrl), EnumImageRendition.CARD)))
+        );
+    }
+
+    @Test
+    public void urlsOf_shouldWriteRenditionAgain_afterItsFileWentMissing() throws IOException {
+        String pictureUrl = imageStore.upload(png(800, 600));
+        String key = ImageRenditionCache.keyOf(pictureUrl);
+        ImageRenditionCache cache = newCache();
+        cache.store(pictureUrl, imageStore.get(pictureUrl));
+        Files.delete(directory.resolve(key).resolve("card.jpg"));
+
+        Assertions.assertNull(cache.read(key, EnumImageRendition.CARD));
+        Assertions.assertTrue(cache.urlsOf(pictureUrl).isEmpty());
+        Assertions.assertEquals(List.of(360, 270), dimensions(cache.read(key, EnumImageRendition.CARD)));
+    }
+
+    @Test
+    public void urlsOf_shouldNotDownloadAgain_whenOriginalCannotBeRead() {
+        ImageRenditionCache cache = newCache();
+
+        Assertions.assertTrue(cache.urlsOf("https://images.test/missing.png").isEmpty());
+        Assertions.assertTrue(cache.urlsOf("https://images.test/missing.png").isEmpty());
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    private ImageRenditionCache newCache() {
+        return new ImageRenditionCache(directory, 10, imageStore, Runnable::run);
+    }
+
+    private static List<Integer> dimensions(ImageRenditionCache.CachedRendition rendition) throws IOException {
+        ByteBuffer content = rendition.getContent();
+        byte[] bytes = new byte[content.remaining()];
+        content.get(bytes);
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
+        return List.of(image.getWidth(), image.getHeight());
+    }
+
+    static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, 0xff336699);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.henrique.virtualteacher.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class IntCountMapTests {
+
+    @Test
+    public void increment_shouldCountEachKey() {
+        IntCountMap counts = new IntCountMap(4);
+
+        counts.increment(7);
+        counts.increment(7);
+        counts.increment(0);
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(2, counts.get(7)),
+                () -> Assertions.assertEquals(1, counts.get(0)),
+                () -> Assertions.assertEquals(2, counts.size()),
+                () -> Assertions.assertFalse(counts.contains(3))
+        );
+    }
+
+    @Test
+    public void increment_shouldKeepAllKeys_when_mapGrowsPastExpectedSize() {
+        IntCountMap counts = new IntCountMap(2);
+
+        for (int key = 0; key < 10_000; key++) {
+            counts.increment(key * 16);
+        }
+
+        Assertions.assertEquals(10_000, counts.size());
+        for (int key = 0; key < 10_000; key++) {
+            Assertions.assertTrue(counts.contains(key * 16));
+            Assertions.assertFalse(counts.contains(key * 16 + 1));
+        }
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.henrique.virtualteacher.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LoginAttemptThrottleTests {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final LoginAttemptThrottle loginAttemptThrottle = new LoginAttemptThrottle(3, Duration.ofMinutes(15), clock::get);
+
+    @Test
+    public void isBlocked_shouldBeTrue_after_maxFailedAttempts() {
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertFalse(loginAttemptThrottle.isBlocked("test@gmail.com"));
+            loginAttemptThrottle.recordFailure("test@gmail.com");
+        }
+
+        Assertions.assertTrue(loginAttemptThrottle.isBlocked("TEST@gmail.com"));
+        Assertions.assertEquals(1, loginAttemptThrottle.getThrottledAttempts());
+    }
+
+    @Test
+    public void isBlocked_shouldBeFalse_after_windowExpires() {
+        for (int i = 0; i < 3; i++) {
+            loginAttemptThrottle.recordFailure("test@gmail.com");
+        }
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(16));
+
+        Assertions.assertFalse(loginAttemptThrottle.isBlocked("test@gmail.com"));
+    }
+
+    @Test
+    public void recordSuccess_shouldResetFailures() {
+        loginAttemptThrottle.recordFailure("test@gmail.com");
+        loginAttemptThrottle.recordFailure("test@gmail.com");
+        loginAttemptThrottle.recordSuccess("test@gmail.com");
+        loginAttemptThrottle.recordFailure("test@gmail.com");
+
+        Assertions.assertFalse(loginAttemptThrottle.isBlocked("test@gmail.com"));
+    }
+
+    @Test
+    public void isBlocked_shouldNotAffect_otherAccounts() {
+        for (int i = 0; i < 3; i++) {
+            loginAttemptThrottle.recordFailure("test@gmail.com");
+        }
+
+        Assertions.assertFalse(loginAttemptThrottle.isBlocked("other@gmail.com"));
+    }
+
+}
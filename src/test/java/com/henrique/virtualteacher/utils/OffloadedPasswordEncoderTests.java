@@ -0,0 +1,102 @@
+package com.henrique.virtualteacher.utils;
+
+import com.henrique.virtualteacher.exceptions.TooManyRequestsException;
+import com.henrique.virtualteacher.models.PasswordVerificationMetricsModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+public class OffloadedPasswordEncoderTests {
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private OffloadedPasswordEncoder passwordEncoder;
+
+    @AfterEach
+    public void shutdown() {
+        callers.shutdownNow();
+        if (passwordEncoder != null) {
+            passwordEncoder.shutdown();
+        }
+    }
+
+    @Test
+    public void matches_shouldVerifyOnPool_andRecordLatency() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        passwordEncoder = new OffloadedPasswordEncoder(bcrypt, 4, 2, 10, Duration.ofSeconds(5));
+        String encoded = bcrypt.encode("Password@1");
+
+        Assertions.assertTrue(passwordEncoder.matches("Password@1", encoded));
+        Assertions.assertFalse(passwordEncoder.matches("wrong", encoded));
+
+        PasswordVerificationMetricsModel metrics = passwordEncoder.getSnapshot();
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(2, metrics.getCompletedVerifications()),
+                () -> Assertions.assertTrue(metrics.getP50Millis() > 0),
+                () -> Assertions.assertTrue(metrics.getMaxMillis() >= metrics.getP95Millis())
+        );
+    }
+
+    @Test
+    public void matches_shouldRejectImmediately_when_poolAndQueueAreFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        passwordEncoder = new OffloadedPasswordEncoder(blockingEncoder(started, release), 10, 1, 1, Duration.ofSeconds(5));
+
+        Future<Boolean> running = callers.submit(() -> passwordEncoder.matches("a", "a"));
+        started.await(5, TimeUnit.SECONDS);
+        Future<Boolean> queued = callers.submit(() -> passwordEncoder.matches("b", "b"));
+        waitUntilQueued(1);
+
+        long start = System.nanoTime();
+        Assertions.assertThrows(TooManyRequestsException.class, () -> passwordEncoder.matches("c", "c"));
+        Assertions.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+
+        release.countDown();
+        Assertions.assertTrue(running.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(queued.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, passwordEncoder.getSnapshot().getRejectedVerifications());
+    }
+
+    @Test
+    public void upgradeEncoding_shouldBeTrue_when_configuredStrengthIncreased() {
+        String weakHash = new BCryptPasswordEncoder(4).encode("Password@1");
+        passwordEncoder = new OffloadedPasswordEncoder(new BCryptPasswordEncoder(5), 5, 1, 1, Duration.ofSeconds(5));
+
+        Assertions.assertTrue(passwordEncoder.upgradeEncoding(weakHash));
+        Assertions.assertFalse(passwordEncoder.upgradeEncoding(passwordEncoder.encode("Password@1")));
+        Assertions.assertEquals(1, passwordEncoder.getSnapshot().getUpgradedEncodings());
+    }
+
+    private void waitUntilQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (passwordEncoder.getSnapshot().getQueuedVerifications() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+    }
+
+}
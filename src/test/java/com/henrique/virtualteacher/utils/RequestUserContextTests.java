@@ -0,0 +1,129 @@
+package com.henrique.virtualteacher.utils;
+
+import com.henrique.virtualteacher.entities.User;
+import com.henrique.virtualteacher.models.UserLookupMetricsModel;
+import com.henrique.virtualteacher.services.Helpers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RequestUserContextTests {
+
+    private final EntityManagerFactory entityManagerFactory = Mockito.mock(EntityManagerFactory.class);
+    private final RequestUserContext requestUserContext = new RequestUserContext(entityManagerFactory, true);
+
+    @BeforeEach
+    public void openEntityManager() {
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(Mockito.mock(EntityManager.class)));
+    }
+
+    @AfterEach
+    public void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+        TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+    }
+
+    @Test
+    public void resolve_shouldLoadUserOnce_perRequest() {
+        User mockUser = Helpers.createMockUser();
+        AtomicInteger loads = new AtomicInteger();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        for (int i = 0; i < 3; i++) {
+            User result = requestUserContext.resolve(mockUser.getEmail(), email -> {
+                loads.incrementAndGet();
+                return mockUser;
+            });
+            Assertions.assertSame(mockUser, result);
+        }
+
+        UserLookupMetricsModel metrics = requestUserContext.getSnapshot();
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(1, loads.get()),
+                () -> Assertions.assertEquals(3, metrics.getLookups()),
+                () -> Assertions.assertEquals(1, metrics.getDatabaseQueries()),
+                () -> Assertions.assertEquals(2, metrics.getQueriesSaved())
+        );
+    }
+
+    @Test
+    public void resolve_shouldNotShareUsers_betweenRequests() {
+        User mockUser = Helpers.createMockUser();
+        AtomicInteger loads = new AtomicInteger();
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        requestUserContext.resolve(mockUser.getEmail(), email -> mockUser);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        requestUserContext.resolve(mockUser.getEmail(), email -> {
+            loads.incrementAndGet();
+            return mockUser;
+        });
+
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void resolve_shouldAlwaysCallLoader_outsideOfRequest() {
+        User mockUser = Helpers.createMockUser();
+        AtomicInteger loads = new AtomicInteger();
+
+        requestUserContext.resolve(mockUser.getEmail(), email -> {
+            loads.incrementAndGet();
+            return mockUser;
+        });
+        requestUserContext.resolve(mockUser.getEmail(), email -> {
+            loads.incrementAndGet();
+            return mockUser;
+        });
+
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void resolve_shouldNotKeepUser_whenEntityManagerIsNotOpen() {
+        User mockUser = Helpers.createMockUser();
+        AtomicInteger loads = new AtomicInteger();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+
+        for (int i = 0; i < 2; i++) {
+            requestUserContext.resolve(mockUser.getEmail(), email -> {
+                loads.incrementAndGet();
+                return mockUser;
+            });
+        }
+
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void evict_shouldForceReload_withinSameRequest() {
+        User mockUser = Helpers.createMockUser();
+        AtomicInteger loads = new AtomicInteger();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        requestUserContext.resolve(mockUser.getEmail(), email -> {
+            loads.incrementAndGet();
+            return mockUser;
+        });
+        requestUserContext.evict(mockUser.getEmail());
+        requestUserContext.resolve(mockUser.getEmail(), email -> {
+            loads.incrementAndGet();
+            return mockUser;
+        });
+
+        Assertions.assertEquals(2, loads.get());
+    }
+
+}
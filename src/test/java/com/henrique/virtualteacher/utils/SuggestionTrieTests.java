@@ -0,0 +1,94 @@
+package com.henrique.virtualteacher.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class SuggestionTrieTests {
+
+    private final SuggestionTrie titles = new SuggestionTrie(3, true);
+
+    @Test
+    public void suggest_shouldRankCompletionsByPopularity() {
+        titles.put(1, "Java Basics", 5);
+        titles.put(2, "Java Streams", 40);
+        titles.put(3, "JavaScript for Beginners", 12);
+        titles.put(4, "Python Basics", 100);
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(List.of(2, 3, 1), ids(titles.suggest("jav", 10))),
+                () -> Assertions.assertEquals(List.of(2, 1), ids(titles.suggest("Java ", 2))),
+                () -> Assertions.assertTrue(titles.suggest("ruby", 10).isEmpty())
+        );
+    }
+
+    @Test
+    public void suggest_shouldMatchLaterWords_onlyOncePerEntry() {
+        titles.put(1, "Spring Boot in Spring", 1);
+        titles.put(2, "Bootstrap", 2);
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(List.of(2, 1), ids(titles.suggest("boot", 10))),
+                () -> Assertions.assertEquals(List.of(1), ids(titles.suggest("spring", 10)))
+        );
+    }
+
+    @Test
+    public void addPopularity_shouldReorderSuggestions() {
+        titles.put(1, "Angular", 5);
+        titles.put(2, "Angular Forms", 10);
+
+        titles.addPopularity(1, 10);
+
+        Assertions.assertEquals(List.of(1, 2), ids(titles.suggest("ang", 10)));
+    }
+
+    @Test
+    public void remove_shouldCompressTreeBack() {
+        titles.put(1, "Docker", 1);
+        int nodes = titles.nodeCount();
+
+        titles.put(2, "Dockerfile Tips", 1);
+        titles.putText(2, "Kubernetes");
+        titles.remove(2);
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(nodes, titles.nodeCount()),
+                () -> Assertions.assertEquals(List.of(1), ids(titles.suggest("dock", 10))),
+                () -> Assertions.assertTrue(titles.suggest("kub", 10).isEmpty())
+        );
+    }
+
+    @Test
+    public void putText_shouldKeepPopularity_ofKnownEntry() {
+        SuggestionTrie usernames = new SuggestionTrie(3, false);
+        usernames.put(1, "henrique", 7);
+
+        usernames.putText(1, "henry");
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(7, usernames.suggest("hen", 10).get(0).getPopularity()),
+                () -> Assertions.assertTrue(usernames.suggest("henri", 10).isEmpty())
+        );
+    }
+
+    @Test
+    public void replaceAll_shouldSwapContents_andReportFootprint() {
+        titles.put(1, "Old Course", 1);
+
+        titles.replaceAll(List.of(new SuggestionTrie.Suggestion(2, "New Course", 3)));
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(1, titles.size()),
+                () -> Assertions.assertEquals(List.of(2), ids(titles.suggest("course", 10))),
+                () -> Assertions.assertTrue(titles.getEstimatedBytes() > 0)
+        );
+    }
+
+    private static List<Integer> ids(List<SuggestionTrie.Suggestion> suggestions) {
+        return suggestions.stream().map(SuggestionTrie.Suggestion::getId).collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.henrique.virtualteacher.utils;
+
+import com.henrique.virtualteacher.models.UserCacheMetricsModel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class UserDetailsCacheTests {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final UserDetailsCache userDetailsCache = new UserDetailsCache(2, Duration.ofSeconds(60), clock::get);
+
+    @Test
+    public void getUserFromCache_shouldReturnCopy_thatSurvivesCredentialErasure() {
+        userDetailsCache.putUserInCache(createUserDetails("test@gmail.com"));
+
+        User cached = (User) userDetailsCache.getUserFromCache("test@gmail.com");
+        cached.eraseCredentials();
+
+        Assertions.assertEquals("password", userDetailsCache.getUserFromCache("test@gmail.com").getPassword());
+    }
+
+    @Test
+    public void getUserFromCache_shouldMiss_afterTtlExpires() {
+        userDetailsCache.putUserInCache(createUserDetails("test@gmail.com"));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+        Assertions.assertNull(userDetailsCache.getUserFromCache("test@gmail.com"));
+        UserCacheMetricsModel metrics = userDetailsCache.getSnapshot();
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(0, metrics.getSize()),
+                () -> Assertions.assertEquals(1, metrics.getMisses()),
+                () -> Assertions.assertEquals(1, metrics.getEvictions())
+        );
+    }
+
+    @Test
+    public void putUserInCache_shouldEvictLeastRecentlyUsed_whenFull() {
+        userDetailsCache.putUserInCache(createUserDetails("first@gmail.com"));
+        userDetailsCache.putUserInCache(createUserDetails("second@gmail.com"));
+        userDetailsCache.getUserFromCache("first@gmail.com");
+
+        userDetailsCache.putUserInCache(createUserDetails("third@gmail.com"));
+
+        Assertions.assertAll(
+                () -> Assertions.assertNotNull(userDetailsCache.getUserFromCache("first@gmail.com")),
+                () -> Assertions.assertNull(userDetailsCache.getUserFromCache("second@gmail.com")),
+                () -> Assertions.assertEquals(1, userDetailsCache.getSnapshot().getEvictions())
+        );
+    }
+
+    @Test
+    public void removeUserFromCache_shouldInvalidateEntry() {
+        userDetailsCache.putUserInCache(createUserDetails("test@gmail.com"));
+
+        userDetailsCache.removeUserFromCache("test@gmail.com");
+
+        Assertions.assertNull(userDetailsCache.getUserFromCache("test@gmail.com"));
+        Assertions.assertEquals(1, userDetailsCache.getSnapshot().getInvalidations());
+    }
+
+    private UserDetails createUserDetails(String email) {
+        return new User(email, "password", List.of(new SimpleGrantedAuthority("STUDENT")));
+    }
+
+}